@@ -0,0 +1,175 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.codec.Output;
+import swim.codec.Unicode;
+import swim.json.Json;
+import swim.recon.Recon;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Text;
+import swim.structure.form.ClassForm;
+import swim.structure.form.SlotForm;
+
+/**
+ * Measures {@link ClassForm} mold and cast of a typical lane value class,
+ * and Recon and JSON form writing and parsing of the same class. The {@code
+ * fields} strategy uses the {@code ClassForm} derived by {@link
+ * Form#forClass(Class)}, which appends and reads member fields in a single
+ * pass through method handles, and which the form codecs write and parse
+ * field by field, without a transient record; the {@code interpreted}
+ * strategy wraps each member field in an opaque {@code Form}, forcing the
+ * {@code ClassForm} to update and look up each member in the record one at
+ * a time, and the form codecs to go through a record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClassFormBenchmark {
+
+  @Param({"fields", "interpreted"})
+  String strategy;
+
+  Form<Reading> form;
+  Reading reading;
+  Item item;
+  String recon;
+  String json;
+
+  @Setup
+  public void setup() throws NoSuchFieldException {
+    if ("interpreted".equals(this.strategy)) {
+      final ClassForm<Reading> classForm = new ClassForm<Reading>(Reading.class, "Reading", null);
+      classForm.addMember(ClassFormBenchmark.interpretedMember("sensor", Form.forString()));
+      classForm.addMember(ClassFormBenchmark.interpretedMember("time", Form.forLong()));
+      classForm.addMember(ClassFormBenchmark.interpretedMember("value", Form.forDouble()));
+      classForm.addMember(ClassFormBenchmark.interpretedMember("status", Form.forInteger()));
+      classForm.addMember(ClassFormBenchmark.interpretedMember("unit", Form.forString()));
+      this.form = classForm;
+    } else {
+      this.form = Form.forClass(Reading.class);
+    }
+    this.reading = new Reading("sensor-42", 1700000000000L, 21.5, 200, "celsius");
+    this.item = this.form.mold(this.reading);
+    this.recon = Recon.toString(this.item);
+    this.json = Json.toString(this.item);
+  }
+
+  static Form<Reading> interpretedMember(String name, Form<?> form) throws NoSuchFieldException {
+    return new InterpretedMember(new SlotForm<Reading>(Reading.class.getField(name), Text.from(name), form));
+  }
+
+  @Benchmark
+  public Item mold() {
+    return this.form.mold(this.reading);
+  }
+
+  @Benchmark
+  public Reading cast() {
+    return this.form.cast(this.item);
+  }
+
+  @Benchmark
+  public String writeRecon() {
+    final Output<String> output = Unicode.stringOutput();
+    Recon.formWriter(this.form).feed(this.reading).pull(output);
+    return output.bind();
+  }
+
+  @Benchmark
+  public Reading parseRecon() {
+    return Recon.formParser(this.form).feed(Unicode.stringInput(this.recon)).bind();
+  }
+
+  @Benchmark
+  public String writeJson() {
+    final Output<String> output = Unicode.stringOutput();
+    Json.formWriter(this.form).feed(this.reading).pull(output);
+    return output.bind();
+  }
+
+  @Benchmark
+  public Reading parseJson() {
+    return Json.formParser(this.form).feed(Unicode.stringInput(this.json)).bind();
+  }
+
+  public static class Reading {
+
+    public String sensor;
+    public long time;
+    public double value;
+    public int status;
+    public String unit;
+
+    public Reading(String sensor, long time, double value, int status, String unit) {
+      this.sensor = sensor;
+      this.time = time;
+      this.value = value;
+      this.status = status;
+      this.unit = unit;
+    }
+
+    Reading() {
+      // Form.cast constructor
+    }
+
+  }
+
+  static final class InterpretedMember extends Form<Reading> {
+
+    final SlotForm<Reading> slotForm;
+
+    InterpretedMember(SlotForm<Reading> slotForm) {
+      this.slotForm = slotForm;
+    }
+
+    @Override
+    public Class<?> type() {
+      return Reading.class;
+    }
+
+    @Override
+    public Item mold(Reading reading, Item item) {
+      return this.slotForm.mold(reading, item);
+    }
+
+    @Override
+    public Item mold(Reading reading) {
+      return this.slotForm.mold(reading);
+    }
+
+    @Override
+    public Reading cast(Item item, Reading reading) {
+      return this.slotForm.cast(item, reading);
+    }
+
+    @Override
+    public Reading cast(Item item) {
+      return this.slotForm.cast(item);
+    }
+
+  }
+
+}
@@ -0,0 +1,146 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import swim.concurrent.AbstractTimer;
+import swim.concurrent.Clock;
+import swim.concurrent.TimerRef;
+
+/**
+ * Measures {@link Clock} timer rescheduling, and the cost of advancing the
+ * clock through one revolution of its dial, with {@code timerCount} long
+ * lived timers pending, for single level and hierarchical timing wheels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClockBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  int timerCount;
+
+  @Param({"1", "3"})
+  int levelCount;
+
+  ManualClock clock;
+  TimerRef[] timers;
+  int index;
+
+  @Setup
+  public void setup() {
+    this.clock = new ManualClock(100, 512, this.levelCount);
+    this.clock.start();
+    this.timers = new TimerRef[this.timerCount];
+    for (int i = 0; i < this.timerCount; i += 1) {
+      // Spread timers over the hour following the first revolution.
+      this.timers[i] = this.clock.setTimer(ClockBenchmark.delay(i), new BenchmarkTimer());
+    }
+    this.index = 0;
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.clock.stop();
+  }
+
+  static long delay(int i) {
+    return 60000L + (((long) i * 2654435761L) & 0x7fffffffL) % 3600000L;
+  }
+
+  @Benchmark
+  public void reschedule() {
+    final int index = this.index;
+    this.index = index + 1 < this.timerCount ? index + 1 : 0;
+    this.timers[index].reschedule(ClockBenchmark.delay(index + 1));
+  }
+
+  @Benchmark
+  public void revolution() {
+    this.clock.advance(512);
+  }
+
+  static final class BenchmarkTimer extends AbstractTimer {
+
+    @Override
+    public void runTimer() {
+      // Reschedule the timer so that the pending timer count stays constant.
+      this.reschedule(3600000L);
+    }
+
+  }
+
+  /**
+   * {@code Clock} whose time only advances when driven by the benchmark
+   * thread, so that a revolution measures timer processing, not waiting.
+   */
+  static final class ManualClock extends Clock {
+
+    volatile long nanos;
+    volatile long executedTick;
+    volatile Thread waiter;
+
+    ManualClock(int tickMillis, int tickCount, int levelCount) {
+      super(tickMillis, tickCount, levelCount);
+      this.nanos = 1L;
+      this.executedTick = -1L;
+      this.waiter = null;
+    }
+
+    @Override
+    protected long nanoTime() {
+      return this.nanos;
+    }
+
+    @Override
+    protected void sleep(long millis) throws InterruptedException {
+      LockSupport.parkNanos(this, 1000L);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+
+    @Override
+    protected void didTick(long tick, long waitedMillis) {
+      this.executedTick = tick;
+      final Thread waiter = this.waiter;
+      if (waiter != null) {
+        LockSupport.unpark(waiter);
+      }
+    }
+
+    void advance(int tickCount) {
+      final long targetTick = this.executedTick + (long) tickCount;
+      this.waiter = Thread.currentThread();
+      this.nanos += (long) tickCount * 100000000L;
+      while (this.executedTick < targetTick) {
+        LockSupport.parkNanos(this, 1000000L);
+      }
+      this.waiter = null;
+    }
+
+  }
+
+}
@@ -0,0 +1,102 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import swim.concurrent.Theater;
+import swim.db.Commit;
+import swim.db.Database;
+import swim.db.FileStore;
+import swim.db.StoreContext;
+import swim.db.StoreSettings;
+import swim.structure.Form;
+
+/**
+ * Measures {@code BTreeMap} reads and writes against a {@link FileStore}
+ * with background commits enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileStoreBenchmark {
+
+  @Param({"100000"})
+  int size;
+
+  File directory;
+  Theater stage;
+  FileStore store;
+  Database database;
+  Map<Integer, Integer> map;
+  int index;
+
+  @Setup
+  public void setup() throws IOException, InterruptedException {
+    this.directory = Files.createTempDirectory("swim-benchmarks").toFile();
+    this.stage = new Theater();
+    this.stage.start();
+    final StoreContext storeContext = new StoreContext(StoreSettings.standard().deleteDelay(0));
+    this.store = new FileStore(storeContext, new File(this.directory, "benchmark.swimdb"), this.stage);
+    this.store.open();
+    this.database = this.store.openDatabase();
+    this.map = this.database.openBTreeMap("benchmark").load()
+                            .keyForm(Form.forInteger())
+                            .valueForm(Form.forInteger());
+    for (int i = 0; i < this.size; i += 1) {
+      this.map.put(i, i);
+    }
+    this.database.commit(Commit.forced());
+    this.index = 0;
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.store.close();
+    this.store.delete();
+    this.directory.delete();
+    this.stage.stop();
+  }
+
+  int nextKey() {
+    final int index = this.index;
+    this.index = index + 1 < this.size ? index + 1 : 0;
+    return index;
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.map.get(this.nextKey());
+  }
+
+  @Benchmark
+  public Integer put() {
+    final int key = this.nextKey();
+    return this.map.put(key, -key);
+  }
+
+}
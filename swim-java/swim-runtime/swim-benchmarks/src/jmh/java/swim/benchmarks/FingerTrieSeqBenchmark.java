@@ -0,0 +1,75 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.collections.FingerTrieSeq;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FingerTrieSeqBenchmark {
+
+  @Param({"1000", "1000000"})
+  int size;
+
+  FingerTrieSeq<Integer> seq;
+  int index;
+
+  @Setup
+  public void setup() {
+    FingerTrieSeq<Integer> seq = FingerTrieSeq.empty();
+    for (int i = 0; i < this.size; i += 1) {
+      seq = seq.appended(i);
+    }
+    this.seq = seq;
+    this.index = 0;
+  }
+
+  int nextIndex() {
+    final int index = this.index;
+    this.index = index + 1 < this.size ? index + 1 : 0;
+    return index;
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.seq.get(this.nextIndex());
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> updated() {
+    return this.seq.updated(this.nextIndex(), -1);
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> appended() {
+    return this.seq.appended(-1);
+  }
+
+  @Benchmark
+  public FingerTrieSeq<Integer> prepended() {
+    return this.seq.prepended(-1);
+  }
+
+}
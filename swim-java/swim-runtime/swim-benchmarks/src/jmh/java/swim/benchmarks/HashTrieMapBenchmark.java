@@ -0,0 +1,74 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.collections.HashTrieMap;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HashTrieMapBenchmark {
+
+  @Param({"1000", "1000000"})
+  int size;
+
+  HashTrieMap<String, Integer> map;
+  String[] keys;
+  int index;
+
+  @Setup
+  public void setup() {
+    HashTrieMap<String, Integer> map = HashTrieMap.empty();
+    final String[] keys = new String[this.size];
+    for (int i = 0; i < this.size; i += 1) {
+      keys[i] = "k" + i;
+      map = map.updated(keys[i], i);
+    }
+    this.map = map;
+    this.keys = keys;
+    this.index = 0;
+  }
+
+  String nextKey() {
+    final int index = this.index;
+    this.index = index + 1 < this.keys.length ? index + 1 : 0;
+    return this.keys[index];
+  }
+
+  @Benchmark
+  public Integer get() {
+    return this.map.get(this.nextKey());
+  }
+
+  @Benchmark
+  public HashTrieMap<String, Integer> updated() {
+    return this.map.updated(this.nextKey(), -1);
+  }
+
+  @Benchmark
+  public HashTrieMap<String, Integer> removed() {
+    return this.map.removed(this.nextKey());
+  }
+
+}
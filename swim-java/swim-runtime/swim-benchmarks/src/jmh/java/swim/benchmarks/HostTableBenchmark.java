@@ -0,0 +1,444 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import swim.api.Downlink;
+import swim.api.agent.Agent;
+import swim.api.agent.AgentDef;
+import swim.api.agent.AgentFactory;
+import swim.api.auth.Credentials;
+import swim.api.auth.Identity;
+import swim.api.policy.Policy;
+import swim.api.policy.PolicyDirective;
+import swim.concurrent.Schedule;
+import swim.concurrent.Stage;
+import swim.concurrent.Theater;
+import swim.store.StoreBinding;
+import swim.structure.Value;
+import swim.system.HostAddress;
+import swim.system.HostBinding;
+import swim.system.HostContext;
+import swim.system.LaneAddress;
+import swim.system.LaneBinding;
+import swim.system.LaneDef;
+import swim.system.LinkBinding;
+import swim.system.Metric;
+import swim.system.NodeAddress;
+import swim.system.NodeBinding;
+import swim.system.PartBinding;
+import swim.system.Push;
+import swim.system.agent.AgentNode;
+import swim.system.router.HostTable;
+import swim.uri.Uri;
+
+/**
+ * Measures how long it takes all available cores to concurrently open
+ * {@code nodeCount} agent nodes in a single {@link HostTable}. The opening
+ * throughput is {@code nodeCount} divided by the reported single shot time.
+ * The heap retained per open node, measured after a forced GC at the end of
+ * each iteration, is reported as the secondary {@code bytesPerNode} result.
+ * Run the {@code 10000000} node case with a heap of at least 8 GiB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class HostTableBenchmark {
+
+  @Param({"1000000", "10000000"})
+  int nodeCount;
+
+  Theater stage;
+  HostTable host;
+  AtomicInteger nextNode;
+  AtomicBoolean measured;
+  long baseMemory;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    this.stage = new Theater("benchmark");
+    this.stage.start();
+    this.host = new HostTable();
+    this.host.setHostContext(new BenchmarkHostContext(Uri.parse("warp://localhost"), this.stage));
+    this.nextNode = new AtomicInteger();
+    this.measured = new AtomicBoolean();
+    this.baseMemory = HostTableBenchmark.usedMemory();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    final int count = this.host.nodeCount();
+    this.host = null;
+    this.stage.stop();
+    this.stage = null;
+    if (count != this.nodeCount) {
+      throw new IllegalStateException("opened " + count + " of " + this.nodeCount + " nodes");
+    }
+  }
+
+  static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i += 1) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public int openNodes(RetainedMemory retainedMemory) {
+    final HostTable host = this.host;
+    final AtomicInteger nextNode = this.nextNode;
+    final int nodeCount = this.nodeCount;
+    int openCount = 0;
+    do {
+      // Claim nodes in batches to keep the shared counter off the hot path.
+      final int base = nextNode.getAndAdd(1024);
+      if (base >= nodeCount) {
+        break;
+      }
+      final int limit = Math.min(base + 1024, nodeCount);
+      for (int i = base; i < limit; i += 1) {
+        if (host.openNode(Uri.parse("/agent/" + i)) != null) {
+          openCount += 1;
+        }
+      }
+    } while (true);
+    return openCount;
+  }
+
+  /**
+   * Reports the heap retained per open node. Every benchmark thread has its
+   * own counters, which JMH sums; only the first thread to tear down its
+   * counters measures the heap, after all threads have finished opening
+   * nodes, and before the host gets torn down.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RetainedMemory {
+
+    public long bytesPerNode;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.bytesPerNode = 0L;
+    }
+
+    @TearDown(Level.Iteration)
+    public void measure(HostTableBenchmark benchmark) {
+      if (benchmark.measured.compareAndSet(false, true)) {
+        final long retainedMemory = HostTableBenchmark.usedMemory() - benchmark.baseMemory;
+        this.bytesPerNode = retainedMemory / Math.max(1, benchmark.host.nodeCount());
+      }
+    }
+
+  }
+
+  static final class BenchmarkHostContext implements HostContext {
+
+    final Uri hostUri;
+    final Stage stage;
+
+    BenchmarkHostContext(Uri hostUri, Stage stage) {
+      this.hostUri = hostUri;
+      this.stage = stage;
+    }
+
+    @Override
+    public PartBinding part() {
+      return null;
+    }
+
+    @Override
+    public HostBinding hostWrapper() {
+      return null;
+    }
+
+    @Override
+    public <T> T unwrapHost(Class<T> hostClass) {
+      return null;
+    }
+
+    @Override
+    public <T> T bottomHost(Class<T> hostClass) {
+      return null;
+    }
+
+    @Override
+    public HostAddress cellAddress() {
+      return new HostAddress(this.edgeName(), this.meshUri(), this.partKey(), this.hostUri);
+    }
+
+    @Override
+    public String edgeName() {
+      return "";
+    }
+
+    @Override
+    public Uri meshUri() {
+      return Uri.empty();
+    }
+
+    @Override
+    public Value partKey() {
+      return Value.absent();
+    }
+
+    @Override
+    public Uri hostUri() {
+      return this.hostUri;
+    }
+
+    @Override
+    public Policy policy() {
+      return null;
+    }
+
+    @Override
+    public Schedule schedule() {
+      return this.stage;
+    }
+
+    @Override
+    public Stage stage() {
+      return this.stage;
+    }
+
+    @Override
+    public StoreBinding store() {
+      return null;
+    }
+
+    @Override
+    public void openMetaHost(HostBinding host, NodeBinding metaHost) {
+      // hook
+    }
+
+    @Override
+    public NodeBinding createNode(NodeAddress nodeAddress) {
+      return new AgentNode();
+    }
+
+    @Override
+    public NodeBinding injectNode(NodeAddress nodeAddress, NodeBinding node) {
+      return node;
+    }
+
+    @Override
+    public void openMetaNode(NodeBinding node, NodeBinding metaNode) {
+      // hook
+    }
+
+    @Override
+    public LaneBinding createLane(LaneAddress laneAddress) {
+      return null;
+    }
+
+    @Override
+    public LaneBinding injectLane(LaneAddress laneAddress, LaneBinding lane) {
+      return lane;
+    }
+
+    @Override
+    public void openMetaLane(LaneBinding lane, NodeBinding metaLane) {
+      // hook
+    }
+
+    @Override
+    public void openMetaUplink(LinkBinding uplink, NodeBinding metaUplink) {
+      // hook
+    }
+
+    @Override
+    public LaneBinding createLane(NodeBinding node, LaneDef laneDef) {
+      return null;
+    }
+
+    @Override
+    public void openLanes(NodeBinding node) {
+      // hook
+    }
+
+    @Override
+    public AgentFactory<?> createAgentFactory(NodeBinding node, AgentDef agentDef) {
+      return null;
+    }
+
+    @Override
+    public <A extends Agent> AgentFactory<A> createAgentFactory(NodeBinding node, Class<? extends A> agentClass) {
+      return null;
+    }
+
+    @Override
+    public void openAgents(NodeBinding node) {
+      // hook
+    }
+
+    @Override
+    public PolicyDirective<Identity> authenticate(Credentials credentials) {
+      return null;
+    }
+
+    @Override
+    public LinkBinding bindDownlink(Downlink downlink) {
+      return null;
+    }
+
+    @Override
+    public void openDownlink(LinkBinding link) {
+      // hook
+    }
+
+    @Override
+    public void closeDownlink(LinkBinding link) {
+      // hook
+    }
+
+    @Override
+    public void openMetaDownlink(LinkBinding downlink, NodeBinding metaDownlink) {
+      // hook
+    }
+
+    @Override
+    public void pushDown(Push<?> push) {
+      // hook
+    }
+
+    @Override
+    public void reportDown(Metric metric) {
+      // hook
+    }
+
+    @Override
+    public void didConnect() {
+      // hook
+    }
+
+    @Override
+    public void didDisconnect() {
+      // hook
+    }
+
+    @Override
+    public void trace(Object message) {
+      // hook
+    }
+
+    @Override
+    public void debug(Object message) {
+      // hook
+    }
+
+    @Override
+    public void info(Object message) {
+      // hook
+    }
+
+    @Override
+    public void warn(Object message) {
+      // hook
+    }
+
+    @Override
+    public void error(Object message) {
+      // hook
+    }
+
+    @Override
+    public void fail(Object message) {
+      // hook
+    }
+
+    @Override
+    public void close() {
+      // hook
+    }
+
+    @Override
+    public void willOpen() {
+      // hook
+    }
+
+    @Override
+    public void didOpen() {
+      // hook
+    }
+
+    @Override
+    public void willLoad() {
+      // hook
+    }
+
+    @Override
+    public void didLoad() {
+      // hook
+    }
+
+    @Override
+    public void willStart() {
+      // hook
+    }
+
+    @Override
+    public void didStart() {
+      // hook
+    }
+
+    @Override
+    public void willStop() {
+      // hook
+    }
+
+    @Override
+    public void didStop() {
+      // hook
+    }
+
+    @Override
+    public void willUnload() {
+      // hook
+    }
+
+    @Override
+    public void didUnload() {
+      // hook
+    }
+
+    @Override
+    public void willClose() {
+      // hook
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.math.Z2Box;
+import swim.math.Z2Point;
+import swim.math.Z2Shape;
+import swim.spatial.QTree;
+import swim.spatial.SpatialMap;
+import swim.util.Cursor;
+
+/**
+ * Measures spatial updates and window queries of a {@link QTree} holding
+ * uniformly distributed points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class QTreeBenchmark {
+
+  static final int QUERY_COUNT = 1024;
+
+  @Param({"100000"})
+  int size;
+
+  /**
+   * Side length of query windows, as a power of two fraction of the
+   * coordinate space.
+   */
+  @Param({"4", "8"})
+  int windowBits;
+
+  QTree<Integer, Z2Shape, Integer> tree;
+  Z2Point[] points;
+  Z2Box[] windows;
+  int index;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(0L);
+    QTree<Integer, Z2Shape, Integer> tree = QTree.empty(Z2Shape.shapeForm());
+    final Z2Point[] points = new Z2Point[this.size];
+    for (int i = 0; i < this.size; i += 1) {
+      final Z2Point point = Z2Point.of(random.nextInt() & 0x7fffffffL, random.nextInt() & 0x7fffffffL);
+      points[i] = point;
+      tree = tree.updated(i, point, i);
+    }
+    final long windowSize = 1L << (31 - this.windowBits);
+    final Z2Box[] windows = new Z2Box[QUERY_COUNT];
+    for (int i = 0; i < QUERY_COUNT; i += 1) {
+      final long x = random.nextInt() & 0x7fffffffL;
+      final long y = random.nextInt() & 0x7fffffffL;
+      windows[i] = Z2Box.of(x, y, x + windowSize, y + windowSize);
+    }
+    this.tree = tree;
+    this.points = points;
+    this.windows = windows;
+    this.index = 0;
+  }
+
+  int nextIndex(int count) {
+    final int index = this.index;
+    this.index = index + 1 < count ? index + 1 : 0;
+    return index;
+  }
+
+  @Benchmark
+  public int query() {
+    final Cursor<SpatialMap.Entry<Integer, Z2Shape, Integer>> cursor =
+        this.tree.iterator(this.windows[this.nextIndex(QUERY_COUNT)]);
+    int count = 0;
+    while (cursor.hasNext()) {
+      cursor.next();
+      count += 1;
+    }
+    return count;
+  }
+
+  @Benchmark
+  public Integer get() {
+    final int key = this.nextIndex(this.size);
+    return this.tree.get(key, this.points[key]);
+  }
+
+  @Benchmark
+  public QTree<Integer, Z2Shape, Integer> updated() {
+    final int key = this.nextIndex(this.size);
+    return this.tree.updated(key, this.points[key], -key);
+  }
+
+}
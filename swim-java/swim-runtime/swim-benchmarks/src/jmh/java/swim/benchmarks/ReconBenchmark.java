@@ -0,0 +1,56 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReconBenchmark {
+
+  @Param({"10", "1000"})
+  int size;
+
+  Value value;
+  String recon;
+
+  @Setup
+  public void setup() {
+    this.value = StructureValues.document(this.size);
+    this.recon = Recon.toString(this.value);
+  }
+
+  @Benchmark
+  public Value parseRecon() {
+    return Recon.parse(this.recon);
+  }
+
+  @Benchmark
+  public String writeRecon() {
+    return Recon.toString(this.value);
+  }
+
+}
@@ -0,0 +1,50 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.Random;
+import swim.structure.Record;
+import swim.structure.Value;
+
+/**
+ * Deterministic sample values shared by the structure codec benchmarks.
+ */
+final class StructureValues {
+
+  private StructureValues() {
+    // static
+  }
+
+  /**
+   * Returns a record resembling a typical lane state document: an attributed
+   * record with {@code size} entries, each with a nested record of scalar
+   * fields.
+   */
+  static Value document(int size) {
+    final Random random = new Random(size);
+    final Record record = Record.create(size + 1).attr("state");
+    for (int i = 0; i < size; i += 1) {
+      final Record entry = Record.create(5)
+          .slot("id", i)
+          .slot("name", "sensor-" + i)
+          .slot("value", random.nextDouble() * 1000.0)
+          .slot("count", random.nextLong())
+          .slot("active", (i & 1) == 0);
+      record.slot("k" + i, entry);
+    }
+    return record;
+  }
+
+}
@@ -0,0 +1,146 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.Utf8;
+import swim.warp.EventMessage;
+import swim.ws.Ws;
+import swim.ws.WsDecoder;
+import swim.ws.WsEncoder;
+import swim.ws.WsFrame;
+import swim.ws.WsTextFrame;
+
+/**
+ * Measures WebSocket frame encoding and decoding of WARP envelopes, with and
+ * without permessage-deflate. The {@code deflate} codec compresses with the
+ * pure Java {@code swim.deflate} implementation; the {@code zlib} codec
+ * compresses with the JDK's native zlib {@code Deflater} and {@code Inflater}.
+ * Deflate encoders and decoders are long-lived, as they are on a real
+ * connection, so frames are compressed against a shared sliding window;
+ * encoded frames are therefore decoded in order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WsFrameBenchmark {
+
+  static final int FRAME_COUNT = 256;
+
+  @Param({"standard", "deflate", "zlib"})
+  String codec;
+
+  @Param({"1", "100"})
+  int size;
+
+  WsEncoder encoder;
+  WsDecoder decoder;
+  WsTextFrame<String>[] frames;
+  byte[][] encodedFrames;
+  byte[] buffer;
+  int index;
+
+  @SuppressWarnings("unchecked")
+  @Setup
+  public void setup() {
+    final WsTextFrame<String>[] frames = (WsTextFrame<String>[]) new WsTextFrame<?>[FRAME_COUNT];
+    int maxFrameSize = 0;
+    for (int i = 0; i < FRAME_COUNT; i += 1) {
+      final String message = new EventMessage("/unit/" + i, "state", StructureValues.document(this.size)).toRecon();
+      frames[i] = WsTextFrame.create(message);
+      maxFrameSize = Math.max(maxFrameSize, 2 * message.length() + 64);
+    }
+    this.frames = frames;
+    this.buffer = new byte[maxFrameSize];
+
+    final WsEncoder encoder = this.newEncoder();
+    final byte[][] encodedFrames = new byte[FRAME_COUNT][];
+    for (int i = 0; i < FRAME_COUNT; i += 1) {
+      encodedFrames[i] = this.encodeFrame(encoder, frames[i]);
+    }
+    this.encodedFrames = encodedFrames;
+    this.encoder = this.newEncoder();
+    this.decoder = this.newDecoder();
+    this.index = 0;
+  }
+
+  WsEncoder newEncoder() {
+    if ("deflate".equals(this.codec)) {
+      return Ws.deflateEncoderUnmasked();
+    } else if ("zlib".equals(this.codec)) {
+      return Ws.zlibEncoderUnmasked();
+    } else {
+      return Ws.standardEncoderUnmasked();
+    }
+  }
+
+  WsDecoder newDecoder() {
+    if ("deflate".equals(this.codec)) {
+      return Ws.deflateDecoder();
+    } else if ("zlib".equals(this.codec)) {
+      return Ws.zlibDecoder();
+    } else {
+      return Ws.standardDecoder();
+    }
+  }
+
+  byte[] encodeFrame(WsEncoder encoder, WsFrame<String> frame) {
+    final OutputBuffer<?> output = Binary.outputBuffer(this.buffer);
+    final Encoder<?, ?> frameEncoder = encoder.frameEncoder(frame).pull(output);
+    if (!frameEncoder.isDone()) {
+      throw new IllegalStateException("frame encode buffer too small");
+    }
+    final byte[] encodedFrame = new byte[output.index()];
+    System.arraycopy(this.buffer, 0, encodedFrame, 0, encodedFrame.length);
+    return encodedFrame;
+  }
+
+  int nextIndex() {
+    final int index = this.index;
+    if (index + 1 < FRAME_COUNT) {
+      this.index = index + 1;
+    } else {
+      // Restart the encoded frame sequence with fresh compression state.
+      this.index = 0;
+      this.encoder = this.newEncoder();
+      this.decoder = this.newDecoder();
+    }
+    return index;
+  }
+
+  @Benchmark
+  public Encoder<?, WsFrame<String>> encode() {
+    return this.encoder.frameEncoder(this.frames[this.nextIndex()]).pull(Binary.outputBuffer(this.buffer));
+  }
+
+  @Benchmark
+  public WsFrame<String> decode() {
+    final WsDecoder decoder = this.decoder;
+    final byte[] encodedFrame = this.encodedFrames[this.nextIndex()];
+    return decoder.decodeMessage(Binary.inputBuffer(encodedFrame), Utf8.stringParser()).bind();
+  }
+
+}
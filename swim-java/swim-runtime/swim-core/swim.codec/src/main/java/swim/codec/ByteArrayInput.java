@@ -113,6 +113,11 @@ final class ByteArrayInput extends InputBuffer {
     return this.limit - this.index;
   }
 
+  @Override
+  public boolean hasArray() {
+    return true;
+  }
+
   @Override
   public byte[] array() {
     return this.array;
@@ -109,6 +109,11 @@ final class ByteArrayOutput extends OutputBuffer<ByteBuffer> {
     return this.limit - this.index;
   }
 
+  @Override
+  public boolean hasArray() {
+    return true;
+  }
+
   @Override
   public byte[] array() {
     return this.array;
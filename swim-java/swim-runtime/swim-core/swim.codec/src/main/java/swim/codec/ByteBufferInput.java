@@ -101,6 +101,11 @@ final class ByteBufferInput extends InputBuffer {
     return this.buffer.remaining();
   }
 
+  @Override
+  public boolean hasArray() {
+    return this.buffer.hasArray();
+  }
+
   @Override
   public byte[] array() {
     return this.buffer.array();
@@ -98,6 +98,11 @@ final class ByteBufferOutput extends OutputBuffer<ByteBuffer> {
     return this.buffer.remaining();
   }
 
+  @Override
+  public boolean hasArray() {
+    return this.buffer.hasArray();
+  }
+
   @Override
   public byte[] array() {
     return this.buffer.array();
@@ -38,6 +38,10 @@ public abstract class InputBuffer extends Input {
 
   public abstract int remaining();
 
+  public boolean hasArray() {
+    return false;
+  }
+
   public abstract byte[] array();
 
   public abstract int arrayOffset();
@@ -40,6 +40,10 @@ public abstract class OutputBuffer<T> extends Output<T> {
 
   public abstract int remaining();
 
+  public boolean hasArray() {
+    return false;
+  }
+
   public abstract byte[] array();
 
   public abstract int arrayOffset();
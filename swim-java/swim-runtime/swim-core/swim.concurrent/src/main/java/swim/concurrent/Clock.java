@@ -21,6 +21,15 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Hashed wheel timer {@link Schedule}.
+ * <p>
+ * A {@code Clock} with a {@link #levelCount() levelCount} greater than one
+ * is a hierarchical timing wheel. Timers that won't fire within one
+ * revolution of the clock dial are parked in coarser overflow wheels, each of
+ * whose ticks spans one full revolution of the next finer wheel, and are
+ * cascaded down into finer wheels as their deadlines approach. A timer is
+ * thereby revisited at most once per level before it fires, rather than once
+ * per revolution of the dial, while timer scheduling and cancellation remain
+ * constant time operations.
  */
 public class Clock implements Schedule {
 
@@ -30,6 +39,14 @@ public class Clock implements Schedule {
    * clock ticks.
    */
   final ClockQueue[] dial;
+  /**
+   * Immutable array of {@link #levelCount} minus one overflow wheels, each
+   * with {@link #tickCount} timer buckets. Each bucket of the overflow wheel
+   * at index {@code i} spans {@code tickCount} to the power of {@code i + 1}
+   * clock ticks, and is cascaded into finer wheels when the clock reaches
+   * the first tick of its span.
+   */
+  final ClockQueue[][] wheels;
   /**
    * Barrier used to sequence clock startup.
    */
@@ -50,6 +67,14 @@ public class Clock implements Schedule {
    * Number of ticks per clock revolution.
    */
   final int tickCount;
+  /**
+   * Base two logarithm of {@link #tickCount}.
+   */
+  final int tickBits;
+  /**
+   * Number of timing wheels in the clock hierarchy, including the dial.
+   */
+  final int levelCount;
   /**
    * Time at which the clock started, in nanoseconds, with arbitrary origin.
    * Set exactly once when the clock thread starts.
@@ -62,10 +87,10 @@ public class Clock implements Schedule {
 
   /**
    * Constructs a new {@code Clock} with a timer resolution of {@code
-   * tickMillis} milliseconds, and a clock period of {@code tickCount} ticks
-   * per revolution.
+   * tickMillis} milliseconds, a clock period of {@code tickCount} ticks
+   * per revolution, and a hierarchy of {@code levelCount} timing wheels.
    */
-  public Clock(int tickMillis, int tickCount) {
+  public Clock(int tickMillis, int tickCount, int levelCount) {
     // Initialize the number of nanoseconds between clock ticks.
     if (tickMillis <= 0) {
       throw new IllegalArgumentException(Long.toString(tickMillis));
@@ -85,6 +110,21 @@ public class Clock implements Schedule {
     tickCount |= tickCount >> 16;
     tickCount = tickCount + 1;
     this.tickCount = tickCount;
+    final int tickBits = Integer.numberOfTrailingZeros(tickCount);
+    this.tickBits = tickBits;
+
+    // Initialize the number of timing wheels in the clock hierarchy.
+    if (levelCount <= 0) {
+      throw new IllegalArgumentException(Integer.toString(levelCount));
+    }
+    // Limit the hierarchy to the levels whose spans fit in a tick sequence
+    // number; a single tick dial can't be subdivided into levels at all.
+    if (tickBits == 0) {
+      levelCount = 1;
+    } else {
+      levelCount = Math.min(levelCount, 62 / tickBits);
+    }
+    this.levelCount = levelCount;
 
     // Initialize the clock dial with one revolution worth of clock ticks.
     this.dial = new ClockQueue[tickCount];
@@ -92,6 +132,18 @@ public class Clock implements Schedule {
       this.dial[i] = new ClockQueue((long) i);
     }
 
+    // Initialize the overflow wheels, each of whose buckets will first be
+    // cascaded at the first tick of the span covered by the bucket.
+    this.wheels = new ClockQueue[levelCount - 1][];
+    for (int level = 1; level < levelCount; level += 1) {
+      final ClockQueue[] wheel = new ClockQueue[tickCount];
+      final int shift = level * tickBits;
+      for (int i = 0; i < tickCount; i += 1) {
+        wheel[i] = new ClockQueue((long) i << shift);
+      }
+      this.wheels[level - 1] = wheel;
+    }
+
     // Initialize the barrier used to sequence clock startup.
     this.startLatch = new CountDownLatch(1);
 
@@ -107,20 +159,39 @@ public class Clock implements Schedule {
   }
 
   /**
-   * Constructs a new {@code Clock} with the timer resolution and clock period
-   * specified by the given {@code clockDef}.
+   * Constructs a new {@code Clock} with a timer resolution of {@code
+   * tickMillis} milliseconds, a clock period of {@code tickCount} ticks
+   * per revolution, and a hierarchy of {@link #LEVEL_COUNT} timing wheels.
+   */
+  public Clock(int tickMillis, int tickCount) {
+    this(tickMillis, tickCount, Clock.LEVEL_COUNT);
+  }
+
+  /**
+   * Constructs a new {@code Clock} with the timer resolution, clock period,
+   * and number of timing wheels specified by the given {@code clockDef}.
    */
   public Clock(ClockDef clockDef) {
-    this(clockDef.tickMillis, clockDef.tickCount);
+    this(clockDef.tickMillis, clockDef.tickCount, clockDef.levelCount);
   }
 
   /**
    * Constructs a new {@code Clock} with a timer resolution of {@link
-   * #TICK_MILLIS} milliseconds, and a clock period of {@link #TICK_COUNT}
-   * ticks per revolution.
+   * #TICK_MILLIS} milliseconds, a clock period of {@link #TICK_COUNT}
+   * ticks per revolution, and a hierarchy of {@link #LEVEL_COUNT} timing
+   * wheels.
    */
   public Clock() {
-    this(Clock.TICK_MILLIS, Clock.TICK_COUNT);
+    this(Clock.TICK_MILLIS, Clock.TICK_COUNT, Clock.LEVEL_COUNT);
+  }
+
+  /**
+   * Returns the number of timing wheels in the clock hierarchy; a {@code
+   * levelCount} of {@code 1} indicates a single level hashed wheel, which
+   * revisits long timers once per revolution of the dial.
+   */
+  public final int levelCount() {
+    return this.levelCount;
   }
 
   /**
@@ -280,11 +351,7 @@ public class Clock implements Schedule {
     final long deadline = Math.max(0L, this.nanoTime() + nanos - this.startTime);
     // Divide the deadline by the tick interval to get the tick sequence number
     // at which to fire the timer, rounding up to the next tick.
-    long targetTick = (deadline + (this.tickNanos - 1L)) / this.tickNanos;
-    // Take the modulus of the target tick with respect to to the number of
-    // ticks per clock revolution, yielding the index in the dial at which to
-    // insert the event.
-    int targetHand = (int) (targetTick % (long) this.tickCount);
+    final long targetTick = (deadline + (this.tickNanos - 1L)) / this.tickNanos;
 
     // Create a timer event to insert into the clock.
     final ClockEvent newEvent = new ClockEvent(0L, targetTick, context, context.timer);
@@ -298,6 +365,104 @@ public class Clock implements Schedule {
       oldEvent.cancel();
     }
 
+    // Insert the event into the clock, relative to the next tick that the
+    // clock thread will execute.
+    this.insert(newEvent, this.thread.tick);
+  }
+
+  /**
+   * Inserts a timer {@code newEvent} into the coarsest timing wheel that
+   * won't cascade it until after {@code currentTick}, falling back to finer
+   * wheels, and ultimately to the clock dial, if the clock thread overtakes
+   * the selected wheel bucket before the event can be inserted.
+   */
+  final void insert(ClockEvent newEvent, long currentTick) {
+    final long targetTick = newEvent.targetTick;
+    final long delay = targetTick - currentTick;
+    // Select the lowest level whose wheel revolution spans the delay.
+    int level = 0;
+    while (level + 1 < this.levelCount && delay >= 1L << ((level + 1) * this.tickBits)) {
+      level += 1;
+    }
+    while (level > 0) {
+      final int shift = level * this.tickBits;
+      // Get the tick at which the wheel bucket containing the target tick
+      // will be cascaded into finer wheels.
+      final long cascadeTick = (targetTick >>> shift) << shift;
+      // Get the wheel bucket containing the target tick.
+      final ClockQueue queue = this.wheels[level - 1][(int) ((targetTick >>> shift) & (long) (this.tickCount - 1))];
+      if (Clock.insertQueue(queue, newEvent, cascadeTick)) {
+        return;
+      }
+      // The clock thread has already cascaded the target bucket; fall back
+      // to the next finer wheel.
+      level -= 1;
+    }
+    this.insertDial(newEvent);
+  }
+
+  /**
+   * Appends a {@code newEvent} to the end of an overflow wheel {@code queue},
+   * provided that the clock thread hasn't yet cascaded the queue for the
+   * span beginning at {@code cascadeTick}. Returns {@code false} if the
+   * queue has already been cascaded past the {@code cascadeTick}.
+   */
+  static boolean insertQueue(ClockQueue queue, ClockEvent newEvent, long cascadeTick) {
+    // Capture the current foot of the queue.
+    ClockEvent foot = queue.foot;
+    // Search for the last event of in the queue, starting with foot.
+    ClockEvent prev = foot;
+    do {
+      // Load the next event after the currently referenced last event.
+      final ClockEvent next = prev.next;
+      if (next == null) {
+        // prev is the last event in the queue.
+        if (cascadeTick >= prev.insertTick) {
+          // The clock thread hasn't yet cascaded the queue for the target
+          // span; set event.insertTick to match the next cascade tick.
+          newEvent.insertTick = prev.insertTick;
+          // Try to insert the new event to the end of the queue;
+          // linearization point for timer scheduling.
+          if (ClockEvent.NEXT.compareAndSet(prev, null, newEvent)) {
+            // Only update the foot reference if it lags at least two events
+            // behind the last event in the queue.
+            if (prev != foot) {
+              // Try to update the foot reference; ok if this fails.
+              ClockQueue.FOOT.compareAndSet(queue, foot, newEvent);
+            }
+            return true;
+          }
+          // Lost insertion race to another thread; try again.
+        } else {
+          // The clock thread is currently cascading, or has already
+          // cascaded, the target span.
+          return false;
+        }
+      } else {
+        // Jump to the new foot, if the previously loaded foot lags at least two
+        // events behind the prev event; otherwise advance to the next event.
+        final ClockEvent newFoot = queue.foot;
+        if (foot != newFoot) {
+          foot = newFoot;
+          prev = foot;
+        } else {
+          prev = next;
+        }
+      }
+    } while (true);
+  }
+
+  /**
+   * Inserts a timer {@code newEvent} into the first queue of the clock dial
+   * that will execute at or after the event's target tick.
+   */
+  final void insertDial(ClockEvent newEvent) {
+    long targetTick = newEvent.targetTick;
+    // Take the modulus of the target tick with respect to to the number of
+    // ticks per clock revolution, yielding the index in the dial at which to
+    // insert the event.
+    int targetHand = (int) (targetTick % (long) this.tickCount);
+
     // Get the event queue for the target hand of the clock.
     ClockQueue queue = this.dial[targetHand];
     // Capture the current foot of the queue.
@@ -433,6 +598,17 @@ public class Clock implements Schedule {
     timer.runTimer();
   }
 
+  /**
+   * Invoked by the clock thread after every timer set to fire at the given
+   * {@code tick} has been passed to {@link #runTimer(TimerFunction, Runnable)
+   * runTimer}. Clocks that accumulate timers for asynchronous execution can
+   * override {@code flushTimers} to dispatch the remainder of the tick's
+   * timers in a single batch.
+   */
+  protected void flushTimers(long tick) {
+    // hook
+  }
+
   /**
    * Introspection callback invoked after a {@code timer} executes nominally.
    */
@@ -482,6 +658,13 @@ public class Clock implements Schedule {
    * {@code 512} clock ticks per revolution.
    */
   public static final int TICK_COUNT;
+  /**
+   * Default number of timing wheels in the clock hierarchy, used by the
+   * {@link #Clock()} and {@link #Clock(int, int)} constructors. Defaults to
+   * the value of the {@code swim.clock.level.count} system property, if
+   * defined; otherwise defaults to a single level hashed wheel.
+   */
+  public static final int LEVEL_COUNT;
   /**
    * Atomic {@link #status} bit flag indicating that the clock has started, and
    * is currently running.
@@ -518,6 +701,15 @@ public class Clock implements Schedule {
       tickCount = 512;
     }
     TICK_COUNT = tickCount;
+
+    // Initialize the default number of timing wheels in the clock hierarchy.
+    int levelCount;
+    try {
+      levelCount = Integer.parseInt(System.getProperty("swim.clock.level.count"));
+    } catch (NumberFormatException e) {
+      levelCount = 1;
+    }
+    LEVEL_COUNT = levelCount;
   }
 
 }
@@ -797,6 +989,89 @@ final class ClockThread extends Thread {
     } while (true);
   }
 
+  /**
+   * Cascades into finer wheels all {@code clock} timers parked in overflow
+   * wheel buckets whose spans begin at the target {@code tick}, proceeding
+   * from the coarsest wheel to the finest, so that timers set to fire at the
+   * target {@code tick} reach the clock dial before the tick executes.
+   */
+  static void cascadeTick(final Clock clock, final long tick) {
+    for (int level = clock.levelCount - 1; level > 0; level -= 1) {
+      final int shift = level * clock.tickBits;
+      // Check if the target tick begins the span of an overflow wheel bucket.
+      if ((tick & ((1L << shift) - 1L)) == 0L) {
+        ClockThread.cascadeWheel(clock, level, tick);
+      }
+    }
+  }
+
+  /**
+   * Moves all timers in the overflow wheel bucket at the given {@code level}
+   * whose span begins at the target {@code tick} into finer wheels.
+   */
+  static void cascadeWheel(final Clock clock, final int level, final long tick) {
+    final int shift = level * clock.tickBits;
+    // Compute the tick at which the bucket will next be cascaded.
+    final long nextTick = tick + ((long) clock.tickCount << shift);
+    // Compute the index in the wheel of the target bucket.
+    final int hand = (int) ((tick >>> shift) & (long) (clock.tickCount - 1));
+
+    // Get the event queue for the target bucket of the wheel.
+    final ClockQueue queue = clock.wheels[level - 1][hand];
+    // The first known still scheduled event to keep in the queue.
+    ClockEvent head = null;
+    // The last known still scheduled event to keep in the queue.
+    ClockEvent prev = null;
+    // The next queued event to process.
+    ClockEvent next = queue.head;
+    // The sentinel event that will be inserted at the end of the queue to
+    // complete the cascade of this span.
+    final ClockEvent nextFoot = new ClockEvent(nextTick, nextTick, null, null);
+    // Loop until no events remain to cascade for this span.
+    do {
+      final TimerFunction timer = next.timer;
+      if (timer != null) {
+        if (next.targetTick < tick + (1L << shift)) {
+          // The next event falls within the current span; move it to a new
+          // event, so that concurrent inserters traversing this queue never
+          // observe a relinked event.
+          final ClockEvent newEvent = new ClockEvent(0L, next.targetTick, next.context, timer);
+          // Transfer the timer context to the new event; fails if the timer
+          // was concurrently rescheduled or cancelled.
+          if (ClockTimer.EVENT.compareAndSet(next.context, next, newEvent)) {
+            // Disarm the old event, and insert the new event into a finer wheel.
+            next.cancel();
+            clock.insert(newEvent, tick);
+          }
+        } else {
+          // The next event is scheduled for a future revolution of the wheel.
+          if (prev != null) {
+            prev.next = next;
+          } else {
+            head = next;
+          }
+          prev = next;
+        }
+      }
+      // Check if the next event is the last in the queue.
+      if (next.next == null) {
+        // Try to finish the cascade by appending a cancelled event to the end
+        // of the queue, whose insertTick is the next tick at which the clock
+        // thread will cascade this queue.
+        if (ClockEvent.NEXT.compareAndSet(next, null, nextFoot)) {
+          ClockQueue.FOOT.set(queue, nextFoot);
+          if (head == null) {
+            head = nextFoot;
+          }
+          queue.head = head;
+          break;
+        }
+      }
+      // Advance to the next event in the queue.
+      next = next.next;
+    } while (true);
+  }
+
   /**
    * Executes all {@code clock} timers set to fire at the target {@code tick}.
    */
@@ -905,8 +1180,12 @@ final class ClockThread extends Thread {
         final long waitedMillis = waitForTick(clock, tick);
         // Check if we had a nominal wakeup.
         if (waitedMillis != Long.MIN_VALUE) {
+          // Cascade any overflow timers whose spans begin at the clock tick.
+          ClockThread.cascadeTick(clock, tick);
           // Execute the clock tick.
           ClockThread.executeTick(clock, tick);
+          // Dispatch any timers deferred by the clock tick.
+          clock.flushTimers(tick);
           // Invoke the clock tick introspection callback, with a measure of the
           // clock latency.
           clock.didTick(tick, waitedMillis);
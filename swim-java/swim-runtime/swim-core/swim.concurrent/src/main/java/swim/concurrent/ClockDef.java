@@ -28,10 +28,18 @@ public class ClockDef implements ScheduleDef, Debug {
 
   final int tickMillis;
   final int tickCount;
+  final int levelCount;
+  final int batchSize;
 
-  public ClockDef(int tickMillis, int tickCount) {
+  public ClockDef(int tickMillis, int tickCount, int levelCount, int batchSize) {
     this.tickMillis = tickMillis;
     this.tickCount = tickCount;
+    this.levelCount = levelCount;
+    this.batchSize = batchSize;
+  }
+
+  public ClockDef(int tickMillis, int tickCount) {
+    this(tickMillis, tickCount, Clock.LEVEL_COUNT, StageClock.BATCH_SIZE);
   }
 
   public final int tickMillis() {
@@ -39,7 +47,7 @@ public class ClockDef implements ScheduleDef, Debug {
   }
 
   public ClockDef tickMillis(int tickMillis) {
-    return this.copy(tickMillis, this.tickCount);
+    return this.copy(tickMillis, this.tickCount, this.levelCount, this.batchSize);
   }
 
   public final int tickCount() {
@@ -47,11 +55,36 @@ public class ClockDef implements ScheduleDef, Debug {
   }
 
   public ClockDef tickCount(int tickCount) {
-    return this.copy(this.tickMillis, tickCount);
+    return this.copy(this.tickMillis, tickCount, this.levelCount, this.batchSize);
+  }
+
+  /**
+   * Returns the number of timing wheels in the clock hierarchy. Clocks with
+   * more than one level park long timers in coarser wheels, instead of
+   * revisiting them on every revolution of the dial.
+   */
+  public final int levelCount() {
+    return this.levelCount;
+  }
+
+  public ClockDef levelCount(int levelCount) {
+    return this.copy(this.tickMillis, this.tickCount, levelCount, this.batchSize);
+  }
+
+  /**
+   * Returns the maximum number of timers that fire during the same tick to
+   * dispatch to an execution stage as a single task.
+   */
+  public final int batchSize() {
+    return this.batchSize;
   }
 
-  protected ClockDef copy(int tickMillis, int tickCount) {
-    return new ClockDef(tickMillis, tickCount);
+  public ClockDef batchSize(int batchSize) {
+    return this.copy(this.tickMillis, this.tickCount, this.levelCount, batchSize);
+  }
+
+  protected ClockDef copy(int tickMillis, int tickCount, int levelCount, int batchSize) {
+    return new ClockDef(tickMillis, tickCount, levelCount, batchSize);
   }
 
   @Override
@@ -61,7 +94,9 @@ public class ClockDef implements ScheduleDef, Debug {
     } else if (other instanceof ClockDef) {
       final ClockDef that = (ClockDef) other;
       return this.tickMillis == that.tickMillis
-          && this.tickCount == that.tickCount;
+          && this.tickCount == that.tickCount
+          && this.levelCount == that.levelCount
+          && this.batchSize == that.batchSize;
     }
     return false;
   }
@@ -73,8 +108,8 @@ public class ClockDef implements ScheduleDef, Debug {
     if (ClockDef.hashSeed == 0) {
       ClockDef.hashSeed = Murmur3.seed(ClockDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(ClockDef.hashSeed,
-        this.tickMillis), this.tickCount));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(ClockDef.hashSeed,
+        this.tickMillis), this.tickCount), this.levelCount), this.batchSize));
   }
 
   @Override
@@ -86,6 +121,12 @@ public class ClockDef implements ScheduleDef, Debug {
     if (this.tickCount != Clock.TICK_COUNT) {
       output = output.write('.').write("tickCount").write('(').debug(this.tickCount).write(')');
     }
+    if (this.levelCount != Clock.LEVEL_COUNT) {
+      output = output.write('.').write("levelCount").write('(').debug(this.levelCount).write(')');
+    }
+    if (this.batchSize != StageClock.BATCH_SIZE) {
+      output = output.write('.').write("batchSize").write('(').debug(this.batchSize).write(')');
+    }
     return output;
   }
 
@@ -98,7 +139,8 @@ public class ClockDef implements ScheduleDef, Debug {
 
   public static ClockDef standard() {
     if (ClockDef.standard == null) {
-      ClockDef.standard = new ClockDef(Clock.TICK_MILLIS, Clock.TICK_COUNT);
+      ClockDef.standard = new ClockDef(Clock.TICK_MILLIS, Clock.TICK_COUNT,
+                                       Clock.LEVEL_COUNT, StageClock.BATCH_SIZE);
     }
     return ClockDef.standard;
   }
@@ -146,9 +188,11 @@ final class ClockForm extends Form<ClockDef> {
   @Override
   public Item mold(ClockDef clockDef) {
     if (clockDef != null) {
-      final Record record = Record.create(3).attr(this.tag());
+      final Record record = Record.create(5).attr(this.tag());
       record.slot("tickMillis", clockDef.tickMillis);
       record.slot("tickCount", clockDef.tickCount);
+      record.slot("levelCount", clockDef.levelCount);
+      record.slot("batchSize", clockDef.batchSize);
       return record;
     } else {
       return Item.extant();
@@ -162,7 +206,9 @@ final class ClockForm extends Form<ClockDef> {
     if (header.isDefined()) {
       final int tickMillis = value.get("tickMillis").intValue(Clock.TICK_MILLIS);
       final int tickCount = value.get("tickCount").intValue(Clock.TICK_COUNT);
-      return new ClockDef(tickMillis, tickCount);
+      final int levelCount = value.get("levelCount").intValue(Clock.LEVEL_COUNT);
+      final int batchSize = value.get("batchSize").intValue(StageClock.BATCH_SIZE);
+      return new ClockDef(tickMillis, tickCount, levelCount, batchSize);
     }
     return null;
   }
@@ -16,7 +16,10 @@ package swim.concurrent;
 
 /**
  * {@link Clock} that invokes timer functions on an execution {@link Stage},
- * rather than on the clock thread.
+ * rather than on the clock thread. Timers that fire during the same tick are
+ * dispatched to the stage in batches of up to {@link #batchSize()} timers per
+ * task, amortizing the cost of task submission when many timers expire at
+ * once.
  */
 public class StageClock extends Clock {
 
@@ -24,6 +27,33 @@ public class StageClock extends Clock {
    * {@code Stage} on which to execute timer functions.
    */
   protected final Stage stage;
+  /**
+   * Maximum number of timer functions to execute per stage task.
+   */
+  final int batchSize;
+  /**
+   * Batch of timer functions that have fired during the currently executing
+   * tick, but have not yet been dispatched to the stage; {@code null} if no
+   * timers are pending dispatch. Only accessed by the clock thread.
+   */
+  StageClockBatch batch;
+
+  /**
+   * Constructs a new {@code StageClock} with a timer resolution of {@code
+   * tickMillis} milliseconds, a clock period of {@code tickCount} ticks per
+   * revolution, and a hierarchy of {@code levelCount} timing wheels, that
+   * executes timer functions on the given {@code stage} in batches of up to
+   * {@code batchSize} timers per task.
+   */
+  public StageClock(Stage stage, int tickMillis, int tickCount, int levelCount, int batchSize) {
+    super(tickMillis, tickCount, levelCount);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException(Integer.toString(batchSize));
+    }
+    this.stage = stage;
+    this.batchSize = batchSize;
+    this.batch = null;
+  }
 
   /**
    * Constructs a new {@code StageClock} with a timer resolution of {@code
@@ -31,8 +61,7 @@ public class StageClock extends Clock {
    * per revolution, that executes timer functions on the given {@code stage}.
    */
   public StageClock(Stage stage, int tickMillis, int tickCount) {
-    super(tickMillis, tickCount);
-    this.stage = stage;
+    this(stage, tickMillis, tickCount, Clock.LEVEL_COUNT, StageClock.BATCH_SIZE);
   }
 
   /**
@@ -41,7 +70,7 @@ public class StageClock extends Clock {
    * functions on the given {@code stage}.
    */
   public StageClock(Stage stage, ClockDef clockDef) {
-    this(stage, clockDef.tickMillis, clockDef.tickCount);
+    this(stage, clockDef.tickMillis, clockDef.tickCount, clockDef.levelCount, clockDef.batchSize);
   }
 
   /**
@@ -51,7 +80,7 @@ public class StageClock extends Clock {
    * {@code stage}.
    */
   public StageClock(Stage stage) {
-    this(stage, Clock.TICK_MILLIS, Clock.TICK_COUNT);
+    this(stage, Clock.TICK_MILLIS, Clock.TICK_COUNT, Clock.LEVEL_COUNT, StageClock.BATCH_SIZE);
   }
 
   /**
@@ -61,13 +90,125 @@ public class StageClock extends Clock {
     return this.stage;
   }
 
+  /**
+   * Returns the maximum number of timer functions to execute per stage task.
+   */
+  public final int batchSize() {
+    return this.batchSize;
+  }
+
   /**
    * Schedules the {@code runnable} to invoke {@code timer.runTimer()}
-   * on the execution {@link #stage}.
+   * on the execution {@link #stage}, either immediately, or as part of a
+   * batch of timers that fire during the same tick.
    */
   @Override
   protected void runTimer(TimerFunction timer, Runnable runnable) {
-    this.stage.execute(runnable);
+    if (this.batchSize == 1) {
+      this.stage.execute(runnable);
+    } else {
+      StageClockBatch batch = this.batch;
+      if (batch == null) {
+        batch = new StageClockBatch(this, this.batchSize);
+        this.batch = batch;
+      }
+      batch.add(timer, runnable);
+      if (batch.size == this.batchSize) {
+        this.batch = null;
+        this.stage.execute(batch);
+      }
+    }
+  }
+
+  /**
+   * Dispatches the partial batch of timers that fired during the {@code tick}
+   * to the execution {@link #stage}.
+   */
+  @Override
+  protected void flushTimers(long tick) {
+    final StageClockBatch batch = this.batch;
+    if (batch != null) {
+      this.batch = null;
+      this.stage.execute(batch);
+    }
+  }
+
+  /**
+   * Default maximum number of timer functions to execute per stage task.
+   * Defaults to the value of the {@code swim.clock.batch.size} system
+   * property, if defined; otherwise defaults to {@code 1}, dispatching
+   * every timer as a separate task.
+   */
+  public static final int BATCH_SIZE;
+
+  static {
+    // Initialize the default number of timer functions per stage task.
+    int batchSize;
+    try {
+      batchSize = Integer.parseInt(System.getProperty("swim.clock.batch.size"));
+    } catch (NumberFormatException e) {
+      batchSize = 1;
+    }
+    BATCH_SIZE = batchSize;
+  }
+
+}
+
+/**
+ * Stage task that invokes a batch of timer functions that fired during the
+ * same clock tick.
+ */
+final class StageClockBatch implements Runnable {
+
+  /**
+   * {@code StageClock} whose timers this batch executes.
+   */
+  final StageClock clock;
+  /**
+   * Timer functions to execute, used to report timer failures.
+   */
+  final TimerFunction[] timers;
+  /**
+   * Runnables that invoke the corresponding {@link #timers}.
+   */
+  final Runnable[] runnables;
+  /**
+   * Number of timers in the batch.
+   */
+  int size;
+
+  StageClockBatch(StageClock clock, int capacity) {
+    this.clock = clock;
+    this.timers = new TimerFunction[capacity];
+    this.runnables = new Runnable[capacity];
+    this.size = 0;
+  }
+
+  void add(TimerFunction timer, Runnable runnable) {
+    final int size = this.size;
+    this.timers[size] = timer;
+    this.runnables[size] = runnable;
+    this.size = size + 1;
+  }
+
+  /**
+   * Invokes each timer in the batch, reporting non-fatal timer failures to
+   * the clock so that one failing timer doesn't prevent the remainder of the
+   * batch from executing.
+   */
+  @Override
+  public void run() {
+    for (int i = 0, n = this.size; i < n; i += 1) {
+      try {
+        this.runnables[i].run();
+      } catch (Throwable error) {
+        if (Cont.isNonFatal(error)) {
+          this.clock.timerDidFail(this.timers[i], error);
+        } else {
+          throw error;
+        }
+      }
+    }
   }
 
 }
@@ -25,7 +25,9 @@ package swim.concurrent;
  * {@code Task} implementations should not perform long running or blocking
  * operations, if possible. If a {@code Task} does need to block, it should
  * return {@code true} from {@link #taskWillBlock()} to avoid thread starvation
- * of the execution {@code Stage}.
+ * of the execution {@code Stage}. A {@link Theater} runs blocking tasks either
+ * in managed blocks on its thread pool, or on virtual threads, when
+ * configured to do so by {@link TheaterDef#virtualThreads()}.
  *
  * @see AbstractTask
  * @see Stage
@@ -14,15 +14,24 @@
 
 package swim.concurrent;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * {@link Stage} that executes timers, tasks, and continuations on a {@code
  * ForkJoinPool}.
+ * <p>
+ * Tasks whose {@link Task#taskWillBlock()} method returns {@code true} can
+ * optionally run on threads of their own, such as virtual threads, instead
+ * of occupying pool workers for the duration of their blocking calls. Such
+ * tasks retain the guarantee that a task never runs concurrently with itself.
  */
 public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
 
@@ -38,13 +47,75 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
    * Schedule used to set timers.
    */
   Schedule schedule;
+  /**
+   * Number of milliseconds a single task or continuation may occupy a worker
+   * before it's reported as stalled; {@code 0} disables stall detection.
+   */
+  final long taskTimeout;
+  /**
+   * Number of milliseconds the pool may hold queued work without completing
+   * any task before it's reported as starved; {@code 0} disables starvation
+   * detection.
+   */
+  final long starvationTimeout;
+  /**
+   * Processor cores to which workers should preferably be pinned, assigned
+   * round-robin by worker id; {@code null} if workers have no affinity.
+   */
+  final int[] affinity;
+  /**
+   * Factory for the threads on which to run tasks that will block; {@code
+   * null} if blocking tasks run in managed blocks on the thread pool.
+   */
+  final ThreadFactory blockingThreadFactory;
+  /**
+   * Copy-on-write array of currently running worker threads.
+   */
+  volatile TheaterWorker[] workers;
+  /**
+   * Atomic count of tasks currently executing in a managed block.
+   */
+  volatile int blockedCount;
+  /**
+   * Atomic count of tasks and continuations run by workers that have since
+   * terminated.
+   */
+  volatile long retiredTaskCount;
+  /**
+   * Atomic cumulative run time, in nanoseconds, of tasks and continuations
+   * run by workers that have since terminated.
+   */
+  volatile long retiredTaskTime;
+  /**
+   * Atomic count of tasks reported as stalled.
+   */
+  volatile long stallCount;
+  /**
+   * Atomic count of starvation episodes reported.
+   */
+  volatile long starvationCount;
+  /**
+   * Thread that detects stalled tasks and pool starvation, if enabled.
+   */
+  TheaterWatchdog watchdog;
   /**
    * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
    */
   volatile int status;
 
-  public Theater(TheaterDef theaterDef) {
+  /**
+   * Constructs a new {@code Theater} configured by the given {@code
+   * theaterDef}, which runs tasks that will block on threads created by
+   * the {@code blockingThreadFactory}, or in managed blocks on the thread
+   * pool, if {@code blockingThreadFactory} is {@code null}.
+   */
+  public Theater(TheaterDef theaterDef, ThreadFactory blockingThreadFactory) {
     this.name = theaterDef.name != null ? theaterDef.name : "SwimStage" + Theater.THEATER_COUNT.getAndIncrement() + ".";
+    this.taskTimeout = theaterDef.taskTimeout;
+    this.starvationTimeout = theaterDef.starvationTimeout;
+    this.affinity = theaterDef.affinity;
+    this.blockingThreadFactory = blockingThreadFactory;
+    this.workers = Theater.NO_WORKERS;
     int parallelism = theaterDef.parallelism;
     if (parallelism == 0) {
       parallelism = 2 * Runtime.getRuntime().availableProcessors();
@@ -57,8 +128,22 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     }
   }
 
+  /**
+   * Constructs a new {@code Theater} configured by the given {@code
+   * theaterDef}, which runs tasks that will block on virtual threads, if
+   * enabled by {@link TheaterDef#virtualThreads()} and supported by the JVM.
+   */
+  public Theater(TheaterDef theaterDef) {
+    this(theaterDef, theaterDef.virtualThreads ? Theater.virtualThreadFactory() : null);
+  }
+
   public Theater(String name, int parallelism, Schedule schedule) {
     this.name = name != null ? name : "SwimStage" + Theater.THEATER_COUNT.getAndIncrement() + ".";
+    this.taskTimeout = 0L;
+    this.starvationTimeout = 0L;
+    this.affinity = null;
+    this.blockingThreadFactory = null;
+    this.workers = Theater.NO_WORKERS;
     this.pool = new ForkJoinPool(parallelism, new TheaterWorkerFactory(this), this, true);
     this.schedule = schedule != null ? schedule : new StageClock(this);
   }
@@ -99,10 +184,92 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     return this.pool.getParallelism();
   }
 
+  /**
+   * Returns the number of worker threads that have been started, but have
+   * not yet terminated.
+   */
+  public final int poolSize() {
+    return this.pool.getPoolSize();
+  }
+
+  /**
+   * Returns an estimate of the number of worker threads that are currently
+   * executing tasks, or are blocked in a managed block.
+   */
+  public final int activeThreadCount() {
+    return this.pool.getActiveThreadCount();
+  }
+
+  /**
+   * Returns an estimate of the number of tasks waiting in worker queues.
+   */
+  public final long queuedTaskCount() {
+    return this.pool.getQueuedTaskCount();
+  }
+
+  /**
+   * Returns an estimate of the number of tasks submitted by non-worker
+   * threads that have not yet begun executing.
+   */
+  public final int queuedSubmissionCount() {
+    return this.pool.getQueuedSubmissionCount();
+  }
+
+  /**
+   * Returns an estimate of the total number of tasks stolen from one
+   * worker's queue by another worker.
+   */
+  public final long stealCount() {
+    return this.pool.getStealCount();
+  }
+
+  public final long taskTimeout() {
+    return this.taskTimeout;
+  }
+
+  public final long starvationTimeout() {
+    return this.starvationTimeout;
+  }
+
+  /**
+   * Returns the factory for the threads on which tasks that will block run,
+   * or {@code null} if blocking tasks run in managed blocks on the thread pool.
+   */
+  public final ThreadFactory blockingThreadFactory() {
+    return this.blockingThreadFactory;
+  }
+
   public final Schedule schedule() {
     return this.schedule;
   }
 
+  /**
+   * Returns a snapshot of the pool-wide and per-worker execution statistics
+   * of this {@code Theater}.
+   */
+  public TheaterStats stats() {
+    final TheaterWorker[] workers = this.workers;
+    final TheaterWorkerStats[] workerStats = new TheaterWorkerStats[workers.length];
+    final long now = System.nanoTime();
+    long taskCount = this.retiredTaskCount;
+    long taskTime = this.retiredTaskTime;
+    for (int i = 0; i < workers.length; i += 1) {
+      final TheaterWorker worker = workers[i];
+      final long taskStartTime = worker.taskStartTime;
+      final long runTime = worker.task != null ? Math.max(0L, now - taskStartTime) : 0L;
+      workerStats[i] = new TheaterWorkerStats(worker.thread.getName(), worker.workerId, worker.core,
+                                              worker.taskCount, worker.taskTime, worker.maxTaskTime,
+                                              worker.blockCount, runTime);
+      taskCount += worker.taskCount;
+      taskTime += worker.taskTime;
+    }
+    return new TheaterStats(this.pool.getParallelism(), this.pool.getPoolSize(),
+                            this.pool.getActiveThreadCount(), this.pool.getRunningThreadCount(),
+                            this.blockedCount, this.pool.getQueuedTaskCount(),
+                            this.pool.getQueuedSubmissionCount(), this.pool.getStealCount(),
+                            taskCount, taskTime, this.stallCount, this.starvationCount, workerStats);
+  }
+
   public void setSchedule(Schedule schedule) {
     this.schedule = schedule;
   }
@@ -121,6 +288,10 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
         final int newStatus = oldStatus | Theater.STARTED;
         if (oldStatus != newStatus) {
           if (Theater.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+            if (this.taskTimeout > 0L || this.starvationTimeout > 0L) {
+              this.watchdog = new TheaterWatchdog(this);
+              this.watchdog.start();
+            }
             this.didStart();
             break;
           }
@@ -143,6 +314,10 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
       if (oldStatus != newStatus) {
         if (Theater.STATUS.compareAndSet(this, oldStatus, newStatus)) {
           try {
+            // Stop the watchdog.
+            if (this.watchdog != null) {
+              this.watchdog.interrupt();
+            }
             // Stop the clock.
             if (this.schedule instanceof Clock) {
               ((Clock) this.schedule).stop();
@@ -178,6 +353,26 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     this.pool.execute(runnable);
   }
 
+  /**
+   * Schedules a cued {@code task} for execution, either on a dedicated
+   * blocking thread, if the task will block and this theater has a {@link
+   * #blockingThreadFactory}, or else on the thread pool.
+   */
+  void executeTask(TheaterTask task) {
+    final ThreadFactory blockingThreadFactory = this.blockingThreadFactory;
+    if (blockingThreadFactory != null && task.task instanceof Task && ((Task) task.task).taskWillBlock()) {
+      this.start();
+      final TheaterWorker worker = new TheaterWorker(this, null, -1, -1, task);
+      final Thread thread = blockingThreadFactory.newThread(worker);
+      if (thread != null) {
+        worker.thread = thread;
+        thread.start();
+        return;
+      }
+    }
+    this.execute(task);
+  }
+
   @Override
   public TaskRef task(TaskFunction task) {
     this.start();
@@ -314,11 +509,92 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
     // hook
   }
 
+  /**
+   * Introspection callback invoked on a newly started {@code worker} thread,
+   * before it executes any tasks. {@code core} is the processor core to which
+   * the worker should preferably be pinned, according to the theater's
+   * affinity hints, or {@code -1} if the worker has no affinity. The JVM
+   * doesn't support pinning threads; subclasses can apply the hint with a
+   * platform-specific thread affinity library.
+   */
+  protected void workerDidStart(Thread worker, int workerId, int core) {
+    // hook
+  }
+
+  /**
+   * Introspection callback invoked by the watchdog thread when a {@code
+   * task} or continuation has occupied a {@code worker} thread for longer
+   * than the theater's task timeout. {@code runTime} is the number of
+   * nanoseconds the task has been running. Invoked at most once per task
+   * execution. Prints the stack trace of the stalled worker by default.
+   */
+  protected void workerDidStall(Thread worker, Object task, long runTime) {
+    final TaskException warning = new TaskException(worker.getName() + " stalled for "
+        + (runTime / 1000000L) + "ms running " + task);
+    warning.setStackTrace(worker.getStackTrace());
+    warning.printStackTrace();
+  }
+
+  /**
+   * Introspection callback invoked by the watchdog thread when the theater
+   * has held {@code queuedCount} queued tasks without completing any task
+   * for {@code starvedTime} nanoseconds, which exceeds the theater's
+   * starvation timeout. Invoked once per starvation episode.
+   */
+  protected void didStarve(long starvedTime, long queuedCount) {
+    new TaskException(this.name + " starved for " + (starvedTime / 1000000L) + "ms with "
+        + queuedCount + " queued tasks").printStackTrace();
+  }
+
   @Override
   public void uncaughtException(Thread thead, Throwable error) {
     this.didFail(error);
   }
 
+  void didStartWorker(TheaterWorker worker) {
+    do {
+      final TheaterWorker[] oldWorkers = Theater.WORKERS.get(this);
+      final TheaterWorker[] newWorkers = new TheaterWorker[oldWorkers.length + 1];
+      System.arraycopy(oldWorkers, 0, newWorkers, 0, oldWorkers.length);
+      newWorkers[oldWorkers.length] = worker;
+      if (Theater.WORKERS.compareAndSet(this, oldWorkers, newWorkers)) {
+        break;
+      }
+    } while (true);
+    if (worker.blockingTask == null) {
+      this.workerDidStart(worker.thread, worker.workerId, worker.core);
+    }
+  }
+
+  void didStopWorker(TheaterWorker worker) {
+    do {
+      final TheaterWorker[] oldWorkers = Theater.WORKERS.get(this);
+      int index = -1;
+      for (int i = 0; i < oldWorkers.length; i += 1) {
+        if (oldWorkers[i] == worker) {
+          index = i;
+          break;
+        }
+      }
+      if (index < 0) {
+        break;
+      }
+      final TheaterWorker[] newWorkers = new TheaterWorker[oldWorkers.length - 1];
+      System.arraycopy(oldWorkers, 0, newWorkers, 0, index);
+      System.arraycopy(oldWorkers, index + 1, newWorkers, index, newWorkers.length - index);
+      if (Theater.WORKERS.compareAndSet(this, oldWorkers, newWorkers)) {
+        Theater.RETIRED_TASK_COUNT.addAndGet(this, worker.taskCount);
+        Theater.RETIRED_TASK_TIME.addAndGet(this, worker.taskTime);
+        break;
+      }
+    } while (true);
+  }
+
+  int workerCore(int workerId) {
+    final int[] affinity = this.affinity;
+    return affinity != null && affinity.length != 0 ? affinity[workerId % affinity.length] : -1;
+  }
+
   /**
    * Atomic {@link #status} bit flag indicating that the theater has started,
    * and is currently running.
@@ -337,6 +613,55 @@ public class Theater implements MainStage, Thread.UncaughtExceptionHandler {
   static final AtomicIntegerFieldUpdater<Theater> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Theater.class, "status");
 
+  static final AtomicReferenceFieldUpdater<Theater, TheaterWorker[]> WORKERS =
+      AtomicReferenceFieldUpdater.newUpdater(Theater.class, TheaterWorker[].class, "workers");
+
+  static final AtomicIntegerFieldUpdater<Theater> BLOCKED_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Theater.class, "blockedCount");
+
+  static final AtomicLongFieldUpdater<Theater> RETIRED_TASK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "retiredTaskCount");
+
+  static final AtomicLongFieldUpdater<Theater> RETIRED_TASK_TIME =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "retiredTaskTime");
+
+  static final AtomicLongFieldUpdater<Theater> STALL_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "stallCount");
+
+  static final AtomicLongFieldUpdater<Theater> STARVATION_COUNT =
+      AtomicLongFieldUpdater.newUpdater(Theater.class, "starvationCount");
+
+  static final TheaterWorker[] NO_WORKERS = new TheaterWorker[0];
+
+  /**
+   * Returns a factory for virtual threads, or {@code null} if the JVM
+   * doesn't support virtual threads. Virtual threads are looked up
+   * reflectively, so that theaters continue to run on JVMs that predate them.
+   */
+  public static ThreadFactory virtualThreadFactory() {
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "SwimVirtual", 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (InvocationTargetException cause) {
+      // Virtual threads are a preview feature on some JVMs, which throw
+      // UnsupportedOperationException when preview features are disabled.
+      final Throwable error = cause.getCause();
+      if (error instanceof UnsupportedOperationException) {
+        return null;
+      } else if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      } else if (error instanceof Error) {
+        throw (Error) error;
+      } else {
+        throw new RuntimeException(error);
+      }
+    } catch (ReflectiveOperationException cause) {
+      return null;
+    }
+  }
+
   /**
    * Total number of theaters that have ever been instantiated. Used to
    * uniquely name theater threads.
@@ -396,7 +721,7 @@ class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker
           if (this.task instanceof Task) {
             ((Task) this.task).taskWillCue();
           }
-          this.theater.execute(this);
+          this.theater.executeTask(this);
           return true;
         } else {
           return false;
@@ -426,18 +751,60 @@ class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker
 
   @Override
   public void run() {
+    this.run(TheaterWorker.current(), false);
+  }
+
+  /**
+   * Runs the task on a dedicated blocking thread, and runs it again on the
+   * same thread for as long as it gets cued while running, instead of
+   * starting a new thread for every cue.
+   */
+  void runBlocking(TheaterWorker worker) {
+    while (this.run(worker, true)) {
+      // rerun
+    }
+  }
+
+  /**
+   * Runs the cued task, recording its execution on the given {@code worker},
+   * if non-null. If the task gets cued again while running, returns {@code
+   * true} when {@code rerun} is {@code true} and the task still blocks, so
+   * that the caller can run the task again on the current thread; otherwise
+   * executes the task again on the theater, and returns {@code false}.
+   */
+  boolean run(TheaterWorker worker, boolean rerun) {
     do {
       final int oldStatus = TheaterTask.STATUS.get(this);
       final int newStatus = (oldStatus | TheaterTask.RUNNING) & ~TheaterTask.CUED;
       if (TheaterTask.STATUS.compareAndSet(this, oldStatus, newStatus)) {
         if ((oldStatus & TheaterTask.CUED) != 0) {
+          if (worker != null) {
+            worker.willRun(this.task);
+          }
           this.theater.taskWillRun(this.task);
           try {
             if (this.task instanceof Task && ((Task) this.task).taskWillBlock()) {
-              ForkJoinPool.managedBlock(this);
+              Theater.BLOCKED_COUNT.incrementAndGet(this.theater);
+              try {
+                if (worker != null && worker.blockingTask == null) {
+                  // Compensate the pool for the worker occupied by the task.
+                  worker.didBlock();
+                  ForkJoinPool.managedBlock(this);
+                } else {
+                  // Already running on a dedicated blocking thread.
+                  this.task.runTask();
+                }
+              } finally {
+                Theater.BLOCKED_COUNT.decrementAndGet(this.theater);
+              }
             } else {
               this.task.runTask();
             }
+            if (worker != null) {
+              // Record the run before taskDidRun can observe worker stats.
+              worker.didRun();
+              worker = null;
+            }
             this.theater.taskDidRun(this.task);
           } catch (InterruptedException error) {
             this.theater.taskDidFail(this.task, error);
@@ -447,6 +814,10 @@ class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker
             } else {
               throw error;
             }
+          } finally {
+            if (worker != null) {
+              worker.didRun();
+            }
           }
         }
         break;
@@ -461,10 +832,13 @@ class TheaterTask implements TaskContext, Runnable, ForkJoinPool.ManagedBlocker
           this.theater.taskWillCue(this.task);
           if (this.task instanceof Task) {
             ((Task) this.task).taskWillCue();
+            if (rerun && ((Task) this.task).taskWillBlock()) {
+              return true;
+            }
           }
-          this.theater.execute(this);
+          this.theater.executeTask(this);
         }
-        break;
+        return false;
       }
     } while (true);
   }
@@ -582,7 +956,6 @@ final class TheaterCall<T> implements Call<T>, Runnable {
     } while (true);
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public void run() {
     do {
@@ -590,32 +963,15 @@ final class TheaterCall<T> implements Call<T>, Runnable {
       final int newStatus = oldStatus & ~TheaterCall.CUED;
       if (TheaterCall.STATUS.compareAndSet(this, oldStatus, newStatus)) {
         if (oldStatus != newStatus) {
-          if ((newStatus & TheaterCall.BIND) != 0) {
-            final T result = (T) this.result;
-            this.theater.callWillBind(this.cont, result);
-            try {
-              this.cont.bind(result);
-              this.theater.callDidBind(this.cont, result);
-            } catch (Throwable error) {
-              if (Cont.isNonFatal(error)) {
-                this.theater.callDidFail(this.cont, error);
-                this.cont.trap(error);
-              } else {
-                throw error;
-              }
-            }
-          } else if ((newStatus & TheaterCall.TRAP) != 0) {
-            final Throwable result = (Throwable) this.result;
-            this.theater.callWillTrap(this.cont, result);
-            try {
-              this.cont.trap(result);
-              this.theater.callDidTrap(this.cont, result);
-            } catch (Throwable error) {
-              if (Cont.isNonFatal(error)) {
-                this.theater.callDidFail(this.cont, error);
-              } else {
-                throw error;
-              }
+          final TheaterWorker worker = TheaterWorker.current();
+          if (worker != null) {
+            worker.willRun(this.cont);
+          }
+          try {
+            this.runCont(newStatus);
+          } finally {
+            if (worker != null) {
+              worker.didRun();
             }
           }
         }
@@ -631,6 +987,38 @@ final class TheaterCall<T> implements Call<T>, Runnable {
     } while (true);
   }
 
+  @SuppressWarnings("unchecked")
+  void runCont(int newStatus) {
+    if ((newStatus & TheaterCall.BIND) != 0) {
+      final T result = (T) this.result;
+      this.theater.callWillBind(this.cont, result);
+      try {
+        this.cont.bind(result);
+        this.theater.callDidBind(this.cont, result);
+      } catch (Throwable error) {
+        if (Cont.isNonFatal(error)) {
+          this.theater.callDidFail(this.cont, error);
+          this.cont.trap(error);
+        } else {
+          throw error;
+        }
+      }
+    } else if ((newStatus & TheaterCall.TRAP) != 0) {
+      final Throwable result = (Throwable) this.result;
+      this.theater.callWillTrap(this.cont, result);
+      try {
+        this.cont.trap(result);
+        this.theater.callDidTrap(this.cont, result);
+      } catch (Throwable error) {
+        if (Cont.isNonFatal(error)) {
+          this.theater.callDidFail(this.cont, error);
+        } else {
+          throw error;
+        }
+      }
+    }
+  }
+
   /**
    * Atomic {@link #status} bit flag indicating that the call has completed
    * with a value.
@@ -662,7 +1050,7 @@ final class TheaterCall<T> implements Call<T>, Runnable {
 }
 
 /**
- * Factory for {@code TheaterWorker} threads.
+ * Factory for {@code TheaterWorkerThread}s.
  */
 final class TheaterWorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
 
@@ -682,7 +1070,7 @@ final class TheaterWorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFac
 
   @Override
   public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
-    return new TheaterWorker(pool, this.theater, TheaterWorkerFactory.WORKER_COUNT.getAndIncrement(this));
+    return new TheaterWorkerThread(pool, this.theater, TheaterWorkerFactory.WORKER_COUNT.getAndIncrement(this));
   }
 
   /**
@@ -695,13 +1083,274 @@ final class TheaterWorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFac
 }
 
 /**
- * {@code Theater} worker thread.
+ * {@code Theater} pool thread, which records its execution statistics on
+ * its {@code TheaterWorker}.
  */
-final class TheaterWorker extends ForkJoinWorkerThread {
+final class TheaterWorkerThread extends ForkJoinWorkerThread {
+
+  /**
+   * Execution statistics of this thread.
+   */
+  final TheaterWorker worker;
 
-  TheaterWorker(ForkJoinPool pool, Theater theater, int workerId) {
+  TheaterWorkerThread(ForkJoinPool pool, Theater theater, int workerId) {
     super(pool);
+    this.worker = new TheaterWorker(theater, this, workerId, theater.workerCore(workerId), null);
     this.setName(theater.name + workerId);
   }
 
+  @Override
+  protected void onStart() {
+    super.onStart();
+    this.worker.theater.didStartWorker(this.worker);
+  }
+
+  @Override
+  protected void onTermination(Throwable exception) {
+    this.worker.theater.didStopWorker(this.worker);
+    super.onTermination(exception);
+  }
+
+}
+
+/**
+ * Execution statistics of a thread that runs {@code Theater} tasks: either
+ * a pool thread, or a dedicated thread that runs a blocking task. Execution
+ * statistics are only written by the worker thread itself, and may be read
+ * concurrently by any thread.
+ */
+final class TheaterWorker implements Runnable {
+
+  /**
+   * {@code Theater} whose tasks this worker runs.
+   */
+  final Theater theater;
+  /**
+   * Thread on which this worker runs tasks.
+   */
+  Thread thread;
+  /**
+   * Sequential id of this worker within its theater, or {@code -1} if this
+   * worker runs a blocking task on a dedicated thread.
+   */
+  final int workerId;
+  /**
+   * Processor core to which this worker should preferably be pinned, or
+   * {@code -1} if this worker has no affinity.
+   */
+  final int core;
+  /**
+   * Blocking task run by this worker on a dedicated thread, or {@code null}
+   * if this worker is a pool thread.
+   */
+  final TheaterTask blockingTask;
+  /**
+   * Task or continuation currently executing on this worker, or {@code null}
+   * if the worker is idle.
+   */
+  volatile Object task;
+  /**
+   * Monotonic timestamp, in nanoseconds, at which the current task started.
+   */
+  volatile long taskStartTime;
+  /**
+   * Number of tasks and continuations run by this worker.
+   */
+  volatile long taskCount;
+  /**
+   * Cumulative run time, in nanoseconds, of tasks and continuations run by
+   * this worker.
+   */
+  volatile long taskTime;
+  /**
+   * Longest run time, in nanoseconds, of any task or continuation run by
+   * this worker.
+   */
+  volatile long maxTaskTime;
+  /**
+   * Number of tasks run by this worker in a managed block.
+   */
+  volatile long blockCount;
+  /**
+   * Start time of the most recent task execution reported as stalled; only
+   * accessed by the watchdog thread.
+   */
+  long stallStartTime;
+
+  TheaterWorker(Theater theater, Thread thread, int workerId, int core, TheaterTask blockingTask) {
+    this.theater = theater;
+    this.thread = thread;
+    this.workerId = workerId;
+    this.core = core;
+    this.blockingTask = blockingTask;
+    this.task = null;
+    this.taskStartTime = 0L;
+    this.taskCount = 0L;
+    this.taskTime = 0L;
+    this.maxTaskTime = 0L;
+    this.blockCount = 0L;
+    this.stallStartTime = 0L;
+  }
+
+  /**
+   * Runs the blocking task of this worker on its dedicated thread, tracking
+   * the worker among the theater's workers for the duration of the run.
+   */
+  @Override
+  public void run() {
+    this.theater.didStartWorker(this);
+    try {
+      this.blockingTask.runBlocking(this);
+    } finally {
+      this.theater.didStopWorker(this);
+    }
+  }
+
+  // Statistics have a single writer, so ordered stores suffice to publish
+  // them to concurrent readers, without the full fence of a volatile store.
+
+  void willRun(Object task) {
+    TheaterWorker.TASK_START_TIME.lazySet(this, System.nanoTime());
+    TheaterWorker.TASK.lazySet(this, task);
+  }
+
+  void didRun() {
+    final long runTime = System.nanoTime() - this.taskStartTime;
+    TheaterWorker.TASK.lazySet(this, null);
+    TheaterWorker.TASK_COUNT.lazySet(this, this.taskCount + 1L);
+    TheaterWorker.TASK_TIME.lazySet(this, this.taskTime + runTime);
+    if (runTime > this.maxTaskTime) {
+      TheaterWorker.MAX_TASK_TIME.lazySet(this, runTime);
+    }
+  }
+
+  void didBlock() {
+    TheaterWorker.BLOCK_COUNT.lazySet(this, this.blockCount + 1L);
+  }
+
+  static TheaterWorker current() {
+    final Thread thread = Thread.currentThread();
+    return thread instanceof TheaterWorkerThread ? ((TheaterWorkerThread) thread).worker : null;
+  }
+
+  static final AtomicReferenceFieldUpdater<TheaterWorker, Object> TASK =
+      AtomicReferenceFieldUpdater.newUpdater(TheaterWorker.class, Object.class, "task");
+  static final AtomicLongFieldUpdater<TheaterWorker> TASK_START_TIME =
+      AtomicLongFieldUpdater.newUpdater(TheaterWorker.class, "taskStartTime");
+  static final AtomicLongFieldUpdater<TheaterWorker> TASK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(TheaterWorker.class, "taskCount");
+  static final AtomicLongFieldUpdater<TheaterWorker> TASK_TIME =
+      AtomicLongFieldUpdater.newUpdater(TheaterWorker.class, "taskTime");
+  static final AtomicLongFieldUpdater<TheaterWorker> MAX_TASK_TIME =
+      AtomicLongFieldUpdater.newUpdater(TheaterWorker.class, "maxTaskTime");
+  static final AtomicLongFieldUpdater<TheaterWorker> BLOCK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(TheaterWorker.class, "blockCount");
+
+}
+
+/**
+ * Daemon thread that periodically inspects the workers of a {@code Theater}
+ * to detect stalled tasks and pool starvation. Runs outside the pool, so
+ * that it keeps running when every worker is occupied.
+ */
+final class TheaterWatchdog extends Thread {
+
+  /**
+   * {@code Theater} whose workers this watchdog inspects.
+   */
+  final Theater theater;
+  /**
+   * Number of milliseconds between inspections.
+   */
+  final long interval;
+  /**
+   * Total number of tasks completed as of the most recent inspection.
+   */
+  long lastTaskCount;
+  /**
+   * Monotonic timestamp of the most recent inspection at which the pool had
+   * either made progress, or had no queued work.
+   */
+  long lastProgressTime;
+  /**
+   * Whether the current starvation episode has already been reported.
+   */
+  boolean starved;
+
+  TheaterWatchdog(Theater theater) {
+    this.setName(theater.name + "Watchdog");
+    this.setDaemon(true);
+    this.theater = theater;
+    long interval = Long.MAX_VALUE;
+    if (theater.taskTimeout > 0L) {
+      interval = Math.min(interval, theater.taskTimeout / 4L);
+    }
+    if (theater.starvationTimeout > 0L) {
+      interval = Math.min(interval, theater.starvationTimeout / 4L);
+    }
+    this.interval = Math.max(TheaterWatchdog.MIN_INTERVAL, Math.min(interval, TheaterWatchdog.MAX_INTERVAL));
+    this.lastTaskCount = 0L;
+    this.lastProgressTime = System.nanoTime();
+    this.starved = false;
+  }
+
+  @Override
+  public void run() {
+    while ((Theater.STATUS.get(this.theater) & Theater.STOPPED) == 0) {
+      try {
+        Thread.sleep(this.interval);
+      } catch (InterruptedException e) {
+        break;
+      }
+      try {
+        this.inspect(System.nanoTime());
+      } catch (Throwable error) {
+        if (Cont.isNonFatal(error)) {
+          this.theater.didFail(error);
+        } else {
+          throw error;
+        }
+      }
+    }
+  }
+
+  void inspect(long now) {
+    final Theater theater = this.theater;
+    final TheaterWorker[] workers = theater.workers;
+    final long taskTimeout = theater.taskTimeout * 1000000L;
+    long taskCount = theater.retiredTaskCount;
+    for (int i = 0; i < workers.length; i += 1) {
+      final TheaterWorker worker = workers[i];
+      taskCount += worker.taskCount;
+      if (taskTimeout > 0L) {
+        // Re-read the start time to ensure it belongs to the observed task.
+        final long taskStartTime = worker.taskStartTime;
+        final Object task = worker.task;
+        if (task != null && taskStartTime == worker.taskStartTime
+            && now - taskStartTime >= taskTimeout && worker.stallStartTime != taskStartTime) {
+          worker.stallStartTime = taskStartTime;
+          Theater.STALL_COUNT.incrementAndGet(theater);
+          theater.workerDidStall(worker.thread, task, now - taskStartTime);
+        }
+      }
+    }
+
+    if (theater.starvationTimeout > 0L) {
+      final long queuedCount = theater.pool.getQueuedTaskCount() + (long) theater.pool.getQueuedSubmissionCount();
+      if (taskCount != this.lastTaskCount || queuedCount == 0L) {
+        this.lastTaskCount = taskCount;
+        this.lastProgressTime = now;
+        this.starved = false;
+      } else if (!this.starved && now - this.lastProgressTime >= theater.starvationTimeout * 1000000L) {
+        this.starved = true;
+        Theater.STARVATION_COUNT.incrementAndGet(theater);
+        theater.didStarve(now - this.lastProgressTime, queuedCount);
+      }
+    }
+  }
+
+  static final long MIN_INTERVAL = 10L;
+
+  static final long MAX_INTERVAL = 1000L;
+
 }
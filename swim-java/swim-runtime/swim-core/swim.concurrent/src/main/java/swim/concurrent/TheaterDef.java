@@ -14,6 +14,7 @@
 
 package swim.concurrent;
 
+import java.util.Arrays;
 import swim.codec.Debug;
 import swim.codec.Format;
 import swim.codec.Output;
@@ -30,11 +31,30 @@ public class TheaterDef implements StageDef, Debug {
   final String name;
   final int parallelism;
   final ScheduleDef scheduleDef;
-
-  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+  final long taskTimeout;
+  final long starvationTimeout;
+  final int[] affinity;
+  final boolean virtualThreads;
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef,
+                    long taskTimeout, long starvationTimeout, int[] affinity,
+                    boolean virtualThreads) {
     this.name = name;
     this.parallelism = parallelism;
     this.scheduleDef = scheduleDef;
+    this.taskTimeout = taskTimeout;
+    this.starvationTimeout = starvationTimeout;
+    this.affinity = affinity;
+    this.virtualThreads = virtualThreads;
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef,
+                    long taskTimeout, long starvationTimeout, int[] affinity) {
+    this(name, parallelism, scheduleDef, taskTimeout, starvationTimeout, affinity, false);
+  }
+
+  public TheaterDef(String name, int parallelism, ScheduleDef scheduleDef) {
+    this(name, parallelism, scheduleDef, 0L, 0L, null);
   }
 
   public final String name() {
@@ -42,7 +62,8 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef name(String name) {
-    return this.copy(name, this.parallelism, this.scheduleDef);
+    return this.copy(name, this.parallelism, this.scheduleDef,
+                     this.taskTimeout, this.starvationTimeout, this.affinity, this.virtualThreads);
   }
 
   public final int parallelism() {
@@ -50,7 +71,8 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef parallelism(int parallelism) {
-    return this.copy(this.name, parallelism, this.scheduleDef);
+    return this.copy(this.name, parallelism, this.scheduleDef,
+                     this.taskTimeout, this.starvationTimeout, this.affinity, this.virtualThreads);
   }
 
   public final ScheduleDef scheduleDef() {
@@ -58,11 +80,72 @@ public class TheaterDef implements StageDef, Debug {
   }
 
   public TheaterDef scheduleDef(ScheduleDef scheduleDef) {
-    return this.copy(this.name, this.parallelism, scheduleDef);
+    return this.copy(this.name, this.parallelism, scheduleDef,
+                     this.taskTimeout, this.starvationTimeout, this.affinity, this.virtualThreads);
+  }
+
+  /**
+   * Returns the number of milliseconds a single task or continuation may
+   * occupy a worker thread before the theater reports it as stalled; {@code 0}
+   * disables stall detection.
+   */
+  public final long taskTimeout() {
+    return this.taskTimeout;
+  }
+
+  public TheaterDef taskTimeout(long taskTimeout) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef,
+                     taskTimeout, this.starvationTimeout, this.affinity, this.virtualThreads);
+  }
+
+  /**
+   * Returns the number of milliseconds the theater may hold queued work
+   * without completing any task before it reports itself as starved;
+   * {@code 0} disables starvation detection.
+   */
+  public final long starvationTimeout() {
+    return this.starvationTimeout;
+  }
+
+  public TheaterDef starvationTimeout(long starvationTimeout) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef,
+                     this.taskTimeout, starvationTimeout, this.affinity, this.virtualThreads);
+  }
+
+  /**
+   * Returns the processor cores to which worker threads should preferably
+   * be pinned, assigned to workers round-robin, or {@code null} if workers
+   * have no affinity. The JVM can't pin threads by itself; the hints are
+   * passed to {@link Theater#workerDidStart(Thread, int, int)}.
+   */
+  public final int[] affinity() {
+    return this.affinity;
+  }
+
+  public TheaterDef affinity(int... affinity) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef,
+                     this.taskTimeout, this.starvationTimeout, affinity, this.virtualThreads);
   }
 
-  protected TheaterDef copy(String name, int parallelism, ScheduleDef scheduleDef) {
-    return new TheaterDef(name, parallelism, scheduleDef);
+  /**
+   * Returns {@code true} if tasks that report that they will block should
+   * run on virtual threads, rather than on the theater's worker pool. Has
+   * no effect when the JVM doesn't support virtual threads, in which case
+   * blocking tasks run in managed blocks on the worker pool.
+   */
+  public final boolean virtualThreads() {
+    return this.virtualThreads;
+  }
+
+  public TheaterDef virtualThreads(boolean virtualThreads) {
+    return this.copy(this.name, this.parallelism, this.scheduleDef,
+                     this.taskTimeout, this.starvationTimeout, this.affinity, virtualThreads);
+  }
+
+  protected TheaterDef copy(String name, int parallelism, ScheduleDef scheduleDef,
+                            long taskTimeout, long starvationTimeout, int[] affinity,
+                            boolean virtualThreads) {
+    return new TheaterDef(name, parallelism, scheduleDef, taskTimeout, starvationTimeout, affinity, virtualThreads);
   }
 
   @Override
@@ -73,7 +156,10 @@ public class TheaterDef implements StageDef, Debug {
       final TheaterDef that = (TheaterDef) other;
       return (this.name == null ? that.name == null : this.name.equals(that.name))
           && this.parallelism == that.parallelism
-          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef));
+          && (this.scheduleDef == null ? that.scheduleDef == null : this.scheduleDef.equals(that.scheduleDef))
+          && this.taskTimeout == that.taskTimeout && this.starvationTimeout == that.starvationTimeout
+          && Arrays.equals(this.affinity, that.affinity)
+          && this.virtualThreads == that.virtualThreads;
     }
     return false;
   }
@@ -85,8 +171,10 @@ public class TheaterDef implements StageDef, Debug {
     if (TheaterDef.hashSeed == 0) {
       TheaterDef.hashSeed = Murmur3.seed(TheaterDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(TheaterDef.hashSeed,
-        Murmur3.hash(this.name)), this.parallelism), Murmur3.hash(this.scheduleDef)));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(TheaterDef.hashSeed,
+        Murmur3.hash(this.name)), this.parallelism), Murmur3.hash(this.scheduleDef)),
+        Murmur3.hash(this.taskTimeout)), Murmur3.hash(this.starvationTimeout)), Arrays.hashCode(this.affinity)),
+        Murmur3.hash(this.virtualThreads)));
   }
 
   @Override
@@ -99,6 +187,25 @@ public class TheaterDef implements StageDef, Debug {
     if (this.scheduleDef != null) {
       output = output.write('.').write("scheduleDef").write('(').debug(this.scheduleDef).write(')');
     }
+    if (this.taskTimeout != 0L) {
+      output = output.write('.').write("taskTimeout").write('(').debug(this.taskTimeout).write(')');
+    }
+    if (this.starvationTimeout != 0L) {
+      output = output.write('.').write("starvationTimeout").write('(').debug(this.starvationTimeout).write(')');
+    }
+    if (this.affinity != null) {
+      output = output.write('.').write("affinity").write('(');
+      for (int i = 0; i < this.affinity.length; i += 1) {
+        if (i > 0) {
+          output = output.write(", ");
+        }
+        output = output.debug(this.affinity[i]);
+      }
+      output = output.write(')');
+    }
+    if (this.virtualThreads) {
+      output = output.write('.').write("virtualThreads").write('(').write("true").write(')');
+    }
     return output;
   }
 
@@ -165,11 +272,27 @@ final class TheaterForm extends Form<TheaterDef> {
   @Override
   public Item mold(TheaterDef theaterDef) {
     if (theaterDef != null) {
-      final Record record = Record.create(3).attr(this.tag());
+      final Record record = Record.create(7).attr(this.tag());
       record.slot("parallelism", theaterDef.parallelism);
       if (theaterDef.scheduleDef != null) {
         record.add(this.scheduleForm.mold(theaterDef.scheduleDef));
       }
+      if (theaterDef.taskTimeout != 0L) {
+        record.slot("taskTimeout", theaterDef.taskTimeout);
+      }
+      if (theaterDef.starvationTimeout != 0L) {
+        record.slot("starvationTimeout", theaterDef.starvationTimeout);
+      }
+      if (theaterDef.affinity != null) {
+        final Record affinity = Record.create(theaterDef.affinity.length);
+        for (int i = 0; i < theaterDef.affinity.length; i += 1) {
+          affinity.item(theaterDef.affinity[i]);
+        }
+        record.slot("affinity", affinity);
+      }
+      if (theaterDef.virtualThreads) {
+        record.slot("virtualThreads", true);
+      }
       return theaterDef.name != null ? Slot.of(theaterDef.name, record) : record;
     } else {
       return Item.extant();
@@ -184,11 +307,31 @@ final class TheaterForm extends Form<TheaterDef> {
       final String name = item.key().stringValue(null);
       int parallelism = 2 * Runtime.getRuntime().availableProcessors();
       ScheduleDef scheduleDef = null;
+      long taskTimeout = 0L;
+      long starvationTimeout = 0L;
+      int[] affinity = null;
+      boolean virtualThreads = false;
       for (int i = 0, n = value.length(); i < n; i += 1) {
         final Item member = value.getItem(i);
         if (member.keyEquals("parallelism")) {
           parallelism = member.toValue().intValue(parallelism);
           continue;
+        } else if (member.keyEquals("taskTimeout")) {
+          taskTimeout = member.toValue().longValue(taskTimeout);
+          continue;
+        } else if (member.keyEquals("starvationTimeout")) {
+          starvationTimeout = member.toValue().longValue(starvationTimeout);
+          continue;
+        } else if (member.keyEquals("affinity")) {
+          final Value cores = member.toValue();
+          affinity = new int[cores.length()];
+          for (int j = 0; j < affinity.length; j += 1) {
+            affinity[j] = cores.getItem(j).intValue(0);
+          }
+          continue;
+        } else if (member.keyEquals("virtualThreads")) {
+          virtualThreads = member.toValue().booleanValue(virtualThreads);
+          continue;
         }
         final ScheduleDef newScheduleDef = this.scheduleForm.cast(member);
         if (newScheduleDef != null) {
@@ -196,7 +339,7 @@ final class TheaterForm extends Form<TheaterDef> {
           continue;
         }
       }
-      return new TheaterDef(name, parallelism, scheduleDef);
+      return new TheaterDef(name, parallelism, scheduleDef, taskTimeout, starvationTimeout, affinity, virtualThreads);
     }
     return null;
   }
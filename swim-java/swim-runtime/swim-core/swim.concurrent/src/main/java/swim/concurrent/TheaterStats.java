@@ -0,0 +1,154 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+/**
+ * Snapshot of the pool-wide and per-worker execution statistics of a
+ * {@link Theater}.
+ */
+public final class TheaterStats {
+
+  final int parallelism;
+  final int poolSize;
+  final int activeThreadCount;
+  final int runningThreadCount;
+  final int blockedThreadCount;
+  final long queuedTaskCount;
+  final int queuedSubmissionCount;
+  final long stealCount;
+  final long taskCount;
+  final long taskTime;
+  final long stallCount;
+  final long starvationCount;
+  final TheaterWorkerStats[] workers;
+
+  public TheaterStats(int parallelism, int poolSize, int activeThreadCount, int runningThreadCount,
+                      int blockedThreadCount, long queuedTaskCount, int queuedSubmissionCount,
+                      long stealCount, long taskCount, long taskTime, long stallCount,
+                      long starvationCount, TheaterWorkerStats[] workers) {
+    this.parallelism = parallelism;
+    this.poolSize = poolSize;
+    this.activeThreadCount = activeThreadCount;
+    this.runningThreadCount = runningThreadCount;
+    this.blockedThreadCount = blockedThreadCount;
+    this.queuedTaskCount = queuedTaskCount;
+    this.queuedSubmissionCount = queuedSubmissionCount;
+    this.stealCount = stealCount;
+    this.taskCount = taskCount;
+    this.taskTime = taskTime;
+    this.stallCount = stallCount;
+    this.starvationCount = starvationCount;
+    this.workers = workers;
+  }
+
+  /**
+   * Returns the target number of worker threads.
+   */
+  public int parallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Returns the number of started worker threads that have not yet
+   * terminated.
+   */
+  public int poolSize() {
+    return this.poolSize;
+  }
+
+  /**
+   * Returns an estimate of the number of workers executing tasks, or blocked
+   * in a managed block.
+   */
+  public int activeThreadCount() {
+    return this.activeThreadCount;
+  }
+
+  /**
+   * Returns an estimate of the number of workers that are neither idle, nor
+   * blocked in a managed block.
+   */
+  public int runningThreadCount() {
+    return this.runningThreadCount;
+  }
+
+  /**
+   * Returns the number of tasks executing in a managed block.
+   */
+  public int blockedThreadCount() {
+    return this.blockedThreadCount;
+  }
+
+  /**
+   * Returns an estimate of the number of tasks waiting in worker queues.
+   */
+  public long queuedTaskCount() {
+    return this.queuedTaskCount;
+  }
+
+  /**
+   * Returns an estimate of the number of tasks submitted by non-worker
+   * threads that have not yet begun executing.
+   */
+  public int queuedSubmissionCount() {
+    return this.queuedSubmissionCount;
+  }
+
+  /**
+   * Returns an estimate of the total number of tasks stolen from one
+   * worker's queue by another worker.
+   */
+  public long stealCount() {
+    return this.stealCount;
+  }
+
+  /**
+   * Returns the total number of tasks and continuations run by the theater.
+   */
+  public long taskCount() {
+    return this.taskCount;
+  }
+
+  /**
+   * Returns the cumulative run time, in nanoseconds, of all tasks and
+   * continuations run by the theater.
+   */
+  public long taskTime() {
+    return this.taskTime;
+  }
+
+  /**
+   * Returns the number of task executions that exceeded the theater's task
+   * timeout.
+   */
+  public long stallCount() {
+    return this.stallCount;
+  }
+
+  /**
+   * Returns the number of starvation episodes detected by the theater.
+   */
+  public long starvationCount() {
+    return this.starvationCount;
+  }
+
+  /**
+   * Returns the statistics of each running worker thread.
+   */
+  public TheaterWorkerStats[] workers() {
+    return this.workers;
+  }
+
+}
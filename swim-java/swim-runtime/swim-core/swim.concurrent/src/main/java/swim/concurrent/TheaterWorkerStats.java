@@ -0,0 +1,105 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+/**
+ * Snapshot of the execution statistics of a single {@link Theater} worker
+ * thread.
+ */
+public final class TheaterWorkerStats {
+
+  final String name;
+  final int workerId;
+  final int core;
+  final long taskCount;
+  final long taskTime;
+  final long maxTaskTime;
+  final long blockCount;
+  final long runTime;
+
+  public TheaterWorkerStats(String name, int workerId, int core, long taskCount, long taskTime,
+                            long maxTaskTime, long blockCount, long runTime) {
+    this.name = name;
+    this.workerId = workerId;
+    this.core = core;
+    this.taskCount = taskCount;
+    this.taskTime = taskTime;
+    this.maxTaskTime = maxTaskTime;
+    this.blockCount = blockCount;
+    this.runTime = runTime;
+  }
+
+  /**
+   * Returns the name of the worker thread.
+   */
+  public String name() {
+    return this.name;
+  }
+
+  /**
+   * Returns the sequential id of the worker within its theater, or {@code -1}
+   * if the worker is a dedicated thread running a blocking task.
+   */
+  public int workerId() {
+    return this.workerId;
+  }
+
+  /**
+   * Returns the processor core to which the worker should preferably be
+   * pinned, or {@code -1} if the worker has no affinity.
+   */
+  public int core() {
+    return this.core;
+  }
+
+  /**
+   * Returns the number of tasks and continuations run by the worker.
+   */
+  public long taskCount() {
+    return this.taskCount;
+  }
+
+  /**
+   * Returns the cumulative run time, in nanoseconds, of tasks and
+   * continuations run by the worker.
+   */
+  public long taskTime() {
+    return this.taskTime;
+  }
+
+  /**
+   * Returns the longest run time, in nanoseconds, of any task or continuation
+   * run by the worker.
+   */
+  public long maxTaskTime() {
+    return this.maxTaskTime;
+  }
+
+  /**
+   * Returns the number of tasks run by the worker in a managed block.
+   */
+  public long blockCount() {
+    return this.blockCount;
+  }
+
+  /**
+   * Returns the number of nanoseconds the worker has been running its
+   * current task, or {@code 0} if the worker is idle.
+   */
+  public long runTime() {
+    return this.runTime;
+  }
+
+}
@@ -25,12 +25,16 @@ class MockClock extends Clock {
   final CyclicBarrier tickBarrier;
   volatile long nanos;
 
-  MockClock(int tickMillis, int tickCount) {
-    super(tickMillis, tickCount);
+  MockClock(int tickMillis, int tickCount, int levelCount) {
+    super(tickMillis, tickCount, levelCount);
     this.tickBarrier = new CyclicBarrier(2);
     this.nanos = 100000L;
   }
 
+  MockClock(int tickMillis, int tickCount) {
+    this(tickMillis, tickCount, 1);
+  }
+
   MockClock() {
     this(100, 512);
   }
@@ -918,4 +918,101 @@ public class MockClockSpec {
     }
   }
 
+  @Test
+  public void scheduleTimersAcrossHierarchicalWheels() {
+    final MockClock clock = new MockClock(100, 8, 3);
+    final long[] ticks = {1L, 7L, 8L, 9L, 63L, 64L, 65L, 300L, 511L, 512L, 600L, 1000L};
+    final CountDownLatch[] fires = new CountDownLatch[ticks.length];
+    try {
+      clock.start();
+      for (int i = 0; i < ticks.length; i += 1) {
+        final long tick = ticks[i];
+        final CountDownLatch fire = new CountDownLatch(1);
+        fires[i] = fire;
+        clock.setTimer(tick * 100L, new AbstractTimer() {
+          @Override
+          public void runTimer() {
+            assertEquals(clock.tick(), tick);
+            assertEquals(fire.getCount(), 1);
+            fire.countDown();
+          }
+        });
+      }
+
+      long tick = 0L;
+      for (int i = 0; i < ticks.length; i += 1) {
+        clock.tick((int) (ticks[i] - tick - 1L));
+        assertEquals(fires[i].getCount(), 1);
+        clock.tick(1);
+        clock.await(fires[i]);
+        tick = ticks[i];
+      }
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void cancelATimerParkedInAnOverflowWheel() {
+    final MockClock clock = new MockClock(100, 8, 3);
+    final CountDownLatch cancel = new CountDownLatch(1);
+    try {
+      clock.start();
+      final TimerRef timer = clock.setTimer(300L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          fail();
+        }
+
+        @Override
+        public void timerDidCancel() {
+          assertEquals(cancel.getCount(), 1);
+          cancel.countDown();
+        }
+      });
+      // A timer three hundred ticks out is parked in the coarsest wheel.
+      assertEquals(clock.wheels[1][300 >>> 6].head.next.targetTick, 300L);
+
+      clock.tick(100);
+      assertTrue(timer.isScheduled());
+      timer.cancel();
+      clock.await(cancel);
+      assertFalse(timer.isScheduled());
+
+      clock.tick(250);
+    } finally {
+      clock.stop();
+    }
+  }
+
+  @Test
+  public void rescheduleATimerParkedInAnOverflowWheel() {
+    final MockClock clock = new MockClock(100, 8, 3);
+    final CountDownLatch fire = new CountDownLatch(1);
+    try {
+      clock.start();
+      final TimerRef timer = clock.setTimer(300L * 100L, new AbstractTimer() {
+        @Override
+        public void runTimer() {
+          assertEquals(clock.tick(), 150L);
+          assertEquals(fire.getCount(), 1);
+          fire.countDown();
+        }
+      });
+
+      clock.tick(100);
+      timer.reschedule(50L * 100L);
+
+      clock.tick(49);
+      assertEquals(fire.getCount(), 1);
+
+      clock.tick(1);
+      clock.await(fire);
+
+      clock.tick(200);
+    } finally {
+      clock.stop();
+    }
+  }
+
 }
@@ -0,0 +1,261 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.Test;
+import swim.structure.Item;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TheaterSpec {
+
+  @Test
+  public void countTasksRunByWorkers() throws InterruptedException {
+    final CountDownLatch execute = new CountDownLatch(100);
+    final Theater theater = new Theater("TheaterSpec", 2) {
+      @Override
+      protected void taskDidRun(TaskFunction task) {
+        execute.countDown();
+      }
+    };
+    try {
+      theater.start();
+      for (int i = 0; i < 100; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            // nop
+          }
+        }).cue();
+      }
+      assertTrue(execute.await(5, TimeUnit.SECONDS));
+      final TheaterStats stats = theater.stats();
+      assertEquals(stats.taskCount(), 100L);
+      assertEquals(stats.parallelism(), 2);
+      long workerTaskCount = 0L;
+      for (TheaterWorkerStats worker : stats.workers()) {
+        assertEquals(worker.core(), -1);
+        workerTaskCount += worker.taskCount();
+      }
+      assertEquals(workerTaskCount, 100L);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void reportStalledTasks() throws InterruptedException {
+    final CountDownLatch stalled = new CountDownLatch(1);
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(2).taskTimeout(50L)) {
+      @Override
+      protected void workerDidStall(Thread worker, Object task, long runTime) {
+        assertTrue(runTime >= 50000000L);
+        stalled.countDown();
+      }
+    };
+    try {
+      theater.start();
+      theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          try {
+            stalled.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }).cue();
+      assertTrue(stalled.await(5, TimeUnit.SECONDS));
+      assertEquals(theater.stats().stallCount(), 1L);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void reportStarvation() throws InterruptedException {
+    final CountDownLatch starved = new CountDownLatch(1);
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(1).starvationTimeout(50L)) {
+      @Override
+      protected void didStarve(long starvedTime, long queuedCount) {
+        assertTrue(queuedCount > 0L);
+        starved.countDown();
+      }
+    };
+    try {
+      theater.start();
+      for (int i = 0; i < 4; i += 1) {
+        theater.task(new AbstractTask() {
+          @Override
+          public void runTask() {
+            try {
+              starved.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        }).cue();
+      }
+      assertTrue(starved.await(5, TimeUnit.SECONDS));
+      assertEquals(theater.stats().starvationCount(), 1L);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void assignWorkerAffinity() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(1).affinity(3, 5)) {
+      @Override
+      protected void workerDidStart(Thread worker, int workerId, int core) {
+        assertEquals(core, workerId % 2 == 0 ? 3 : 5);
+        started.countDown();
+      }
+    };
+    try {
+      theater.execute(new Runnable() {
+        @Override
+        public void run() {
+          // nop
+        }
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void runBlockingTasksOnDedicatedThreads() throws InterruptedException {
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadFactory threadFactory = new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        threadCount.incrementAndGet();
+        return new Thread(runnable, "blocking");
+      }
+    };
+    final Theater theater = new Theater(TheaterDef.standard().parallelism(2), threadFactory);
+    final CountDownLatch done = new CountDownLatch(20);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger overlaps = new AtomicInteger();
+    final AtomicReference<TheaterStats> lastRunStats = new AtomicReference<TheaterStats>();
+    try {
+      final TaskRef taskRef = theater.task(new AbstractTask() {
+        @Override
+        public void runTask() {
+          assertEquals(Thread.currentThread().getName(), "blocking");
+          if (running.incrementAndGet() != 1) {
+            overlaps.incrementAndGet();
+          }
+          try {
+            Thread.sleep(5L);
+          } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+          if (done.getCount() != 1L) {
+            this.cue();
+          } else {
+            lastRunStats.set(theater.stats());
+          }
+          done.countDown();
+        }
+
+        @Override
+        public boolean taskWillBlock() {
+          return true;
+        }
+      });
+      for (int i = 0; i < 10; i += 1) {
+        taskRef.cue();
+      }
+      assertTrue(done.await(5, TimeUnit.SECONDS));
+      assertEquals(overlaps.get(), 0);
+      // Cues made while the task runs rerun it on the same thread.
+      assertEquals(threadCount.get(), 1);
+      // Blocking runs are recorded on a worker for their dedicated thread.
+      TheaterWorkerStats blockingWorker = null;
+      for (TheaterWorkerStats worker : lastRunStats.get().workers()) {
+        if ("blocking".equals(worker.name())) {
+          blockingWorker = worker;
+        }
+      }
+      assertTrue(blockingWorker != null);
+      assertEquals(blockingWorker.workerId(), -1);
+      assertEquals(blockingWorker.taskCount(), 19L);
+      assertTrue(blockingWorker.runTime() > 0L);
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void lookupVirtualThreadFactory() {
+    final ThreadFactory threadFactory = Theater.virtualThreadFactory();
+    assertEquals(threadFactory != null, Runtime.version().feature() >= 21);
+    final Theater theater = new Theater(TheaterDef.standard().virtualThreads(true));
+    assertEquals(theater.blockingThreadFactory() != null, threadFactory != null);
+    assertFalse(new Theater(TheaterDef.standard()).blockingThreadFactory() != null);
+  }
+
+  @Test
+  public void dispatchTimerBatchesToStage() throws InterruptedException {
+    final ClockDef clockDef = ClockDef.standard().tickMillis(10).levelCount(2).batchSize(4);
+    final Theater theater = new Theater(TheaterDef.standard().scheduleDef(clockDef));
+    final CountDownLatch fire = new CountDownLatch(10);
+    try {
+      theater.start();
+      assertEquals(((StageClock) theater.schedule()).batchSize(), 4);
+      for (int i = 0; i < 10; i += 1) {
+        final int index = i;
+        theater.schedule().setTimer(20L, new AbstractTimer() {
+          @Override
+          public void runTimer() {
+            fire.countDown();
+            if (index == 0) {
+              throw new RuntimeException("failed timer");
+            }
+          }
+        });
+      }
+      assertTrue(fire.await(5, TimeUnit.SECONDS));
+    } finally {
+      theater.stop();
+    }
+  }
+
+  @Test
+  public void moldAndCastClockDefs() {
+    final ClockDef clockDef = new ClockDef(10, 64, 3, 16);
+    final Item item = ClockDef.clockForm().mold(clockDef);
+    assertEquals(ClockDef.clockForm().cast(item), clockDef);
+  }
+
+  @Test
+  public void moldAndCastTheaterDefs() {
+    final TheaterDef theaterDef = new TheaterDef("stage", 4, null, 100L, 2000L, new int[] {0, 2}, true);
+    final Item item = TheaterDef.theaterForm().mold(theaterDef);
+    assertEquals(TheaterDef.theaterForm().cast(item), theaterDef);
+  }
+
+}
@@ -712,35 +712,44 @@ public final class BTreeNode extends BTreePage {
 
   @Override
   void memoizeSize(BTreePageRef pageRef) {
-    int pageSize = 12; // "@bnode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final BTreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
-    final Value[] knotKeys = this.knotKeys;
     int diffSize = 0;
     long treeSize = 0L;
-    if (n > 0) {
-      pageSize += 1; // '{'
-      for (int i = 0; i < n; i += 1) {
-        if (i > 0) {
-          final Value key = knotKeys[i - 1];
-          pageSize += 11; // ",@knot(key:"
-          pageSize += Recon.sizeOf(key);
-          pageSize += 2; // "),"
-        }
-        final BTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
+    for (int i = 0; i < n; i += 1) {
+      final BTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    final PageFormat pageFormat = this.pageRef.context.settings().pageFormat;
+    int pageSize;
+    if (pageFormat.isBinary()) {
+      pageSize = pageFormat.sizeOfPage(this);
+    } else {
+      pageSize = 12; // "@bnode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      final Value[] knotKeys = this.knotKeys;
+      if (n > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < n; i += 1) {
+          if (i > 0) {
+            final Value key = knotKeys[i - 1];
+            pageSize += 11; // ",@knot(key:"
+            pageSize += Recon.sizeOf(key);
+            pageSize += 2; // "),"
+          }
+          pageSize += childRefs[i].pageRefSize();
         }
-        treeSize += childRef.treeSize();
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
       }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
     }
     diffSize += pageSize;
     treeSize += pageSize;
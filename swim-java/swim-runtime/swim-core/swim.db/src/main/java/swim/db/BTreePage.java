@@ -99,6 +99,15 @@ public abstract class BTreePage extends Page {
 
   abstract void memoizeSize(BTreePageRef pageRef);
 
+  @Override
+  int memoizedPageSize() {
+    final BTreePageRef pageRef = this.pageRef();
+    if (pageRef.pageSize < 0) {
+      this.memoizeSize(pageRef);
+    }
+    return pageRef.pageSize;
+  }
+
   @Override
   public abstract BTreePage loadTree(PageLoader pageLoader);
 
@@ -17,10 +17,6 @@ package swim.db;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
-import swim.codec.Binary;
-import swim.codec.Output;
-import swim.codec.OutputBuffer;
-import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
 
 public class Chunk {
@@ -87,18 +83,11 @@ public class Chunk {
 
   public void write(WritableByteChannel channel) {
     try {
+      final PageFormat pageFormat = this.germ.pageFormat;
       final FingerTrieSeq<Page> pages = this.pages;
       for (int i = 0; i < pages.size(); i += 1) {
         final Page page = pages.get(i);
-        final int pageSize = page.pageSize();
-        final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[pageSize]);
-        final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
-        page.writePage(encoder);
-        final ByteBuffer pageBuffer = output.bind();
-        if (pageBuffer.remaining() != pageSize) {
-          throw new StoreException("serialized page size of " + pageBuffer.remaining() + " bytes "
-                                 + "does not match expected page size of " + pageSize + " bytes");
-        }
+        final ByteBuffer pageBuffer = pageFormat.encodePage(page);
         do {
           channel.write(pageBuffer);
         } while (pageBuffer.hasRemaining());
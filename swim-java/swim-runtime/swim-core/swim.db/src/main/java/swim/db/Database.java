@@ -51,8 +51,8 @@ public class Database {
   volatile HashTrieMap<Value, Trunk<Tree>> trunks;
   volatile HashTrieMap<Value, Trunk<Tree>> sprouts;
   Value commitKey;
-  Value evacuateKey;
   int evacuationPass;
+  volatile DatabaseCompactor compactor;
   volatile int status;
 
   Database(Store store, int stem, long version) {
@@ -69,7 +69,8 @@ public class Database {
     this.sprouts = HashTrieMap.empty();
 
     final long time = System.currentTimeMillis();
-    this.germ = new Germ(stem, version, time, time, this.seedTrunk.tree.rootRef().toValue());
+    this.germ = new Germ(stem, version, time, time, this.seedTrunk.tree.rootRef().toValue(),
+                         store.settings().pageFormat);
   }
 
   Database(Store store, Germ germ) {
@@ -499,7 +500,10 @@ public class Database {
    * Lifecycle callback invoked to actually close the database.
    */
   protected void onClose() {
-    // hook
+    final DatabaseCompactor compactor = this.compactor;
+    if (compactor != null) {
+      compactor.abort();
+    }
   }
 
   /**
@@ -692,13 +696,15 @@ public class Database {
       final long treeSize = this.treeSize;
       final long storeSize = this.store.size();
       final double treeFill = (double) treeSize / (double) storeSize;
-      if (storeSize > this.settings().minCompactSize && treeFill < this.settings().minTreeFill) {
+      final Stage stage = this.stage();
+      if (storeSize > this.settings().minCompactSize && treeFill < this.settings().minTreeFill && stage != null) {
         post = zone;
-        this.evacuateKey = null;
+        final DatabaseCompactor compactor = new DatabaseCompactor(this, post);
         this.evacuationPass = 1;
+        this.compactor = compactor;
         this.post = post;
         this.databaseWillCompact(post);
-        this.store.databaseWillCompact(this, post);
+        compactor.start(stage);
       }
     }
 
@@ -726,7 +732,7 @@ public class Database {
           break;
         } else if (rollover) {
           final int nextKeyHash = Murmur3.hash(nextCommitKey);
-          if (HashTrieMap.compareKeyHashes(startCommitKeyHash, nextKeyHash) <= 0) {
+          if (startCommitKey == null || HashTrieMap.compareKeyHashes(startCommitKeyHash, nextKeyHash) < 0) {
             // Cycled through all trees
             break;
           }
@@ -777,84 +783,13 @@ public class Database {
       }
     } while (true);
 
-    // Incrementally compact the store
-    if (this.evacuationPass != 0) {
-      final long startEvacuationBase = base;
-      final long startEvacuationTime = System.currentTimeMillis();
-
-      // Evacuate data pages
-      do {
-        final BTree seedTree = (BTree) Trunk.TREE.get(this.seedTrunk);
-        final Value nextEvacuateKey = seedTree.nextKey(this.evacuateKey);
-        this.evacuateKey = nextEvacuateKey;
-        if (nextEvacuateKey == null) {
-          this.evacuationPass += 1;
-          if (this.evacuationPass <= 2) {
-            // Finished evacuation pass
-            break;
-          } else {
-            // Completed evacuation
-            this.stablePost = post;
-            this.evacuationPass = 0;
-            this.databaseDidCompact(post);
-            this.store.databaseDidCompact(this, post);
-            break;
-          }
-        }
-        final Value seedValue = seedTree.get(nextEvacuateKey);
-        final Seed seed = Seed.fromValue(seedValue);
-        Trunk<Tree> trunk = new Trunk<Tree>(this, nextEvacuateKey, null);
-        Tree tree = seed.treeType().treeFromSeed(trunk, seed, false, false);
-        trunk.tree = tree;
-        final int treePost = tree.rootRef().post();
-        if (treePost != 0 && treePost < post) {
-          trunk = this.openTrunk(nextEvacuateKey, null, false, false);
-          tree = trunk.tree;
-          // Evacuate next tree
-          do {
-            final Tree oldTree = Trunk.TREE.get(trunk);
-            final Tree newTree = oldTree.evacuated(post, version);
-            if (oldTree == newTree) {
-              break;
-            } else if (Trunk.TREE.compareAndSet(trunk, oldTree, newTree)) {
-              final int newPost = newTree.post();
-              if (newPost == 0 || newPost >= post) {
-                break;
-              }
-            }
-          } while (true);
-          // Commit next tree
-          do {
-            final Tree oldTree = Trunk.TREE.get(trunk);
-            final Tree newTree = oldTree.committed(zone, step, version, time);
-            if (oldTree == newTree) {
-              break;
-            } else if (Trunk.TREE.compareAndSet(trunk, oldTree, newTree)) {
-              Database.DIFF_SIZE.addAndGet(this, -((long) Trunk.DIFF_SIZE.getAndSet(trunk, 0)));
-              do {
-                final BTree oldSeedTree = (BTree) Trunk.TREE.get(this.seedTrunk);
-                final BTree newSeedTree = oldSeedTree.updated(trunk.name, newTree.seed().toValue(), version, post);
-                if (Trunk.TREE.compareAndSet(this.seedTrunk, oldSeedTree, newSeedTree)) {
-                  break;
-                }
-              } while (true);
-              treeBuilder.add(newTree);
-              newTree.buildDiff(version, pageBuilder);
-              Database.TREE_SIZE.addAndGet(this, newTree.treeSize() - oldTree.treeSize());
-              newTree.treeContext().treeDidCommit(newTree, oldTree);
-              step += newTree.diffSize(version);
-              break;
-            }
-          } while (true);
-        }
-
-        if ((step - startEvacuationBase) > this.settings().maxCompactSize) {
-          break;
-        }
-        if (System.currentTimeMillis() - startEvacuationTime > this.settings().maxCompactTime) {
-          break;
-        }
-      } while (true);
+    // Complete compaction once the compactor has evacuated all trees
+    final DatabaseCompactor compactor = this.compactor;
+    if (compactor != null && compactor.isEvacuated()) {
+      this.compactor = null;
+      this.stablePost = post;
+      this.evacuationPass = 0;
+      this.databaseDidCompact(post);
     }
 
     // Evacuate seed tree
@@ -921,7 +856,8 @@ public class Database {
     final FingerTrieSeq<Page> pages = pageBuilder.bind();
 
     final Germ germ = new Germ(this.stem, version, this.germ.created(),
-                               time, seedTree.rootRef().toValue());
+                               time, seedTree.rootRef().toValue(),
+                               this.settings().pageFormat);
     this.germ = germ;
     return new Chunk(this, commit, post, zone, germ, size, trees, pages);
   }
@@ -968,6 +904,10 @@ public class Database {
 
   void databaseDidCommit(Chunk chunk) {
     this.store.databaseDidCommit(this, chunk);
+    final DatabaseCompactor compactor = this.compactor;
+    if (compactor != null) {
+      compactor.didCommit(chunk);
+    }
     final DatabaseDelegate delegate = this.delegate;
     if (delegate != null) {
       delegate.databaseDidCommit(this, chunk);
@@ -0,0 +1,302 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Cont;
+import swim.concurrent.Stage;
+import swim.structure.Value;
+
+/**
+ * Incrementally evacuates the trees of a {@link Database} out of zones older
+ * than a compaction {@code post}. Evacuation proceeds in bounded slices; each
+ * slice fans out up to {@code parallelism} {@link DatabaseEvacuator} tasks on
+ * the store's execution {@link Stage}, which claim trees from a shared seed
+ * key cursor, relocate their pages into the current version, and hand the
+ * resulting sprouts off to the regular commit path. A new slice starts only
+ * after the previous slice's pages have been committed, and slice parallelism
+ * is throttled against observed commit latency, so compaction never holds up
+ * a commit for the duration of a full pass.
+ */
+final class DatabaseCompactor extends AbstractTask {
+
+  final Database database;
+  final int post;
+  final int maxParallelism;
+  final DatabaseEvacuator[] evacuators;
+  int parallelism;
+  Value evacuateKey;
+  boolean passDirty;
+  boolean passEnded;
+  long sliceStart;
+  volatile int activeCount;
+  volatile int status;
+
+  DatabaseCompactor(Database database, int post, int maxParallelism) {
+    this.database = database;
+    this.post = post;
+    this.maxParallelism = maxParallelism;
+    this.evacuators = new DatabaseEvacuator[maxParallelism];
+    this.parallelism = maxParallelism;
+    this.evacuateKey = null;
+    this.passDirty = false;
+    this.passEnded = false;
+    this.sliceStart = 0L;
+    this.activeCount = 0;
+    this.status = 0;
+  }
+
+  DatabaseCompactor(Database database, int post) {
+    this(database, post, Math.max(1, Runtime.getRuntime().availableProcessors()));
+  }
+
+  Database database() {
+    return this.database;
+  }
+
+  int post() {
+    return this.post;
+  }
+
+  synchronized int parallelism() {
+    return this.parallelism;
+  }
+
+  boolean isEvacuated() {
+    return (DatabaseCompactor.STATUS.get(this) & DatabaseCompactor.EVACUATED) != 0;
+  }
+
+  boolean isCancelled() {
+    return (DatabaseCompactor.STATUS.get(this) & DatabaseCompactor.CANCELLED) != 0;
+  }
+
+  boolean start(Stage stage) {
+    if (stage == null) {
+      return false;
+    }
+    stage.task(this);
+    for (int i = 0; i < this.maxParallelism; i += 1) {
+      final DatabaseEvacuator evacuator = new DatabaseEvacuator(this);
+      stage.task(evacuator);
+      this.evacuators[i] = evacuator;
+    }
+    this.cue();
+    return true;
+  }
+
+  void abort() {
+    do {
+      final int oldStatus = DatabaseCompactor.STATUS.get(this);
+      final int newStatus = oldStatus | DatabaseCompactor.CANCELLED;
+      if (oldStatus == newStatus || DatabaseCompactor.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+        break;
+      }
+    } while (true);
+    this.cancel();
+    for (int i = 0; i < this.evacuators.length; i += 1) {
+      final DatabaseEvacuator evacuator = this.evacuators[i];
+      if (evacuator != null) {
+        evacuator.cancel();
+      }
+    }
+  }
+
+  @Override
+  public void runTask() {
+    final int status = DatabaseCompactor.STATUS.get(this);
+    if ((status & (DatabaseCompactor.EVACUATED | DatabaseCompactor.CANCELLED)) != 0
+        || DatabaseCompactor.ACTIVE_COUNT.get(this) != 0) {
+      return;
+    }
+    if (this.database.diffSize() > this.database.settings().maxCommitSize) {
+      // Let pending commits drain before evacuating more pages;
+      // the next commit will re-cue the compactor.
+      return;
+    }
+    final int parallelism;
+    synchronized (this) {
+      parallelism = this.parallelism;
+      this.passEnded = false;
+      this.sliceStart = System.currentTimeMillis();
+    }
+    DatabaseCompactor.ACTIVE_COUNT.set(this, parallelism);
+    for (int i = 0; i < parallelism; i += 1) {
+      this.evacuators[i].cue();
+    }
+  }
+
+  /**
+   * Returns the name of the next tree with pages older than the compaction
+   * post, or {@code null} if the current slice has run out of trees.
+   */
+  synchronized Value claimTree() {
+    if (this.passEnded || this.isCancelled()) {
+      return null;
+    }
+    final Database database = this.database;
+    final BTree seedTree = (BTree) Trunk.TREE.get(database.seedTrunk);
+    do {
+      final Value key = seedTree.nextKey(this.evacuateKey);
+      this.evacuateKey = key;
+      if (key == null) {
+        // Finished evacuation pass
+        this.passEnded = true;
+        if (!this.passDirty) {
+          // Completed evacuation
+          do {
+            final int oldStatus = DatabaseCompactor.STATUS.get(this);
+            final int newStatus = oldStatus | DatabaseCompactor.EVACUATED;
+            if (DatabaseCompactor.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+              break;
+            }
+          } while (true);
+        }
+        this.passDirty = false;
+        return null;
+      }
+      final Seed seed = Seed.fromValue(seedTree.get(key));
+      final Trunk<Tree> trunk = new Trunk<Tree>(database, key, null);
+      final Tree tree = seed.treeType().treeFromSeed(trunk, seed, false, false);
+      final int treePost = tree.rootRef().post();
+      if (treePost != 0 && treePost < this.post) {
+        this.passDirty = true;
+        return key;
+      }
+    } while (true);
+  }
+
+  /**
+   * Evacuates the tree with the given {@code name} until all of its pages
+   * reside at or after the compaction post, or until the slice budget is
+   * exhausted. Returns the number of bytes of pages evacuated.
+   */
+  long evacuateTree(Value name, long budget, long deadline) {
+    final int post = this.post;
+    final Trunk<Tree> trunk = this.database.openTrunk(name, null, false, false);
+    long evacuatedSize = 0L;
+    do {
+      final long version = this.database.version;
+      final Tree oldTree = Trunk.TREE.get(trunk);
+      final int oldPost = oldTree.post();
+      if (oldPost == 0 || oldPost >= post) {
+        break;
+      }
+      final Tree newTree = oldTree.evacuated(post, version);
+      if (oldTree == newTree) {
+        break;
+      } else if (trunk.updateTree(oldTree, newTree, version)) {
+        evacuatedSize = (long) newTree.diffSize(version);
+        if (evacuatedSize >= budget || System.currentTimeMillis() >= deadline) {
+          break;
+        }
+      }
+    } while (!this.isCancelled());
+    return evacuatedSize;
+  }
+
+  void evacuatorDidFail(Throwable error) {
+    this.database.databaseCompactDidFail(error);
+  }
+
+  void evacuatorDidFinish() {
+    if (DatabaseCompactor.ACTIVE_COUNT.decrementAndGet(this) == 0 && !this.isCancelled()) {
+      // Commit the pages evacuated by this slice, or complete compaction
+      // if the last pass found no trees left to evacuate.
+      this.database.store.commitAsync(Commit.forced());
+    }
+  }
+
+  /**
+   * Adapts slice parallelism to the latency of the most recent commit,
+   * additively increasing parallelism while commits complete within
+   * {@code maxCommitTime}, and halving it when they don't; then schedules
+   * the next slice.
+   */
+  void didCommit(Chunk chunk) {
+    if (chunk != null) {
+      final long commitLatency = System.currentTimeMillis() - chunk.germ().updated();
+      synchronized (this) {
+        if (commitLatency > this.database.settings().maxCommitTime) {
+          this.parallelism = Math.max(1, this.parallelism >>> 1);
+        } else if (this.parallelism < this.maxParallelism) {
+          this.parallelism += 1;
+        }
+      }
+    }
+    if (!this.isCancelled() && !this.isEvacuated()) {
+      this.cue();
+    }
+  }
+
+  long sliceBudget() {
+    return Math.max(1L, this.database.settings().maxCompactSize / this.parallelism());
+  }
+
+  synchronized long sliceDeadline() {
+    return this.sliceStart + this.database.settings().maxCompactTime;
+  }
+
+  static final int EVACUATED = 1 << 0;
+  static final int CANCELLED = 1 << 1;
+
+  static final AtomicIntegerFieldUpdater<DatabaseCompactor> ACTIVE_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(DatabaseCompactor.class, "activeCount");
+
+  static final AtomicIntegerFieldUpdater<DatabaseCompactor> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(DatabaseCompactor.class, "status");
+
+}
+
+final class DatabaseEvacuator extends AbstractTask {
+
+  final DatabaseCompactor compactor;
+
+  DatabaseEvacuator(DatabaseCompactor compactor) {
+    this.compactor = compactor;
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    final DatabaseCompactor compactor = this.compactor;
+    try {
+      long budget = compactor.sliceBudget();
+      final long deadline = compactor.sliceDeadline();
+      do {
+        final Value name = compactor.claimTree();
+        if (name == null) {
+          break;
+        }
+        try {
+          budget -= compactor.evacuateTree(name, budget, deadline);
+        } catch (Throwable cause) {
+          if (Cont.isNonFatal(cause)) {
+            compactor.evacuatorDidFail(cause);
+          } else {
+            throw cause;
+          }
+        }
+      } while (budget > 0L && System.currentTimeMillis() < deadline);
+    } finally {
+      compactor.evacuatorDidFinish();
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import swim.codec.Debug;
+import swim.codec.Output;
+
+/**
+ * Policy governing when committed chunks are flushed to stable storage.
+ * <ul>
+ * <li>{@code SYNC}: forced commits flush file data and metadata before and
+ *   after writing each chunk's germ, so a forced commit is durable once it
+ *   completes.</li>
+ * <li>{@code DATA_SYNC}: like {@code SYNC}, but only flushes file data, which
+ *   avoids the cost of updating file metadata that isn't needed to recover
+ *   the chunk.</li>
+ * <li>{@code PERIODIC}: commits don't flush; the store instead flushes every
+ *   zone written since the previous flush in the background every
+ *   {@code syncInterval} milliseconds.
+ *   Commits made within the last interval may be lost on power failure.</li>
+ * <li>{@code BUFFERED}: commits are never flushed, leaving write-back to the
+ *   operating system. Zones are still flushed when the store closes.</li>
+ * </ul>
+ */
+public enum Durability implements Debug {
+
+  SYNC(0, "sync"),
+  DATA_SYNC(1, "dsync"),
+  PERIODIC(2, "periodic"),
+  BUFFERED(3, "buffered");
+
+  final int code;
+  final String tag;
+
+  Durability(int code, String tag) {
+    this.code = code;
+    this.tag = tag;
+  }
+
+  /**
+   * Returns {@code true} if forced commits flush to stable storage
+   * before completing.
+   */
+  public boolean isSynchronous() {
+    return this == Durability.SYNC || this == Durability.DATA_SYNC;
+  }
+
+  /**
+   * Returns {@code true} if flushes should also write back file metadata.
+   */
+  public boolean syncsMetaData() {
+    return this != Durability.DATA_SYNC;
+  }
+
+  public int code() {
+    return this.code;
+  }
+
+  public String tag() {
+    return this.tag;
+  }
+
+  @Override
+  public <T> Output<T> debug(Output<T> output) {
+    output = output.write("Durability").write('.').write(this.name());
+    return output;
+  }
+
+  public static Durability fromTag(String tag) {
+    if ("sync".equals(tag)) {
+      return Durability.SYNC;
+    } else if ("dsync".equals(tag)) {
+      return Durability.DATA_SYNC;
+    } else if ("periodic".equals(tag)) {
+      return Durability.PERIODIC;
+    } else if ("buffered".equals(tag)) {
+      return Durability.BUFFERED;
+    } else {
+      return null;
+    }
+  }
+
+}
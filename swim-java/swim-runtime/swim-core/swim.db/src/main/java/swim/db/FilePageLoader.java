@@ -47,6 +47,12 @@ final class FilePageLoader extends PageLoader {
   }
 
   Page loadPage(FileZone zone, PageRef pageRef) {
+    if (this.store.settings().mapZones && zone.isSealed()) {
+      final Page page = zone.loadMappedPage(pageRef, this.treeDelegate, this.isResident);
+      if (page != null) {
+        return page;
+      }
+    }
     final Integer zoneId = zone.id;
     FileChannel channel = null;
     do {
@@ -19,13 +19,17 @@ import java.io.FilenameFilter;
 import java.util.Iterator;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import swim.collections.HashTrieMap;
+import swim.concurrent.AbstractTimer;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
-import swim.util.HashGenCacheSet;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
+import swim.util.LatencyHistogram;
 
 public class FileStore extends Store {
 
@@ -34,12 +38,20 @@ public class FileStore extends Store {
   final String baseName;
   final String zoneFileExt;
   final Stage stage;
-  final HashGenCacheSet<Page> pageCache;
+  final PageCache pageCache;
   final FileStoreCommitter committer;
+  final FileStoreSyncer syncer;
+  TimerRef syncTimer;
   final Pattern zonePattern;
   final FilenameFilter zoneFilter;
   volatile HashTrieMap<Integer, FileZone> zones;
   volatile FileZone zone;
+  volatile long commitCount;
+  volatile long commitTime;
+  final LatencyHistogram commitLatency;
+  volatile long syncCount;
+  volatile long syncTime;
+  volatile long syncedChunkCount;
   volatile int status;
 
   public FileStore(StoreContext context, File directory, String baseName, Stage stage) {
@@ -54,12 +66,16 @@ public class FileStore extends Store {
       this.zoneFileExt = "swimdb";
     }
     this.stage = stage;
-    this.pageCache = new HashGenCacheSet<Page>(context.settings.pageCacheSize);
+    this.pageCache = new PageCache(context.settings.pageCacheBudget, context.settings.pageCacheSize);
     this.committer = new FileStoreCommitter(this);
     stage.task(this.committer);
+    this.syncer = new FileStoreSyncer(this);
+    stage.task(this.syncer);
+    this.syncTimer = null;
     this.zonePattern = Pattern.compile(Pattern.quote(this.baseName) + "-([0-9]+)\\." + Pattern.quote(this.zoneFileExt));
     this.zoneFilter = new FileStoreZoneFilter(this.zonePattern);
     this.zones = HashTrieMap.empty();
+    this.commitLatency = new LatencyHistogram();
     this.status = 0;
   }
 
@@ -115,10 +131,78 @@ public class FileStore extends Store {
     return this.stage;
   }
 
-  public final HashGenCacheSet<Page> pageCache() {
+  public final PageCache pageCache() {
     return this.pageCache;
   }
 
+  /**
+   * Returns the number of chunks written by this store.
+   */
+  public final long commitCount() {
+    return FileStore.COMMIT_COUNT.get(this);
+  }
+
+  /**
+   * Returns the cumulative time, in nanoseconds, spent committing and
+   * writing chunks, excluding time spent waiting for chunks to be flushed.
+   */
+  public final long commitTime() {
+    return FileStore.COMMIT_TIME.get(this);
+  }
+
+  /**
+   * Returns the distribution of times spent committing and writing
+   * individual chunks.
+   */
+  public final LatencyHistogram commitLatency() {
+    return this.commitLatency;
+  }
+
+  /**
+   * Returns the number of times this store has flushed its zones to
+   * stable storage.
+   */
+  public final long syncCount() {
+    return FileStore.SYNC_COUNT.get(this);
+  }
+
+  /**
+   * Returns the cumulative time, in nanoseconds, spent flushing zones to
+   * stable storage.
+   */
+  public final long syncTime() {
+    return FileStore.SYNC_TIME.get(this);
+  }
+
+  /**
+   * Returns the number of chunks made durable by flushes; divided by
+   * {@link #syncCount()}, gives the mean number of chunks per flush.
+   */
+  public final long syncedChunkCount() {
+    return FileStore.SYNCED_CHUNK_COUNT.get(this);
+  }
+
+  void didCommit(long commitDelta) {
+    FileStore.COMMIT_COUNT.incrementAndGet(this);
+    FileStore.COMMIT_TIME.addAndGet(this, commitDelta);
+    this.commitLatency.record(commitDelta);
+  }
+
+  void didSync(long syncDelta, int chunkCount) {
+    FileStore.SYNC_COUNT.incrementAndGet(this);
+    FileStore.SYNC_TIME.addAndGet(this, syncDelta);
+    FileStore.SYNCED_CHUNK_COUNT.addAndGet(this, (long) chunkCount);
+  }
+
+  /**
+   * Flushes all chunks written to any zone to stable storage,
+   * regardless of the configured {@link Durability}.
+   */
+  public void sync() {
+    this.syncer.syncCommits();
+    this.syncer.syncZones();
+  }
+
   @Override
   public final long size() {
     long size = 0L;
@@ -310,6 +394,10 @@ public class FileStore extends Store {
   protected void onOpen() {
     // Open the latest zone.
     this.openZone();
+    // Schedule background flushes of the active zone.
+    if (this.settings().durability == Durability.PERIODIC) {
+      this.syncTimer = this.stage.setTimer(this.settings().syncInterval, new FileStoreSyncTimer(this));
+    }
   }
 
   /**
@@ -485,8 +573,20 @@ public class FileStore extends Store {
    * Lifecycle callback invoked to actually close the store.
    */
   protected void onClose() {
+    // Stop background flushes.
+    final TimerRef syncTimer = this.syncTimer;
+    if (syncTimer != null) {
+      syncTimer.cancel();
+      this.syncTimer = null;
+    }
+    // Flush pending chunks and buffered writes.
+    if (this.zone != null) {
+      this.sync();
+    }
     // Close all zones.
     this.closeZones();
+    // Release all cached pages.
+    this.pageCache.clear();
   }
 
   /**
@@ -631,9 +731,15 @@ public class FileStore extends Store {
   public void deletePost(int post) {
     final Database database = this.openDatabase();
     final TreeMap<Integer, File> zoneFiles = this.zoneFiles();
+    boolean synced = false;
     while (!zoneFiles.isEmpty()) {
       final int oldestZone = zoneFiles.firstKey();
       if (oldestZone < post) {
+        if (!synced) {
+          // Make sure evacuated pages are durable before deleting their source.
+          this.syncer.syncZones();
+          synced = true;
+        }
         final boolean deleted = zoneFiles.get(oldestZone).delete();
         zoneFiles.remove(oldestZone);
         this.closeZone(oldestZone);
@@ -763,11 +869,48 @@ public class FileStore extends Store {
       AtomicReferenceFieldUpdater.newUpdater(FileStore.class, (Class<HashTrieMap<Integer, FileZone>>) (Class<?>) HashTrieMap.class, "zones");
   static final AtomicReferenceFieldUpdater<FileStore, FileZone> ZONE =
       AtomicReferenceFieldUpdater.newUpdater(FileStore.class, FileZone.class, "zone");
+  static final AtomicLongFieldUpdater<FileStore> COMMIT_COUNT =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "commitCount");
+  static final AtomicLongFieldUpdater<FileStore> COMMIT_TIME =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "commitTime");
+  static final AtomicLongFieldUpdater<FileStore> SYNC_COUNT =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "syncCount");
+  static final AtomicLongFieldUpdater<FileStore> SYNC_TIME =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "syncTime");
+  static final AtomicLongFieldUpdater<FileStore> SYNCED_CHUNK_COUNT =
+      AtomicLongFieldUpdater.newUpdater(FileStore.class, "syncedChunkCount");
   static final AtomicIntegerFieldUpdater<FileStore> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(FileStore.class, "status");
 
 }
 
+final class FileStoreSyncTimer extends AbstractTimer implements TimerFunction {
+
+  final FileStore store;
+
+  FileStoreSyncTimer(FileStore store) {
+    this.store = store;
+  }
+
+  @Override
+  public void runTimer() {
+    try {
+      this.store.syncer.syncZones();
+    } catch (Throwable cause) {
+      if (Cont.isNonFatal(cause)) {
+        final Database database = this.store.database();
+        if (database != null) {
+          database.databaseCommitDidFail(cause);
+        }
+      } else {
+        throw cause;
+      }
+    }
+    this.reschedule(this.store.settings().syncInterval);
+  }
+
+}
+
 final class FileStoreZoneFilter implements FilenameFilter {
 
   final Pattern zonePattern;
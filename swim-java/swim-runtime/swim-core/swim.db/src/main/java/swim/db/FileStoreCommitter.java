@@ -67,10 +67,22 @@ final class FileStoreCommitter extends AbstractTask {
       if (committing.isShifted()) {
         store.shiftZone();
       }
+      final long commitStart = System.nanoTime();
+      final boolean pipelined = store.settings().durability.isSynchronous();
       final FileZone zone = store.zone;
-      final Chunk chunk = zone.commitAndWriteChunk(committing);
+      final Chunk chunk = zone.commitAndWriteChunk(committing, pipelined);
       if (chunk != null) {
         chunk.soften();
+        store.didCommit(System.nanoTime() - commitStart);
+      }
+      if (pipelined) {
+        // Flush the chunk, write its germ, and acknowledge the commit in
+        // order with any previous commits that are still being flushed.
+        store.syncer.syncAsync(new PendingCommit(database, committing, zone, chunk, database.stablePost));
+        return;
+      }
+      if (chunk != null) {
+        store.syncer.didWrite(zone);
       }
       if (database.stablePost != 0) {
         store.deletePost(database.stablePost);
@@ -0,0 +1,192 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.collections.FingerTrieSeq;
+import swim.collections.HashTrieMap;
+import swim.concurrent.AbstractTask;
+import swim.concurrent.Cont;
+
+/**
+ * Makes commits written by the {@link FileStoreCommitter} durable, and
+ * acknowledges them once durable. The committer of a synchronous store only
+ * writes each chunk's pages; the syncer then flushes the pages, writes the
+ * germs that refer to them, and flushes the germs, so that neither flush
+ * blocks the committer from writing the next chunk. Commits that queue up
+ * while a flush is in progress are flushed together by the next flush, so
+ * that concurrent commits share the cost of each flush. Commits are always
+ * acknowledged in the order in which they were written.
+ * <p>
+ * The syncer also tracks every zone written since it was last flushed,
+ * including zones that have since been shifted out, so that periodic and
+ * on-demand flushes cover all unflushed writes.
+ */
+final class FileStoreSyncer extends AbstractTask {
+
+  final FileStore store;
+  volatile FingerTrieSeq<PendingCommit> commits;
+  volatile HashTrieMap<Integer, FileZone> dirtyZones;
+  long syncedCommitCount;
+
+  FileStoreSyncer(FileStore store) {
+    this.store = store;
+    this.commits = FingerTrieSeq.empty();
+    this.dirtyZones = HashTrieMap.empty();
+    this.syncedCommitCount = 0L;
+  }
+
+  void syncAsync(PendingCommit commit) {
+    do {
+      final FingerTrieSeq<PendingCommit> oldCommits = FileStoreSyncer.COMMITS.get(this);
+      final FingerTrieSeq<PendingCommit> newCommits = oldCommits.appended(commit);
+      if (FileStoreSyncer.COMMITS.compareAndSet(this, oldCommits, newCommits)) {
+        break;
+      }
+    } while (true);
+    this.cue();
+  }
+
+  /**
+   * Records that {@code zone} has been written to since it was last flushed.
+   */
+  void didWrite(FileZone zone) {
+    do {
+      final HashTrieMap<Integer, FileZone> oldDirtyZones = FileStoreSyncer.DIRTY_ZONES.get(this);
+      if (oldDirtyZones.containsKey(zone.id)) {
+        break;
+      }
+      final HashTrieMap<Integer, FileZone> newDirtyZones = oldDirtyZones.updated(zone.id, zone);
+      if (FileStoreSyncer.DIRTY_ZONES.compareAndSet(this, oldDirtyZones, newDirtyZones)) {
+        break;
+      }
+    } while (true);
+  }
+
+  @Override
+  public boolean taskWillBlock() {
+    return true;
+  }
+
+  @Override
+  public void runTask() {
+    this.syncCommits();
+  }
+
+  synchronized void syncCommits() {
+    final FingerTrieSeq<PendingCommit> commits = FileStoreSyncer.COMMITS.getAndSet(this, FingerTrieSeq.<PendingCommit>empty());
+    if (commits.isEmpty()) {
+      return;
+    }
+    final FileStore store = this.store;
+    final int commitCount = commits.size();
+    try {
+      // Find the latest chunk written to each zone; its germ supersedes
+      // the germs of all prior chunks written to the same zone.
+      HashTrieMap<Integer, PendingCommit> germCommits = HashTrieMap.empty();
+      boolean forced = false;
+      int chunkCount = 0;
+      for (int i = 0; i < commitCount; i += 1) {
+        final PendingCommit commit = commits.get(i);
+        if (commit.chunk != null) {
+          this.didWrite(commit.zone);
+          germCommits = germCommits.updated(commit.zone.id, commit);
+          chunkCount += 1;
+        }
+        forced = forced || commit.commit.isForced();
+      }
+      if (forced) {
+        final boolean metaData = store.settings().durability.syncsMetaData();
+        final long syncStart = System.nanoTime();
+        // Flush pages before writing the germs that refer to them.
+        final Iterator<FileZone> dirtyZones = FileStoreSyncer.DIRTY_ZONES.getAndSet(this, HashTrieMap.<Integer, FileZone>empty()).valueIterator();
+        while (dirtyZones.hasNext()) {
+          dirtyZones.next().sync(metaData);
+        }
+        Iterator<PendingCommit> germIterator = germCommits.valueIterator();
+        while (germIterator.hasNext()) {
+          final PendingCommit commit = germIterator.next();
+          commit.zone.writeGerm(commit.chunk.germ());
+        }
+        germIterator = germCommits.valueIterator();
+        while (germIterator.hasNext()) {
+          germIterator.next().zone.sync(metaData);
+        }
+        store.didSync(System.nanoTime() - syncStart, chunkCount);
+      } else {
+        // Unforced germs are flushed by the next forced, periodic,
+        // or on-demand flush, or before any zone gets deleted.
+        final Iterator<PendingCommit> germIterator = germCommits.valueIterator();
+        while (germIterator.hasNext()) {
+          final PendingCommit commit = germIterator.next();
+          commit.zone.writeGerm(commit.chunk.germ());
+        }
+      }
+      final int stablePost = commits.get(commitCount - 1).stablePost;
+      if (stablePost != 0) {
+        store.deletePost(stablePost);
+      }
+    } catch (Throwable cause) {
+      if (Cont.isNonFatal(cause)) {
+        for (int i = 0; i < commitCount; i += 1) {
+          final PendingCommit commit = commits.get(i);
+          try {
+            commit.database.databaseCommitDidFail(cause);
+          } finally {
+            commit.commit.trap(cause);
+          }
+        }
+        return;
+      } else {
+        throw cause;
+      }
+    }
+    for (int i = 0; i < commitCount; i += 1) {
+      final PendingCommit commit = commits.get(i);
+      commit.database.databaseDidCommit(commit.chunk);
+      commit.commit.bind(commit.chunk);
+    }
+  }
+
+  /**
+   * Flushes every zone written since it was last flushed, accounting for
+   * all chunks committed since the previous zone flush.
+   */
+  synchronized void syncZones() {
+    final HashTrieMap<Integer, FileZone> dirtyZones = FileStoreSyncer.DIRTY_ZONES.getAndSet(this, HashTrieMap.<Integer, FileZone>empty());
+    if (!dirtyZones.isEmpty()) {
+      final FileStore store = this.store;
+      final boolean metaData = store.settings().durability.syncsMetaData();
+      final long commitCount = store.commitCount();
+      final long syncStart = System.nanoTime();
+      final Iterator<FileZone> zoneIterator = dirtyZones.valueIterator();
+      while (zoneIterator.hasNext()) {
+        zoneIterator.next().sync(metaData);
+      }
+      store.didSync(System.nanoTime() - syncStart, (int) (commitCount - this.syncedCommitCount));
+      this.syncedCommitCount = commitCount;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<FileStoreSyncer, FingerTrieSeq<PendingCommit>> COMMITS =
+      AtomicReferenceFieldUpdater.newUpdater(FileStoreSyncer.class, (Class<FingerTrieSeq<PendingCommit>>) (Class<?>) FingerTrieSeq.class, "commits");
+
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<FileStoreSyncer, HashTrieMap<Integer, FileZone>> DIRTY_ZONES =
+      AtomicReferenceFieldUpdater.newUpdater(FileStoreSyncer.class, (Class<HashTrieMap<Integer, FileZone>>) (Class<?>) HashTrieMap.class, "dirtyZones");
+
+}
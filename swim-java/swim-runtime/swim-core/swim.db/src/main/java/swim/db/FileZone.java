@@ -20,14 +20,13 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.codec.Binary;
 import swim.codec.Input;
-import swim.codec.Output;
-import swim.codec.OutputBuffer;
 import swim.codec.Parser;
 import swim.codec.Utf8;
 import swim.collections.FingerTrieSeq;
@@ -45,6 +44,7 @@ public class FileZone extends Zone {
   volatile Database database;
   volatile Germ germ;
   volatile long size;
+  volatile MappedByteBuffer mappedBuffer;
   volatile int status;
 
   public FileZone(Store store, int id, File file, Stage stage, Database database, Germ germ) {
@@ -103,6 +103,15 @@ public class FileZone extends Zone {
     return this.size;
   }
 
+  /**
+   * Returns {@code true} if this zone has been shifted out as the store's
+   * active zone, and will therefore never again be written to.
+   */
+  public boolean isSealed() {
+    final Zone zone = this.store.zone();
+    return zone != null && zone.id() > this.id;
+  }
+
   @Override
   public boolean open() {
     // Load the current zone status, without ordering constraints.
@@ -449,7 +458,9 @@ public class FileZone extends Zone {
    * Lifecycle callback invoked to actually close the zone.
    */
   protected void onClose() {
-    // hook
+    // Release the memory mapped view of the zone; the mapping itself is
+    // unmapped when the buffer is garbage collected.
+    this.mappedBuffer = null;
   }
 
   /**
@@ -576,10 +587,53 @@ public class FileZone extends Zone {
                              + ':' + offset + '-' + position);
     }
     ((Buffer) buffer).flip();
+    return this.decodePage(buffer, pageRef, treeDelegate, isResident);
+  }
+
+  /**
+   * Loads a page by decoding it directly out of a memory mapped view of this
+   * zone, avoiding the read syscall and heap copy of {@link #loadPage(FileChannel,
+   * PageRef, TreeDelegate, boolean)}. Only sealed zones may be mapped, since the
+   * mapping doesn't grow with subsequent appends. Returns {@code null} if the
+   * zone is too large to map into a single buffer.
+   */
+  Page loadMappedPage(PageRef pageRef, TreeDelegate treeDelegate, boolean isResident) {
+    final MappedByteBuffer mappedBuffer = this.mapBuffer();
+    if (mappedBuffer == null) {
+      return null;
+    }
+    final long offset = pageRef.base();
+    final int size = pageRef.pageSize();
+    if (offset < 0L || offset + size > mappedBuffer.capacity()) {
+      throw new StoreException("page extends past end of mapped zone " + this.file.getPath()
+                             + ':' + offset + '-' + size);
+    }
+    final ByteBuffer buffer = mappedBuffer.duplicate();
+    ((Buffer) buffer).limit((int) offset + size).position((int) offset);
+    return this.decodePage(buffer, pageRef, treeDelegate, isResident);
+  }
+
+  MappedByteBuffer mapBuffer() {
+    MappedByteBuffer mappedBuffer = this.mappedBuffer;
+    if (mappedBuffer == null) {
+      try (FileChannel channel = this.openReadChannel()) {
+        final long size = channel.size();
+        if (size > (long) Integer.MAX_VALUE) {
+          return null;
+        }
+        mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+      } catch (IOException cause) {
+        throw new StoreException("failed to map zone " + this.file.getPath(), cause);
+      }
+      // Racing mappings of the same immutable file are interchangeable.
+      this.mappedBuffer = mappedBuffer;
+    }
+    return mappedBuffer;
+  }
+
+  Page decodePage(ByteBuffer buffer, PageRef pageRef, TreeDelegate treeDelegate, boolean isResident) {
     try {
-      final Parser<Value> parser = Utf8.parseDecoded(Binary.inputBuffer(buffer),
-                                                     Recon.structureParser().blockParser());
-      final Value value = parser.bind();
+      final Value value = PageFormat.decodePage(buffer);
       final Page page = pageRef.setPageValue(value, isResident);
       if (treeDelegate != null) {
         treeDelegate.treeDidLoadPage(page);
@@ -588,7 +642,7 @@ public class FileZone extends Zone {
     } catch (Throwable cause) {
       if (Cont.isNonFatal(cause)) {
         throw new StoreException("failed to decode page from " + this.file.getPath()
-                               + ':' + offset + '-' + size, cause);
+                               + ':' + pageRef.base() + '-' + pageRef.pageSize(), cause);
       } else {
         throw cause;
       }
@@ -597,7 +651,24 @@ public class FileZone extends Zone {
 
   @Override
   public Chunk commitAndWriteChunk(Commit commit) {
+    return this.commitAndWriteChunk(commit, false);
+  }
+
+  /**
+   * Commits and writes the next chunk of the database to this zone. Forced
+   * commits of synchronous stores flush the chunk's pages to stable storage
+   * before writing the germ, so that the germ never refers to unflushed
+   * pages. If {@code deferGerm} is {@code true}, only the chunk's pages are
+   * written, and the caller is responsible for flushing them, writing the
+   * chunk's germ with {@link #writeGerm(Germ)}, and flushing the germ before
+   * acknowledging the commit; this lets the next chunk be written while both
+   * flushes are in flight.
+   */
+  Chunk commitAndWriteChunk(Commit commit, boolean deferGerm) {
     final Database database = this.database;
+    final Durability durability = this.store.settings().durability;
+    final boolean sync = commit.isForced() && durability.isSynchronous() && !deferGerm;
+    final boolean metaData = durability.syncsMetaData();
     Chunk chunk = null;
     try (FileChannel channel = this.openWriteChannel()) {
       FileLock fileLock = null;
@@ -610,27 +681,16 @@ public class FileZone extends Zone {
         if (chunk != null) {
           long step = base;
 
+          final PageFormat pageFormat = chunk.germ.pageFormat;
           final FingerTrieSeq<Page> pages = chunk.pages;
           for (int i = 0; i < pages.size(); i += 1) {
             final Page page = pages.get(i);
-            final int pageSize = page.pageSize();
-            final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[pageSize]);
-            final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
-            page.writePage(encoder);
-            final ByteBuffer pageBuffer = output.bind();
-            if (pageBuffer.remaining() != pageSize) {
-              throw new StoreException("serialized page size of " + pageBuffer.remaining() + " bytes "
-                                     + "does not match expected page size of " + pageSize + " bytes");
-            }
+            final ByteBuffer pageBuffer = pageFormat.encodePage(page);
+            final int pageSize = pageBuffer.remaining();
             this.write(channel, pageBuffer, step);
             step += pageSize;
           }
 
-          if (commit.isForced()) {
-            // prevent header update from reordering before chunk write
-            channel.force(true);
-          }
-
           final long actualSize = channel.size();
           final long expectedSize = base + chunk.size();
           if (actualSize != expectedSize) {
@@ -640,13 +700,15 @@ public class FileZone extends Zone {
                                    + " but found length of " + actualSize + " bytes");
           }
 
-          final Germ germ = chunk.germ();
-          final ByteBuffer germBuffer = germ.toByteBuffer();
-          this.write(channel, germBuffer, 0L);
-          ((Buffer) germBuffer).flip();
-          this.write(channel, germBuffer, Germ.BLOCK_SIZE);
-          if (commit.isForced()) {
-            channel.force(true);
+          if (!deferGerm) {
+            if (sync) {
+              // prevent header update from reordering before chunk write
+              channel.force(metaData);
+            }
+            this.writeGerm(channel, chunk.germ());
+            if (sync) {
+              channel.force(metaData);
+            }
           }
 
           this.size = actualSize;
@@ -674,6 +736,38 @@ public class FileZone extends Zone {
     }
   }
 
+  /**
+   * Writes both copies of {@code germ} to the header of this zone.
+   */
+  void writeGerm(Germ germ) {
+    try (FileChannel channel = this.openWriteChannel()) {
+      this.writeGerm(channel, germ);
+    } catch (IOException cause) {
+      throw new StoreException("failed to write header to " + this.file.getPath(), cause);
+    }
+  }
+
+  void writeGerm(FileChannel channel, Germ germ) throws IOException {
+    final ByteBuffer germBuffer = germ.toByteBuffer();
+    this.write(channel, germBuffer, 0L);
+    ((Buffer) germBuffer).flip();
+    this.write(channel, germBuffer, Germ.BLOCK_SIZE);
+  }
+
+  /**
+   * Flushes all writes to this zone to stable storage, including file
+   * metadata if {@code metaData} is {@code true}.
+   */
+  public void sync(boolean metaData) {
+    if (this.file.exists()) {
+      try (FileChannel channel = this.openWriteChannel()) {
+        channel.force(metaData);
+      } catch (IOException cause) {
+        throw new StoreException("failed to sync " + this.file.getPath(), cause);
+      }
+    }
+  }
+
   void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
     final long base = position;
     do {
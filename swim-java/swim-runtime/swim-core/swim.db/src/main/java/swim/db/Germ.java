@@ -33,13 +33,20 @@ public class Germ {
   final long created;
   final long updated;
   final Value seedRefValue;
+  final PageFormat pageFormat;
 
-  public Germ(int stem, long version, long created, long updated, Value seedRefValue) {
+  public Germ(int stem, long version, long created, long updated,
+              Value seedRefValue, PageFormat pageFormat) {
     this.stem = stem;
     this.version = version;
     this.created = created;
     this.updated = updated;
     this.seedRefValue = seedRefValue.commit();
+    this.pageFormat = pageFormat;
+  }
+
+  public Germ(int stem, long version, long created, long updated, Value seedRefValue) {
+    this(stem, version, created, updated, seedRefValue, PageFormat.RECON);
   }
 
   public final int stem() {
@@ -62,15 +69,27 @@ public class Germ {
     return this.seedRefValue;
   }
 
+  /**
+   * Returns the format of the most recently committed pages. Germs written
+   * before binary pages existed have no format field, and decode as
+   * {@link PageFormat#RECON}.
+   */
+  public final PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
   public Seed seed() {
     return new Seed(TreeType.BTREE, 1, this.created, this.updated, this.seedRefValue);
   }
 
   public Value toValue() {
-    final Record header = Record.create(4).slot("stem", this.stem)
+    final Record header = Record.create(5).slot("stem", this.stem)
                                           .slot("version", this.version)
                                           .slot("created", this.created)
                                           .slot("updated", this.updated);
+    if (this.pageFormat != PageFormat.RECON) {
+      header.slot("format", this.pageFormat.version());
+    }
     final Record record = Record.create(2).attr("swimdb", header);
     if (this.seedRefValue.isDefined()) {
       record.slot("seed", this.seedRefValue);
@@ -130,7 +149,11 @@ public class Germ {
         final long created = header.get("created").longValue();
         final long updated = header.get("updated").longValue();
         final Value seedRefValue = value.get("seed");
-        return new Germ(stem, version, created, updated, seedRefValue);
+        final PageFormat pageFormat = PageFormat.fromVersion(header.get("format").intValue(0));
+        if (pageFormat == null) {
+          throw new StoreException("unsupported page format: " + header.get("format"));
+        }
+        return new Germ(stem, version, created, updated, seedRefValue, pageFormat);
       }
     } catch (Throwable cause) {
       if (Cont.isNonFatal(cause)) {
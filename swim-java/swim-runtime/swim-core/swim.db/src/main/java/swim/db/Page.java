@@ -21,6 +21,15 @@ import swim.util.Cursor;
 
 public abstract class Page {
 
+  /**
+   * Value of this page, memoized by {@link PageFormat#sizeOfPage(Page)} so
+   * that a committed page gets built only once for both sizing and encoding;
+   * released once the page is {@link PageFormat#encodePage(Page) encoded}.
+   * Uncommitted pages, which get sized without ever being encoded, don't
+   * memoize their value.
+   */
+  volatile Value pageValue;
+
   Page() {
     // sealed
   }
@@ -105,10 +114,38 @@ public abstract class Page {
     return this.pageRef().treeSize();
   }
 
+  /**
+   * Returns the size of this page, memoizing it if necessary, without going
+   * through the page ref; {@link PageRef#pageSize()} records a page cache
+   * hit, which must not recurse back into the page cache.
+   */
+  abstract int memoizedPageSize();
+
   public abstract Value toHeader();
 
   public abstract Value toValue();
 
+  Value pageValue() {
+    Value pageValue = this.pageValue;
+    if (pageValue == null) {
+      pageValue = this.toValue();
+      if (this.pageRef().isCommitted()) {
+        this.pageValue = pageValue;
+      }
+    }
+    return pageValue;
+  }
+
+  Value takePageValue() {
+    Value pageValue = this.pageValue;
+    if (pageValue != null) {
+      this.pageValue = null;
+    } else {
+      pageValue = this.toValue();
+    }
+    return pageValue;
+  }
+
   public abstract Page evacuated(int zone, long version);
 
   public abstract Page committed(int zone, long base, long version);
@@ -0,0 +1,474 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.util.HashMap;
+import swim.util.Murmur3;
+
+/**
+ * A byte budgeted cache of committed store pages, weighted by {@link
+ * Page#pageSize()}. Cached pages are strongly referenced; once a page gets
+ * evicted, its non-resident {@link PageRef} only weakly references it, and
+ * the garbage collector may reclaim it.
+ *
+ * <p>Eviction follows the W-TinyLFU policy. Newly hit pages enter a small
+ * LRU admission window. Pages that overflow the window become candidates
+ * for the main cache, which is a segmented LRU of probationary and protected
+ * pages. When the cache exceeds its budget, candidates compete with the
+ * least recently used probationary pages for admission, and whichever page
+ * has the lower estimated access frequency is evicted. Access frequencies
+ * are estimated by a periodically aged count-min sketch keyed by page
+ * address, so a page's history survives its eviction and reload.</p>
+ *
+ * <p>The cache is split into independently locked segments to limit
+ * contention between concurrent readers.</p>
+ */
+public class PageCache {
+
+  final long budget;
+  final PageCacheSegment[] segments;
+
+  public PageCache(long budget, int capacity) {
+    this.budget = Math.max(0L, budget);
+    int segmentCount = 1;
+    while (segmentCount < PageCache.MAX_SEGMENT_COUNT
+        && this.budget / (segmentCount << 1) >= PageCache.MIN_SEGMENT_BUDGET) {
+      segmentCount <<= 1;
+    }
+    this.segments = new PageCacheSegment[segmentCount];
+    final long segmentBudget = this.budget / segmentCount;
+    final int segmentCapacity = Math.max(1, capacity / segmentCount);
+    for (int i = 0; i < segmentCount; i += 1) {
+      this.segments[i] = new PageCacheSegment(segmentBudget, segmentCapacity);
+    }
+  }
+
+  /**
+   * Returns the maximum total size, in bytes, of all cached pages.
+   */
+  public final long budget() {
+    return this.budget;
+  }
+
+  /**
+   * Returns the total size, in bytes, of all currently cached pages.
+   */
+  public long weight() {
+    long weight = 0L;
+    for (int i = 0; i < this.segments.length; i += 1) {
+      weight += this.segments[i].weight();
+    }
+    return weight;
+  }
+
+  /**
+   * Returns the number of currently cached pages.
+   */
+  public int size() {
+    int size = 0;
+    for (int i = 0; i < this.segments.length; i += 1) {
+      size += this.segments[i].size();
+    }
+    return size;
+  }
+
+  public long hitCount() {
+    long hitCount = 0L;
+    for (int i = 0; i < this.segments.length; i += 1) {
+      hitCount += this.segments[i].hitCount;
+    }
+    return hitCount;
+  }
+
+  public long missCount() {
+    long missCount = 0L;
+    for (int i = 0; i < this.segments.length; i += 1) {
+      missCount += this.segments[i].missCount;
+    }
+    return missCount;
+  }
+
+  public long evictionCount() {
+    long evictionCount = 0L;
+    for (int i = 0; i < this.segments.length; i += 1) {
+      evictionCount += this.segments[i].evictionCount;
+    }
+    return evictionCount;
+  }
+
+  public double hitRatio() {
+    final double hits = (double) this.hitCount();
+    return hits / (hits + (double) this.missCount());
+  }
+
+  /**
+   * Records an access to {@code page}, admitting it to the cache if it isn't
+   * already cached. Uncommitted pages are strongly referenced by their
+   * parents, and are therefore ignored. Returns {@code true} if the page was
+   * already cached.
+   */
+  public boolean put(Page page) {
+    final PageRef pageRef = page.pageRef();
+    if (this.budget == 0L || !pageRef.isCommitted()) {
+      return false;
+    }
+    final int hash = PageCache.hash(pageRef);
+    return this.segments[(hash >>> 16) & (this.segments.length - 1)].put(page, hash);
+  }
+
+  public boolean remove(Page page) {
+    final PageRef pageRef = page.pageRef();
+    if (this.budget == 0L || !pageRef.isCommitted()) {
+      return false;
+    }
+    final int hash = PageCache.hash(pageRef);
+    return this.segments[(hash >>> 16) & (this.segments.length - 1)].remove(page);
+  }
+
+  public void clear() {
+    for (int i = 0; i < this.segments.length; i += 1) {
+      this.segments[i].clear();
+    }
+  }
+
+  static int hash(PageRef pageRef) {
+    final long base = pageRef.base();
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(PageCache.HASH_SEED,
+        pageRef.zone()), (int) (base >>> 32)), (int) base));
+  }
+
+  static final int HASH_SEED = 0x9E3779B9;
+
+  static final int MAX_SEGMENT_COUNT = 16;
+
+  static final long MIN_SEGMENT_BUDGET = 4L * 1024L * 1024L;
+
+}
+
+final class PageCacheSegment {
+
+  final long budget;
+  final long windowBudget;
+  final long protectedBudget;
+  final HashMap<Page, PageCacheEntry> entries;
+  final PageCacheEntry window;
+  final PageCacheEntry probation;
+  final PageCacheEntry protect;
+  final PageCacheSketch sketch;
+  long windowWeight;
+  long probationWeight;
+  long protectedWeight;
+  volatile long weight;
+  volatile int size;
+  volatile long hitCount;
+  volatile long missCount;
+  volatile long evictionCount;
+
+  PageCacheSegment(long budget, int capacity) {
+    this.budget = budget;
+    this.windowBudget = Math.max(1L, budget / 100L);
+    this.protectedBudget = (budget - this.windowBudget) * 4L / 5L;
+    this.entries = new HashMap<Page, PageCacheEntry>();
+    this.window = new PageCacheEntry();
+    this.probation = new PageCacheEntry();
+    this.protect = new PageCacheEntry();
+    this.sketch = new PageCacheSketch(capacity);
+    this.windowWeight = 0L;
+    this.probationWeight = 0L;
+    this.protectedWeight = 0L;
+    this.weight = 0L;
+    this.size = 0;
+    this.hitCount = 0L;
+    this.missCount = 0L;
+    this.evictionCount = 0L;
+  }
+
+  long weight() {
+    return this.weight;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  synchronized boolean put(Page page, int hash) {
+    this.sketch.increment(hash);
+    final PageCacheEntry entry = this.entries.get(page);
+    if (entry != null) {
+      this.hitCount += 1L;
+      this.didHit(entry);
+      return true;
+    }
+    this.missCount += 1L;
+    final int pageWeight = page.memoizedPageSize();
+    if (pageWeight > this.budget) {
+      return false;
+    }
+    final PageCacheEntry newEntry = new PageCacheEntry(page, hash, pageWeight);
+    this.entries.put(page, newEntry);
+    newEntry.queue = PageCacheEntry.WINDOW;
+    newEntry.linkBefore(this.window);
+    this.windowWeight += pageWeight;
+    this.weight += pageWeight;
+    this.size += 1;
+    this.evict();
+    return false;
+  }
+
+  synchronized boolean remove(Page page) {
+    final PageCacheEntry entry = this.entries.get(page);
+    if (entry != null) {
+      this.unlink(entry);
+      return true;
+    }
+    return false;
+  }
+
+  synchronized void clear() {
+    this.entries.clear();
+    this.window.next = this.window;
+    this.window.prev = this.window;
+    this.probation.next = this.probation;
+    this.probation.prev = this.probation;
+    this.protect.next = this.protect;
+    this.protect.prev = this.protect;
+    this.windowWeight = 0L;
+    this.probationWeight = 0L;
+    this.protectedWeight = 0L;
+    this.weight = 0L;
+    this.size = 0;
+  }
+
+  void didHit(PageCacheEntry entry) {
+    if (entry.queue == PageCacheEntry.WINDOW) {
+      entry.unlink();
+      entry.linkBefore(this.window);
+    } else if (entry.queue == PageCacheEntry.PROBATION) {
+      // Promote the probationary page to the protected segment, and demote
+      // least recently used protected pages that no longer fit.
+      entry.unlink();
+      this.probationWeight -= entry.weight;
+      entry.queue = PageCacheEntry.PROTECTED;
+      entry.linkBefore(this.protect);
+      this.protectedWeight += entry.weight;
+      while (this.protectedWeight > this.protectedBudget) {
+        final PageCacheEntry demoted = this.protect.next;
+        demoted.unlink();
+        this.protectedWeight -= demoted.weight;
+        demoted.queue = PageCacheEntry.PROBATION;
+        demoted.linkBefore(this.probation);
+        this.probationWeight += demoted.weight;
+      }
+    } else {
+      entry.unlink();
+      entry.linkBefore(this.protect);
+    }
+  }
+
+  void evict() {
+    // Move pages that overflow the admission window to the tail of the
+    // probation segment, where they become candidates for admission.
+    PageCacheEntry candidate = null;
+    while (this.windowWeight > this.windowBudget && this.window.next != this.window) {
+      final PageCacheEntry entry = this.window.next;
+      entry.unlink();
+      this.windowWeight -= entry.weight;
+      entry.queue = PageCacheEntry.PROBATION;
+      entry.linkBefore(this.probation);
+      this.probationWeight += entry.weight;
+      if (candidate == null) {
+        candidate = entry;
+      }
+    }
+
+    // Evict the less frequently used of each candidate and victim pair,
+    // starting from the least recently used probationary page.
+    PageCacheEntry victim = this.probation.next;
+    while (this.weight > this.budget) {
+      if (victim == this.probation) {
+        victim = null;
+      }
+      if (candidate == this.probation) {
+        candidate = null;
+      }
+      if (victim == null && candidate == null) {
+        this.evictOverflow();
+        break;
+      } else if (victim == null) {
+        final PageCacheEntry next = candidate.next;
+        this.evictEntry(candidate);
+        candidate = next;
+      } else if (candidate == null || candidate == victim) {
+        final PageCacheEntry next = victim.next;
+        this.evictEntry(victim);
+        if (candidate == victim) {
+          candidate = next;
+        }
+        victim = next;
+      } else if (this.sketch.frequency(candidate.hash) > this.sketch.frequency(victim.hash)) {
+        final PageCacheEntry next = victim.next;
+        this.evictEntry(victim);
+        victim = next;
+      } else {
+        final PageCacheEntry next = candidate.next;
+        this.evictEntry(candidate);
+        candidate = next;
+      }
+    }
+  }
+
+  void evictOverflow() {
+    while (this.weight > this.budget) {
+      final PageCacheEntry entry;
+      if (this.probation.next != this.probation) {
+        entry = this.probation.next;
+      } else if (this.protect.next != this.protect) {
+        entry = this.protect.next;
+      } else if (this.window.next != this.window) {
+        entry = this.window.next;
+      } else {
+        break;
+      }
+      this.evictEntry(entry);
+    }
+  }
+
+  void evictEntry(PageCacheEntry entry) {
+    this.unlink(entry);
+    this.evictionCount += 1L;
+  }
+
+  void unlink(PageCacheEntry entry) {
+    entry.unlink();
+    this.entries.remove(entry.page);
+    if (entry.queue == PageCacheEntry.WINDOW) {
+      this.windowWeight -= entry.weight;
+    } else if (entry.queue == PageCacheEntry.PROBATION) {
+      this.probationWeight -= entry.weight;
+    } else {
+      this.protectedWeight -= entry.weight;
+    }
+    this.weight -= entry.weight;
+    this.size -= 1;
+  }
+
+}
+
+final class PageCacheEntry {
+
+  final Page page;
+  final int hash;
+  final int weight;
+  int queue;
+  PageCacheEntry prev;
+  PageCacheEntry next;
+
+  PageCacheEntry(Page page, int hash, int weight) {
+    this.page = page;
+    this.hash = hash;
+    this.weight = weight;
+    this.queue = 0;
+    this.prev = null;
+    this.next = null;
+  }
+
+  PageCacheEntry() {
+    this(null, 0, 0);
+    this.prev = this;
+    this.next = this;
+  }
+
+  void linkBefore(PageCacheEntry sentinel) {
+    this.prev = sentinel.prev;
+    this.next = sentinel;
+    sentinel.prev.next = this;
+    sentinel.prev = this;
+  }
+
+  void unlink() {
+    this.prev.next = this.next;
+    this.next.prev = this.prev;
+    this.prev = null;
+    this.next = null;
+  }
+
+  static final int WINDOW = 0;
+  static final int PROBATION = 1;
+  static final int PROTECTED = 2;
+
+}
+
+/**
+ * Count-min sketch of 4-bit access frequency counters, with four counters
+ * per key. All counters are halved once the number of recorded accesses
+ * reaches ten times the sketch width, so that frequency estimates favor
+ * recent history.
+ */
+final class PageCacheSketch {
+
+  final long[] table;
+  final int sampleSize;
+  int additions;
+
+  PageCacheSketch(int capacity) {
+    int width = 16;
+    while (width < capacity && width < (1 << 24)) {
+      width <<= 1;
+    }
+    this.table = new long[width >>> 2];
+    this.sampleSize = 10 * width;
+    this.additions = 0;
+  }
+
+  int frequency(int hash) {
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i += 1) {
+      final int h = Murmur3.mash(Murmur3.mix(hash, PageCacheSketch.SEEDS[i]));
+      final int index = (h >>> 4) & (this.table.length - 1);
+      final int offset = (h & 0xF) << 2;
+      frequency = Math.min(frequency, (int) ((this.table[index] >>> offset) & 0xFL));
+    }
+    return frequency;
+  }
+
+  void increment(int hash) {
+    boolean added = false;
+    for (int i = 0; i < 4; i += 1) {
+      final int h = Murmur3.mash(Murmur3.mix(hash, PageCacheSketch.SEEDS[i]));
+      final int index = (h >>> 4) & (this.table.length - 1);
+      final int offset = (h & 0xF) << 2;
+      if (((this.table[index] >>> offset) & 0xFL) != 0xFL) {
+        this.table[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added) {
+      this.additions += 1;
+      if (this.additions >= this.sampleSize) {
+        this.reset();
+      }
+    }
+  }
+
+  void reset() {
+    for (int i = 0; i < this.table.length; i += 1) {
+      this.table[i] = (this.table[i] >>> 1) & 0x7777777777777777L;
+    }
+    this.additions >>>= 1;
+  }
+
+  static final int[] SEEDS = {0x97CB3127, 0xD4F5C7AD, 0x31C4E3A1, 0x8B3E4A2F};
+
+}
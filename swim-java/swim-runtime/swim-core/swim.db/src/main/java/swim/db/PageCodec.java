@@ -0,0 +1,346 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+
+/**
+ * Compact binary page encoding. A binary page consists of a magic byte,
+ * a codec version byte, and a single tagged value. Integers are written as
+ * zig-zag varints; texts, data, and records are length prefixed. Short texts
+ * are interned in a per-page dictionary the first time they're written, and
+ * subsequent occurrences are written as varint dictionary references, which
+ * collapses the repeated slot keys of page headers, page refs, and leaf
+ * entries to one or two bytes each.
+ */
+final class PageCodec {
+
+  private PageCodec() {
+    // static
+  }
+
+  static final byte MAGIC = (byte) 0xB5; // UTF-8 continuation byte; never starts a Recon page
+  static final byte VERSION = 1;
+
+  static final int ABSENT = 0x00;
+  static final int EXTANT = 0x01;
+  static final int FALSE = 0x02;
+  static final int TRUE = 0x03;
+  static final int INT32 = 0x04;
+  static final int INT64 = 0x05;
+  static final int FLOAT32 = 0x06;
+  static final int FLOAT64 = 0x07;
+  static final int BIGINT = 0x08;
+  static final int TEXT = 0x09;
+  static final int TEXT_REF = 0x0A;
+  static final int DATA = 0x0B;
+  static final int RECORD = 0x0C;
+  static final int ATTR = 0x0D;
+  static final int SLOT = 0x0E;
+  static final int RECON = 0x0F;
+
+  /**
+   * Maximum UTF-8 size of texts interned in the page dictionary.
+   */
+  static final int MAX_DICTIONARY_TEXT_SIZE = 64;
+
+  static boolean isBinaryPage(ByteBuffer buffer) {
+    return buffer.remaining() > 0 && buffer.get(buffer.position()) == PageCodec.MAGIC;
+  }
+
+  static int sizeOf(Value value) {
+    final PageCodecWriter writer = new PageCodecWriter(null);
+    writer.writePage(value);
+    return writer.size;
+  }
+
+  static void write(ByteBuffer buffer, Value value) {
+    final PageCodecWriter writer = new PageCodecWriter(buffer);
+    writer.writePage(value);
+  }
+
+  static Value read(ByteBuffer buffer) {
+    final PageCodecReader reader = new PageCodecReader(buffer);
+    return reader.readPage();
+  }
+
+}
+
+final class PageCodecWriter {
+
+  final ByteBuffer buffer;
+  final HashMap<String, Integer> dictionary;
+  int size;
+
+  PageCodecWriter(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.dictionary = new HashMap<String, Integer>();
+    this.size = 0;
+  }
+
+  void writePage(Value value) {
+    this.writeByte(PageCodec.MAGIC);
+    this.writeByte(PageCodec.VERSION);
+    this.writeValue(value);
+  }
+
+  void writeItem(Item item) {
+    if (item instanceof Attr) {
+      final Attr attr = (Attr) item;
+      this.writeByte(PageCodec.ATTR);
+      this.writeText(attr.key().stringValue());
+      this.writeValue(attr.value());
+    } else if (item instanceof Slot) {
+      final Slot slot = (Slot) item;
+      this.writeByte(PageCodec.SLOT);
+      this.writeValue(slot.key());
+      this.writeValue(slot.value());
+    } else {
+      this.writeValue(item.toValue());
+    }
+  }
+
+  void writeValue(Value value) {
+    if (value instanceof Record) {
+      final Record record = (Record) value;
+      this.writeByte(PageCodec.RECORD);
+      this.writeVarUint(record.size());
+      for (int i = 0, n = record.size(); i < n; i += 1) {
+        this.writeItem(record.getItem(i));
+      }
+    } else if (value instanceof Text) {
+      this.writeText(value.stringValue());
+    } else if (value instanceof Num) {
+      this.writeNum((Num) value);
+    } else if (value instanceof Data) {
+      final Data data = (Data) value;
+      final int n = data.size();
+      this.writeByte(PageCodec.DATA);
+      this.writeVarUint(n);
+      if (this.buffer != null && n > 0) {
+        this.buffer.put(data.asByteArray(), 0, n);
+      }
+      this.size += n;
+    } else if (value instanceof Bool) {
+      this.writeByte(value.booleanValue() ? PageCodec.TRUE : PageCodec.FALSE);
+    } else if (!value.isDefined()) {
+      this.writeByte(PageCodec.ABSENT);
+    } else if (!value.isDistinct()) {
+      this.writeByte(PageCodec.EXTANT);
+    } else {
+      this.writeByte(PageCodec.RECON);
+      this.writeBytes(Recon.toString(value).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  void writeNum(Num num) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer) {
+      this.writeByte(PageCodec.INT32);
+      this.writeVarInt(number.intValue());
+    } else if (number instanceof Long) {
+      this.writeByte(PageCodec.INT64);
+      this.writeVarInt(number.longValue());
+    } else if (number instanceof Float) {
+      this.writeByte(PageCodec.FLOAT32);
+      if (this.buffer != null) {
+        this.buffer.putFloat(number.floatValue());
+      }
+      this.size += 4;
+    } else if (number instanceof Double) {
+      this.writeByte(PageCodec.FLOAT64);
+      if (this.buffer != null) {
+        this.buffer.putDouble(number.doubleValue());
+      }
+      this.size += 8;
+    } else {
+      this.writeByte(PageCodec.BIGINT);
+      this.writeBytes(num.integerValue().toByteArray());
+    }
+  }
+
+  void writeText(String string) {
+    final Integer index = this.dictionary.get(string);
+    if (index != null) {
+      this.writeByte(PageCodec.TEXT_REF);
+      this.writeVarUint(index.intValue());
+    } else {
+      final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      this.writeByte(PageCodec.TEXT);
+      this.writeBytes(bytes);
+      if (bytes.length <= PageCodec.MAX_DICTIONARY_TEXT_SIZE) {
+        this.dictionary.put(string, this.dictionary.size());
+      }
+    }
+  }
+
+  void writeBytes(byte[] bytes) {
+    this.writeVarUint(bytes.length);
+    if (this.buffer != null) {
+      this.buffer.put(bytes);
+    }
+    this.size += bytes.length;
+  }
+
+  void writeVarInt(long value) {
+    this.writeVarUint((value << 1) ^ (value >> 63));
+  }
+
+  void writeVarUint(long value) {
+    while ((value & ~0x7FL) != 0L) {
+      this.writeByte((int) (value & 0x7FL) | 0x80);
+      value >>>= 7;
+    }
+    this.writeByte((int) value);
+  }
+
+  void writeByte(int b) {
+    if (this.buffer != null) {
+      this.buffer.put((byte) b);
+    }
+    this.size += 1;
+  }
+
+}
+
+final class PageCodecReader {
+
+  final ByteBuffer buffer;
+  final ArrayList<Text> dictionary;
+
+  PageCodecReader(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.dictionary = new ArrayList<Text>();
+  }
+
+  Value readPage() {
+    final byte magic = this.buffer.get();
+    if (magic != PageCodec.MAGIC) {
+      throw new StoreException("invalid binary page magic: " + (magic & 0xFF));
+    }
+    final byte version = this.buffer.get();
+    if (version != PageCodec.VERSION) {
+      throw new StoreException("unsupported binary page version: " + version);
+    }
+    return this.readValue(this.buffer.get() & 0xFF);
+  }
+
+  Item readItem() {
+    final int tag = this.buffer.get() & 0xFF;
+    if (tag == PageCodec.ATTR) {
+      final Text key = (Text) this.readValue(this.buffer.get() & 0xFF);
+      final Value value = this.readValue(this.buffer.get() & 0xFF);
+      return Attr.of(key, value);
+    } else if (tag == PageCodec.SLOT) {
+      final Value key = this.readValue(this.buffer.get() & 0xFF);
+      final Value value = this.readValue(this.buffer.get() & 0xFF);
+      return Slot.of(key, value);
+    } else {
+      return this.readValue(tag);
+    }
+  }
+
+  Value readValue(int tag) {
+    switch (tag) {
+      case PageCodec.ABSENT:
+        return Value.absent();
+      case PageCodec.EXTANT:
+        return Value.extant();
+      case PageCodec.FALSE:
+        return Bool.from(false);
+      case PageCodec.TRUE:
+        return Bool.from(true);
+      case PageCodec.INT32:
+        return Num.from((int) this.readVarInt());
+      case PageCodec.INT64:
+        return Num.from(this.readVarInt());
+      case PageCodec.FLOAT32:
+        return Num.from(this.buffer.getFloat());
+      case PageCodec.FLOAT64:
+        return Num.from(this.buffer.getDouble());
+      case PageCodec.BIGINT:
+        return Num.from(new BigInteger(this.readBytes()));
+      case PageCodec.TEXT:
+        return this.readText();
+      case PageCodec.TEXT_REF:
+        return this.dictionary.get((int) this.readVarUint());
+      case PageCodec.DATA:
+        return Data.wrap(this.readBytes());
+      case PageCodec.RECORD:
+        return this.readRecord();
+      case PageCodec.RECON:
+        return Recon.parse(new String(this.readBytes(), StandardCharsets.UTF_8));
+      default:
+        throw new StoreException("unknown binary page tag: " + tag);
+    }
+  }
+
+  Record readRecord() {
+    final int n = (int) this.readVarUint();
+    final Record record = Record.create(n);
+    for (int i = 0; i < n; i += 1) {
+      record.add(this.readItem());
+    }
+    return record;
+  }
+
+  Text readText() {
+    final byte[] bytes = this.readBytes();
+    final Text text = Text.from(new String(bytes, StandardCharsets.UTF_8));
+    if (bytes.length <= PageCodec.MAX_DICTIONARY_TEXT_SIZE) {
+      this.dictionary.add(text);
+    }
+    return text;
+  }
+
+  byte[] readBytes() {
+    final int n = (int) this.readVarUint();
+    final byte[] bytes = new byte[n];
+    this.buffer.get(bytes);
+    return bytes;
+  }
+
+  long readVarInt() {
+    final long value = this.readVarUint();
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  long readVarUint() {
+    long value = 0L;
+    int shift = 0;
+    int b;
+    do {
+      b = this.buffer.get() & 0xFF;
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0 && shift < 64);
+    return value;
+  }
+
+}
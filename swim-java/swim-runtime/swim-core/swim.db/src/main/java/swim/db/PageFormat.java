@@ -0,0 +1,136 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import swim.codec.Binary;
+import swim.codec.Debug;
+import swim.codec.Output;
+import swim.codec.OutputBuffer;
+import swim.codec.Parser;
+import swim.codec.Utf8;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+/**
+ * On-disk encoding of store pages. {@code RECON} pages are written as Recon
+ * text; {@code BINARY} pages are written with the compact tagged encoding
+ * implemented by {@link PageCodec}. Binary pages begin with a magic byte
+ * that can never start a UTF-8 encoded Recon page, so zones written in
+ * either format, or in a mix of both, remain readable.
+ */
+public enum PageFormat implements Debug {
+
+  RECON(0, "recon"),
+  BINARY(1, "binary");
+
+  final int version;
+  final String tag;
+
+  PageFormat(int version, String tag) {
+    this.version = version;
+    this.tag = tag;
+  }
+
+  public boolean isRecon() {
+    return this == PageFormat.RECON;
+  }
+
+  public boolean isBinary() {
+    return this == PageFormat.BINARY;
+  }
+
+  public int version() {
+    return this.version;
+  }
+
+  public String tag() {
+    return this.tag;
+  }
+
+  /**
+   * Returns the number of bytes {@link #encodePage(Page)} writes for
+   * {@code page}. Recon pages are written as their block value followed by
+   * a newline. Committed binary pages memoize the page value from which
+   * they're sized, until they're encoded.
+   */
+  public int sizeOfPage(Page page) {
+    if (this == PageFormat.BINARY) {
+      return PageCodec.sizeOf(page.pageValue());
+    } else {
+      return Recon.sizeOf(page.toValue()) + 1; // '\n'
+    }
+  }
+
+  public ByteBuffer encodePage(Page page) {
+    final int pageSize = page.pageSize();
+    final ByteBuffer pageBuffer;
+    if (this == PageFormat.BINARY) {
+      pageBuffer = ByteBuffer.allocate(pageSize);
+      PageCodec.write(pageBuffer, page.takePageValue());
+      ((Buffer) pageBuffer).flip();
+    } else {
+      final OutputBuffer<ByteBuffer> output = Binary.outputBuffer(new byte[pageSize]);
+      final Output<ByteBuffer> encoder = Utf8.encodedOutput(output);
+      page.writePage(encoder);
+      pageBuffer = output.bind();
+    }
+    if (pageBuffer.remaining() != pageSize) {
+      throw new StoreException("serialized page size of " + pageBuffer.remaining() + " bytes "
+                             + "does not match expected page size of " + pageSize + " bytes");
+    }
+    return pageBuffer;
+  }
+
+  @Override
+  public <T> Output<T> debug(Output<T> output) {
+    output = output.write("PageFormat").write('.').write(this.name());
+    return output;
+  }
+
+  public static PageFormat fromTag(String tag) {
+    if ("recon".equals(tag)) {
+      return PageFormat.RECON;
+    } else if ("binary".equals(tag)) {
+      return PageFormat.BINARY;
+    } else {
+      return null;
+    }
+  }
+
+  public static PageFormat fromVersion(int version) {
+    switch (version) {
+      case 0: return PageFormat.RECON;
+      case 1: return PageFormat.BINARY;
+      default: return null;
+    }
+  }
+
+  /**
+   * Decodes the page value contained in {@code buffer}, detecting whether
+   * the page was written in binary or Recon format.
+   */
+  public static Value decodePage(ByteBuffer buffer) {
+    if (PageCodec.isBinaryPage(buffer)) {
+      return PageCodec.read(buffer);
+    } else {
+      final Parser<Value> parser = Utf8.parseDecoded(Binary.inputBuffer(buffer),
+                                                     Recon.structureParser().blockParser());
+      return parser.bind();
+    }
+  }
+
+}
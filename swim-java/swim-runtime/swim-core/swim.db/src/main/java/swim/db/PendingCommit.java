@@ -0,0 +1,39 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+/**
+ * A commit written by the {@link FileStoreCommitter} that awaits
+ * acknowledgement by the {@link FileStoreSyncer}. Captures the stable post of
+ * the database as of the commit, so that zones get deleted in commit order,
+ * regardless of any commits made while this one is being flushed.
+ */
+final class PendingCommit {
+
+  final Database database;
+  final Commit commit;
+  final FileZone zone;
+  final Chunk chunk;
+  final int stablePost;
+
+  PendingCommit(Database database, Commit commit, FileZone zone, Chunk chunk, int stablePost) {
+    this.database = database;
+    this.commit = commit;
+    this.zone = zone;
+    this.chunk = chunk;
+    this.stablePost = stablePost;
+  }
+
+}
@@ -684,25 +684,31 @@ public final class QTreeLeaf extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
-    int pageSize = 12; // "@qleaf(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
-    final Slot[] slots = this.slots;
-    final int n = slots.length;
-    if (n > 0) {
-      pageSize += 1; // '{'
-      pageSize += Recon.sizeOf(slots[0]);
-      for (int i = 1; i < n; i += 1) {
-        pageSize += 1; // ','
-        pageSize += Recon.sizeOf(slots[i]);
+    final PageFormat pageFormat = this.pageRef.context.settings().pageFormat;
+    int pageSize;
+    if (pageFormat.isBinary()) {
+      pageSize = pageFormat.sizeOfPage(this);
+    } else {
+      pageSize = 12; // "@qleaf(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      final Slot[] slots = this.slots;
+      final int n = slots.length;
+      if (n > 0) {
+        pageSize += 1; // '{'
+        pageSize += Recon.sizeOf(slots[0]);
+        for (int i = 1; i < n; i += 1) {
+          pageSize += 1; // ','
+          pageSize += Recon.sizeOf(slots[i]);
+        }
+        pageSize += 1; // '}'
       }
-      pageSize += 1; // '}'
-    }
 
-    pageSize += 1; // '\n'
+      pageSize += 1; // '\n'
+    }
     pageRef.pageSize = pageSize; // Must match bytes written by writePage
     pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
     pageRef.treeSize = pageSize;
@@ -1176,36 +1176,45 @@ public final class QTreeNode extends QTreePage {
 
   @Override
   void memoizeSize(QTreePageRef pageRef) {
-    int pageSize = 12; // "@qnode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final QTreePageRef[] childRefs = this.childRefs;
     final int childCount = childRefs.length;
     int diffSize = 0;
     long treeSize = 0L;
-    if (childCount > 0) {
-      pageSize += 1; // '{'
-      for (int i = 0; i < childCount; i += 1) {
-        if (i > 0) {
-          pageSize += 1; // ','
+    for (int i = 0; i < childCount; i += 1) {
+      final QTreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    final PageFormat pageFormat = this.pageRef.context.settings().pageFormat;
+    int pageSize;
+    if (pageFormat.isBinary()) {
+      pageSize = pageFormat.sizeOfPage(this);
+    } else {
+      pageSize = 12; // "@qnode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      if (childCount > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < childCount; i += 1) {
+          if (i > 0) {
+            pageSize += 1; // ','
+          }
+          pageSize += childRefs[i].pageRefSize();
         }
-        final QTreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
+        final Slot[] slots = this.slots;
+        for (int i = 0, slotCount = slots.length; i < slotCount; i += 1) {
+          pageSize += 1; // ','
+          pageSize += Recon.sizeOf(slots[i]);
         }
-        treeSize += childRef.treeSize();
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
       }
-      final Slot[] slots = this.slots;
-      for (int i = 0, slotCount = slots.length; i < slotCount; i += 1) {
-        pageSize += 1; // ','
-        pageSize += Recon.sizeOf(slots[i]);
-      }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
     }
     diffSize += pageSize;
     treeSize += pageSize;
@@ -1229,6 +1238,10 @@ public final class QTreeNode extends QTreePage {
     for (int i = 0, n = childRefs.length; i < n; i += 1) {
       record.add(childRefs[i].toValue());
     }
+    final Slot[] slots = this.slots;
+    for (int i = 0, n = slots.length; i < n; i += 1) {
+      record.add(slots[i]);
+    }
     return record;
   }
 
@@ -165,6 +165,15 @@ public abstract class QTreePage extends Page {
 
   abstract void memoizeSize(QTreePageRef pageRef);
 
+  @Override
+  int memoizedPageSize() {
+    final QTreePageRef pageRef = this.pageRef();
+    if (pageRef.pageSize < 0) {
+      this.memoizeSize(pageRef);
+    }
+    return pageRef.pageSize;
+  }
+
   @Override
   public abstract QTreePage loadTree(PageLoader pageLoader);
 
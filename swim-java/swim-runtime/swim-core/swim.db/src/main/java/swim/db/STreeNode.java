@@ -603,35 +603,44 @@ public final class STreeNode extends STreePage {
 
   @Override
   void memoizeSize(STreePageRef pageRef) {
-    int pageSize = 12; // "@snode(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
-
     final STreePageRef[] childRefs = this.childRefs;
     final int n = childRefs.length;
-    final long[] knotIndexes = this.knotIndexes;
     int diffSize = 0;
     long treeSize = 0L;
-    if (n > 0) {
-      pageSize += 1; // '{'
-      for (int i = 0; i < n; i += 1) {
-        if (i > 0) {
-          final long index = knotIndexes[i - 1];
-          pageSize += 9; // ",@knot(i:"
-          pageSize += Recon.sizeOf(Num.from(index));
-          pageSize += 2; // "),"
-        }
-        final STreePageRef childRef = childRefs[i];
-        pageSize += childRef.pageRefSize();
-        if (this.version == childRef.softVersion()) {
-          diffSize += childRef.diffSize();
+    for (int i = 0; i < n; i += 1) {
+      final STreePageRef childRef = childRefs[i];
+      if (this.version == childRef.softVersion()) {
+        diffSize += childRef.diffSize();
+      }
+      treeSize += childRef.treeSize();
+    }
+
+    final PageFormat pageFormat = this.pageRef.context.settings().pageFormat;
+    int pageSize;
+    if (pageFormat.isBinary()) {
+      pageSize = pageFormat.sizeOfPage(this);
+    } else {
+      pageSize = 12; // "@snode(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
+
+      final long[] knotIndexes = this.knotIndexes;
+      if (n > 0) {
+        pageSize += 1; // '{'
+        for (int i = 0; i < n; i += 1) {
+          if (i > 0) {
+            final long index = knotIndexes[i - 1];
+            pageSize += 9; // ",@knot(i:"
+            pageSize += Recon.sizeOf(Num.from(index));
+            pageSize += 2; // "),"
+          }
+          pageSize += childRefs[i].pageRefSize();
         }
-        treeSize += childRef.treeSize();
+        pageSize += 1; // '}'
+        pageSize += 1; // '\n'
       }
-      pageSize += 1; // '}'
-      pageSize += 1; // '\n'
     }
     diffSize += pageSize;
     treeSize += pageSize;
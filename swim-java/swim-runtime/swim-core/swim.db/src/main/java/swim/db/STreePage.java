@@ -95,6 +95,15 @@ public abstract class STreePage extends Page {
 
   abstract void memoizeSize(STreePageRef pageRef);
 
+  @Override
+  int memoizedPageSize() {
+    final STreePageRef pageRef = this.pageRef();
+    if (pageRef.pageSize < 0) {
+      this.memoizeSize(pageRef);
+    }
+    return pageRef.pageSize;
+  }
+
   @Override
   public abstract STreePage loadTree(PageLoader pageLoader);
 
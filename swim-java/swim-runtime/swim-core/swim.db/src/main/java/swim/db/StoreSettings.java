@@ -40,6 +40,11 @@ public class StoreSettings implements Debug {
   protected final double minTreeFill;
   protected final int maxRetries;
   protected final int deleteDelay;
+  protected final PageFormat pageFormat;
+  protected final boolean mapZones;
+  protected final long pageCacheBudget;
+  protected final Durability durability;
+  protected final long syncInterval;
 
   public StoreSettings(int pageSplitSize, int pageCacheSize,
                        long minCommitSize, long maxCommitSize,
@@ -47,7 +52,10 @@ public class StoreSettings implements Debug {
                        long minCompactSize, long maxCompactSize,
                        long maxCompactTime, long maxZoneSize,
                        double minZoneFill, double minTreeFill,
-                       int maxRetries, int deleteDelay) {
+                       int maxRetries, int deleteDelay,
+                       PageFormat pageFormat, boolean mapZones,
+                       long pageCacheBudget, Durability durability,
+                       long syncInterval) {
     this.pageSplitSize = pageSplitSize;
     this.pageCacheSize = pageCacheSize;
     this.minCommitSize = minCommitSize;
@@ -62,6 +70,11 @@ public class StoreSettings implements Debug {
     this.minTreeFill = minTreeFill;
     this.maxRetries = maxRetries;
     this.deleteDelay = deleteDelay;
+    this.pageFormat = pageFormat;
+    this.mapZones = mapZones;
+    this.pageCacheBudget = pageCacheBudget;
+    this.durability = durability;
+    this.syncInterval = syncInterval;
   }
 
   public final int pageSplitSize() {
@@ -75,7 +88,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final int pageCacheSize() {
@@ -89,7 +105,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long minCommitSize() {
@@ -103,7 +122,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long maxCommitSize() {
@@ -117,7 +139,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long minCommitInterval() {
@@ -131,7 +156,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long maxCommitTime() {
@@ -145,7 +173,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long minCompactSize() {
@@ -159,7 +190,10 @@ public class StoreSettings implements Debug {
                      minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long maxCompactSize() {
@@ -173,7 +207,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long maxCompactTime() {
@@ -187,7 +224,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final long maxZoneSize() {
@@ -201,7 +241,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final double minZoneFill() {
@@ -215,7 +258,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      minZoneFill, this.minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final double minTreeFill() {
@@ -229,7 +275,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, minTreeFill,
-                     this.maxRetries, this.deleteDelay);
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final int maxRetries() {
@@ -243,7 +292,10 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     maxRetries, this.deleteDelay);
+                     maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
   }
 
   public final int deleteDelay() {
@@ -257,7 +309,95 @@ public class StoreSettings implements Debug {
                      this.minCompactSize, this.maxCompactSize,
                      this.maxCompactTime, this.maxZoneSize,
                      this.minZoneFill, this.minTreeFill,
-                     this.maxRetries, deleteDelay);
+                     this.maxRetries, deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
+  }
+
+  public final PageFormat pageFormat() {
+    return this.pageFormat;
+  }
+
+  public StoreSettings pageFormat(PageFormat pageFormat) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
+  }
+
+  public final boolean mapZones() {
+    return this.mapZones;
+  }
+
+  public StoreSettings mapZones(boolean mapZones) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, mapZones,
+                     this.pageCacheBudget, this.durability,
+                     this.syncInterval);
+  }
+
+  public final long pageCacheBudget() {
+    return this.pageCacheBudget;
+  }
+
+  public StoreSettings pageCacheBudget(long pageCacheBudget) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     pageCacheBudget, this.durability,
+                     this.syncInterval);
+  }
+
+  public final Durability durability() {
+    return this.durability;
+  }
+
+  public StoreSettings durability(Durability durability) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, durability,
+                     this.syncInterval);
+  }
+
+  public final long syncInterval() {
+    return this.syncInterval;
+  }
+
+  public StoreSettings syncInterval(long syncInterval) {
+    return this.copy(this.pageSplitSize, this.pageCacheSize,
+                     this.minCommitSize, this.maxCommitSize,
+                     this.minCommitInterval, this.maxCommitTime,
+                     this.minCompactSize, this.maxCompactSize,
+                     this.maxCompactTime, this.maxZoneSize,
+                     this.minZoneFill, this.minTreeFill,
+                     this.maxRetries, this.deleteDelay,
+                     this.pageFormat, this.mapZones,
+                     this.pageCacheBudget, this.durability,
+                     syncInterval);
   }
 
   protected StoreSettings copy(int pageSplitSize, int pageCacheSize,
@@ -266,14 +406,20 @@ public class StoreSettings implements Debug {
                                long minCompactSize, long maxCompactSize,
                                long maxCompactTime, long maxZoneSize,
                                double minZoneFill, double minTreeFill,
-                               int maxRetries, int deleteDelay) {
+                               int maxRetries, int deleteDelay,
+                               PageFormat pageFormat, boolean mapZones,
+                               long pageCacheBudget, Durability durability,
+                               long syncInterval) {
     return new StoreSettings(pageSplitSize, pageCacheSize,
                              minCommitSize, maxCommitSize,
                              minCommitInterval, maxCommitTime,
                              minCompactSize, maxCompactSize,
                              maxCompactTime, maxZoneSize,
                              minZoneFill, minTreeFill,
-                             maxRetries, deleteDelay);
+                             maxRetries, deleteDelay,
+                             pageFormat, mapZones,
+                             pageCacheBudget, durability,
+                             syncInterval);
   }
 
   protected boolean canEqual(Object other) {
@@ -299,7 +445,12 @@ public class StoreSettings implements Debug {
           && this.minZoneFill == that.minZoneFill
           && this.minTreeFill == that.minTreeFill
           && this.maxRetries == that.maxRetries
-          && this.deleteDelay == that.deleteDelay;
+          && this.deleteDelay == that.deleteDelay
+          && this.pageFormat == that.pageFormat
+          && this.mapZones == that.mapZones
+          && this.pageCacheBudget == that.pageCacheBudget
+          && this.durability == that.durability
+          && this.syncInterval == that.syncInterval;
     }
     return false;
   }
@@ -311,16 +462,18 @@ public class StoreSettings implements Debug {
     if (StoreSettings.hashSeed == 0) {
       StoreSettings.hashSeed = Murmur3.seed(StoreSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
-        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
-        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         StoreSettings.hashSeed, this.pageSplitSize), this.pageCacheSize),
         Murmur3.hash(this.minCommitSize)), Murmur3.hash(this.maxCommitSize)),
         Murmur3.hash(this.minCommitInterval)), Murmur3.hash(this.maxCommitTime)),
         Murmur3.hash(this.minCompactSize)), Murmur3.hash(this.maxCompactSize)),
         Murmur3.hash(this.maxCompactTime)), Murmur3.hash(this.maxZoneSize)),
         Murmur3.hash(this.minZoneFill)), Murmur3.hash(this.minTreeFill)),
-        this.maxRetries), this.deleteDelay));
+        this.maxRetries), this.deleteDelay), this.pageFormat.version()),
+        Murmur3.hash(this.mapZones)), Murmur3.hash(this.pageCacheBudget)),
+        this.durability.code()), Murmur3.hash(this.syncInterval)));
   }
 
   @Override
@@ -339,7 +492,12 @@ public class StoreSettings implements Debug {
                    .write('.').write("minZoneFill").write('(').debug(this.minZoneFill).write(')')
                    .write('.').write("minTreeFill").write('(').debug(this.minTreeFill).write(')')
                    .write('.').write("maxRetries").write('(').debug(this.maxRetries).write(')')
-                   .write('.').write("deleteDelay").write('(').debug(this.deleteDelay).write(')');
+                   .write('.').write("deleteDelay").write('(').debug(this.deleteDelay).write(')')
+                   .write('.').write("pageFormat").write('(').debug(this.pageFormat).write(')')
+                   .write('.').write("mapZones").write('(').debug(this.mapZones).write(')')
+                   .write('.').write("pageCacheBudget").write('(').debug(this.pageCacheBudget).write(')')
+                   .write('.').write("durability").write('(').debug(this.durability).write(')')
+                   .write('.').write("syncInterval").write('(').debug(this.syncInterval).write(')');
     return output;
   }
 
@@ -450,13 +608,42 @@ public class StoreSettings implements Debug {
         deleteDelay = 15 * 1000;
       }
 
+      PageFormat pageFormat = PageFormat.fromTag(System.getProperty("swim.db.page.format"));
+      if (pageFormat == null) {
+        pageFormat = PageFormat.RECON;
+      }
+
+      final boolean mapZones = Boolean.parseBoolean(System.getProperty("swim.db.map.zones"));
+
+      long pageCacheBudget;
+      try {
+        pageCacheBudget = Long.parseLong(System.getProperty("swim.db.page.cache.budget"));
+      } catch (NumberFormatException e) {
+        pageCacheBudget = 64 * 1024 * 1024;
+      }
+
+      Durability durability = Durability.fromTag(System.getProperty("swim.db.durability"));
+      if (durability == null) {
+        durability = Durability.SYNC;
+      }
+
+      long syncInterval;
+      try {
+        syncInterval = Long.parseLong(System.getProperty("swim.db.sync.interval"));
+      } catch (NumberFormatException e) {
+        syncInterval = 1000L;
+      }
+
       StoreSettings.standard = new StoreSettings(pageSplitSize, pageCacheSize,
                                                  minCommitSize, maxCommitSize,
                                                  minCommitInterval, maxCommitTime,
                                                  minCompactSize, maxCompactSize,
                                                  maxCompactTime, maxZoneSize,
                                                  minZoneFill, minTreeFill,
-                                                 maxRetries, deleteDelay);
+                                                 maxRetries, deleteDelay,
+                                                 pageFormat, mapZones,
+                                                 pageCacheBudget, durability,
+                                                 syncInterval);
     }
     return StoreSettings.standard;
   }
@@ -538,6 +725,21 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       if (settings.deleteDelay != standard.deleteDelay) {
         record.slot("deleteDelay", settings.deleteDelay);
       }
+      if (settings.pageFormat != standard.pageFormat) {
+        record.slot("pageFormat", settings.pageFormat.tag());
+      }
+      if (settings.mapZones != standard.mapZones) {
+        record.slot("mapZones", settings.mapZones);
+      }
+      if (settings.pageCacheBudget != standard.pageCacheBudget) {
+        record.slot("pageCacheBudget", settings.pageCacheBudget);
+      }
+      if (settings.durability != standard.durability) {
+        record.slot("durability", settings.durability.tag());
+      }
+      if (settings.syncInterval != standard.syncInterval) {
+        record.slot("syncInterval", settings.syncInterval);
+      }
 
       return record;
     } else {
@@ -564,13 +766,27 @@ final class StoreSettingsForm extends Form<StoreSettings> {
       final double minTreeFill = value.get("minTreeFill").doubleValue(standard.minTreeFill);
       final int maxRetries = value.get("maxRetries").intValue(standard.maxRetries);
       final int deleteDelay = value.get("deleteDelay").intValue(standard.deleteDelay);
+      PageFormat pageFormat = PageFormat.fromTag(value.get("pageFormat").stringValue(null));
+      if (pageFormat == null) {
+        pageFormat = standard.pageFormat;
+      }
+      final boolean mapZones = value.get("mapZones").booleanValue(standard.mapZones);
+      final long pageCacheBudget = value.get("pageCacheBudget").longValue(standard.pageCacheBudget);
+      Durability durability = Durability.fromTag(value.get("durability").stringValue(null));
+      if (durability == null) {
+        durability = standard.durability;
+      }
+      final long syncInterval = value.get("syncInterval").longValue(standard.syncInterval);
       return new StoreSettings(pageSplitSize, pageCacheSize,
                                minCommitSize, maxCommitSize,
                                minCommitInterval, maxCommitTime,
                                minCompactSize, maxCompactSize,
                                maxCompactTime, maxZoneSize,
                                minZoneFill, minTreeFill,
-                               maxRetries, deleteDelay);
+                               maxRetries, deleteDelay,
+                               pageFormat, mapZones,
+                               pageCacheBudget, durability,
+                               syncInterval);
     }
     return null;
   }
@@ -112,17 +112,23 @@ public final class UTreeLeaf extends UTreePage {
 
   @Override
   void memoizeSize(UTreePageRef pageRef) {
-    int pageSize = 12; // "@uleaf(stem:"
-    pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
-    pageSize += 3; // ",v:"
-    pageSize += Recon.sizeOf(Num.from(this.version));
-    pageSize += 1; // ')'
+    final PageFormat pageFormat = this.pageRef.context.settings().pageFormat;
+    int pageSize;
+    if (pageFormat.isBinary()) {
+      pageSize = pageFormat.sizeOfPage(this);
+    } else {
+      pageSize = 12; // "@uleaf(stem:"
+      pageSize += Recon.sizeOf(Num.from(this.pageRef.stem));
+      pageSize += 3; // ",v:"
+      pageSize += Recon.sizeOf(Num.from(this.version));
+      pageSize += 1; // ')'
 
-    pageSize += 1; // '{'
-    pageSize += Recon.sizeOf(this.value);
-    pageSize += 1; // '}'
+      pageSize += 1; // '{'
+      pageSize += Recon.sizeOf(this.value);
+      pageSize += 1; // '}'
 
-    pageSize += 1; // '\n'
+      pageSize += 1; // '\n'
+    }
     pageRef.pageSize = pageSize; // Must match bytes written by writePage
     pageRef.diffSize = pageSize; // Must match bytes written by writeDiff
   }
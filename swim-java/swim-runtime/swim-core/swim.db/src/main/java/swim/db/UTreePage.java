@@ -52,6 +52,15 @@ public abstract class UTreePage extends Page {
 
   abstract void memoizeSize(UTreePageRef pageRef);
 
+  @Override
+  int memoizedPageSize() {
+    final UTreePageRef pageRef = this.pageRef();
+    if (pageRef.pageSize < 0) {
+      this.memoizeSize(pageRef);
+    }
+    return pageRef.pageSize;
+  }
+
   @Override
   public abstract UTreePage loadTree(PageLoader pageLoader);
 
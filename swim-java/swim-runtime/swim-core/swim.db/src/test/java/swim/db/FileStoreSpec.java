@@ -18,7 +18,11 @@ import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.annotations.Test;
+import swim.concurrent.Cont;
 import swim.concurrent.Theater;
 import swim.math.R2Point;
 import swim.math.R2Shape;
@@ -29,7 +33,9 @@ import swim.structure.Form;
 import swim.structure.Text;
 import swim.structure.Value;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 public class FileStoreSpec {
 
@@ -286,6 +292,313 @@ public class FileStoreSpec {
     }
   }
 
+  @Test
+  public void testMappedZoneReads() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "mapped-zones.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+
+      final FileStore store = new FileStore(new StoreContext(this.storeSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int i = 0; i < 1000; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      store.shiftZone();
+      for (int i = 1000; i < 2000; i += 1) {
+        map.put("k" + i, i);
+      }
+      database.commit(Commit.forced());
+      store.close();
+
+      final StoreSettings mappedSettings = this.storeSettings.mapZones(true);
+      final FileStore mappedStore = new FileStore(new StoreContext(mappedSettings), storePath, stage);
+      mappedStore.open();
+      final Database mappedDatabase = mappedStore.openDatabase();
+      final Map<String, Integer> mappedMap = mappedDatabase.openBTreeMap("test").load()
+                                                           .keyForm(Form.forString())
+                                                           .valueForm(Form.forInteger());
+      assertTrue(mappedStore.openZone(1).isSealed());
+      assertFalse(mappedStore.zone().isSealed());
+      assertEquals(mappedMap.size(), 2000);
+      for (int i = 0; i < 2000; i += 1) {
+        assertEquals(mappedMap.get("k" + i), Integer.valueOf(i));
+      }
+      mappedStore.close();
+      mappedStore.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testBinaryPageFormatMigration() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "binary-migration.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+
+      final FileStore reconStore = new FileStore(new StoreContext(this.storeSettings), storePath, stage);
+      reconStore.open();
+      final Database reconDatabase = reconStore.openDatabase();
+      final Map<String, Integer> reconMap = reconDatabase.openBTreeMap("test").load()
+                                                         .keyForm(Form.forString())
+                                                         .valueForm(Form.forInteger());
+      for (int i = 0; i < 1000; i += 1) {
+        reconMap.put("k" + i, i);
+      }
+      reconDatabase.commit(Commit.forced());
+      reconStore.close();
+
+      final StoreSettings binarySettings = this.storeSettings.pageFormat(PageFormat.BINARY);
+      final FileStore binaryStore = new FileStore(new StoreContext(binarySettings), storePath, stage);
+      binaryStore.open();
+      final Database binaryDatabase = binaryStore.openDatabase();
+      final Map<String, Integer> binaryMap = binaryDatabase.openBTreeMap("test").load()
+                                                           .keyForm(Form.forString())
+                                                           .valueForm(Form.forInteger());
+      for (int i = 0; i < 1000; i += 1) {
+        assertEquals(binaryMap.get("k" + i), Integer.valueOf(i));
+      }
+      for (int i = 1000; i < 2000; i += 1) {
+        binaryMap.put("k" + i, i);
+      }
+      binaryDatabase.commit(Commit.forced());
+      assertEquals(binaryDatabase.germ().pageFormat(), PageFormat.BINARY);
+      binaryStore.close();
+
+      final FileStore reopenedStore = new FileStore(new StoreContext(binarySettings), storePath, stage);
+      reopenedStore.open();
+      final Database reopenedDatabase = reopenedStore.openDatabase();
+      final Map<String, Integer> reopenedMap = reopenedDatabase.openBTreeMap("test").load()
+                                                               .keyForm(Form.forString())
+                                                               .valueForm(Form.forInteger());
+      assertEquals(reopenedMap.size(), 2000);
+      for (int i = 0; i < 2000; i += 1) {
+        assertEquals(reopenedMap.get("k" + i), Integer.valueOf(i));
+      }
+      reopenedStore.close();
+      reopenedStore.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testDurabilityModes() throws InterruptedException {
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      for (Durability durability : Durability.values()) {
+        final File storePath = new File(this.testOutputDir, "durability-" + durability.tag() + ".swimdb");
+        final StoreSettings durabilitySettings = this.storeSettings.durability(durability).syncInterval(10L);
+
+        final FileStore store = new FileStore(new StoreContext(durabilitySettings), storePath, stage);
+        store.open();
+        final Database database = store.openDatabase();
+        final Map<String, Integer> map = database.openBTreeMap("test").load()
+                                                 .keyForm(Form.forString())
+                                                 .valueForm(Form.forInteger());
+        for (int i = 0; i < 100; i += 1) {
+          map.put("k" + i, i);
+          database.commitAsync(Commit.forced());
+        }
+        database.commit(Commit.forced());
+        assertTrue(store.commitCount() > 0L);
+        if (durability.isSynchronous()) {
+          assertTrue(store.syncCount() > 0L);
+          assertTrue(store.syncedChunkCount() >= store.syncCount());
+        }
+        store.close();
+        assertTrue(store.syncCount() > 0L);
+
+        final FileStore reopenedStore = new FileStore(new StoreContext(durabilitySettings), storePath, stage);
+        reopenedStore.open();
+        final Database reopenedDatabase = reopenedStore.openDatabase();
+        final Map<String, Integer> reopenedMap = reopenedDatabase.openBTreeMap("test").load()
+                                                                 .keyForm(Form.forString())
+                                                                 .valueForm(Form.forInteger());
+        assertEquals(reopenedMap.size(), 100);
+        for (int i = 0; i < 100; i += 1) {
+          assertEquals(reopenedMap.get("k" + i), Integer.valueOf(i));
+        }
+        reopenedStore.close();
+        reopenedStore.delete();
+      }
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testCommitLatencyCountsCommits() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "commit-latency.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      final FileStore store = new FileStore(new StoreContext(this.storeSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      for (int i = 0; i < 10; i += 1) {
+        map.put("k" + i, i);
+        database.commit(Commit.forced());
+      }
+      assertTrue(store.commitCount() > 0L);
+      assertEquals(store.commitLatency().count(), store.commitCount());
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testForcedCommitsAcknowledgedOnceDurable() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "durable-ack.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      final StoreSettings syncSettings = this.storeSettings.durability(Durability.SYNC);
+      final FileStore store = new FileStore(new StoreContext(syncSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      final int commitCount = 20;
+      final CountDownLatch ackLatch = new CountDownLatch(commitCount);
+      final AtomicInteger durableAckCount = new AtomicInteger();
+      for (int i = 0; i < commitCount; i += 1) {
+        map.put("k" + i, i);
+        database.commitAsync(Commit.forced().andThen(new Cont<Chunk>() {
+          @Override
+          public void bind(Chunk chunk) {
+            // The germ of an acknowledged chunk must already be on disk,
+            // and must have been flushed at least once.
+            final FileZone zone = store.zone(chunk.zone());
+            final FileZone diskZone = new FileZone(store, zone.id(), zone.file(), stage,
+                                                   database, zone.germ());
+            if (store.syncCount() > 0L && diskZone.loadGerm().version() >= chunk.germ().version()) {
+              durableAckCount.incrementAndGet();
+            }
+            ackLatch.countDown();
+          }
+          @Override
+          public void trap(Throwable error) {
+            ackLatch.countDown();
+          }
+        }));
+      }
+      assertTrue(ackLatch.await(10L, TimeUnit.SECONDS));
+      assertEquals(durableAckCount.get(), commitCount);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testPeriodicSyncFlushesShiftedZones() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "periodic-shift.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+      final StoreSettings periodicSettings = this.storeSettings.durability(Durability.PERIODIC)
+                                                               .syncInterval(60000L);
+      final FileStore store = new FileStore(new StoreContext(periodicSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      final Map<String, Integer> map = database.openBTreeMap("test").load()
+                                               .keyForm(Form.forString())
+                                               .valueForm(Form.forInteger());
+      map.put("a", 1);
+      database.commit(Commit.forced());
+      final int oldZoneId = store.zone().id();
+      map.put("b", 2);
+      database.commit(Commit.forced().isShifted(true));
+      final int newZoneId = store.zone().id();
+      assertTrue(newZoneId > oldZoneId);
+      assertTrue(store.syncer.dirtyZones.containsKey(oldZoneId));
+      assertTrue(store.syncer.dirtyZones.containsKey(newZoneId));
+      final long syncCount = store.syncCount();
+      store.sync();
+      assertTrue(store.syncer.dirtyZones.isEmpty());
+      assertEquals(store.syncCount(), syncCount + 1L);
+      store.close();
+      store.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
+  @Test
+  public void testIncrementalCompaction() throws InterruptedException {
+    final File storePath = new File(this.testOutputDir, "incremental-compaction.swimdb");
+    final Theater stage = new Theater();
+    try {
+      stage.start();
+
+      final StoreSettings compactSettings = this.storeSettings.minCompactSize(0L).minTreeFill(0.9)
+                                                              .maxCompactSize(4 * 1024L);
+      final FileStore store = new FileStore(new StoreContext(compactSettings), storePath, stage);
+      store.open();
+      final Database database = store.openDatabase();
+      for (int t = 0; t < 8; t += 1) {
+        final Map<String, Integer> map = database.openBTreeMap("test" + t).load()
+                                                 .keyForm(Form.forString())
+                                                 .valueForm(Form.forInteger());
+        for (int i = 0; i < 500; i += 1) {
+          map.put("k" + i, i);
+        }
+      }
+      database.commit(Commit.forced());
+      for (int t = 0; t < 8; t += 1) {
+        final Map<String, Integer> map = database.openBTreeMap("test" + t).load()
+                                                 .keyForm(Form.forString())
+                                                 .valueForm(Form.forInteger());
+        for (int i = 0; i < 500; i += 1) {
+          map.put("k" + i, t * i);
+        }
+      }
+      database.commit(Commit.forced().isShifted(true));
+      assertTrue(database.isCompacting());
+
+      final long deadline = System.currentTimeMillis() + 10 * 1000L;
+      while (store.oldestZoneId() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10L);
+      }
+      assertFalse(database.isCompacting());
+      assertEquals(store.oldestZoneId(), 2);
+      store.close();
+
+      final FileStore reopenedStore = new FileStore(new StoreContext(compactSettings), storePath, stage);
+      reopenedStore.open();
+      final Database reopenedDatabase = reopenedStore.openDatabase();
+      for (int t = 0; t < 8; t += 1) {
+        final Map<String, Integer> map = reopenedDatabase.openBTreeMap("test" + t).load()
+                                                         .keyForm(Form.forString())
+                                                         .valueForm(Form.forInteger());
+        assertEquals(map.size(), 500);
+        for (int i = 0; i < 500; i += 1) {
+          assertEquals(map.get("k" + i), Integer.valueOf(t * i));
+        }
+      }
+      reopenedStore.close();
+      reopenedStore.delete();
+    } finally {
+      stage.stop();
+    }
+  }
+
   @Test
   public void benchmarkLargeWrites() throws InterruptedException {
     final File storePath = new File(this.testOutputDir, "large-writes.swimdb");
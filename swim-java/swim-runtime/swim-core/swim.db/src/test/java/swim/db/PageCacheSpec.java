@@ -0,0 +1,106 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import org.testng.annotations.Test;
+import swim.structure.Slot;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PageCacheSpec {
+
+  static BTreeLeaf committedPage(PageContext pageContext, int index) {
+    final Slot[] slots = {Slot.of("key", "value")};
+    return BTreeLeaf.create(pageContext, 0, 0L, 1, 1024L * (index + 1), Value.absent(), slots);
+  }
+
+  @Test
+  public void testEvictToBudget() {
+    final PageContext pageContext = new PageContext();
+    final int pageSize = PageCacheSpec.committedPage(pageContext, 0).pageSize();
+    final PageCache pageCache = new PageCache(10L * pageSize, 64);
+    for (int i = 0; i < 100; i += 1) {
+      assertFalse(pageCache.put(PageCacheSpec.committedPage(pageContext, i)));
+      assertTrue(pageCache.weight() <= pageCache.budget());
+    }
+    assertEquals(pageCache.size(), 10);
+    assertEquals(pageCache.weight(), 10L * pageSize);
+    assertEquals(pageCache.missCount(), 100L);
+    assertEquals(pageCache.hitCount(), 0L);
+    assertEquals(pageCache.evictionCount(), 90L);
+  }
+
+  @Test
+  public void testCountHits() {
+    final PageContext pageContext = new PageContext();
+    final BTreeLeaf page = PageCacheSpec.committedPage(pageContext, 0);
+    final PageCache pageCache = new PageCache(1024L * 1024L, 64);
+    assertFalse(pageCache.put(page));
+    assertTrue(pageCache.put(page));
+    assertTrue(pageCache.put(page));
+    assertEquals(pageCache.hitCount(), 2L);
+    assertEquals(pageCache.missCount(), 1L);
+    assertTrue(pageCache.remove(page));
+    assertEquals(pageCache.size(), 0);
+    assertEquals(pageCache.weight(), 0L);
+  }
+
+  @Test
+  public void testIgnoreUncommittedPages() {
+    final PageContext pageContext = new PageContext();
+    final BTreeLeaf page = BTreeLeaf.empty(pageContext, 0, 0L);
+    final PageCache pageCache = new PageCache(1024L * 1024L, 64);
+    assertFalse(pageCache.put(page));
+    assertFalse(pageCache.put(page));
+    assertEquals(pageCache.size(), 0);
+    assertEquals(pageCache.missCount(), 0L);
+  }
+
+  @Test
+  public void testRetainFrequentPagesAcrossScans() {
+    final PageContext pageContext = new PageContext();
+    final int pageSize = PageCacheSpec.committedPage(pageContext, 0).pageSize();
+    final PageCache pageCache = new PageCache(20L * pageSize, 256);
+    final BTreeLeaf[] hotPages = new BTreeLeaf[5];
+    for (int i = 0; i < hotPages.length; i += 1) {
+      hotPages[i] = PageCacheSpec.committedPage(pageContext, i);
+    }
+    for (int k = 0; k < 10; k += 1) {
+      for (int i = 0; i < hotPages.length; i += 1) {
+        pageCache.put(hotPages[i]);
+      }
+    }
+    for (int i = 0; i < 1000; i += 1) {
+      pageCache.put(PageCacheSpec.committedPage(pageContext, hotPages.length + i));
+    }
+    for (int i = 0; i < hotPages.length; i += 1) {
+      assertTrue(pageCache.put(hotPages[i]));
+    }
+    assertTrue(pageCache.weight() <= pageCache.budget());
+  }
+
+  @Test
+  public void testDisableWithZeroBudget() {
+    final PageContext pageContext = new PageContext();
+    final BTreeLeaf page = PageCacheSpec.committedPage(pageContext, 0);
+    final PageCache pageCache = new PageCache(0L, 64);
+    assertFalse(pageCache.put(page));
+    assertFalse(pageCache.put(page));
+    assertEquals(pageCache.size(), 0);
+  }
+
+}
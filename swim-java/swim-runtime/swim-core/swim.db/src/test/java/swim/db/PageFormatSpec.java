@@ -0,0 +1,164 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.db;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PageFormatSpec {
+
+  void assertRoundTrips(Value value) {
+    final int size = PageCodec.sizeOf(value);
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    PageCodec.write(buffer, value);
+    assertEquals(buffer.position(), size);
+    buffer.flip();
+    assertTrue(PageCodec.isBinaryPage(buffer));
+    assertEquals(PageFormat.decodePage(buffer), value);
+  }
+
+  @Test
+  public void testRoundTripScalars() {
+    assertRoundTrips(Value.absent());
+    assertRoundTrips(Value.extant());
+    assertRoundTrips(Bool.from(true));
+    assertRoundTrips(Bool.from(false));
+    assertRoundTrips(Num.from(0));
+    assertRoundTrips(Num.from(-1));
+    assertRoundTrips(Num.from(Integer.MIN_VALUE));
+    assertRoundTrips(Num.from(Long.MAX_VALUE));
+    assertRoundTrips(Num.from(Long.MIN_VALUE));
+    assertRoundTrips(Num.from(2.5f));
+    assertRoundTrips(Num.from(Math.PI));
+    assertRoundTrips(Num.from(BigInteger.ONE.shiftLeft(100)));
+    assertRoundTrips(Text.empty());
+    assertRoundTrips(Text.from("unicode é中😀"));
+    assertRoundTrips(Data.wrap(new byte[] {0, 1, 2, (byte) 0xFF}));
+  }
+
+  @Test
+  public void testRoundTripRecords() {
+    assertRoundTrips(Record.empty());
+    assertRoundTrips(Record.create(3).attr("bleaf", Record.create(2).slot("stem", 7).slot("v", 42L))
+                                     .slot("a", 1).slot("b", Record.of(1, 2, 3)));
+    assertRoundTrips(Record.of(Attr.of("knot", Record.create(1).slot("key", "x")),
+                               Slot.of(Text.from("key"), Text.from("key"))));
+  }
+
+  @Test
+  public void testInternRepeatedTexts() {
+    final Record record = Record.create();
+    for (int i = 0; i < 100; i += 1) {
+      record.add(Record.create(1).attr("page", Record.create(2).slot("zone", i).slot("base", i * 100)));
+    }
+    assertTrue(PageCodec.sizeOf(record) < Recon.sizeOf(record));
+    assertRoundTrips(record);
+  }
+
+  @Test
+  public void testDecodeReconPages() {
+    final ByteBuffer buffer = ByteBuffer.wrap("@bleaf(stem:1,v:2){a:1}\n".getBytes());
+    assertEquals(PageFormat.decodePage(buffer),
+                 Record.create(2).attr("bleaf", Record.create(2).slot("stem", 1).slot("v", 2)).slot("a", 1));
+  }
+
+  @Test
+  public void testBinaryLeafPageSize() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public StoreSettings settings() {
+        return StoreSettings.standard().pageFormat(PageFormat.BINARY);
+      }
+    };
+    BTreePage page = BTreePage.empty(pageContext, 1, 1L);
+    for (int i = 0; i < 64; i += 1) {
+      page = page.updated(Text.from("key" + i), Num.from(i), 1L);
+    }
+    final ByteBuffer buffer = PageFormat.BINARY.encodePage(page);
+    assertEquals(buffer.remaining(), page.pageSize());
+    assertEquals(PageFormat.decodePage(buffer), page.toValue());
+  }
+
+  @Test
+  public void testReconLeafPageSize() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public StoreSettings settings() {
+        return StoreSettings.standard();
+      }
+    };
+    BTreePage page = BTreePage.empty(pageContext, 1, 1L);
+    for (int i = 0; i < 64; i += 1) {
+      page = page.updated(Text.from("key" + i), Num.from(i), 1L);
+    }
+    final ByteBuffer buffer = PageFormat.RECON.encodePage(page);
+    assertEquals(PageFormat.RECON.sizeOfPage(page), page.pageSize());
+    assertEquals(buffer.remaining(), page.pageSize());
+  }
+
+  @Test
+  public void testBinaryPageSizeMatchesEncodedSize() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public StoreSettings settings() {
+        return StoreSettings.standard().pageFormat(PageFormat.BINARY);
+      }
+    };
+    BTreePage page = BTreePage.empty(pageContext, 1, 1L);
+    for (int i = 0; i < 64; i += 1) {
+      page = page.updated(Text.from("key" + i), Num.from(i), 1L);
+    }
+    final int pageSize = PageFormat.BINARY.sizeOfPage(page);
+    assertEquals(PageFormat.BINARY.encodePage(page).remaining(), pageSize);
+    assertEquals(PageFormat.BINARY.encodePage(page).remaining(), pageSize);
+  }
+
+  @Test
+  public void testBinaryPageValuesMemoizedOnlyUntilCommittedPagesAreEncoded() {
+    final PageContext pageContext = new PageContext() {
+      @Override
+      public StoreSettings settings() {
+        return StoreSettings.standard().pageFormat(PageFormat.BINARY);
+      }
+    };
+    BTreePage page = BTreePage.empty(pageContext, 1, 1L);
+    for (int i = 0; i < 64; i += 1) {
+      page = page.updated(Text.from("key" + i), Num.from(i), 1L);
+    }
+    PageFormat.BINARY.sizeOfPage(page);
+    assertNull(page.pageValue);
+
+    final BTreePage committedPage = page.committed(1, 1024L, 1L);
+    final int pageSize = PageFormat.BINARY.sizeOfPage(committedPage);
+    assertNotNull(committedPage.pageValue);
+    assertEquals(PageFormat.BINARY.encodePage(committedPage).remaining(), pageSize);
+    assertNull(committedPage.pageValue);
+  }
+
+}
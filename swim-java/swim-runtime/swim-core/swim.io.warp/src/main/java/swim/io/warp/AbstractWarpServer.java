@@ -18,6 +18,7 @@ import swim.io.http.HttpServerContext;
 import swim.io.ws.AbstractWsServer;
 import swim.io.ws.WsSettings;
 import swim.io.ws.WsUpgradeResponder;
+import swim.ws.WsRequest;
 import swim.ws.WsResponse;
 
 public abstract class AbstractWarpServer extends AbstractWsServer {
@@ -53,4 +54,9 @@ public abstract class AbstractWarpServer extends AbstractWsServer {
     return new WsUpgradeResponder(webSocket, wsResponse, this.wsSettings);
   }
 
+  protected WsUpgradeResponder upgrade(WarpSocket warpSocket, WsRequest wsRequest) {
+    final WsResponse wsResponse = wsRequest.accept(this.wsSettings, WarpWebSocket.acceptProtocol(wsRequest));
+    return this.upgrade(warpSocket, wsResponse);
+  }
+
 }
@@ -0,0 +1,101 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.warp;
+
+import java.util.ArrayList;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.warp.Envelope;
+import swim.warp.WarpException;
+
+/**
+ * Payload encoder for a WebSocket frame that carries a batch of newline
+ * delimited envelopes. A {@code WarpBatchEncoder} takes envelopes from the
+ * batch queue of its {@code WarpWebSocket} while it writes, so envelopes
+ * pushed while earlier envelopes in the batch are being written join the
+ * same frame. The batch is sealed once the queue runs dry, or once the
+ * encoded size of the batch reaches the configured batch size.
+ */
+final class WarpBatchEncoder extends Encoder<Envelope, Envelope> {
+
+  final WarpWebSocket webSocket;
+  final ArrayList<Envelope> envelopes;
+  final Encoder<?, ?> input;
+  final long size;
+
+  WarpBatchEncoder(WarpWebSocket webSocket, ArrayList<Envelope> envelopes, Encoder<?, ?> input, long size) {
+    this.webSocket = webSocket;
+    this.envelopes = envelopes;
+    this.input = input;
+    this.size = size;
+  }
+
+  WarpBatchEncoder(WarpWebSocket webSocket) {
+    this(webSocket, null, null, 0L);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return WarpBatchEncoder.encode(output, this.webSocket, this.envelopes, this.input, this.size);
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, WarpWebSocket webSocket,
+                                            ArrayList<Envelope> envelopes, Encoder<?, ?> input, long size) {
+    if (envelopes == null) {
+      final Envelope envelope = webSocket.batchQueue.poll();
+      if (envelope == null) {
+        return Encoder.error(new WarpException("empty batch"));
+      }
+      envelopes = new ArrayList<Envelope>();
+      envelopes.add(envelope);
+      input = envelope.reconEncoder();
+    }
+    do {
+      if (input == null) {
+        if (size >= webSocket.batchSize || !output.isCont()) {
+          break;
+        }
+        final Envelope envelope = webSocket.batchQueue.poll();
+        if (envelope == null) {
+          break;
+        }
+        output = output.write('\n');
+        size += 1L;
+        envelopes.add(envelope);
+        input = envelope.reconEncoder();
+      }
+      final int index = output.index();
+      input = input.pull(output);
+      size += (long) (output.index() - index);
+      if (input.isDone()) {
+        input = null;
+      } else if (input.isError()) {
+        return Encoder.error(input.trap());
+      } else {
+        break;
+      }
+    } while (true);
+    if (output.isError()) {
+      return Encoder.error(output.trap());
+    } else if (input == null && (size >= webSocket.batchSize || output.isCont())) {
+      // Either the batch is full, or the batch queue ran dry; seal the batch.
+      final Envelope[] batch = envelopes.toArray(new Envelope[envelopes.size()]);
+      webSocket.sealBatch(batch);
+      return Encoder.done(batch[batch.length - 1]);
+    }
+    return new WarpBatchEncoder(webSocket, envelopes, input, size);
+  }
+
+}
@@ -0,0 +1,37 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.warp;
+
+import swim.concurrent.TimerFunction;
+
+/**
+ * Timer that writes the pending batch of a {@code WarpWebSocket} after its
+ * batch delay elapses. Batch timers run on the schedule of the socket's
+ * {@code WarpSocket}.
+ */
+final class WarpBatchTimer implements TimerFunction {
+
+  final WarpWebSocket webSocket;
+
+  WarpBatchTimer(WarpWebSocket webSocket) {
+    this.webSocket = webSocket;
+  }
+
+  @Override
+  public void runTimer() {
+    this.webSocket.writeBatch();
+  }
+
+}
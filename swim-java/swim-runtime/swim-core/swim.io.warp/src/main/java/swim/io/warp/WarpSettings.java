@@ -25,15 +25,24 @@ import swim.io.ws.WsSettings;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Kind;
+import swim.structure.Record;
 import swim.structure.Value;
 import swim.util.Murmur3;
 
 public class WarpSettings implements Debug {
 
   protected final WsSettings wsSettings;
+  protected final int batchSize;
+  protected final int batchDelay;
 
-  public WarpSettings(WsSettings wsSettings) {
+  public WarpSettings(WsSettings wsSettings, int batchSize, int batchDelay) {
     this.wsSettings = wsSettings;
+    this.batchSize = batchSize;
+    this.batchDelay = batchDelay;
+  }
+
+  public WarpSettings(WsSettings wsSettings) {
+    this(wsSettings, WarpSettings.BATCH_SIZE, WarpSettings.BATCH_DELAY);
   }
 
   public final WsSettings wsSettings() {
@@ -41,7 +50,37 @@ public class WarpSettings implements Debug {
   }
 
   public WarpSettings wsSettings(WsSettings wsSettings) {
-    return new WarpSettings(wsSettings);
+    return this.copy(wsSettings, this.batchSize, this.batchDelay);
+  }
+
+  /**
+   * Returns the number of bytes of envelopes to pack into a single WebSocket
+   * frame on connections that negotiate envelope batching; returns {@code 0}
+   * if envelope batching is disabled. Batching applies only to Recon text
+   * envelopes: connections that negotiate the binary envelope subprotocol
+   * write one binary frame per envelope, regardless of the batch size.
+   */
+  public final int batchSize() {
+    return this.batchSize;
+  }
+
+  public WarpSettings batchSize(int batchSize) {
+    return this.copy(this.wsSettings, batchSize, this.batchDelay);
+  }
+
+  /**
+   * Returns the number of milliseconds to wait for additional envelopes to
+   * join a batch before writing its frame; returns {@code 0} if batches are
+   * written as soon as the socket can accept them. Batch delays are timed on
+   * the {@link WarpSocket#schedule() schedule} of the batching socket; batches
+   * of sockets without a schedule are written without delay.
+   */
+  public final int batchDelay() {
+    return this.batchDelay;
+  }
+
+  public WarpSettings batchDelay(int batchDelay) {
+    return this.copy(this.wsSettings, this.batchSize, batchDelay);
   }
 
   public final HttpSettings httpSettings() {
@@ -76,6 +115,10 @@ public class WarpSettings implements Debug {
     return this.wsSettings(this.wsSettings.tcpSettings(tcpSettings));
   }
 
+  protected WarpSettings copy(WsSettings wsSettings, int batchSize, int batchDelay) {
+    return new WarpSettings(wsSettings, batchSize, batchDelay);
+  }
+
   public Value toValue() {
     return WarpSettings.form().mold(this).toValue();
   }
@@ -86,7 +129,9 @@ public class WarpSettings implements Debug {
       return true;
     } else if (other instanceof WarpSettings) {
       final WarpSettings that = (WarpSettings) other;
-      return this.wsSettings.equals(that.wsSettings);
+      return this.wsSettings.equals(that.wsSettings)
+          && this.batchSize == that.batchSize
+          && this.batchDelay == that.batchDelay;
     }
     return false;
   }
@@ -98,13 +143,16 @@ public class WarpSettings implements Debug {
     if (WarpSettings.hashSeed == 0) {
       WarpSettings.hashSeed = Murmur3.seed(WarpSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(WarpSettings.hashSeed, this.wsSettings.hashCode()));
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(WarpSettings.hashSeed,
+        this.wsSettings.hashCode()), this.batchSize), this.batchDelay));
   }
 
   @Override
   public <T> Output<T> debug(Output<T> output) {
     output = output.write("WarpSettings").write('.').write("standard").write('(').write(')')
-                   .write('.').write("wsSettings").write('(').debug(this.wsSettings).write(')');
+                   .write('.').write("wsSettings").write('(').debug(this.wsSettings).write(')')
+                   .write('.').write("batchSize").write('(').debug(this.batchSize).write(')')
+                   .write('.').write("batchDelay").write('(').debug(this.batchDelay).write(')');
     return output;
   }
 
@@ -128,6 +176,19 @@ public class WarpSettings implements Debug {
     return new WarpSettings(wsSettings);
   }
 
+  /**
+   * Default envelope batch size, in bytes. Defaults to the value of the
+   * {@code swim.warp.batch.size} system property, if defined; otherwise
+   * defaults to {@code 0}, disabling envelope batching.
+   */
+  static final int BATCH_SIZE;
+  /**
+   * Default envelope batch delay, in milliseconds. Defaults to the value of
+   * the {@code swim.warp.batch.delay} system property, if defined; otherwise
+   * defaults to {@code 0}.
+   */
+  static final int BATCH_DELAY;
+
   @Kind
   public static Form<WarpSettings> form() {
     if (WarpSettings.form == null) {
@@ -136,6 +197,24 @@ public class WarpSettings implements Debug {
     return WarpSettings.form;
   }
 
+  static {
+    int batchSize;
+    try {
+      batchSize = Integer.parseInt(System.getProperty("swim.warp.batch.size"));
+    } catch (NumberFormatException e) {
+      batchSize = 0;
+    }
+    BATCH_SIZE = Math.max(0, batchSize);
+
+    int batchDelay;
+    try {
+      batchDelay = Integer.parseInt(System.getProperty("swim.warp.batch.delay"));
+    } catch (NumberFormatException e) {
+      batchDelay = 0;
+    }
+    BATCH_DELAY = Math.max(0, batchDelay);
+  }
+
 }
 
 final class WarpSettingsForm extends Form<WarpSettings> {
@@ -153,7 +232,19 @@ final class WarpSettingsForm extends Form<WarpSettings> {
   @Override
   public Item mold(WarpSettings settings) {
     if (settings != null) {
-      return WsSettings.form().mold(settings.wsSettings);
+      final WarpSettings standard = WarpSettings.standard();
+      final Item ws = WsSettings.form().mold(settings.wsSettings);
+      if (settings.batchSize != standard.batchSize || settings.batchDelay != standard.batchDelay) {
+        final Record warp = Record.create(3).attr("warp");
+        if (settings.batchSize != standard.batchSize) {
+          warp.slot("batchSize", settings.batchSize);
+        }
+        if (settings.batchDelay != standard.batchDelay) {
+          warp.slot("batchDelay", settings.batchDelay);
+        }
+        return Record.of(warp).concat(ws);
+      }
+      return ws;
     } else {
       return Item.extant();
     }
@@ -161,8 +252,18 @@ final class WarpSettingsForm extends Form<WarpSettings> {
 
   @Override
   public WarpSettings cast(Item item) {
+    final Value value = item.toValue();
+    final WarpSettings standard = WarpSettings.standard();
     final WsSettings wsSettings = WsSettings.form().cast(item);
-    return new WarpSettings(wsSettings);
+    int batchSize = standard.batchSize;
+    int batchDelay = standard.batchDelay;
+    for (Item member : value) {
+      if (member.getAttr("warp").isDefined()) {
+        batchSize = member.get("batchSize").intValue(batchSize);
+        batchDelay = member.get("batchDelay").intValue(batchDelay);
+      }
+    }
+    return new WarpSettings(wsSettings, batchSize, batchDelay);
   }
 
 }
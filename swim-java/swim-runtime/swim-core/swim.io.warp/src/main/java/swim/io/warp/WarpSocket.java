@@ -14,6 +14,7 @@
 
 package swim.io.warp;
 
+import swim.concurrent.Schedule;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.io.IpSocket;
@@ -28,6 +29,14 @@ public interface WarpSocket {
 
   long idleTimeout();
 
+  /**
+   * Returns the schedule on which to run timers for this socket, such as
+   * envelope batch delays, or {@code null} if this socket has no schedule.
+   */
+  default Schedule schedule() {
+    return null;
+  }
+
   void doRead();
 
   void didRead(Envelope envelope);
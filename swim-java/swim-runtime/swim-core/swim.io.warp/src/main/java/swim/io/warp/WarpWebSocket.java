@@ -18,28 +18,37 @@ import java.net.InetSocketAddress;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.codec.Decoder;
 import swim.concurrent.ConcurrentTrancheQueue;
 import swim.concurrent.Cont;
 import swim.concurrent.DropException;
 import swim.concurrent.PullContext;
 import swim.concurrent.PullRequest;
 import swim.concurrent.PushRequest;
+import swim.concurrent.Schedule;
 import swim.concurrent.StayContext;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
+import swim.http.header.SecWebSocketProtocolHeader;
 import swim.io.FlowControl;
 import swim.io.FlowModifier;
 import swim.io.IpSocket;
 import swim.io.ws.WebSocket;
 import swim.io.ws.WebSocketContext;
+import swim.warp.BatchEnvelopeCodec;
+import swim.warp.BinaryEnvelopeCodec;
 import swim.warp.Envelope;
 import swim.warp.WarpException;
+import swim.ws.WsBinaryFrame;
 import swim.ws.WsCloseFrame;
 import swim.ws.WsControlFrame;
 import swim.ws.WsDataFrame;
 import swim.ws.WsFragmentFrame;
 import swim.ws.WsFrame;
+import swim.ws.WsRequest;
 import swim.ws.WsTextFrame;
 
 public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketContext, PullContext<Envelope>, StayContext {
@@ -48,6 +57,12 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   protected final WarpSettings warpSettings;
   final ConcurrentTrancheQueue<PullRequest<Envelope>> supply;
   protected WebSocketContext<Envelope, Envelope> context;
+  BinaryEnvelopeCodec binaryCodec;
+  BatchEnvelopeCodec batchCodec;
+  ConcurrentLinkedQueue<Envelope> batchQueue;
+  ConcurrentLinkedQueue<Envelope[]> batches;
+  int batchSize;
+  volatile int batchCount;
   volatile long status;
 
   public WarpWebSocket(WarpSocket socket, WarpSettings warpSettings) {
@@ -55,6 +70,12 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     this.warpSettings = warpSettings;
     this.supply = new ConcurrentTrancheQueue<PullRequest<Envelope>>(WarpWebSocket.TRANCHES);
     this.context = null;
+    this.binaryCodec = null;
+    this.batchCodec = null;
+    this.batchQueue = null;
+    this.batches = null;
+    this.batchSize = 0;
+    this.batchCount = 0;
     this.status = 0L;
   }
 
@@ -86,11 +107,19 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       this.context.read(fragment.frameType(), fragment.payloadDecoder());
     } else {
       if (frame instanceof WsDataFrame<?>) {
+        final BatchEnvelopeCodec batchCodec = this.batchCodec;
+        if (batchCodec != null) {
+          // Dispatch the envelopes that preceded the last envelope in the batch.
+          Envelope envelope;
+          while ((envelope = batchCodec.poll()) != null) {
+            this.socket.didRead(envelope);
+          }
+        }
         this.socket.didRead(((WsDataFrame<? extends Envelope>) frame).payloadValue());
       } else if (frame instanceof WsControlFrame<?, ?>) {
         this.socket.didRead((WsControlFrame<?, ?>) frame);
       }
-      this.context.read(Envelope.decoder());
+      this.context.read(this.envelopeDecoder());
     }
   }
 
@@ -103,35 +132,60 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
   @Override
   public void didWrite(WsFrame<? extends Envelope> frame) {
     if (frame instanceof WsDataFrame<?>) {
-      do {
-        final long oldStatus = WarpWebSocket.STATUS.get(this);
-        final long oldBuffer = (oldStatus & WarpWebSocket.BUFFER_MASK) >>> WarpWebSocket.BUFFER_SHIFT;
-        final long newBuffer = oldBuffer - 1L;
-        if (newBuffer >= 0L) {
-          final long newStatus = oldStatus & ~WarpWebSocket.BUFFER_MASK | newBuffer << WarpWebSocket.BUFFER_SHIFT;
-          if (WarpWebSocket.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-            break;
-          }
-        } else {
-          throw new WarpException("overbuffer");
+      final ConcurrentLinkedQueue<Envelope[]> batches = this.batches;
+      if (batches != null) {
+        final Envelope[] batch = batches.poll();
+        this.releaseBuffer(batch.length);
+        for (int i = 0; i < batch.length; i += 1) {
+          this.socket.didWrite(batch[i]);
         }
-      } while (true);
-      this.socket.didWrite(((WsDataFrame<? extends Envelope>) frame).payloadValue());
+      } else {
+        this.releaseBuffer(1);
+        this.socket.didWrite(((WsDataFrame<? extends Envelope>) frame).payloadValue());
+      }
     } else if (frame instanceof WsControlFrame<?, ?>) {
       this.socket.didWrite((WsControlFrame<?, ?>) frame);
     }
     this.generateDemand();
   }
 
+  void releaseBuffer(int count) {
+    do {
+      final long oldStatus = WarpWebSocket.STATUS.get(this);
+      final long oldBuffer = (oldStatus & WarpWebSocket.BUFFER_MASK) >>> WarpWebSocket.BUFFER_SHIFT;
+      final long newBuffer = oldBuffer - (long) count;
+      if (newBuffer >= 0L) {
+        final long newStatus = oldStatus & ~WarpWebSocket.BUFFER_MASK | newBuffer << WarpWebSocket.BUFFER_SHIFT;
+        if (WarpWebSocket.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          break;
+        }
+      } else {
+        throw new WarpException("overbuffer");
+      }
+    } while (true);
+  }
+
   @Override
   public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+    final SecWebSocketProtocolHeader protocolHeader = httpResponse.getHeader(SecWebSocketProtocolHeader.class);
+    if (protocolHeader != null && protocolHeader.protocols().contains(BinaryEnvelopeCodec.PROTOCOL)) {
+      this.binaryCodec = new BinaryEnvelopeCodec();
+    } else if (protocolHeader != null && protocolHeader.protocols().contains(BatchEnvelopeCodec.PROTOCOL)) {
+      this.batchCodec = new BatchEnvelopeCodec();
+      final WarpSettings warpSettings = this.warpSettings;
+      if (warpSettings != null && warpSettings.batchSize() > 0) {
+        this.batchQueue = new ConcurrentLinkedQueue<Envelope>();
+        this.batches = new ConcurrentLinkedQueue<Envelope[]>();
+        this.batchSize = warpSettings.batchSize();
+      }
+    }
     do {
       final long oldStatus = WarpWebSocket.STATUS.get(this);
       final long newStatus = oldStatus | WarpWebSocket.UPGRADED;
       if (oldStatus != newStatus) {
         if (WarpWebSocket.STATUS.compareAndSet(this, oldStatus, newStatus)) {
           this.socket.didUpgrade(httpRequest, httpResponse);
-          this.context.read(Envelope.decoder());
+          this.context.read(this.envelopeDecoder());
           this.generateDemand();
           break;
         }
@@ -367,7 +421,69 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
         throw new WarpException("overdemand");
       }
     } while (true);
-    this.context.write(WsTextFrame.create(envelope, envelope.reconEncoder()));
+    final ConcurrentLinkedQueue<Envelope> batchQueue = this.batchQueue;
+    final BinaryEnvelopeCodec binaryCodec = this.binaryCodec;
+    if (batchQueue != null) {
+      batchQueue.add(envelope);
+      if (WarpWebSocket.BATCH_COUNT.getAndIncrement(this) == 0) {
+        // No batch frame is pending; schedule one to carry this envelope.
+        final int batchDelay = this.warpSettings.batchDelay();
+        final Schedule schedule = batchDelay > 0 ? this.socket.schedule() : null;
+        if (schedule != null) {
+          schedule.setTimer((long) batchDelay, new WarpBatchTimer(this));
+        } else {
+          this.writeBatch();
+        }
+      }
+    } else if (binaryCodec != null) {
+      this.context.write(WsBinaryFrame.create(envelope, binaryCodec.encoder(envelope)));
+    } else {
+      this.context.write(WsTextFrame.create(envelope, envelope.reconEncoder()));
+    }
+  }
+
+  /**
+   * Enqueues a text frame whose payload encoder takes pending envelopes from
+   * the batch queue when the frame is written.
+   */
+  void writeBatch() {
+    this.context.write(WsTextFrame.<Envelope>create(new WarpBatchEncoder(this)));
+  }
+
+  /**
+   * Records the envelopes written by a sealed batch frame, and schedules a
+   * follow-on batch frame if envelopes were pushed that didn't fit in the
+   * sealed batch.
+   */
+  void sealBatch(Envelope[] batch) {
+    this.batches.add(batch);
+    if (WarpWebSocket.BATCH_COUNT.addAndGet(this, -batch.length) > 0) {
+      this.writeBatch();
+    }
+  }
+
+  /**
+   * Returns a decoder for the next inbound envelope, which reads binary
+   * envelopes, in addition to Recon envelopes, if the binary envelope
+   * subprotocol was negotiated during the WebSocket handshake, or which
+   * reads newline delimited batches of Recon envelopes, if the batch
+   * envelope subprotocol was negotiated. Recon envelopes are read with
+   * {@link Envelope#lazyDecoder()}, which defers parsing message bodies
+   * until first read, if the {@code swim.warp.lazy.bodies} system property
+   * is set to {@code true}.
+   */
+  protected Decoder<Envelope> envelopeDecoder() {
+    final BinaryEnvelopeCodec binaryCodec = this.binaryCodec;
+    final BatchEnvelopeCodec batchCodec = this.batchCodec;
+    if (binaryCodec != null) {
+      return binaryCodec.decoder();
+    } else if (batchCodec != null) {
+      return batchCodec.decoder();
+    } else if (WarpWebSocket.LAZY_BODIES) {
+      return Envelope.lazyDecoder();
+    } else {
+      return Envelope.decoder();
+    }
   }
 
   @Override
@@ -494,6 +610,25 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
     }
   }
 
+  /**
+   * Returns the WebSocket subprotocol a WARP server should select in response
+   * to the given upgrade request: the binary envelope subprotocol, if the
+   * client offered it; otherwise the batch envelope subprotocol, if the
+   * client offered it; otherwise {@code null}, selecting Recon text envelopes.
+   * Only one envelope subprotocol is negotiated per connection, and batches
+   * are newline delimited Recon, so clients that offer both subprotocols get
+   * binary envelopes written one per frame, without batching.
+   */
+  public static String acceptProtocol(WsRequest wsRequest) {
+    if (wsRequest.protocols().contains(BinaryEnvelopeCodec.PROTOCOL)) {
+      return BinaryEnvelopeCodec.PROTOCOL;
+    } else if (wsRequest.protocols().contains(BatchEnvelopeCodec.PROTOCOL)) {
+      return BatchEnvelopeCodec.PROTOCOL;
+    } else {
+      return null;
+    }
+  }
+
   static final long SUPPLY_MAX;
   static final long DEMAND_MAX;
   static final long BUFFER_MAX;
@@ -507,6 +642,10 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
 
   static final long TARGET_DEMAND;
   static final int TRANCHES;
+  static final boolean LAZY_BODIES;
+
+  static final AtomicIntegerFieldUpdater<WarpWebSocket> BATCH_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(WarpWebSocket.class, "batchCount");
 
   static final AtomicLongFieldUpdater<WarpWebSocket> STATUS =
       AtomicLongFieldUpdater.newUpdater(WarpWebSocket.class, "status");
@@ -563,6 +702,8 @@ public class WarpWebSocket implements WebSocket<Envelope, Envelope>, WarpSocketC
       tranches = 5;
     }
     TRANCHES = tranches;
+
+    LAZY_BODIES = Boolean.parseBoolean(System.getProperty("swim.warp.lazy.bodies"));
   }
 
 }
@@ -77,6 +77,26 @@ public class WarpSettingsSpec {
     assertEquals(tcpSettings, new TcpSettings(true, true, 7, 11, 13, 17));
   }
 
+  @Test
+  public void decodesWarpBatchSettings() {
+    final WarpSettings settings = WarpSettings.form().cast(
+        Record.of(Record.of(Attr.of("warp"),
+                            Slot.of("batchSize", 4096),
+                            Slot.of("batchDelay", 2)),
+                  Record.of(Attr.of("websocket"),
+                            Slot.of("maxFrameSize", 2))));
+    assertEquals(settings.batchSize(), 4096);
+    assertEquals(settings.batchDelay(), 2);
+    assertEquals(settings.wsSettings().maxFrameSize(), 2);
+  }
+
+  @Test
+  public void moldsWarpBatchSettings() {
+    final WarpSettings settings = WarpSettings.form().cast(WarpSettings.standard().batchSize(4096).batchDelay(2).toValue());
+    assertEquals(settings.batchSize(), 4096);
+    assertEquals(settings.batchDelay(), 2);
+  }
+
   static void assertCasts(Value actualValue, WarpSettings expected) {
     final WarpSettings actual = WarpSettings.form().cast(actualValue);
     assertEquals(actual, expected);
@@ -0,0 +1,142 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io.warp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.Schedule;
+import swim.concurrent.Theater;
+import swim.http.HttpRequest;
+import swim.http.HttpResponse;
+import swim.io.IpServiceRef;
+import swim.io.IpSocketRef;
+import swim.io.http.AbstractHttpService;
+import swim.io.http.HttpClient;
+import swim.io.http.HttpEndpoint;
+import swim.io.http.HttpResponder;
+import swim.io.http.HttpServer;
+import swim.io.http.HttpService;
+import swim.structure.Num;
+import swim.uri.Uri;
+import swim.warp.BatchEnvelopeCodec;
+import swim.warp.CommandMessage;
+import swim.warp.Envelope;
+import swim.ws.WsRequest;
+import swim.ws.WsResponse;
+import static org.testng.Assert.assertEquals;
+
+public class WarpSocketBatchSpec extends WarpSocketBehaviors {
+
+  final Uri wsUri = Uri.parse("ws://127.0.0.1:23558/");
+
+  public WarpSocketBatchSpec() {
+    super(WarpSettings.standard().batchSize(512).batchDelay(2));
+  }
+
+  @Override
+  protected IpServiceRef bind(HttpEndpoint endpoint, HttpService service) {
+    return endpoint.bindHttp("127.0.0.1", 23558, service, this.warpSettings.httpSettings());
+  }
+
+  @Override
+  protected IpSocketRef connect(HttpEndpoint endpoint, final WarpSocket socket) {
+    final WsRequest wsRequest = this.warpSettings.wsSettings().handshakeRequest(this.wsUri,
+        FingerTrieSeq.of(BatchEnvelopeCodec.PROTOCOL, "warp0"));
+    final HttpClient client = new AbstractWarpClient(this.warpSettings) {
+      @Override
+      public void didConnect() {
+        super.didConnect();
+        this.doRequest(this.upgrade(socket, wsRequest));
+      }
+    };
+    return endpoint.connectHttp("127.0.0.1", 23558, client, this.warpSettings.httpSettings());
+  }
+
+  @Test
+  public void testSendReceiveBatches() {
+    final int commandCount = 10000;
+    final Theater stage = new Theater();
+    final HttpEndpoint endpoint = new HttpEndpoint(stage);
+    final CountDownLatch clientWrite = new CountDownLatch(commandCount);
+    final CountDownLatch serverRead = new CountDownLatch(commandCount);
+    final AtomicLong writeSum = new AtomicLong();
+    final AtomicLong readSum = new AtomicLong();
+    final AbstractWarpSocket clientSocket = new AbstractWarpSocket() {
+      @Override
+      public Schedule schedule() {
+        return stage;
+      }
+
+      @Override
+      public void didUpgrade(HttpRequest<?> httpRequest, HttpResponse<?> httpResponse) {
+        for (int i = 0; i < commandCount; i += 1) {
+          this.feed(new CommandMessage("a", "x", Num.from(i)));
+        }
+      }
+
+      @Override
+      public void didWrite(Envelope envelope) {
+        writeSum.addAndGet(envelope.body().longValue());
+        clientWrite.countDown();
+      }
+    };
+    final AbstractWarpSocket serverSocket = new AbstractWarpSocket() {
+      @Override
+      public void didRead(Envelope envelope) {
+        readSum.addAndGet(envelope.body().longValue());
+        serverRead.countDown();
+      }
+    };
+    final AbstractWarpServer server = new AbstractWarpServer(this.warpSettings) {
+      @Override
+      public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
+        final WsRequest wsRequest = WsRequest.create(httpRequest);
+        final WsResponse wsResponse = wsRequest.accept(WarpSocketBatchSpec.this.warpSettings.wsSettings(),
+                                                      WarpWebSocket.acceptProtocol(wsRequest));
+        return this.upgrade(serverSocket, wsResponse);
+      }
+    };
+    final AbstractHttpService service = new AbstractHttpService() {
+      @Override
+      public HttpServer createServer() {
+        return server;
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      this.bind(endpoint, service);
+      this.connect(endpoint, clientSocket);
+      clientWrite.await();
+      serverRead.await();
+      final long sum = (long) commandCount * (long) (commandCount - 1) / 2L;
+      assertEquals(writeSum.get(), sum);
+      assertEquals(readSum.get(), sum);
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      clientSocket.close();
+      serverSocket.close();
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+}
@@ -91,7 +91,8 @@ public abstract class WarpSocketBehaviors {
       @Override
       public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
         final WsRequest wsRequest = WsRequest.create(httpRequest);
-        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings());
+        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings(),
+                                                      WarpWebSocket.acceptProtocol(wsRequest));
         return this.upgrade(serverSocket, wsResponse);
       }
     };
@@ -178,7 +179,8 @@ public abstract class WarpSocketBehaviors {
       @Override
       public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
         final WsRequest wsRequest = WsRequest.create(httpRequest);
-        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings());
+        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings(),
+                                                      WarpWebSocket.acceptProtocol(wsRequest));
         return this.upgrade(serverSocket, wsResponse);
       }
     };
@@ -255,7 +257,8 @@ public abstract class WarpSocketBehaviors {
       @Override
       public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
         final WsRequest wsRequest = WsRequest.create(httpRequest);
-        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings());
+        final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings(),
+                                                      WarpWebSocket.acceptProtocol(wsRequest));
         return this.upgrade(serverSocket, wsResponse);
       }
     };
@@ -309,7 +312,8 @@ public abstract class WarpSocketBehaviors {
             @Override
             public HttpResponder<?> doRequest(HttpRequest<?> httpRequest) {
               final WsRequest wsRequest = WsRequest.create(httpRequest);
-              final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings());
+              final WsResponse wsResponse = wsRequest.accept(WarpSocketBehaviors.this.warpSettings.wsSettings(),
+                                                      WarpWebSocket.acceptProtocol(wsRequest));
               return this.upgrade(new AbstractWarpSocket() {
                 boolean closed;
 
@@ -37,12 +37,23 @@ public class WsSettings extends WsEngineSettings {
   public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
                     int serverCompressionLevel, int clientCompressionLevel,
                     boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                    int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+                    int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose,
+                    boolean zlibCompression) {
     super(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
-         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose);
+         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose,
+         zlibCompression);
     this.httpSettings = httpSettings;
   }
 
+  public WsSettings(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                    int serverCompressionLevel, int clientCompressionLevel,
+                    boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                    int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+    this(httpSettings, maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose,
+         WsEngineSettings.standard().zlibCompression());
+  }
+
   public final HttpSettings httpSettings() {
     return this.httpSettings;
   }
@@ -51,7 +62,7 @@ public class WsSettings extends WsEngineSettings {
     return this.copy(httpSettings, this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final IpSettings ipSettings() {
@@ -82,7 +93,8 @@ public class WsSettings extends WsEngineSettings {
     return this.copy(engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
                      engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
                      engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-                     engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(), engineSettings.autoClose());
+                     engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(), engineSettings.autoClose(),
+                     engineSettings.zlibCompression());
   }
 
   @Override
@@ -135,6 +147,11 @@ public class WsSettings extends WsEngineSettings {
     return (WsSettings) super.autoClose(autoClose);
   }
 
+  @Override
+  public WsSettings zlibCompression(boolean zlibCompression) {
+    return (WsSettings) super.zlibCompression(zlibCompression);
+  }
+
   @Override
   public Value toValue() {
     return WsSettings.form().mold(this).toValue();
@@ -143,11 +160,22 @@ public class WsSettings extends WsEngineSettings {
   protected WsSettings copy(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
                             int serverCompressionLevel, int clientCompressionLevel,
                             boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                            int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+                            int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose,
+                            boolean zlibCompression) {
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
                           serverCompressionLevel, clientCompressionLevel,
                           serverNoContextTakeover, clientNoContextTakeover,
-                          serverMaxWindowBits, clientMaxWindowBits, autoClose);
+                          serverMaxWindowBits, clientMaxWindowBits, autoClose, zlibCompression);
+  }
+
+  protected WsSettings copy(HttpSettings httpSettings, int maxFrameSize, int maxMessageSize,
+                            int serverCompressionLevel, int clientCompressionLevel,
+                            boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                            int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+    return this.copy(httpSettings, maxFrameSize, maxMessageSize,
+                     serverCompressionLevel, clientCompressionLevel,
+                     serverNoContextTakeover, clientNoContextTakeover,
+                     serverMaxWindowBits, clientMaxWindowBits, autoClose, this.zlibCompression);
   }
 
   @Override
@@ -158,7 +186,19 @@ public class WsSettings extends WsEngineSettings {
     return this.copy(this.httpSettings, maxFrameSize, maxMessageSize,
                      serverCompressionLevel, clientCompressionLevel,
                      serverNoContextTakeover, clientNoContextTakeover,
-                     serverMaxWindowBits, clientMaxWindowBits, autoClose);
+                     serverMaxWindowBits, clientMaxWindowBits, autoClose, this.zlibCompression);
+  }
+
+  @Override
+  protected WsSettings copy(int maxFrameSize, int maxMessageSize,
+                            int serverCompressionLevel, int clientCompressionLevel,
+                            boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                            int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose,
+                            boolean zlibCompression) {
+    return this.copy(this.httpSettings, maxFrameSize, maxMessageSize,
+                     serverCompressionLevel, clientCompressionLevel,
+                     serverNoContextTakeover, clientNoContextTakeover,
+                     serverMaxWindowBits, clientMaxWindowBits, autoClose, zlibCompression);
   }
 
   public boolean canEqual(Object other) {
@@ -181,7 +221,8 @@ public class WsSettings extends WsEngineSettings {
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
           && this.clientMaxWindowBits == that.clientMaxWindowBits
-          && this.autoClose == that.autoClose;
+          && this.autoClose == that.autoClose
+          && this.zlibCompression == that.zlibCompression;
     }
     return false;
   }
@@ -193,11 +234,12 @@ public class WsSettings extends WsEngineSettings {
     if (WsSettings.hashSeed == 0) {
       WsSettings.hashSeed = Murmur3.seed(WsSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(WsSettings.hashSeed, this.httpSettings.hashCode()),
         this.maxFrameSize), this.maxMessageSize), this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.autoClose)));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.autoClose)),
+        Murmur3.hash(this.zlibCompression)));
   }
 
   @Override
@@ -212,7 +254,8 @@ public class WsSettings extends WsEngineSettings {
                    .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
                    .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
                    .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
-                   .write('.').write("autoClose").write('(').debug(this.autoClose).write(')');
+                   .write('.').write("autoClose").write('(').debug(this.autoClose).write(')')
+                   .write('.').write("zlibCompression").write('(').debug(this.zlibCompression).write(')');
     return output;
   }
 
@@ -224,7 +267,8 @@ public class WsSettings extends WsEngineSettings {
       WsSettings.standard = new WsSettings(HttpSettings.standard(), engineSettings.maxFrameSize(), engineSettings.maxMessageSize(),
                                            engineSettings.serverCompressionLevel(), engineSettings.clientCompressionLevel(),
                                            engineSettings.serverNoContextTakeover(), engineSettings.clientNoContextTakeover(),
-                                           engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(), engineSettings.autoClose());
+                                           engineSettings.serverMaxWindowBits(), engineSettings.clientMaxWindowBits(), engineSettings.autoClose(),
+                                           engineSettings.zlibCompression());
     }
     return WsSettings.standard;
   }
@@ -289,7 +333,7 @@ final class WsSettingsForm extends Form<WsSettings> {
   public Item mold(WsSettings settings) {
     if (settings != null) {
       final WsSettings standard = WsSettings.standard();
-      final Record ws = Record.create(9).attr("ws");
+      final Record ws = Record.create(11).attr("ws");
       if (settings.maxFrameSize() != standard.maxFrameSize()) {
         ws.slot("maxFrameSize", settings.maxFrameSize());
       }
@@ -317,6 +361,9 @@ final class WsSettingsForm extends Form<WsSettings> {
       if (settings.autoClose() != standard.autoClose()) {
         ws.slot("autoClose", settings.autoClose());
       }
+      if (settings.zlibCompression() != standard.zlibCompression()) {
+        ws.slot("zlibCompression", settings.zlibCompression());
+      }
       return Record.of(ws).concat(HttpSettings.form().mold(settings.httpSettings));
     } else {
       return Item.extant();
@@ -337,6 +384,7 @@ final class WsSettingsForm extends Form<WsSettings> {
     int serverMaxWindowBits = standard.serverMaxWindowBits();
     int clientMaxWindowBits = standard.clientMaxWindowBits();
     boolean autoClose = standard.autoClose();
+    boolean zlibCompression = standard.zlibCompression();
     for (Item member : value) {
       if (member.getAttr("ws").isDefined() || member.getAttr("websocket").isDefined()) {
         maxFrameSize = member.get("maxFrameSize").intValue(maxFrameSize);
@@ -348,13 +396,14 @@ final class WsSettingsForm extends Form<WsSettings> {
         serverMaxWindowBits = member.get("serverMaxWindowBits").intValue(serverMaxWindowBits);
         clientMaxWindowBits = member.get("clientMaxWindowBits").intValue(clientMaxWindowBits);
         autoClose = member.get("autoClose").booleanValue(autoClose);
+        zlibCompression = member.get("zlibCompression").booleanValue(zlibCompression);
 
       }
     }
     return new WsSettings(httpSettings, maxFrameSize, maxMessageSize,
                           serverCompressionLevel, clientCompressionLevel,
                           serverNoContextTakeover, clientNoContextTakeover,
-                          serverMaxWindowBits, clientMaxWindowBits, autoClose);
+                          serverMaxWindowBits, clientMaxWindowBits, autoClose, zlibCompression);
   }
 
 }
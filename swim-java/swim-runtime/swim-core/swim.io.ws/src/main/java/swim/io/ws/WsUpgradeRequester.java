@@ -75,7 +75,9 @@ public class WsUpgradeRequester extends AbstractHttpRequester<Object> {
   @Override
   public void didRespond(HttpResponse<Object> httpResponse) {
     final WsResponse wsResponse = this.wsRequest.accept(httpResponse, this.wsSettings);
-    if (wsResponse != null) {
+    // Fail the connection if the server selected a subprotocol that wasn't offered.
+    if (wsResponse != null && (wsResponse.protocol() == null
+        || this.wsRequest.protocols().contains(wsResponse.protocol()))) {
       final WsEngine engine = wsResponse.clientEngine(this.wsSettings);
       final IpSocket socket = this.createSocket(engine);
       this.become(socket);
@@ -45,7 +45,8 @@ public class WsSettingsSpec {
                                     Slot.of("clientNoContextTakeover", true),
                                     Slot.of("serverMaxWindowBits", 11),
                                     Slot.of("clientMaxWindowBits", 13),
-                                    Slot.of("autoClose", true))),
+                                    Slot.of("autoClose", true),
+                                    Slot.of("zlibCompression", true))),
                 WsSettings.standard().maxFrameSize(2048)
                                      .maxMessageSize(4096)
                                      .serverCompressionLevel(7)
@@ -54,7 +55,8 @@ public class WsSettingsSpec {
                                      .clientNoContextTakeover(true)
                                      .serverMaxWindowBits(11)
                                      .clientMaxWindowBits(13)
-                                     .autoClose(true));
+                                     .autoClose(true)
+                                     .zlibCompression(true));
   }
 
   @Test
@@ -0,0 +1,256 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared pool of direct {@code ByteBuffer}s, segregated into size classes
+ * of {@link #SIZE_CLASS_GRANULARITY} bytes. Sockets borrow buffers from a
+ * {@code BufferPool} only while they have pending I/O, and return them to
+ * the pool when they go idle, so that idle connections hold no buffer memory,
+ * and so that NIO reads and writes operate directly on native memory rather
+ * than copying through temporary direct buffers.
+ * <p>
+ * Buffers up to {@link #maxBufferSize()} bytes are pooled, so long as the
+ * total capacity of all idle pooled buffers doesn't exceed {@link
+ * #maxPooledBytes()}. Larger buffers, and buffers released into a full pool,
+ * are left to the garbage collector.
+ */
+public final class BufferPool {
+
+  final int maxBufferSize;
+  final long maxPooledBytes;
+  final AtomicReferenceArray<ConcurrentLinkedQueue<ByteBuffer>> sizeClasses;
+  volatile long pooledBytes;
+  volatile long borrowedBytes;
+  volatile long acquireCount;
+  volatile long allocateCount;
+  volatile long releaseCount;
+  volatile long discardCount;
+
+  public BufferPool(int maxBufferSize, long maxPooledBytes) {
+    if (maxBufferSize < 0 || maxPooledBytes < 0L) {
+      throw new IllegalArgumentException();
+    }
+    this.maxBufferSize = maxBufferSize;
+    this.maxPooledBytes = maxPooledBytes;
+    this.sizeClasses = new AtomicReferenceArray<ConcurrentLinkedQueue<ByteBuffer>>(
+        (maxBufferSize + SIZE_CLASS_GRANULARITY - 1) / SIZE_CLASS_GRANULARITY);
+    this.pooledBytes = 0L;
+    this.borrowedBytes = 0L;
+    this.acquireCount = 0L;
+    this.allocateCount = 0L;
+    this.releaseCount = 0L;
+    this.discardCount = 0L;
+  }
+
+  /**
+   * Returns the capacity of the largest buffer retained by this pool.
+   */
+  public int maxBufferSize() {
+    return this.maxBufferSize;
+  }
+
+  /**
+   * Returns the maximum total capacity of the idle buffers retained by this
+   * pool.
+   */
+  public long maxPooledBytes() {
+    return this.maxPooledBytes;
+  }
+
+  /**
+   * Returns the total capacity of the idle buffers currently retained by
+   * this pool.
+   */
+  public long pooledBytes() {
+    return this.pooledBytes;
+  }
+
+  /**
+   * Returns the total capacity of the buffers currently borrowed from this
+   * pool.
+   */
+  public long borrowedBytes() {
+    return this.borrowedBytes;
+  }
+
+  /**
+   * Returns the number of buffers that have been acquired from this pool.
+   */
+  public long acquireCount() {
+    return this.acquireCount;
+  }
+
+  /**
+   * Returns the number of buffer acquisitions that had to allocate a new
+   * buffer because no pooled buffer of the right size class was available.
+   */
+  public long allocateCount() {
+    return this.allocateCount;
+  }
+
+  /**
+   * Returns the number of buffers that have been released to this pool.
+   */
+  public long releaseCount() {
+    return this.releaseCount;
+  }
+
+  /**
+   * Returns the number of released buffers that were not retained by this
+   * pool, either because they were too large, or because the pool was full.
+   */
+  public long discardCount() {
+    return this.discardCount;
+  }
+
+  /**
+   * Returns a cleared direct buffer with a capacity of at least {@code size}
+   * bytes, reusing a pooled buffer of the right size class when available.
+   */
+  public ByteBuffer acquire(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException(Integer.toString(size));
+    }
+    BufferPool.ACQUIRE_COUNT.incrementAndGet(this);
+    final int capacity;
+    if (size <= this.maxBufferSize) {
+      final int sizeClass = (size - 1) / SIZE_CLASS_GRANULARITY;
+      capacity = (sizeClass + 1) * SIZE_CLASS_GRANULARITY;
+      final ConcurrentLinkedQueue<ByteBuffer> buffers = this.sizeClasses.get(sizeClass);
+      if (buffers != null) {
+        final ByteBuffer buffer = buffers.poll();
+        if (buffer != null) {
+          BufferPool.POOLED_BYTES.addAndGet(this, -capacity);
+          BufferPool.BORROWED_BYTES.addAndGet(this, capacity);
+          buffer.clear();
+          return buffer;
+        }
+      }
+    } else {
+      capacity = size;
+    }
+    BufferPool.ALLOCATE_COUNT.incrementAndGet(this);
+    BufferPool.BORROWED_BYTES.addAndGet(this, capacity);
+    return ByteBuffer.allocateDirect(capacity);
+  }
+
+  /**
+   * Returns a {@code buffer} previously obtained from {@link #acquire(int)}
+   * to this pool. The caller must not access the {@code buffer} after
+   * releasing it.
+   */
+  public void release(ByteBuffer buffer) {
+    final int capacity = buffer.capacity();
+    BufferPool.RELEASE_COUNT.incrementAndGet(this);
+    BufferPool.BORROWED_BYTES.addAndGet(this, -capacity);
+    if (buffer.isDirect() && capacity <= this.maxBufferSize
+        && capacity % SIZE_CLASS_GRANULARITY == 0 && this.reservePooledBytes(capacity)) {
+      final int sizeClass = capacity / SIZE_CLASS_GRANULARITY - 1;
+      ConcurrentLinkedQueue<ByteBuffer> buffers = this.sizeClasses.get(sizeClass);
+      if (buffers == null) {
+        final ConcurrentLinkedQueue<ByteBuffer> newBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+        if (this.sizeClasses.compareAndSet(sizeClass, null, newBuffers)) {
+          buffers = newBuffers;
+        } else {
+          buffers = this.sizeClasses.get(sizeClass);
+        }
+      }
+      buffers.offer(buffer);
+    } else {
+      BufferPool.DISCARD_COUNT.incrementAndGet(this);
+    }
+  }
+
+  boolean reservePooledBytes(int capacity) {
+    do {
+      final long oldPooledBytes = BufferPool.POOLED_BYTES.get(this);
+      final long newPooledBytes = oldPooledBytes + capacity;
+      if (newPooledBytes > this.maxPooledBytes) {
+        return false;
+      } else if (BufferPool.POOLED_BYTES.compareAndSet(this, oldPooledBytes, newPooledBytes)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  @Override
+  public String toString() {
+    return "BufferPool(pooledBytes: " + this.pooledBytes
+         + ", borrowedBytes: " + this.borrowedBytes
+         + ", acquireCount: " + this.acquireCount
+         + ", allocateCount: " + this.allocateCount
+         + ", releaseCount: " + this.releaseCount
+         + ", discardCount: " + this.discardCount + ')';
+  }
+
+  /**
+   * Number of bytes by which the capacities of adjacent size classes differ.
+   */
+  public static final int SIZE_CLASS_GRANULARITY = 1024;
+
+  private static final BufferPool SHARED;
+
+  /**
+   * Returns the process-wide {@code BufferPool} shared by all sockets.
+   * The capacity of the largest pooled buffer is configured by the {@code
+   * swim.io.buffer.pool.max.buffer.size} system property, and the total
+   * capacity of idle pooled buffers is bounded by the {@code
+   * swim.io.buffer.pool.max.pooled.bytes} system property.
+   */
+  public static BufferPool shared() {
+    return BufferPool.SHARED;
+  }
+
+  static final AtomicLongFieldUpdater<BufferPool> POOLED_BYTES =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "pooledBytes");
+
+  static final AtomicLongFieldUpdater<BufferPool> BORROWED_BYTES =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "borrowedBytes");
+
+  static final AtomicLongFieldUpdater<BufferPool> ACQUIRE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "acquireCount");
+
+  static final AtomicLongFieldUpdater<BufferPool> ALLOCATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "allocateCount");
+
+  static final AtomicLongFieldUpdater<BufferPool> RELEASE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "releaseCount");
+
+  static final AtomicLongFieldUpdater<BufferPool> DISCARD_COUNT =
+      AtomicLongFieldUpdater.newUpdater(BufferPool.class, "discardCount");
+
+  static {
+    int maxBufferSize;
+    try {
+      maxBufferSize = Integer.parseInt(System.getProperty("swim.io.buffer.pool.max.buffer.size"));
+    } catch (NumberFormatException error) {
+      maxBufferSize = 1024 * 1024;
+    }
+    long maxPooledBytes;
+    try {
+      maxPooledBytes = Long.parseLong(System.getProperty("swim.io.buffer.pool.max.pooled.bytes"));
+    } catch (NumberFormatException error) {
+      maxPooledBytes = 64L * 1024L * 1024L;
+    }
+    SHARED = new BufferPool(Math.max(0, maxBufferSize), Math.max(0L, maxPooledBytes));
+  }
+
+}
@@ -52,17 +52,28 @@ public class Station {
    */
   final CountDownLatch stopLatch;
   /**
-   * Thread that waits on and dispatches I/O readiness events.
+   * Threads that wait on and dispatch I/O readiness events; each thread owns
+   * its own selector, and manages a disjoint subset of registered transports.
    */
-  final StationThread thread;
+  final StationThread[] threads;
   /**
    * Transport configuration parameters.
    */
   protected TransportSettings transportSettings;
   /**
-   * Atomic bit field with {@link #STARTED} and {@link #STOPPED} flags.
+   * Atomic bit field with {@link #STARTED}, {@link #STOPPING}, and
+   * {@link #STOPPED} flags.
    */
   volatile int status;
+  /**
+   * Atomic count of selector threads that are currently running.
+   */
+  volatile int threadCount;
+  /**
+   * Atomic count of transports ever bound to this station; used to assign
+   * transports to selector threads round-robin.
+   */
+  volatile int transportCount;
 
   public Station(Stage stage, TransportSettings transportSettings) {
     // Assign the I/O task execution stage.
@@ -71,14 +82,22 @@ public class Station {
     // Assign the initial transport configuration parameters.
     this.transportSettings = transportSettings != null ? transportSettings : TransportSettings.standard();
 
+    // Determine the number of selector threads; fixed for the station's lifetime.
+    final int selectorCount = Math.max(1, this.transportSettings.selectorCount);
+
     // Initialize the barrier used to sequence station startup.
-    this.startLatch = new CountDownLatch(1);
+    this.startLatch = new CountDownLatch(selectorCount);
 
     // Initialize the barrier used to sequence station shutdown.
-    this.stopLatch = new CountDownLatch(1);
+    this.stopLatch = new CountDownLatch(selectorCount);
 
-    // Initialize--but don't start--the station thread.
-    this.thread = new StationThread(this);
+    // Initialize--but don't start--the station threads.
+    this.threads = new StationThread[selectorCount];
+    for (int i = 0; i < selectorCount; i += 1) {
+      this.threads[i] = new StationThread(this);
+    }
+    this.threadCount = 0;
+    this.transportCount = 0;
   }
 
   public Station(Stage stage) {
@@ -109,9 +128,30 @@ public class Station {
     return this;
   }
 
+  /**
+   * Returns the number of selector threads that dispatch I/O readiness
+   * events for this {@code Station}.
+   */
+  public final int selectorCount() {
+    return this.threads.length;
+  }
+
+  /**
+   * Returns an estimate of the number of transports currently registered
+   * with the selectors of this {@code Station}; the estimate is not
+   * synchronized with concurrent registrations.
+   */
+  public int registeredTransportCount() {
+    int registeredCount = 0;
+    for (int i = 0; i < this.threads.length; i += 1) {
+      registeredCount += this.threads[i].selector.keys().size();
+    }
+    return registeredCount;
+  }
+
   /**
    * Ensures that this {@code Station} is up and running, starting up the
-   * selector thread if it has not yet been started.
+   * selector threads if they have not yet been started.
    *
    * @throws StationException if this {@code Station} has been stopped.
    */
@@ -126,11 +166,13 @@ public class Station {
           if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
             // Initaite selector thread startup.
             this.willStart();
-            this.thread.start();
+            for (int i = 0; i < this.threads.length; i += 1) {
+              this.threads[i].start();
+            }
             break;
           }
         } else {
-          // Selector thread already started.
+          // Selector threads already started.
           break;
         }
       } else {
@@ -138,7 +180,7 @@ public class Station {
       }
     } while (true);
 
-    // Loop while the selector thread is not yet up and running.
+    // Loop while the selector threads are not yet up and running.
     boolean interrupted = false;
     while (this.startLatch.getCount() != 0) {
       try {
@@ -155,7 +197,7 @@ public class Station {
 
   /**
    * Ensures that this {@code Station} has been permanently stopped, shutting
-   * down the selector thread, if it's currently running. Upon return, this
+   * down the selector threads, if they're currently running. Upon return, this
    * {@code Station} is guaranteed to be in the <em>stopped</em> state.
    */
   public void stop() {
@@ -167,15 +209,18 @@ public class Station {
         final int newStatus = oldStatus | Station.STOPPED;
         // Try to set the STOPPED flag; linearization point for station shutdown.
         if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
-          // Loop while the selector thread is still running.
-          while (this.thread.isAlive()) {
-            // Interrupt the selector thread so it will wakeup and die.
-            this.thread.interrupt();
-            try {
-              // Wait for the selector thread to exit.
-              this.thread.join(100);
-            } catch (InterruptedException cause) {
-              interrupted = true;
+          for (int i = 0; i < this.threads.length; i += 1) {
+            final StationThread thread = this.threads[i];
+            // Loop while the selector thread is still running.
+            while (thread.isAlive()) {
+              // Interrupt the selector thread so it will wakeup and die.
+              thread.interrupt();
+              try {
+                // Wait for the selector thread to exit.
+                thread.join(100);
+              } catch (InterruptedException cause) {
+                interrupted = true;
+              }
             }
           }
         }
@@ -185,7 +230,7 @@ public class Station {
       }
     } while (true);
 
-    // Loop while the selector thread is still running.
+    // Loop while any selector thread is still running.
     while (this.stopLatch.getCount() != 0) {
       try {
         // Wait for selector thread shutdown to complete.
@@ -216,8 +261,12 @@ public class Station {
     // Ensure that the station has started.
     this.start();
 
+    // Assign the transport to a selector thread.
+    final StationThread[] threads = this.threads;
+    final int index = (Station.TRANSPORT_COUNT.getAndIncrement(this) & 0x7fffffff) % threads.length;
+
     // Create the context that binds the transport to this station.
-    final StationTransport context = new StationTransport(this, transport, flowControl);
+    final StationTransport context = new StationTransport(this, threads[index], transport, flowControl);
     transport.setTransportContext(context);
 
     // Initialize the transport's flow control.
@@ -228,11 +277,63 @@ public class Station {
   }
 
   /**
-   * Informs the selector thread of a possible change to the given transport
-   * {@code context}'s flow control state.
+   * Informs the selector thread that manages the given transport {@code
+   * context} of a possible change to its flow control state.
    */
   void reselect(StationTransport context) {
-    this.thread.reselect(context);
+    context.thread.reselect(context);
+  }
+
+  /**
+   * Wakes up all selector threads, so that they observe a change to the
+   * station's lifecycle state.
+   */
+  void wakeup() {
+    for (int i = 0; i < this.threads.length; i += 1) {
+      this.threads[i].selector.wakeup();
+    }
+  }
+
+  /**
+   * Invoked by each selector thread once it's up and running; completes
+   * station startup when the last selector thread starts.
+   */
+  void threadDidStart() {
+    this.startLatch.countDown();
+    if (Station.THREAD_COUNT.incrementAndGet(this) == this.threads.length) {
+      this.didStart();
+    }
+  }
+
+  /**
+   * Invoked by each selector thread once it exits its select loop; returns
+   * {@code true} if the calling thread is the first to begin stopping.
+   */
+  boolean threadWillStop() {
+    do {
+      final int oldStatus = Station.STATUS.get(this);
+      if ((oldStatus & Station.STOPPING) == 0) {
+        final int newStatus = oldStatus | Station.STOPPING | Station.STOPPED;
+        if (Station.STATUS.compareAndSet(this, oldStatus, newStatus)) {
+          // Wake up sibling selector threads so they stop too.
+          this.wakeup();
+          return true;
+        }
+      } else {
+        return false;
+      }
+    } while (true);
+  }
+
+  /**
+   * Invoked by each selector thread after it has stopped; completes station
+   * shutdown when the last selector thread stops.
+   */
+  void threadDidStop() {
+    this.stopLatch.countDown();
+    if (Station.THREAD_COUNT.decrementAndGet(this) == 0) {
+      this.didStop();
+    }
   }
 
   /**
@@ -321,6 +422,11 @@ public class Station {
    * started, but is now permanently stopped.
    */
   static final int STOPPED = 1 << 1;
+  /**
+   * Atomic {@link #status} bit flag indicating that a selector thread has
+   * begun shutting down the station.
+   */
+  static final int STOPPING = 1 << 2;
 
   /**
    * Atomic {@link #status} field updater, used to linearize station startup
@@ -329,6 +435,20 @@ public class Station {
   static final AtomicIntegerFieldUpdater<Station> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(Station.class, "status");
 
+  /**
+   * Atomic {@link #threadCount} field updater, used to sequence station
+   * lifecycle callbacks across selector threads.
+   */
+  static final AtomicIntegerFieldUpdater<Station> THREAD_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "threadCount");
+
+  /**
+   * Atomic {@link #transportCount} field updater, used to assign transports
+   * to selector threads.
+   */
+  static final AtomicIntegerFieldUpdater<Station> TRANSPORT_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Station.class, "transportCount");
+
 }
 
 /**
@@ -342,6 +462,10 @@ final class StationTransport implements TransportContext, TransportRef {
    * {@code Station} to which the {@code transport} is bound.
    */
   final Station station;
+  /**
+   * Selector thread that manages the {@code transport}.
+   */
+  final StationThread thread;
   /**
    * {@code Transport} binding on which to invoke I/O callbacks.
    */
@@ -366,11 +490,18 @@ final class StationTransport implements TransportContext, TransportRef {
    * Monotonic timestamp of the most recent transport I/O operation.
    */
   volatile long lastSelectTime;
+  /**
+   * Atomic flag indicating that the transport is already enqueued for
+   * reselection by its selector thread.
+   */
+  volatile int reselecting;
 
-  StationTransport(Station station, Transport transport, FlowControl flowControl) {
+  StationTransport(Station station, StationThread thread, Transport transport, FlowControl flowControl) {
     this.station = station;
+    this.thread = thread;
     this.transport = transport;
     this.flowControl = flowControl;
+    this.reselecting = 0;
   }
 
   /**
@@ -623,6 +754,11 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     }
+    if (readBuffer.position() == 0 || !channel.isOpen()) {
+      // The input buffer holds no unconsumed input data, or the channel has
+      // closed; let the transport binding release its input buffer.
+      this.transport.releaseReadBuffer();
+    }
     return yield;
   }
 
@@ -753,6 +889,11 @@ final class StationTransport implements TransportContext, TransportRef {
         break;
       }
     } while (true);
+    if (!writeBuffer.hasRemaining() || !channel.isOpen()) {
+      // The output buffer holds no unwritten output data, or the channel has
+      // closed; let the transport binding release its output buffer.
+      this.transport.releaseWriteBuffer();
+    }
   }
 
   void didTimeout() {
@@ -859,6 +1000,13 @@ final class StationTransport implements TransportContext, TransportRef {
   static final AtomicReferenceFieldUpdater<StationTransport, FlowControl> FLOW_CONTROL =
       AtomicReferenceFieldUpdater.newUpdater(StationTransport.class, FlowControl.class, "flowControl");
 
+  /**
+   * Atomic {@link #reselecting} field updater, used to coalesce repeated
+   * reselect requests for the same transport.
+   */
+  static final AtomicIntegerFieldUpdater<StationTransport> RESELECTING =
+      AtomicIntegerFieldUpdater.newUpdater(StationTransport.class, "reselecting");
+
 }
 
 /**
@@ -934,6 +1082,11 @@ final class StationThread extends Thread {
    * concurrent threads.
    */
   final ConcurrentLinkedQueue<StationTransport> reselectQueue;
+  /**
+   * Atomic flag indicating that a selector wakeup is pending; used to
+   * coalesce wakeups when many transports are reselected in a burst.
+   */
+  volatile int wakeupPending;
   /**
    * Monotonic timestamp of most recent timeout check.
    */
@@ -948,6 +1101,7 @@ final class StationThread extends Thread {
       throw new RuntimeException(cause);
     }
     this.reselectQueue = new ConcurrentLinkedQueue<StationTransport>();
+    this.wakeupPending = 0;
     this.lastIdleCheck = System.currentTimeMillis();
   }
 
@@ -958,8 +1112,7 @@ final class StationThread extends Thread {
 
     try {
       // Linearization point for station start.
-      station.startLatch.countDown();
-      station.didStart();
+      station.threadDidStart();
 
       // Loop while the station has not been stopped.
       do {
@@ -973,7 +1126,9 @@ final class StationThread extends Thread {
         this.checkIdle();
       } while ((Station.STATUS.get(station) & Station.STOPPED) == 0);
 
-      station.willStop();
+      if (station.threadWillStop()) {
+        station.willStop();
+      }
     } catch (Throwable cause) {
       if (!Cont.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -982,6 +1137,8 @@ final class StationThread extends Thread {
       failure = cause;
       // Report internal station error.
       station.didFail(cause);
+      // Stop sibling selector threads.
+      station.threadWillStop();
     }
 
     // Close all registered transports.
@@ -1004,11 +1161,8 @@ final class StationThread extends Thread {
     }
 
     try {
-      // Force the station into the stopped state.
-      Station.STATUS.set(station, Station.STOPPED);
       // Linearization point for station stop.
-      station.stopLatch.countDown();
-      station.didStop();
+      station.threadDidStop();
     } catch (Throwable cause) {
       if (!Cont.isNonFatal(cause)) {
         // Rethrow fatal exception.
@@ -1027,11 +1181,17 @@ final class StationThread extends Thread {
   /**
    * Enqueues the transport {@code context} to have its flow control state
    * synchronized with the I/O selector, and wakes up the selector thread to
-   * have it account for the flow control change.
+   * have it account for the flow control change. A transport that's already
+   * enqueued isn't enqueued again, and at most one wakeup is issued per
+   * drain of the reselect queue.
    */
   void reselect(StationTransport context) {
-    this.reselectQueue.add(context);
-    this.selector.wakeup();
+    if (StationTransport.RESELECTING.compareAndSet(context, 0, 1)) {
+      this.reselectQueue.add(context);
+      if (StationThread.WAKEUP_PENDING.compareAndSet(this, 0, 1)) {
+        this.selector.wakeup();
+      }
+    }
   }
 
   /**
@@ -1039,11 +1199,17 @@ final class StationThread extends Thread {
    * queue with the I/O selector.
    */
   void reflow() {
+    // Clear the pending wakeup before draining the reselect queue so that
+    // transports enqueued after the drain trigger a fresh wakeup.
+    StationThread.WAKEUP_PENDING.set(this, 0);
     // Loop until the reselect queue is empty.
     do {
       // Dequeue the next transport from the reselect queue.
       final StationTransport context = this.reselectQueue.poll();
       if (context != null) {
+        // Allow the transport to be reselected again; flow control changes
+        // made after this point will be observed by a subsequent reflow.
+        StationTransport.RESELECTING.set(context, 0);
         try {
           // Synchronize the transport's flow control state with the I/O selector.
           this.reflow(context);
@@ -1304,4 +1470,11 @@ final class StationThread extends Thread {
    */
   static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
 
+  /**
+   * Atomic {@link #wakeupPending} field updater, used to coalesce selector
+   * wakeups.
+   */
+  static final AtomicIntegerFieldUpdater<StationThread> WAKEUP_PENDING =
+      AtomicIntegerFieldUpdater.newUpdater(StationThread.class, "wakeupPending");
+
 }
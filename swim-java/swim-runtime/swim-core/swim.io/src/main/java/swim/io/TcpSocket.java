@@ -34,10 +34,13 @@ class TcpSocket implements Transport, IpSocketContext {
 
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final InputBuffer inputBuffer;
-  final OutputBuffer<?> outputBuffer;
+  final BufferPool bufferPool;
+  final int readBufferSize;
+  final int writeBufferSize;
+  ByteBuffer readBuffer;
+  ByteBuffer writeBuffer;
+  InputBuffer inputBuffer;
+  OutputBuffer<?> outputBuffer;
   final SocketChannel channel;
   final IpSettings ipSettings;
   TransportContext context;
@@ -52,11 +55,13 @@ class TcpSocket implements Transport, IpSocketContext {
     this.ipSettings = ipSettings;
     this.status = isClient ? TcpSocket.CLIENT : TcpSocket.SERVER;
     final TcpSettings tcpSettings = ipSettings.tcpSettings();
-    this.readBuffer = ByteBuffer.allocate(tcpSettings.readBufferSize());
-    this.writeBuffer = ByteBuffer.allocate(tcpSettings.writeBufferSize());
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = Binary.inputBuffer(this.readBuffer);
-    this.outputBuffer = Binary.outputBuffer(this.writeBuffer);
+    this.bufferPool = BufferPool.shared();
+    this.readBufferSize = tcpSettings.readBufferSize();
+    this.writeBufferSize = tcpSettings.writeBufferSize();
+    this.readBuffer = null;
+    this.writeBuffer = null;
+    this.inputBuffer = null;
+    this.outputBuffer = null;
   }
 
   @Override
@@ -76,12 +81,45 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      readBuffer = this.bufferPool.acquire(this.readBufferSize);
+      this.readBuffer = readBuffer;
+      this.inputBuffer = Binary.inputBuffer(readBuffer);
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      writeBuffer = this.bufferPool.acquire(this.writeBufferSize);
+      ((Buffer) writeBuffer).position(writeBuffer.capacity());
+      this.writeBuffer = writeBuffer;
+      this.outputBuffer = Binary.outputBuffer(writeBuffer);
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer != null) {
+      this.readBuffer = null;
+      this.inputBuffer = null;
+      this.bufferPool.release(readBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer != null) {
+      this.writeBuffer = null;
+      this.outputBuffer = null;
+      this.bufferPool.release(writeBuffer);
+    }
   }
 
   @Override
@@ -96,11 +134,17 @@ class TcpSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
+    if (this.inputBuffer == null) {
+      this.readBuffer();
+    }
     return this.inputBuffer;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
+    if (this.outputBuffer == null) {
+      this.writeBuffer();
+    }
     return this.outputBuffer;
   }
 
@@ -40,12 +40,15 @@ class TlsSocket implements Transport, IpSocketContext {
 
   final InetSocketAddress localAddress;
   final InetSocketAddress remoteAddress;
-  final ByteBuffer readBuffer;
-  final ByteBuffer writeBuffer;
-  final ByteBuffer inputBuffer;
-  final ByteBuffer outputBuffer;
-  final InputBuffer reader;
-  final OutputBuffer<?> writer;
+  final BufferPool bufferPool;
+  final int readBufferSize;
+  final int writeBufferSize;
+  ByteBuffer readBuffer;
+  ByteBuffer writeBuffer;
+  ByteBuffer inputBuffer;
+  ByteBuffer outputBuffer;
+  InputBuffer reader;
+  OutputBuffer<?> writer;
   final SocketChannel channel;
   final SSLEngine sslEngine;
   final IpSettings ipSettings;
@@ -69,16 +72,15 @@ class TlsSocket implements Transport, IpSocketContext {
 
     final SSLSession sslSession = this.sslEngine.getSession();
     final TcpSettings tcpSettings = this.ipSettings.tcpSettings();
-    final int readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
-    final int writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
-    this.readBuffer = ByteBuffer.allocate(readBufferSize);
-    this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.writeBuffer).position(this.writeBuffer.capacity());
-    this.inputBuffer = ByteBuffer.allocate(readBufferSize);
-    this.outputBuffer = ByteBuffer.allocate(writeBufferSize);
-    ((Buffer) this.outputBuffer).position(this.outputBuffer.capacity());
-    this.reader = Binary.inputBuffer(this.inputBuffer);
-    this.writer = Binary.outputBuffer(this.outputBuffer);
+    this.bufferPool = BufferPool.shared();
+    this.readBufferSize = Math.max(tcpSettings.readBufferSize(), sslSession.getApplicationBufferSize());
+    this.writeBufferSize = Math.max(tcpSettings.writeBufferSize(), sslSession.getPacketBufferSize());
+    this.readBuffer = null;
+    this.writeBuffer = null;
+    this.inputBuffer = null;
+    this.outputBuffer = null;
+    this.reader = null;
+    this.writer = null;
   }
 
   @Override
@@ -98,12 +100,58 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public ByteBuffer readBuffer() {
-    return this.readBuffer;
+    ByteBuffer readBuffer = this.readBuffer;
+    if (readBuffer == null) {
+      readBuffer = this.bufferPool.acquire(this.readBufferSize);
+      final ByteBuffer inputBuffer = this.bufferPool.acquire(this.readBufferSize);
+      this.readBuffer = readBuffer;
+      this.inputBuffer = inputBuffer;
+      this.reader = Binary.inputBuffer(inputBuffer);
+    }
+    return readBuffer;
   }
 
   @Override
   public ByteBuffer writeBuffer() {
-    return this.writeBuffer;
+    ByteBuffer writeBuffer = this.writeBuffer;
+    if (writeBuffer == null) {
+      writeBuffer = this.bufferPool.acquire(this.writeBufferSize);
+      ((Buffer) writeBuffer).position(writeBuffer.capacity());
+      final ByteBuffer outputBuffer = this.bufferPool.acquire(this.writeBufferSize);
+      ((Buffer) outputBuffer).position(outputBuffer.capacity());
+      this.writeBuffer = writeBuffer;
+      this.outputBuffer = outputBuffer;
+      this.writer = Binary.outputBuffer(outputBuffer);
+    }
+    return writeBuffer;
+  }
+
+  @Override
+  public void releaseReadBuffer() {
+    final ByteBuffer readBuffer = this.readBuffer;
+    final ByteBuffer inputBuffer = this.inputBuffer;
+    // Retain the read buffers while decrypted input remains unconsumed.
+    if (readBuffer != null && (inputBuffer.position() == 0 || !this.channel.isOpen())) {
+      this.readBuffer = null;
+      this.inputBuffer = null;
+      this.reader = null;
+      this.bufferPool.release(readBuffer);
+      this.bufferPool.release(inputBuffer);
+    }
+  }
+
+  @Override
+  public void releaseWriteBuffer() {
+    final ByteBuffer writeBuffer = this.writeBuffer;
+    final ByteBuffer outputBuffer = this.outputBuffer;
+    // Retain the write buffers while plaintext output remains unencrypted.
+    if (writeBuffer != null && (!outputBuffer.hasRemaining() || !this.channel.isOpen())) {
+      this.writeBuffer = null;
+      this.outputBuffer = null;
+      this.writer = null;
+      this.bufferPool.release(writeBuffer);
+      this.bufferPool.release(outputBuffer);
+    }
   }
 
   @Override
@@ -118,11 +166,17 @@ class TlsSocket implements Transport, IpSocketContext {
 
   @Override
   public InputBuffer inputBuffer() {
+    if (this.reader == null) {
+      this.readBuffer();
+    }
     return this.reader;
   }
 
   @Override
   public OutputBuffer<?> outputBuffer() {
+    if (this.writer == null) {
+      this.writeBuffer();
+    }
     return this.writer;
   }
 
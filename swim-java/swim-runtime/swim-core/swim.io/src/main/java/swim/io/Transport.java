@@ -60,6 +60,31 @@ public interface Transport {
    */
   ByteBuffer writeBuffer();
 
+  /**
+   * I/O callback invoked by the transport context after a <em>read</em>
+   * operation leaves no unconsumed input data in the {@code readBuffer}, or
+   * after the underlying transport has closed. The {@code Transport} may
+   * return its read buffer to a {@link BufferPool} while it has no pending
+   * input, so long as a subsequent call to {@link #readBuffer()} returns a
+   * usable buffer. Never invoked concurrently with {@code doRead} calls.
+   */
+  default void releaseReadBuffer() {
+    // hook
+  }
+
+  /**
+   * I/O callback invoked by the transport context after a <em>write</em>
+   * operation leaves no unwritten output data in the {@code writeBuffer}, or
+   * after the underlying transport has closed. The {@code Transport} may
+   * return its write buffer to a {@link BufferPool} while it has no pending
+   * output, so long as a subsequent call to {@link #writeBuffer()} returns a
+   * usable buffer. Never invoked concurrently with {@code doWrite} or
+   * {@code didWrite} calls.
+   */
+  default void releaseWriteBuffer() {
+    // hook
+  }
+
   /**
    * Returns the number of idle milliseconds after which this {@code Transport}
    * should be closed due to inactivity. Returns {@code -1} if a default idle
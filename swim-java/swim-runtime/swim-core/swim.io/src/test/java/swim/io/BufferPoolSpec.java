@@ -0,0 +1,85 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.nio.ByteBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class BufferPoolSpec {
+
+  @Test
+  public void acquireDirectBuffersRoundedToSizeClass() {
+    final BufferPool pool = new BufferPool(64 * 1024, 1024 * 1024);
+    final ByteBuffer buffer = pool.acquire(4097);
+    assertTrue(buffer.isDirect());
+    assertEquals(buffer.capacity(), 5 * BufferPool.SIZE_CLASS_GRANULARITY);
+    assertEquals(buffer.position(), 0);
+    assertEquals(buffer.limit(), buffer.capacity());
+    assertEquals(pool.borrowedBytes(), (long) buffer.capacity());
+    assertEquals(pool.allocateCount(), 1L);
+  }
+
+  @Test
+  public void reuseReleasedBuffers() {
+    final BufferPool pool = new BufferPool(64 * 1024, 1024 * 1024);
+    final ByteBuffer buffer = pool.acquire(4096);
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    assertEquals(pool.borrowedBytes(), 0L);
+    assertEquals(pool.pooledBytes(), 4096L);
+
+    final ByteBuffer reused = pool.acquire(4000);
+    assertSame(reused, buffer);
+    assertEquals(reused.position(), 0);
+    assertEquals(pool.pooledBytes(), 0L);
+    assertEquals(pool.borrowedBytes(), 4096L);
+    assertEquals(pool.acquireCount(), 2L);
+    assertEquals(pool.allocateCount(), 1L);
+
+    final ByteBuffer other = pool.acquire(8192);
+    assertNotSame(other, buffer);
+    assertEquals(pool.allocateCount(), 2L);
+  }
+
+  @Test
+  public void discardBuffersReleasedIntoFullPool() {
+    final BufferPool pool = new BufferPool(64 * 1024, 8192);
+    final ByteBuffer a = pool.acquire(4096);
+    final ByteBuffer b = pool.acquire(4096);
+    final ByteBuffer c = pool.acquire(4096);
+    pool.release(a);
+    pool.release(b);
+    pool.release(c);
+    assertEquals(pool.pooledBytes(), 8192L);
+    assertEquals(pool.releaseCount(), 3L);
+    assertEquals(pool.discardCount(), 1L);
+  }
+
+  @Test
+  public void discardOversizedBuffers() {
+    final BufferPool pool = new BufferPool(4096, 1024 * 1024);
+    final ByteBuffer buffer = pool.acquire(5000);
+    assertEquals(buffer.capacity(), 5000);
+    pool.release(buffer);
+    assertEquals(pool.pooledBytes(), 0L);
+    assertEquals(pool.borrowedBytes(), 0L);
+    assertEquals(pool.discardCount(), 1L);
+  }
+
+}
@@ -0,0 +1,194 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.io;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.concurrent.Theater;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StationSpec {
+
+  @Test
+  public void testSelectorCount() {
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(3));
+    assertEquals(station.selectorCount(), 3);
+  }
+
+  @Test
+  public void testShardTransportsAcrossSelectors() {
+    final int selectorCount = 3;
+    final int socketCount = 6;
+    final Theater stage = new Theater();
+    final Station station = new Station(stage, TransportSettings.standard().selectorCount(selectorCount));
+    final IpEndpoint endpoint = new IpEndpoint(station);
+    final CountDownLatch serverBind = new CountDownLatch(1);
+    final CountDownLatch serverRead = new CountDownLatch(socketCount);
+    final CountDownLatch clientRead = new CountDownLatch(socketCount);
+    final CountDownLatch serverDisconnect = new CountDownLatch(socketCount);
+    final CountDownLatch clientDisconnect = new CountDownLatch(socketCount);
+    final AbstractIpSocket[] clients = new AbstractIpSocket[socketCount];
+    final AbstractIpService service = new AbstractIpService() {
+      @Override
+      public IpSocket createSocket() {
+        return new EchoSocket(serverRead, serverDisconnect);
+      }
+
+      @Override
+      public void didBind() {
+        serverBind.countDown();
+      }
+    };
+
+    try {
+      stage.start();
+      endpoint.start();
+      endpoint.bindTcp("127.0.0.1", 53560, service, IpSettings.standard());
+      assertTrue(serverBind.await(5L, TimeUnit.SECONDS));
+      for (int i = 0; i < socketCount; i += 1) {
+        clients[i] = new PingSocket(clientRead, clientDisconnect);
+        endpoint.connectTcp("127.0.0.1", 53560, clients[i], IpSettings.standard());
+      }
+
+      // Every socket on every shard can write and read.
+      assertTrue(serverRead.await(5L, TimeUnit.SECONDS));
+      assertTrue(clientRead.await(5L, TimeUnit.SECONDS));
+
+      // One listener plus two sockets per connection spread round-robin
+      // across the selectors, so every selector manages some transports.
+      for (int i = 0; i < selectorCount; i += 1) {
+        assertTrue(station.threads[i].selector.keys().size() > 0);
+      }
+      assertEquals(station.registeredTransportCount(), 1 + 2 * socketCount);
+
+      // Every socket on every shard can close.
+      for (int i = 0; i < socketCount; i += 1) {
+        clients[i].close();
+      }
+      assertTrue(clientDisconnect.await(5L, TimeUnit.SECONDS));
+      assertTrue(serverDisconnect.await(5L, TimeUnit.SECONDS));
+    } catch (InterruptedException cause) {
+      throw new TestException(cause);
+    } finally {
+      for (int i = 0; i < socketCount; i += 1) {
+        if (clients[i] != null) {
+          clients[i].close();
+        }
+      }
+      service.unbind();
+      endpoint.stop();
+      stage.stop();
+    }
+  }
+
+  static final int MESSAGE_SIZE = 5;
+
+  private static class PingSocket extends AbstractIpSocket {
+
+    final CountDownLatch readLatch;
+    final CountDownLatch disconnectLatch;
+    int readCount;
+
+    PingSocket(CountDownLatch readLatch, CountDownLatch disconnectLatch) {
+      this.readLatch = readLatch;
+      this.disconnectLatch = disconnectLatch;
+      this.readCount = 0;
+    }
+
+    @Override
+    public void didConnect() {
+      this.flowControl(FlowModifier.ENABLE_READ_WRITE);
+    }
+
+    @Override
+    public void doWrite() {
+      Binary.writeByteArray(this.outputBuffer(), new byte[] {'p', 'i', 'n', 'g', '!'});
+    }
+
+    @Override
+    public void didWrite() {
+      this.flowControl(FlowModifier.DISABLE_WRITE);
+    }
+
+    @Override
+    public void doRead() {
+      while (this.inputBuffer().isCont()) {
+        this.inputBuffer().step();
+        this.readCount += 1;
+      }
+      if (this.readCount == StationSpec.MESSAGE_SIZE) {
+        this.readLatch.countDown();
+      }
+    }
+
+    @Override
+    public void didDisconnect() {
+      this.disconnectLatch.countDown();
+    }
+
+  }
+
+  private static class EchoSocket extends AbstractIpSocket {
+
+    final CountDownLatch readLatch;
+    final CountDownLatch disconnectLatch;
+    int readCount;
+
+    EchoSocket(CountDownLatch readLatch, CountDownLatch disconnectLatch) {
+      this.readLatch = readLatch;
+      this.disconnectLatch = disconnectLatch;
+      this.readCount = 0;
+    }
+
+    @Override
+    public void didConnect() {
+      this.flowControl(FlowModifier.ENABLE_READ);
+    }
+
+    @Override
+    public void doRead() {
+      while (this.inputBuffer().isCont()) {
+        this.inputBuffer().step();
+        this.readCount += 1;
+      }
+      if (this.readCount == StationSpec.MESSAGE_SIZE) {
+        this.readLatch.countDown();
+        this.flowControl(FlowModifier.ENABLE_WRITE);
+      }
+    }
+
+    @Override
+    public void doWrite() {
+      Binary.writeByteArray(this.outputBuffer(), new byte[] {'p', 'o', 'n', 'g', '!'});
+    }
+
+    @Override
+    public void didWrite() {
+      this.flowControl(FlowModifier.DISABLE_WRITE);
+    }
+
+    @Override
+    public void didDisconnect() {
+      this.disconnectLatch.countDown();
+    }
+
+  }
+
+}
@@ -0,0 +1,139 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.json;
+
+import swim.codec.Output;
+import swim.codec.Writer;
+import swim.codec.WriterException;
+import swim.structure.Item;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.structure.form.ClassForm;
+import swim.structure.form.SlotForm;
+
+/**
+ * Writes an object directly from its fields, as the same JSON object as
+ * the {@code Record} the object's {@code ClassForm} would mold, without
+ * first molding the object into a {@code Record}.
+ */
+final class JsonClassFormWriter<T> extends Writer<T, T> {
+
+  final JsonWriter<Item, Value> json;
+  final ClassForm<T> form;
+  final T object;
+  final int slotCount;
+  final Writer<?, ?> part;
+  final int index;
+  final int step;
+
+  JsonClassFormWriter(JsonWriter<Item, Value> json, ClassForm<T> form, T object,
+                      int slotCount, Writer<?, ?> part, int index, int step) {
+    this.json = json;
+    this.form = form;
+    this.object = object;
+    this.slotCount = slotCount;
+    this.part = part;
+    this.index = index;
+    this.step = step;
+  }
+
+  @Override
+  public Writer<T, T> pull(Output<?> output) {
+    return JsonClassFormWriter.write(output, this.json, this.form, this.object,
+                                     this.slotCount, this.part, this.index, this.step);
+  }
+
+  static <T> Writer<T, T> write(Output<?> output, JsonWriter<Item, Value> json, ClassForm<T> form,
+                                T object, int slotCount, Writer<?, ?> part, int index, int step) {
+    final String tag = form.tag();
+    if (step == 1 && output.isCont()) {
+      output = output.write('{');
+      step = tag != null ? 2 : 4;
+    }
+    if (step == 2) {
+      if (part == null) {
+        part = json.writeField(output, Text.from('@' + tag), form.moldHeader(object));
+      } else {
+        part = part.pull(output);
+      }
+      if (part.isDone()) {
+        part = null;
+        step = 3;
+      } else if (part.isError()) {
+        return part.asError();
+      }
+    }
+    do {
+      if (step == 3) {
+        if (index < slotCount) {
+          if (output.isCont()) {
+            output = output.write(',');
+            step = 4;
+          } else {
+            break;
+          }
+        } else {
+          step = 5;
+          break;
+        }
+      }
+      if (step == 4) {
+        if (index == slotCount) {
+          step = 5;
+          break;
+        }
+        if (part == null) {
+          final SlotForm<T> slot = form.memberSlot(index);
+          final Value key = slot.key();
+          if (key instanceof Text) {
+            part = json.writeField(output, key, slot.moldValue(object));
+          } else {
+            // Non-textual keys get written as indexed fields, with item
+            // indexes that count the tag attribute, if any.
+            part = json.writeField(output, Slot.of(key, slot.moldValue(object)), tag != null ? 1 + index : index);
+          }
+        } else {
+          part = part.pull(output);
+        }
+        if (part.isDone()) {
+          part = null;
+          index += 1;
+          step = 3;
+          continue;
+        } else if (part.isError()) {
+          return part.asError();
+        }
+      }
+      break;
+    } while (true);
+    if (step == 5 && output.isCont()) {
+      output = output.write('}');
+      return Writer.done(object);
+    }
+    if (output.isDone()) {
+      return Writer.error(new WriterException("truncated"));
+    } else if (output.isError()) {
+      return Writer.error(output.trap());
+    }
+    return new JsonClassFormWriter<T>(json, form, object, slotCount, part, index, step);
+  }
+
+  static <T> Writer<T, T> write(Output<?> output, JsonWriter<Item, Value> json,
+                                ClassForm<T> form, T object, int slotCount) {
+    return JsonClassFormWriter.write(output, json, form, object, slotCount, null, 0, 1);
+  }
+
+}
@@ -19,46 +19,74 @@ import swim.codec.Parser;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Value;
+import swim.util.Builder;
 
 final class JsonFormParser<T> extends Parser<T> {
 
   final JsonParser<Item, Value> json;
   final Form<T> form;
+  final Builder<Item, T> builder;
   final Parser<Value> parser;
 
-  JsonFormParser(JsonParser<Item, Value> json, Form<T> form, Parser<Value> parser) {
+  JsonFormParser(JsonParser<Item, Value> json, Form<T> form,
+                 Builder<Item, T> builder, Parser<Value> parser) {
     this.json = json;
     this.form = form;
+    this.builder = builder;
     this.parser = parser;
   }
 
   JsonFormParser(JsonParser<Item, Value> json, Form<T> form) {
-    this(json, form, null);
+    this(json, form, null, null);
   }
 
   @Override
   public Parser<T> feed(Input input) {
-    return JsonFormParser.parse(input, this.json, this.form, this.parser);
+    return JsonFormParser.parse(input, this.json, this.form, this.builder, this.parser);
   }
 
-  static <T> Parser<T> parse(Input input, JsonParser<Item, Value> json,
-                             Form<T> form, Parser<Value> parser) {
+  @SuppressWarnings("unchecked")
+  static <T> Parser<T> parse(Input input, JsonParser<Item, Value> json, Form<T> form,
+                             Builder<Item, T> builder, Parser<Value> parser) {
     if (parser == null) {
-      parser = json.parseValue(input);
+      while (input.isCont() && Json.isWhitespace(input.head())) {
+        input = input.step();
+      }
+      if (input.isCont()) {
+        if (input.head() == '{') {
+          builder = form.castBuilder();
+        }
+        if (builder != null) {
+          // Cast the fields of the object as they're parsed,
+          // rather than casting a transient record.
+          parser = ObjectParser.parse(input, json, (Builder<Item, Value>) (Builder<?, ?>) builder, null, null, 1);
+        } else {
+          parser = json.parseValue(input);
+        }
+      } else if (input.isDone()) {
+        parser = json.parseValue(input);
+      } else if (input.isError()) {
+        return Parser.error(input.trap());
+      } else {
+        return new JsonFormParser<T>(json, form, null, null);
+      }
     } else {
       parser = parser.feed(input);
     }
     if (parser.isDone()) {
+      if (builder != null) {
+        return Parser.done(builder.bind());
+      }
       final Value value = parser.bind();
       return Parser.done(form.cast(value));
     } else if (parser.isError()) {
       return parser.asError();
     }
-    return new JsonFormParser<T>(json, form, parser);
+    return new JsonFormParser<T>(json, form, builder, parser);
   }
 
   static <T> Parser<T> parse(Input input, JsonParser<Item, Value> json, Form<T> form) {
-    return JsonFormParser.parse(input, json, form, null);
+    return JsonFormParser.parse(input, json, form, null, null);
   }
 
 }
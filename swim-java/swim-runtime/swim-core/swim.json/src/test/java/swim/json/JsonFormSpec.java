@@ -0,0 +1,153 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.json;
+
+import java.nio.charset.Charset;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Input;
+import swim.codec.OutputBuffer;
+import swim.codec.Parser;
+import swim.codec.Unicode;
+import swim.codec.Utf8;
+import swim.codec.Writer;
+import swim.structure.Form;
+import swim.structure.Header;
+import swim.structure.Tag;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class JsonFormSpec {
+
+  @Test
+  public void writeClassForms() {
+    final Form<Reading> form = Form.forClass(Reading.class);
+    assertWritesForm(form, new Reading(1, "x y", new Point(2.5, 3.5)));
+    assertWritesForm(form, new Reading(2, null, null));
+    assertWritesForm(form, new Reading());
+    assertWritesForm(Form.forClass(Point.class), new Point(-1.0, 0.5));
+    assertWritesForm(Form.forClass(Marker.class), new Marker());
+    assertWritesForm(Form.forClass(Reading.class).tag(null), new Reading(3, "z", null));
+  }
+
+  @Test
+  public void parseClassForms() {
+    final Form<Reading> form = Form.forClass(Reading.class);
+    assertParsesForm(form, "{\"@Reading\":null,\"id\":1,\"name\":\"x y\",\"point\":{\"@Point\":{\"x\":2.5,\"y\":3.5}}}");
+    assertParsesForm(form, " { \"@Reading\" : null , \"point\" : { \"@Point\" : { \"x\" : 2.5 } } , \"id\" : 1 } ");
+    assertParsesForm(form, "{\"@Reading\":null,\"id\":1,\"id\":2,\"other\":3,\"name\":\"x\"}");
+    assertParsesForm(form, "{\"@Reading\":null}");
+    assertParsesForm(form, "{\"@Other\":null,\"id\":1}");
+    assertParsesForm(form, "{\"id\":1}");
+    assertParsesForm(form, "{}");
+    assertParsesForm(form, "[1,2]");
+    assertParsesForm(form, "1");
+    assertParsesForm(Form.forClass(Point.class), "{\"@Point\":{\"x\":2.5,\"y\":3.5}}");
+    assertParsesForm(Form.forClass(Marker.class), "{\"@Marker\":null}");
+    assertParsesForm(Form.forClass(Reading.class).tag(null), "{\"id\":1,\"name\":\"x\"}");
+    assertParsesForm(Form.forClass(Reading.class).tag(null), "{}");
+  }
+
+  static <T> void assertWritesForm(Form<T> form, T object) {
+    final byte[] expected = Json.toString(form.mold(object)).getBytes(Charset.forName("UTF-8"));
+    final int n = expected.length;
+    for (int i = 0; i <= n; i += 1) {
+      final byte[] actual = new byte[n];
+      OutputBuffer<?> buffer = Binary.outputBuffer(actual);
+      buffer = buffer.limit(i);
+      Writer<T, T> writer = Json.formWriter(form).feed(object);
+      writer = writer.pull(Utf8.decodedOutput(buffer).isPart(true));
+      buffer = buffer.limit(buffer.capacity());
+      writer = writer.pull(Utf8.decodedOutput(buffer).isPart(false));
+      if (writer.isError()) {
+        throw new TestException(writer.trap());
+      }
+      assertFalse(writer.isCont());
+      assertTrue(writer.isDone());
+      assertEquals(writer.bind(), object);
+      assertEquals(actual, expected);
+    }
+  }
+
+  static <T> void assertParsesForm(Form<T> form, String input) {
+    final Value expected = form.mold(form.cast(Json.parse(input))).toValue();
+    for (int i = 0, n = input.length(); i <= n; i += 1) {
+      Parser<T> parser = Json.formParser(form);
+      parser = parser.feed(Unicode.stringInput(input.substring(0, i)).isPart(true));
+      if (parser.isCont()) {
+        parser = parser.feed(Unicode.stringInput(input.substring(i, n)).isPart(true));
+      }
+      if (parser.isCont()) {
+        parser = parser.feed(Input.done());
+      }
+      if (parser.isError()) {
+        throw new TestException(parser.trap());
+      }
+      assertTrue(parser.isDone());
+      assertEquals(form.mold(parser.bind()).toValue(), expected, "when parsing " + input + " split at " + i);
+    }
+  }
+
+  @SuppressWarnings("checkstyle:VisibilityModifier")
+  public static class Reading {
+
+    public int id;
+    public String name;
+    public Point point;
+
+    public Reading(int id, String name, Point point) {
+      this.id = id;
+      this.name = name;
+      this.point = point;
+    }
+
+    public Reading() {
+      // Form.cast constructor
+    }
+
+  }
+
+  @SuppressWarnings("checkstyle:VisibilityModifier")
+  public static class Point {
+
+    @Header
+    public double x;
+    @Header
+    public double y;
+
+    public Point(double x, double y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    public Point() {
+      // Form.cast constructor
+    }
+
+  }
+
+  @Tag("Marker")
+  public static class Marker {
+
+    public Marker() {
+      // Form.cast constructor
+    }
+
+  }
+
+}
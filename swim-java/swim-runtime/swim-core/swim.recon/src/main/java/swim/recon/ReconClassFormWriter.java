@@ -0,0 +1,135 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.recon;
+
+import swim.codec.Output;
+import swim.codec.Writer;
+import swim.codec.WriterException;
+import swim.structure.Item;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.structure.form.ClassForm;
+import swim.structure.form.SlotForm;
+
+/**
+ * Writes an object directly from its fields, in the same Recon syntax as
+ * the {@code Record} the object's {@code ClassForm} would mold, without
+ * first molding the object into a {@code Record}.
+ */
+final class ReconClassFormWriter<T> extends Writer<T, T> {
+
+  final ReconWriter<Item, Value> recon;
+  final ClassForm<T> form;
+  final T object;
+  final int slotCount;
+  final Writer<?, ?> part;
+  final int index;
+  final int step;
+
+  ReconClassFormWriter(ReconWriter<Item, Value> recon, ClassForm<T> form, T object,
+                       int slotCount, Writer<?, ?> part, int index, int step) {
+    this.recon = recon;
+    this.form = form;
+    this.object = object;
+    this.slotCount = slotCount;
+    this.part = part;
+    this.index = index;
+    this.step = step;
+  }
+
+  @Override
+  public Writer<T, T> pull(Output<?> output) {
+    return ReconClassFormWriter.write(output, this.recon, this.form, this.object,
+                                      this.slotCount, this.part, this.index, this.step);
+  }
+
+  static <T> Writer<T, T> write(Output<?> output, ReconWriter<Item, Value> recon, ClassForm<T> form,
+                                T object, int slotCount, Writer<?, ?> part, int index, int step) {
+    if (step == 1) {
+      if (part == null) {
+        final String tag = form.tag();
+        if (tag != null) {
+          part = recon.writeAttr(output, Text.from(tag), form.moldHeader(object));
+        } else {
+          step = 2;
+        }
+      } else {
+        part = part.pull(output);
+      }
+      if (part != null) {
+        if (part.isDone()) {
+          part = null;
+          step = 2;
+        } else if (part.isError()) {
+          return part.asError();
+        }
+      }
+    }
+    if (step == 2) {
+      if (slotCount == 0) {
+        return Writer.done(object);
+      } else if (output.isCont()) {
+        output = output.write('{');
+        step = 3;
+      }
+    }
+    do {
+      if (step == 3) {
+        if (part == null) {
+          final SlotForm<T> slot = form.memberSlot(index);
+          part = recon.writeSlot(output, slot.key(), slot.moldValue(object));
+        } else {
+          part = part.pull(output);
+        }
+        if (part.isDone()) {
+          part = null;
+          index += 1;
+          if (index < slotCount) {
+            step = 4;
+          } else {
+            step = 5;
+            break;
+          }
+        } else if (part.isError()) {
+          return part.asError();
+        } else {
+          break;
+        }
+      }
+      if (step == 4 && output.isCont()) {
+        output = output.write(',');
+        step = 3;
+        continue;
+      }
+      break;
+    } while (true);
+    if (step == 5 && output.isCont()) {
+      output = output.write('}');
+      return Writer.done(object);
+    }
+    if (output.isDone()) {
+      return Writer.error(new WriterException("truncated"));
+    } else if (output.isError()) {
+      return Writer.error(output.trap());
+    }
+    return new ReconClassFormWriter<T>(recon, form, object, slotCount, part, index, step);
+  }
+
+  static <T> Writer<T, T> write(Output<?> output, ReconWriter<Item, Value> recon,
+                                ClassForm<T> form, T object, int slotCount) {
+    return ReconClassFormWriter.write(output, recon, form, object, slotCount, null, 0, 1);
+  }
+
+}
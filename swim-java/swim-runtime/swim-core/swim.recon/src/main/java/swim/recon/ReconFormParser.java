@@ -19,46 +19,124 @@ import swim.codec.Parser;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Value;
+import swim.util.Builder;
 
 final class ReconFormParser<T> extends Parser<T> {
 
   final ReconParser<Item, Value> recon;
   final Form<T> form;
+  final Builder<Item, T> builder;
   final Parser<Value> parser;
+  final int step;
 
-  ReconFormParser(ReconParser<Item, Value> recon, Form<T> form, Parser<Value> parser) {
+  ReconFormParser(ReconParser<Item, Value> recon, Form<T> form,
+                  Builder<Item, T> builder, Parser<Value> parser, int step) {
     this.recon = recon;
     this.form = form;
+    this.builder = builder;
     this.parser = parser;
+    this.step = step;
   }
 
   ReconFormParser(ReconParser<Item, Value> recon, Form<T> form) {
-    this(recon, form, null);
+    this(recon, form, null, null, 1);
   }
 
   @Override
   public Parser<T> feed(Input input) {
-    return ReconFormParser.parse(input, this.recon, this.form, this.parser);
+    return ReconFormParser.parse(input, this.recon, this.form, this.builder, this.parser, this.step);
   }
 
-  static <T> Parser<T> parse(Input input, ReconParser<Item, Value> recon,
-                             Form<T> form, Parser<Value> parser) {
-    if (parser == null) {
-      parser = recon.parseBlock(input);
-    } else {
-      parser = parser.feed(input);
+  @SuppressWarnings("unchecked")
+  static <T> Parser<T> parse(Input input, ReconParser<Item, Value> recon, Form<T> form,
+                             Builder<Item, T> builder, Parser<Value> parser, int step) {
+    if (step == 1) {
+      int c = 0;
+      while (input.isCont()) {
+        c = input.head();
+        if (Recon.isWhitespace(c)) {
+          input = input.step();
+        } else {
+          break;
+        }
+      }
+      if (input.isCont()) {
+        if (c == '@' || c == '{') {
+          builder = form.castBuilder();
+        }
+        if (builder != null) {
+          // Cast the items of the structure as they're parsed,
+          // rather than casting a transient record.
+          parser = BlockItemParser.parse(input, recon, (Builder<Item, Value>) (Builder<?, ?>) builder,
+                                         null, null, 1);
+          step = 2;
+        } else {
+          parser = recon.parseBlock(input);
+          step = 5;
+        }
+      } else if (input.isDone()) {
+        parser = recon.parseBlock(input);
+        step = 5;
+      }
     }
-    if (parser.isDone()) {
-      final Value value = parser.bind();
-      return Parser.done(form.cast(value));
-    } else if (parser.isError()) {
-      return parser.asError();
+    if (step == 2) {
+      while (parser.isCont() && !input.isEmpty()) {
+        parser = parser.feed(input);
+      }
+      if (parser.isDone()) {
+        parser = null;
+        step = 3;
+      } else if (parser.isError()) {
+        return parser.asError();
+      }
     }
-    return new ReconFormParser<T>(recon, form, parser);
+    if (step == 3) {
+      if (input.isCont()) {
+        // The block continues past its first item; parse the rest of the
+        // block with a placeholder for the already cast first item, which
+        // stands alone if no other items follow.
+        parser = BlockParser.parse(input, recon, recon.valueBuilder(), Parser.done(Value.extant()), null, 3);
+        step = 4;
+      } else if (input.isDone()) {
+        return Parser.done(builder.bind());
+      }
+    }
+    if (step == 4) {
+      while (parser.isCont() && !input.isEmpty()) {
+        parser = parser.feed(input);
+      }
+      if (parser.isDone()) {
+        final Value value = parser.bind();
+        if (value == Value.extant()) {
+          return Parser.done(builder.bind());
+        } else {
+          // A block of multiple items has a nested first item, which
+          // casts the same way as the placeholder.
+          return Parser.done(form.cast(value));
+        }
+      } else if (parser.isError()) {
+        return parser.asError();
+      }
+    }
+    if (step == 5) {
+      while (parser.isCont() && !input.isEmpty()) {
+        parser = parser.feed(input);
+      }
+      if (parser.isDone()) {
+        final Value value = parser.bind();
+        return Parser.done(form.cast(value));
+      } else if (parser.isError()) {
+        return parser.asError();
+      }
+    }
+    if (input.isError()) {
+      return Parser.error(input.trap());
+    }
+    return new ReconFormParser<T>(recon, form, builder, parser, step);
   }
 
   static <T> Parser<T> parse(Input input, ReconParser<Item, Value> recon, Form<T> form) {
-    return ReconFormParser.parse(input, recon, form, null);
+    return ReconFormParser.parse(input, recon, form, null, null, 1);
   }
 
 }
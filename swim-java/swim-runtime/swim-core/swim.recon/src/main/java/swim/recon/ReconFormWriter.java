@@ -19,6 +19,7 @@ import swim.codec.Writer;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Value;
+import swim.structure.form.ClassForm;
 
 final class ReconFormWriter<T> extends Writer<T, T> {
 
@@ -48,11 +49,21 @@ final class ReconFormWriter<T> extends Writer<T, T> {
     return ReconFormWriter.write(output, this.recon, this.form, this.object, this.part);
   }
 
+  @SuppressWarnings("unchecked")
   static <T> Writer<T, T> write(Output<?> output, ReconWriter<Item, Value> recon,
                                 Form<T> form, T object, Writer<?, ?> part) {
     if (output == null) {
       return Writer.done();
     }
+    if (part == null && object != null && form instanceof ClassForm<?>) {
+      // Write the fields of the object directly, rather than molding
+      // a transient record, when every member of the form is a slot.
+      final ClassForm<T> classForm = (ClassForm<T>) form;
+      final int slotCount = classForm.memberSlotCount();
+      if (slotCount > 0 || slotCount == 0 && classForm.tag() != null) {
+        return ReconClassFormWriter.write(output, recon, classForm, object, slotCount);
+      }
+    }
     if (part == null) {
       final Value value = form.mold(object).toValue();
       part = recon.writeValue(output, value);
@@ -50,6 +50,7 @@ import swim.structure.form.StringForm;
 import swim.structure.form.TagForm;
 import swim.structure.form.UnitForm;
 import swim.structure.form.ValueForm;
+import swim.util.Builder;
 
 /**
  * Transformation between a structurally typed {@link Item} and a nominally
@@ -140,6 +141,16 @@ public abstract class Form<T> {
    */
   public abstract T cast(Item item);
 
+  /**
+   * Returns a new {@code Builder} that converts the items of a structure into
+   * a nominally typed Java object as they're added, so that parsers can cast
+   * a structure without first accumulating its items into a {@link Record};
+   * returns {@code null} if this {@code Form} can only cast complete items.
+   */
+  public Builder<Item, T> castBuilder() {
+    return null;
+  }
+
   private static Form<Byte> byteForm;
   private static Form<Short> shortForm;
   private static Form<Integer> integerForm;
@@ -14,14 +14,19 @@
 
 package swim.structure.form;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import swim.structure.Attr;
+import swim.structure.Field;
 import swim.structure.Form;
 import swim.structure.FormException;
 import swim.structure.Item;
 import swim.structure.Record;
 import swim.structure.Text;
 import swim.structure.Value;
+import swim.util.Builder;
 
 /**
  * For some {@code Class}, a transformation between a structurally typed {@code
@@ -56,6 +61,16 @@ import swim.structure.Value;
  * </ol>
  * <p>
  * These rules can be directly inverted to transform {@code Items} to objects.
+ * <p>
+ * When every member of a {@code ClassForm} is a {@link FieldForm} with a
+ * distinct key, the {@code ClassForm} molds objects by appending member
+ * fields directly to a presized {@code Record}, and casts records in a
+ * single pass over their fields, accessing object fields through method
+ * handles rather than reflection. Other members get molded and cast one
+ * at a time, in the general manner described above. Such a {@code
+ * ClassForm} also lets codecs write objects slot by slot, and provides a
+ * {@link #castBuilder() cast builder} that casts items as they're parsed,
+ * so that objects can be serialized without an intermediate {@code Record}.
  */
 public final class ClassForm<T> extends Form<T> implements Cloneable {
 
@@ -63,18 +78,22 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
   final String tag;
   final T unit;
   final Constructor<T> constructor;
+  final MethodHandle allocator;
   Form<T>[] headers;
   Form<T>[] members;
+  FieldForm<T>[] memberFields;
 
   @SuppressWarnings("unchecked")
   ClassForm(Class<?> type, String tag, T unit, Constructor<T> constructor,
-            Form<T>[] headers, Form<T>[] members) {
+            MethodHandle allocator, Form<T>[] headers, Form<T>[] members) {
     this.type = type;
     this.tag = tag;
     this.unit = unit;
     this.constructor = constructor;
+    this.allocator = allocator;
     this.headers = headers;
     this.members = members;
+    this.memberFields = ClassForm.memberFields(members);
   }
 
   @SuppressWarnings("unchecked")
@@ -90,8 +109,10 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
       constructor = null;
     }
     this.constructor = constructor;
+    this.allocator = ClassForm.allocator(constructor);
     this.headers = (Form<T>[]) new Form<?>[0];
     this.members = (Form<T>[]) new Form<?>[0];
+    this.memberFields = ClassForm.memberFields(this.members);
   }
 
   @Override
@@ -101,7 +122,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> tag(String tag) {
-    return new ClassForm<T>(this.type, tag, this.unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, tag, this.unit, this.constructor, this.allocator, this.headers, this.members);
   }
 
   @Override
@@ -111,7 +132,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> unit(T unit) {
-    return new ClassForm<T>(this.type, this.tag, unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, this.tag, unit, this.constructor, this.allocator, this.headers, this.members);
   }
 
   @SuppressWarnings("unchecked")
@@ -166,6 +187,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
     System.arraycopy(oldMembers, 0, newMembers, 0, n);
     newMembers[n] = member;
     this.members = newMembers;
+    this.memberFields = ClassForm.memberFields(newMembers);
     return this;
   }
 
@@ -181,6 +203,7 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
           System.arraycopy(oldMembers, 0, newMembers, 0, n);
           newMembers[i] = member;
           this.members = newMembers;
+          this.memberFields = ClassForm.memberFields(newMembers);
           return this;
         }
       }
@@ -207,19 +230,55 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
     return this.type;
   }
 
+  /**
+   * Returns the number of members of this {@code ClassForm}, all of which are
+   * {@link SlotForm SlotForms} that codecs can write directly from the fields
+   * of an object, one slot at a time, without first molding the object into
+   * a {@code Record}; returns {@code -1} if some member has to be molded in
+   * the general manner.
+   */
+  public int memberSlotCount() {
+    final FieldForm<T>[] memberFields = this.memberFields;
+    if (memberFields != null) {
+      for (int i = 0, n = memberFields.length; i < n; i += 1) {
+        if (!(memberFields[i] instanceof SlotForm<?>)) {
+          return -1;
+        }
+      }
+      return memberFields.length;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the member slot at the given {@code index}, which must be less
+   * than the {@link #memberSlotCount() member slot count}.
+   */
+  public SlotForm<T> memberSlot(int index) {
+    return (SlotForm<T>) this.memberFields[index];
+  }
+
+  /**
+   * Returns the value of the tag attribute that {@code object} molds into,
+   * formed from the headers of this {@code ClassForm}.
+   */
+  public Value moldHeader(T object) {
+    Value header = Value.absent();
+    for (int i = 0, n = this.headers.length; i < n; i += 1) {
+      header = this.headers[i].mold(object, header).toValue();
+    }
+    if (!header.isDefined()) {
+      header = Value.extant();
+    }
+    return header;
+  }
+
   @Override
   public Item mold(T object, Item item) {
     if (object != null) {
       final Item head;
       if (this.tag != null) {
-        Value header = Value.absent();
-        for (int i = 0, n = this.headers.length; i < n; i += 1) {
-          header = this.headers[i].mold(object, header).toValue();
-        }
-        if (!header.isDefined()) {
-          header = Value.extant();
-        }
-        head = Attr.of(this.tag, header);
+        head = Attr.of(this.tag, this.moldHeader(object));
       } else {
         head = null;
       }
@@ -236,16 +295,21 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
   @Override
   public Item mold(T object) {
     if (object != null) {
-      final Item head;
-      if (this.tag != null) {
-        Value header = Value.absent();
-        for (int i = 0, n = this.headers.length; i < n; i += 1) {
-          header = this.headers[i].mold(object, header).toValue();
+      final FieldForm<T>[] memberFields = this.memberFields;
+      if (memberFields != null) {
+        final int n = memberFields.length;
+        final Record record = Record.create(this.tag != null ? 1 + n : n);
+        if (this.tag != null) {
+          record.attr(this.tag, this.moldHeader(object));
         }
-        if (!header.isDefined()) {
-          header = Value.extant();
+        for (int i = 0; i < n; i += 1) {
+          memberFields[i].moldField(object, record);
         }
-        head = Attr.of(this.tag, header);
+        return record;
+      }
+      final Item head;
+      if (this.tag != null) {
+        head = Attr.of(this.tag, this.moldHeader(object));
       } else {
         head = null;
       }
@@ -271,22 +335,100 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
       if (!header.isDefined()) {
         return null;
       }
-      for (int i = 0, n = this.headers.length; i < n; i += 1) {
-        object = this.headers[i].cast(header, object);
+      object = this.castHeader(header, object);
+    }
+    final FieldForm<T>[] memberFields = this.memberFields;
+    if (memberFields != null && value instanceof Record) {
+      this.castFields(memberFields, (Record) value, object);
+    } else {
+      for (int i = 0, n = this.members.length; i < n; i += 1) {
+        object = this.members[i].cast(value, object);
+      }
+    }
+    return object;
+  }
+
+  void castFields(FieldForm<T>[] memberFields, Record record, T object) {
+    int memberIndex = 0;
+    for (int i = 0, n = record.size(); i < n; i += 1) {
+      memberIndex = ClassForm.castField(memberFields, memberIndex, record.getItem(i), object);
+    }
+  }
+
+  /**
+   * Casts {@code item}, if it's a field, to the member with the same key,
+   * starting the search for the member at {@code memberIndex}; returns the
+   * index of the member expected to be cast next.
+   */
+  static <T> int castField(FieldForm<T>[] memberFields, int memberIndex, Item item, T object) {
+    if (item instanceof Field) {
+      final int memberCount = memberFields.length;
+      // Records molded by this form list members in declaration order,
+      // so check the next expected member before searching all members.
+      int j = memberIndex;
+      int k = 0;
+      while (k < memberCount && !item.keyEquals(memberFields[j].key())) {
+        j = j + 1 < memberCount ? j + 1 : 0;
+        k += 1;
+      }
+      if (k < memberCount) {
+        // The value of the last field with a given key wins.
+        memberFields[j].castField(item.toValue(), object);
+        return j + 1 < memberCount ? j + 1 : 0;
       }
     }
-    for (int i = 0, n = this.members.length; i < n; i += 1) {
-      object = this.members[i].cast(value, object);
+    return memberIndex;
+  }
+
+  T castHeader(Value header, T object) {
+    for (int i = 0, n = this.headers.length; i < n; i += 1) {
+      object = this.headers[i].cast(header, object);
     }
     return object;
   }
 
   @Override
   public T cast(Item item) {
-    if (this.constructor != null) {
+    final T object = this.create();
+    if (object != null) {
+      return this.cast(item, object);
+    }
+    return null;
+  }
+
+  /**
+   * Returns a new {@code Builder} that casts the items of a structure to a
+   * new instance of this {@code ClassForm}'s {@code Class} as they're parsed,
+   * when every member of this {@code ClassForm} is a {@code FieldForm} with
+   * a distinct key; returns {@code null} otherwise.
+   */
+  @Override
+  public Builder<Item, T> castBuilder() {
+    final FieldForm<T>[] memberFields = this.memberFields;
+    if (memberFields != null && (this.allocator != null || this.constructor != null)) {
+      return new ClassFormBuilder<T>(this, memberFields);
+    }
+    return null;
+  }
+
+  /**
+   * Returns a new instance of this {@code ClassForm}'s {@code Class}, or
+   * {@code null} if the {@code Class} has no nullary constructor.
+   */
+  @SuppressWarnings("unchecked")
+  T create() {
+    final MethodHandle allocator = this.allocator;
+    if (allocator != null) {
+      try {
+        return (T) (Object) allocator.invokeExact();
+      } catch (RuntimeException | Error cause) {
+        throw cause;
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+    } else if (this.constructor != null) {
       try {
-        final T object = this.constructor.newInstance();
-        return this.cast(item, object);
+        return this.constructor.newInstance();
       } catch (ReflectiveOperationException cause) {
         throw new FormException(cause);
       }
@@ -296,7 +438,52 @@ public final class ClassForm<T> extends Form<T> implements Cloneable {
 
   @Override
   public ClassForm<T> clone() {
-    return new ClassForm<T>(this.type, this.tag, this.unit, this.constructor, this.headers, this.members);
+    return new ClassForm<T>(this.type, this.tag, this.unit, this.constructor, this.allocator, this.headers, this.members);
+  }
+
+  static final MethodType ALLOCATOR_TYPE = MethodType.methodType(Object.class);
+
+  /**
+   * Returns a method handle that invokes {@code constructor}, adapted to
+   * return an erased object, or {@code null} if the constructor can only
+   * be invoked reflectively.
+   */
+  static MethodHandle allocator(Constructor<?> constructor) {
+    if (constructor != null) {
+      try {
+        ClassForm.class.getModule().addReads(constructor.getDeclaringClass().getModule());
+        return MethodHandles.lookup().unreflectConstructor(constructor).asType(ClassForm.ALLOCATOR_TYPE);
+      } catch (IllegalAccessException | SecurityException cause) {
+        // fall back to reflective construction
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns {@code members} as an array of {@code FieldForms} with distinct
+   * keys, all of whose fields can be read through method handles; returns
+   * {@code null} if some member is not such a {@code FieldForm}, in which
+   * case members have to be molded and cast one at a time.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> FieldForm<T>[] memberFields(Form<T>[] members) {
+    final int n = members.length;
+    final FieldForm<T>[] memberFields = (FieldForm<T>[]) new FieldForm<?>[n];
+    for (int i = 0; i < n; i += 1) {
+      final Form<T> member = members[i];
+      if (!(member instanceof FieldForm<?>) || ((FieldForm<T>) member).getter == null) {
+        return null;
+      }
+      final FieldForm<T> memberField = (FieldForm<T>) member;
+      for (int j = 0; j < i; j += 1) {
+        if (memberField.key().equals(memberFields[j].key())) {
+          return null;
+        }
+      }
+      memberFields[i] = memberField;
+    }
+    return memberFields;
   }
 
 }
@@ -0,0 +1,82 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.structure.form;
+
+import java.util.Collection;
+import swim.structure.Attr;
+import swim.structure.Item;
+import swim.util.Builder;
+
+/**
+ * Casts the items of a structure to a new object as they're parsed, without
+ * first accumulating them into a {@code Record}. Applies the same rules as
+ * {@link ClassForm#cast(Item)}: the head item has to be the tag attribute,
+ * if the form has a tag, and member fields are cast in a single pass.
+ */
+final class ClassFormBuilder<T> implements Builder<Item, T> {
+
+  final ClassForm<T> form;
+  final FieldForm<T>[] memberFields;
+  T object;
+  int memberIndex;
+  boolean invalid;
+
+  ClassFormBuilder(ClassForm<T> form, FieldForm<T>[] memberFields) {
+    this.form = form;
+    this.memberFields = memberFields;
+    this.object = null;
+    this.memberIndex = 0;
+    this.invalid = false;
+  }
+
+  @Override
+  public boolean add(Item item) {
+    if (this.invalid) {
+      return false;
+    } else if (this.object == null) {
+      final ClassForm<T> form = this.form;
+      this.object = form.create();
+      if (form.tag != null) {
+        if (item instanceof Attr && item.keyEquals(form.tag)) {
+          this.object = form.castHeader(item.toValue(), this.object);
+          return true;
+        } else {
+          this.object = null;
+          this.invalid = true;
+          return false;
+        }
+      }
+    }
+    this.memberIndex = ClassForm.castField(this.memberFields, this.memberIndex, item, this.object);
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Item> items) {
+    for (Item item : items) {
+      this.add(item);
+    }
+    return true;
+  }
+
+  @Override
+  public T bind() {
+    if (this.object == null && !this.invalid && this.form.tag == null) {
+      this.object = this.form.create();
+    }
+    return this.object;
+  }
+
+}
@@ -14,20 +14,79 @@
 
 package swim.structure.form;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import swim.structure.Form;
+import swim.structure.FormException;
 import swim.structure.Item;
+import swim.structure.Record;
 import swim.structure.Value;
 
 public abstract class FieldForm<T> extends Form<T> {
 
-  FieldForm() {
-    // sealed
+  final MethodHandle getter;
+  final MethodHandle setter;
+
+  FieldForm(java.lang.reflect.Field field) {
+    this.getter = FieldForm.getter(field);
+    this.setter = FieldForm.setter(field);
   }
 
   public abstract java.lang.reflect.Field field();
 
   public abstract Value key();
 
+  /**
+   * Returns the structural value of the field of {@code object} described by
+   * this {@code FieldForm}. Lets codecs write the field directly, without
+   * first molding {@code object} into a {@code Record}.
+   */
+  public abstract Value moldValue(T object);
+
+  /**
+   * Appends the field of {@code object} described by this {@code FieldForm}
+   * to {@code record}, without checking {@code record} for an existing field
+   * with the same key.
+   */
+  abstract void moldField(T object, Record record);
+
+  /**
+   * Casts {@code value} to the type of the field described by this {@code
+   * FieldForm}, and assigns the result to the field of {@code object};
+   * does nothing if {@code value} is not defined.
+   */
+  abstract void castField(Value value, T object);
+
+  Object getField(Object object) throws IllegalAccessException {
+    final MethodHandle getter = this.getter;
+    if (getter != null) {
+      try {
+        return (Object) getter.invokeExact(object);
+      } catch (RuntimeException | Error cause) {
+        throw cause;
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+    }
+    return this.field().get(object);
+  }
+
+  void setField(Object object, Object value) throws IllegalAccessException {
+    final MethodHandle setter = this.setter;
+    if (setter != null) {
+      try {
+        setter.invokeExact(object, value);
+        return;
+      } catch (RuntimeException | Error cause) {
+        throw cause;
+      } catch (Throwable cause) {
+        throw new FormException(cause);
+      }
+    }
+    this.field().set(object, value);
+  }
+
   @Override
   public abstract T cast(Item item, T object);
 
@@ -36,4 +95,37 @@ public abstract class FieldForm<T> extends Form<T> {
     return this.cast(item, null);
   }
 
+  static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  /**
+   * Returns a method handle that reads {@code field}, adapted to take and
+   * return erased objects, or {@code null} if the field can only be read
+   * reflectively. Method handles get inlined by the JIT compiler, avoiding
+   * the access checks and argument boxing of reflective field access.
+   */
+  static MethodHandle getter(java.lang.reflect.Field field) {
+    try {
+      FieldForm.class.getModule().addReads(field.getDeclaringClass().getModule());
+      return MethodHandles.lookup().unreflectGetter(field).asType(FieldForm.GETTER_TYPE);
+    } catch (IllegalAccessException | SecurityException cause) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a method handle that writes {@code field}, adapted to take
+   * erased objects, or {@code null} if the field can only be written
+   * reflectively.
+   */
+  static MethodHandle setter(java.lang.reflect.Field field) {
+    try {
+      FieldForm.class.getModule().addReads(field.getDeclaringClass().getModule());
+      return MethodHandles.lookup().unreflectSetter(field).asType(FieldForm.SETTER_TYPE);
+    } catch (IllegalAccessException | SecurityException cause) {
+      return null;
+    }
+  }
+
 }
@@ -29,6 +29,7 @@ public final class SlotForm<T> extends FieldForm<T> {
   final Form<?> form;
 
   public SlotForm(java.lang.reflect.Field field, Value key, Form<?> form) {
+    super(field);
     this.field = field;
     this.key = key.commit();
     this.form = form;
@@ -54,7 +55,7 @@ public final class SlotForm<T> extends FieldForm<T> {
   public Item mold(T object, Item item) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.getField(object)).toValue();
         if (item instanceof Field) {
           return ((Field) item).updatedValue(value);
         } else {
@@ -73,7 +74,7 @@ public final class SlotForm<T> extends FieldForm<T> {
   public Item mold(T object) {
     if (object != null) {
       try {
-        final Value value = ((Form<Object>) this.form).mold(this.field.get(object)).toValue();
+        final Value value = ((Form<Object>) this.form).mold(this.getField(object)).toValue();
         return Slot.of(this.key, value);
       } catch (IllegalAccessException cause) {
         return Item.absent();
@@ -89,10 +90,10 @@ public final class SlotForm<T> extends FieldForm<T> {
       if (item instanceof Record) {
         final Value value = item.get(this.key);
         if (value.isDefined()) {
-          this.field.set(object, this.form.cast(value));
+          this.setField(object, this.form.cast(value));
         }
       } else if (item.keyEquals(this.key)) {
-        this.field.set(object, this.form.cast(item.toValue()));
+        this.setField(object, this.form.cast(item.toValue()));
       }
     } catch (IllegalAccessException cause) {
       throw new FormException(cause);
@@ -100,4 +101,30 @@ public final class SlotForm<T> extends FieldForm<T> {
     return object;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public Value moldValue(T object) {
+    try {
+      return ((Form<Object>) this.form).mold(this.getField(object)).toValue();
+    } catch (IllegalAccessException cause) {
+      throw new FormException(cause);
+    }
+  }
+
+  @Override
+  void moldField(T object, Record record) {
+    record.slot(this.key, this.moldValue(object));
+  }
+
+  @Override
+  void castField(Value value, T object) {
+    if (value.isDefined()) {
+      try {
+        this.setField(object, this.form.cast(value));
+      } catch (IllegalAccessException cause) {
+        throw new FormException(cause);
+      }
+    }
+  }
+
 }
@@ -104,6 +104,18 @@ public class ClassFormSpec {
     assertEquals(chp.getLast(), hp.getLast());
   }
 
+  @Test
+  public void castsClassWithReorderedFields() {
+    assertCasts(Record.of(Attr.of("Person"), Slot.of("middle", "Q"), Slot.of("last", "Dumpty"), Slot.of("first", "Humpty")),
+                new Person("Humpty", "Dumpty"));
+  }
+
+  @Test
+  public void castsClassWithDuplicateFields() {
+    assertCasts(Record.of(Attr.of("Person"), Slot.of("first", "Humpty"), Slot.of("last", "Dumpty"), Slot.of("first", "Satona")),
+                new Person("Satona", "Dumpty"));
+  }
+
   @Test
   public void moldsClassWithPrimitiveHeaderFields() {
     assertMolds(new Point(2.5, 3.5),
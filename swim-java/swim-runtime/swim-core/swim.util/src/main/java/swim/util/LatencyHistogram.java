@@ -0,0 +1,259 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Lock-free, fixed-precision histogram of latencies, with microsecond
+ * resolution. Latencies are counted in log-linear buckets, in the manner
+ * of an HDR histogram: each power of two microseconds is split into {@link
+ * #SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error of
+ * reported percentiles to {@code 1 / SUB_BUCKET_COUNT}, regardless of
+ * magnitude. Latencies longer than {@link #MAX_MICROS} are counted in the
+ * highest bucket.
+ * <p>
+ * Recording a latency is a single atomic increment, and performs no
+ * allocation, beyond lazily allocating the bucket array on first use.
+ * Histograms are intended to be {@link #drain() drained} once per reporting
+ * interval, and the drained snapshots {@link #add(LatencyHistogram) added}
+ * into the histograms of enclosing scopes. Draining a histogram releases
+ * its bucket array, so histograms that go idle after a drain hold no
+ * buckets until they next record a latency.
+ */
+public final class LatencyHistogram {
+
+  volatile AtomicIntegerArray counts;
+  volatile long maxMicros;
+
+  public LatencyHistogram() {
+    this.counts = null;
+    this.maxMicros = 0L;
+  }
+
+  public boolean isEmpty() {
+    final AtomicIntegerArray counts = this.counts;
+    if (counts != null) {
+      for (int i = 0, n = counts.length(); i < n; i += 1) {
+        if (counts.get(i) != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the total number of latencies recorded by this histogram.
+   */
+  public long count() {
+    long count = 0L;
+    final AtomicIntegerArray counts = this.counts;
+    if (counts != null) {
+      for (int i = 0, n = counts.length(); i < n; i += 1) {
+        count += (long) counts.get(i);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the longest latency, in microseconds, recorded by this histogram.
+   */
+  public long maxMicros() {
+    return this.maxMicros;
+  }
+
+  /**
+   * Returns the latency, in microseconds, below which {@code percentile}
+   * percent of all recorded latencies fall; returns {@code 0} if this
+   * histogram is empty.
+   */
+  public long percentileMicros(double percentile) {
+    final AtomicIntegerArray counts = this.counts;
+    if (counts == null) {
+      return 0L;
+    }
+    final long count = this.count();
+    if (count == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) * (double) count / 100.0));
+    long total = 0L;
+    for (int i = 0, n = counts.length(); i < n; i += 1) {
+      total += (long) counts.get(i);
+      if (total >= rank) {
+        return Math.min(LatencyHistogram.highestMicros(i), this.maxMicros);
+      }
+    }
+    return this.maxMicros;
+  }
+
+  /**
+   * Records a latency of {@code nanos} nanoseconds.
+   */
+  public void record(long nanos) {
+    final long micros = Math.min(Math.max(0L, nanos / 1000L), LatencyHistogram.MAX_MICROS);
+    this.addCount(LatencyHistogram.bucketIndex(micros), 1);
+    this.updateMaxMicros(micros);
+  }
+
+  /**
+   * Adds all latencies recorded by {@code that} histogram to this histogram;
+   * does nothing if {@code that} is {@code null}.
+   */
+  public void add(LatencyHistogram that) {
+    if (that != null) {
+      final AtomicIntegerArray thoseCounts = that.counts;
+      if (thoseCounts != null) {
+        for (int i = 0, n = thoseCounts.length(); i < n; i += 1) {
+          final int count = thoseCounts.get(i);
+          if (count != 0) {
+            this.addCount(i, count);
+          }
+        }
+        this.updateMaxMicros(that.maxMicros);
+      }
+    }
+  }
+
+  /**
+   * Atomically moves all latencies recorded by this histogram into a new
+   * histogram, releasing the bucket array of this histogram, and returns the
+   * new histogram; returns {@code null} if this histogram is empty.
+   */
+  public LatencyHistogram drain() {
+    final AtomicIntegerArray counts = LatencyHistogram.COUNTS.getAndSet(this, null);
+    if (counts == null) {
+      return null;
+    }
+    AtomicIntegerArray snapshot = null;
+    for (int i = 0, n = counts.length(); i < n; i += 1) {
+      if (counts.get(i) != 0) {
+        final int count = counts.getAndSet(i, 0);
+        if (count != 0) {
+          if (snapshot == null) {
+            snapshot = new AtomicIntegerArray(LatencyHistogram.BUCKET_COUNT);
+          }
+          snapshot.set(i, count);
+        }
+      }
+    }
+    final long maxMicros = LatencyHistogram.MAX_MICROS_UPDATER.getAndSet(this, 0L);
+    if (snapshot != null) {
+      final LatencyHistogram histogram = new LatencyHistogram();
+      histogram.counts = snapshot;
+      histogram.maxMicros = maxMicros;
+      return histogram;
+    } else {
+      return null;
+    }
+  }
+
+  void addCount(int index, int count) {
+    AtomicIntegerArray counts = this.counts();
+    counts.addAndGet(index, count);
+    while (this.counts != counts) {
+      // A concurrent drain released the bucket array; move any of the count
+      // the drain didn't sweep into the current bucket array.
+      count = LatencyHistogram.takeCount(counts, index, count);
+      if (count == 0) {
+        break;
+      }
+      counts = this.counts();
+      counts.addAndGet(index, count);
+    }
+  }
+
+  AtomicIntegerArray counts() {
+    AtomicIntegerArray counts = this.counts;
+    if (counts == null) {
+      counts = new AtomicIntegerArray(LatencyHistogram.BUCKET_COUNT);
+      if (!LatencyHistogram.COUNTS.compareAndSet(this, null, counts)) {
+        counts = this.counts;
+      }
+    }
+    return counts;
+  }
+
+  void updateMaxMicros(long micros) {
+    do {
+      final long oldMaxMicros = LatencyHistogram.MAX_MICROS_UPDATER.get(this);
+      if (micros <= oldMaxMicros || LatencyHistogram.MAX_MICROS_UPDATER.compareAndSet(this, oldMaxMicros, micros)) {
+        break;
+      }
+    } while (true);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram(count: " + this.count()
+         + ", p50: " + this.percentileMicros(50.0)
+         + ", p99: " + this.percentileMicros(99.0)
+         + ", p999: " + this.percentileMicros(99.9)
+         + ", max: " + this.maxMicros + ')';
+  }
+
+  /**
+   * Number of linear sub-buckets into which each power of two microseconds
+   * is split.
+   */
+  public static final int SUB_BUCKET_COUNT = 16;
+
+  /**
+   * Longest latency, in microseconds, distinguished by a histogram.
+   */
+  public static final long MAX_MICROS = (1L << 31) - 1L;
+
+  static final int SUB_BUCKET_BITS = 4;
+
+  static final int BUCKET_COUNT = LatencyHistogram.bucketIndex(LatencyHistogram.MAX_MICROS) + 1;
+
+  static int bucketIndex(long micros) {
+    if (micros < (long) (SUB_BUCKET_COUNT << 1)) {
+      return (int) micros;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    return (shift << SUB_BUCKET_BITS) + (int) (micros >>> shift);
+  }
+
+  static int takeCount(AtomicIntegerArray counts, int index, int count) {
+    do {
+      final int oldCount = counts.get(index);
+      final int takeCount = Math.min(oldCount, count);
+      if (takeCount == 0 || counts.compareAndSet(index, oldCount, oldCount - takeCount)) {
+        return takeCount;
+      }
+    } while (true);
+  }
+
+  static long highestMicros(int index) {
+    if (index < SUB_BUCKET_COUNT << 1) {
+      return (long) index;
+    }
+    final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    final long mantissa = (long) ((index & (SUB_BUCKET_COUNT - 1)) | SUB_BUCKET_COUNT);
+    return ((mantissa + 1L) << shift) - 1L;
+  }
+
+  static final AtomicReferenceFieldUpdater<LatencyHistogram, AtomicIntegerArray> COUNTS =
+      AtomicReferenceFieldUpdater.newUpdater(LatencyHistogram.class, AtomicIntegerArray.class, "counts");
+
+  static final AtomicLongFieldUpdater<LatencyHistogram> MAX_MICROS_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(LatencyHistogram.class, "maxMicros");
+
+}
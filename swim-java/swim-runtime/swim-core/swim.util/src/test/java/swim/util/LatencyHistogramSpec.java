@@ -0,0 +1,155 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.util;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class LatencyHistogramSpec {
+
+  @Test
+  public void emptyHistogram() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertTrue(histogram.isEmpty());
+    assertEquals(histogram.count(), 0L);
+    assertEquals(histogram.percentileMicros(99.0), 0L);
+    assertNull(histogram.drain());
+  }
+
+  @Test
+  public void bucketIndexesAreContiguous() {
+    for (long micros = 1L; micros <= 1L << 20; micros += 1L) {
+      final int index = LatencyHistogram.bucketIndex(micros);
+      final int prevIndex = LatencyHistogram.bucketIndex(micros - 1L);
+      assertTrue(index == prevIndex || index == prevIndex + 1, "micros: " + micros);
+      assertTrue(LatencyHistogram.highestMicros(index) >= micros, "micros: " + micros);
+      if (index > 0) {
+        assertTrue(LatencyHistogram.highestMicros(index - 1) < micros, "micros: " + micros);
+      }
+    }
+    assertEquals(LatencyHistogram.highestMicros(LatencyHistogram.BUCKET_COUNT - 1), LatencyHistogram.MAX_MICROS);
+  }
+
+  @Test
+  public void recordExactSmallLatencies() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10; i += 1) {
+      histogram.record(i * 1000L);
+    }
+    assertEquals(histogram.count(), 10L);
+    assertEquals(histogram.percentileMicros(50.0), 5L);
+    assertEquals(histogram.percentileMicros(100.0), 10L);
+    assertEquals(histogram.maxMicros(), 10L);
+  }
+
+  @Test
+  public void boundRelativeErrorOfPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1L; micros <= 100000L; micros += 1L) {
+      histogram.record(micros * 1000L);
+    }
+    final long p50 = histogram.percentileMicros(50.0);
+    final long p99 = histogram.percentileMicros(99.0);
+    final long p999 = histogram.percentileMicros(99.9);
+    assertTrue(Math.abs(p50 - 50000L) <= 50000L / LatencyHistogram.SUB_BUCKET_COUNT, "p50: " + p50);
+    assertTrue(Math.abs(p99 - 99000L) <= 99000L / LatencyHistogram.SUB_BUCKET_COUNT, "p99: " + p99);
+    assertTrue(Math.abs(p999 - 99900L) <= 99900L / LatencyHistogram.SUB_BUCKET_COUNT, "p999: " + p999);
+    assertEquals(histogram.percentileMicros(100.0), 100000L);
+  }
+
+  @Test
+  public void clampLongLatencies() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+    histogram.record(-1L);
+    assertEquals(histogram.count(), 2L);
+    assertEquals(histogram.maxMicros(), LatencyHistogram.MAX_MICROS);
+    assertEquals(histogram.percentileMicros(50.0), 0L);
+    assertEquals(histogram.percentileMicros(100.0), LatencyHistogram.MAX_MICROS);
+  }
+
+  @Test
+  public void drainAndAddHistograms() {
+    final LatencyHistogram lane = new LatencyHistogram();
+    final LatencyHistogram node = new LatencyHistogram();
+    lane.record(1000L);
+    lane.record(2000000L);
+    final LatencyHistogram snapshot = lane.drain();
+    assertTrue(lane.isEmpty());
+    assertEquals(lane.maxMicros(), 0L);
+    assertEquals(snapshot.count(), 2L);
+    node.add(snapshot);
+    node.add(null);
+    lane.record(3000L);
+    node.add(lane.drain());
+    assertEquals(node.count(), 3L);
+    assertEquals(node.maxMicros(), snapshot.maxMicros());
+    assertEquals(node.percentileMicros(50.0), 3L);
+  }
+
+  @Test
+  public void releaseBucketsOnDrain() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1000L);
+    assertNotNull(histogram.counts);
+    assertEquals(histogram.drain().count(), 1L);
+    assertNull(histogram.counts);
+    assertNull(histogram.drain());
+    assertNull(histogram.counts);
+  }
+
+  @Test
+  public void countLatenciesRecordedConcurrentlyWithDrains() throws InterruptedException {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    final int threadCount = 4;
+    final int recordCount = 100000;
+    final Thread[] recorders = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t += 1) {
+      recorders[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < recordCount; i += 1) {
+            histogram.record((long) (i % 64) * 1000L);
+          }
+        }
+      };
+      recorders[t].start();
+    }
+    long count = 0L;
+    boolean recording = true;
+    while (recording) {
+      recording = false;
+      for (int t = 0; t < threadCount; t += 1) {
+        recording |= recorders[t].isAlive();
+      }
+      final LatencyHistogram snapshot = histogram.drain();
+      if (snapshot != null) {
+        count += snapshot.count();
+      }
+    }
+    for (int t = 0; t < threadCount; t += 1) {
+      recorders[t].join();
+    }
+    final LatencyHistogram snapshot = histogram.drain();
+    if (snapshot != null) {
+      count += snapshot.count();
+    }
+    assertEquals(count, (long) threadCount * (long) recordCount);
+  }
+
+}
@@ -0,0 +1,112 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+
+/**
+ * Newline delimited envelope batches, carried in WebSocket text frames on
+ * connections that negotiate the {@link #PROTOCOL} subprotocol. A batch
+ * consists of one or more compact Recon envelopes, separated by newline
+ * characters. Compact Recon never contains raw newlines, and a newline byte
+ * never occurs inside a UTF-8 multibyte sequence, so batches can be split
+ * into envelopes without parsing them.
+ * <p>
+ * A batch decoder completes with the last envelope in its message, and
+ * queues any preceding envelopes, in order, to be retrieved with {@link
+ * #poll()} before the decoded envelope is dispatched. A {@code
+ * BatchEnvelopeCodec} must therefore be used for exactly one connection.
+ */
+public final class BatchEnvelopeCodec {
+
+  final ArrayDeque<Envelope> inputEnvelopes;
+
+  public BatchEnvelopeCodec() {
+    this.inputEnvelopes = new ArrayDeque<Envelope>();
+  }
+
+  /**
+   * Returns an {@code Encoder} that writes the given {@code envelopes} as
+   * a single newline delimited batch, and which binds the last envelope.
+   */
+  public Encoder<?, Envelope> encoder(Envelope... envelopes) {
+    if (envelopes.length == 0) {
+      throw new IllegalArgumentException("empty batch");
+    }
+    return new BatchEnvelopeEncoder(envelopes);
+  }
+
+  /**
+   * Returns a {@code Decoder} that reads a batch of envelopes from a complete
+   * message payload, binding the last envelope in the batch, and queueing all
+   * preceding envelopes for retrieval by {@link #poll()}.
+   */
+  public Decoder<Envelope> decoder() {
+    return new BatchEnvelopeDecoder(this);
+  }
+
+  /**
+   * Returns and removes the next envelope that preceded the last envelope in
+   * the most recently decoded batch; returns {@code null} when no preceding
+   * envelopes remain.
+   */
+  public Envelope poll() {
+    return this.inputEnvelopes.poll();
+  }
+
+  Envelope readBatch(ByteBuffer buffer) {
+    final int limit = buffer.limit();
+    Envelope envelope = null;
+    int offset = buffer.position();
+    while (offset < limit) {
+      int end = offset;
+      while (end < limit && buffer.get(end) != '\n') {
+        end += 1;
+      }
+      if (end > offset) {
+        if (envelope != null) {
+          this.inputEnvelopes.add(envelope);
+        }
+        buffer.limit(end).position(offset);
+        envelope = BatchEnvelopeCodec.readEnvelope(buffer);
+        buffer.limit(limit);
+      }
+      offset = end + 1;
+    }
+    if (envelope == null) {
+      throw new WarpException("empty batch");
+    }
+    return envelope;
+  }
+
+  static Envelope readEnvelope(ByteBuffer buffer) {
+    final String recon = StandardCharsets.UTF_8.decode(buffer).toString();
+    final Envelope envelope = Envelope.parseRecon(recon);
+    if (envelope == null) {
+      throw new WarpException("unknown envelope: " + recon);
+    }
+    return envelope;
+  }
+
+  /**
+   * WebSocket subprotocol that selects newline delimited envelope batches.
+   */
+  public static final String PROTOCOL = "warp0-batch";
+
+}
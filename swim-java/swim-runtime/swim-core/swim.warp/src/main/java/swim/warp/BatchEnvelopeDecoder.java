@@ -0,0 +1,68 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.structure.Data;
+
+final class BatchEnvelopeDecoder extends Decoder<Envelope> {
+
+  final BatchEnvelopeCodec codec;
+  final Data data;
+
+  BatchEnvelopeDecoder(BatchEnvelopeCodec codec, Data data) {
+    this.codec = codec;
+    this.data = data;
+  }
+
+  BatchEnvelopeDecoder(BatchEnvelopeCodec codec) {
+    this(codec, null);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return BatchEnvelopeDecoder.decode(input, this.codec, this.data);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, BatchEnvelopeCodec codec, Data data) {
+    if (data == null) {
+      data = Data.create();
+    }
+    if (input.hasArray()) {
+      final int size = input.remaining();
+      if (size > 0) {
+        data.addByteArray(input.array(), input.arrayOffset() + input.index(), size);
+        input.index(input.index() + size);
+      }
+    } else {
+      while (input.isCont()) {
+        data.addByte((byte) input.head());
+        input = input.step();
+      }
+    }
+    if (input.isDone()) {
+      try {
+        return Decoder.done(codec.readBatch(data.asByteBuffer()));
+      } catch (RuntimeException cause) {
+        return Decoder.error(cause);
+      }
+    } else if (input.isError()) {
+      return Decoder.error(input.trap());
+    }
+    return new BatchEnvelopeDecoder(codec, data);
+  }
+
+}
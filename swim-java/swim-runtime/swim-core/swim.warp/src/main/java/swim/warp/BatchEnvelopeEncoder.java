@@ -0,0 +1,78 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+final class BatchEnvelopeEncoder extends Encoder<Envelope, Envelope> {
+
+  final Envelope[] envelopes;
+  final int index;
+  final Encoder<?, ?> input;
+
+  BatchEnvelopeEncoder(Envelope[] envelopes, int index, Encoder<?, ?> input) {
+    this.envelopes = envelopes;
+    this.index = index;
+    this.input = input;
+  }
+
+  BatchEnvelopeEncoder(Envelope[] envelopes) {
+    this(envelopes, 0, null);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return BatchEnvelopeEncoder.encode(output, this.envelopes, this.index, this.input);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> feed(Envelope envelope) {
+    return new BatchEnvelopeEncoder(new Envelope[] {envelope});
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope[] envelopes,
+                                            int index, Encoder<?, ?> input) {
+    while (index < envelopes.length) {
+      if (input == null) {
+        if (index > 0) {
+          // A pending newline precedes every envelope but the first.
+          if (!output.isCont()) {
+            break;
+          }
+          output = output.write('\n');
+        }
+        input = envelopes[index].writeReconEncoded(output);
+      } else {
+        input = input.pull(output);
+      }
+      if (input.isDone()) {
+        index += 1;
+        input = null;
+      } else if (input.isError()) {
+        return Encoder.error(input.trap());
+      } else {
+        break;
+      }
+    }
+    if (index == envelopes.length) {
+      return Encoder.done(envelopes[index - 1]);
+    } else if (output.isError()) {
+      return Encoder.error(output.trap());
+    }
+    return new BatchEnvelopeEncoder(envelopes, index, input);
+  }
+
+}
@@ -0,0 +1,144 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.recon.Recon;
+import swim.uri.Uri;
+
+/**
+ * Compact binary envelope encoding, carried in WebSocket binary frames on
+ * connections that negotiate the {@link #PROTOCOL} subprotocol. A binary
+ * envelope consists of a magic byte, an envelope type byte, the node and
+ * lane URIs of lane addressed envelopes, the priority and rate of link
+ * addressed envelopes, and a tagged binary body value.
+ * <p>
+ * Node and lane URIs are interned in a per-connection dictionary the first
+ * time they're sent, and subsequent occurrences are sent as varint
+ * dictionary references. Because the dictionaries are connection state,
+ * a {@code BinaryEnvelopeCodec} must be used for exactly one connection,
+ * and envelopes must be encoded and decoded in wire order. Decoders fall
+ * back to parsing Recon for messages that don't begin with the binary
+ * envelope magic byte, so peers may freely mix text and binary frames.
+ */
+public final class BinaryEnvelopeCodec {
+
+  final HashMap<Uri, Integer> outputUris;
+  final ArrayList<Uri> inputUris;
+
+  public BinaryEnvelopeCodec() {
+    this.outputUris = new HashMap<Uri, Integer>();
+    this.inputUris = new ArrayList<Uri>();
+  }
+
+  /**
+   * Returns an {@code Encoder} that writes the binary encoding of the given
+   * {@code envelope}. URIs are interned when the encoder is first pulled,
+   * so encoders must be pulled in the order their output is transmitted.
+   */
+  public Encoder<?, Envelope> encoder(Envelope envelope) {
+    return new BinaryEnvelopeEncoder(this, envelope);
+  }
+
+  /**
+   * Returns a {@code Decoder} that reads a single binary, or Recon, envelope
+   * from a complete message payload.
+   */
+  public Decoder<Envelope> decoder() {
+    return new BinaryEnvelopeDecoder(this);
+  }
+
+  byte[] writeEnvelope(Envelope envelope) {
+    final BinaryEnvelopeWriter writer = new BinaryEnvelopeWriter(this);
+    writer.writeEnvelope(envelope);
+    return Arrays.copyOf(writer.array, writer.size);
+  }
+
+  Envelope readEnvelope(ByteBuffer buffer) {
+    if (buffer.remaining() > 0 && buffer.get(buffer.position()) == BinaryEnvelopeCodec.MAGIC) {
+      final BinaryEnvelopeReader reader = new BinaryEnvelopeReader(this, buffer);
+      return reader.readEnvelope();
+    } else {
+      final String recon = StandardCharsets.UTF_8.decode(buffer).toString();
+      final Envelope envelope = Envelope.parseRecon(recon);
+      if (envelope == null) {
+        throw new WarpException("unknown envelope: " + recon);
+      }
+      return envelope;
+    }
+  }
+
+  /**
+   * WebSocket subprotocol that selects binary envelope encoding.
+   */
+  public static final String PROTOCOL = "warp0-binary";
+
+  static final byte MAGIC = (byte) 0xB7; // UTF-8 continuation byte; never starts a Recon envelope
+
+  static final int EVENT = 0x01;
+  static final int COMMAND = 0x02;
+  static final int LINK = 0x03;
+  static final int LINKED = 0x04;
+  static final int SYNC = 0x05;
+  static final int SYNCED = 0x06;
+  static final int UNLINK = 0x07;
+  static final int UNLINKED = 0x08;
+  static final int AUTH = 0x09;
+  static final int AUTHED = 0x0A;
+  static final int DEAUTH = 0x0B;
+  static final int DEAUTHED = 0x0C;
+
+  static final int URI_DEFINE = 0x00;
+  static final int URI_LITERAL = 0x01;
+  static final int URI_REF_BASE = 0x02;
+
+  static final int ABSENT = 0x00;
+  static final int EXTANT = 0x01;
+  static final int FALSE = 0x02;
+  static final int TRUE = 0x03;
+  static final int INT32 = 0x04;
+  static final int INT64 = 0x05;
+  static final int FLOAT32 = 0x06;
+  static final int FLOAT64 = 0x07;
+  static final int BIGINT = 0x08;
+  static final int TEXT = 0x09;
+  static final int DATA = 0x0A;
+  static final int RECORD = 0x0B;
+  static final int ATTR = 0x0C;
+  static final int SLOT = 0x0D;
+  static final int RECON = 0x0E;
+
+  /**
+   * Maximum number of URIs interned in each direction of a connection.
+   */
+  static final int MAX_URI_COUNT = 4096;
+
+  /**
+   * Maximum UTF-8 size of interned URIs.
+   */
+  static final int MAX_URI_SIZE = 512;
+
+  /**
+   * Maximum nesting depth of records in decoded envelope bodies.
+   */
+  static final int MAX_DEPTH = 256;
+
+}
@@ -0,0 +1,70 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.Writer;
+
+final class BinaryEnvelopeEncoder extends Encoder<Envelope, Envelope> {
+
+  final BinaryEnvelopeCodec codec;
+  final Envelope envelope;
+  final Writer<?, ?> input;
+
+  BinaryEnvelopeEncoder(BinaryEnvelopeCodec codec, Envelope envelope, Writer<?, ?> input) {
+    this.codec = codec;
+    this.envelope = envelope;
+    this.input = input;
+  }
+
+  BinaryEnvelopeEncoder(BinaryEnvelopeCodec codec, Envelope envelope) {
+    this(codec, envelope, null);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> pull(OutputBuffer<?> output) {
+    return BinaryEnvelopeEncoder.encode(output, this.codec, this.envelope, this.input);
+  }
+
+  @Override
+  public Encoder<Envelope, Envelope> feed(Envelope envelope) {
+    return new BinaryEnvelopeEncoder(this.codec, envelope);
+  }
+
+  static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, BinaryEnvelopeCodec codec,
+                                            Envelope envelope, Writer<?, ?> input) {
+    if (input == null) {
+      // Serialize on first pull so that URIs are interned in wire order.
+      try {
+        input = Binary.writeByteArray(output, codec.writeEnvelope(envelope));
+      } catch (RuntimeException cause) {
+        return Encoder.error(cause);
+      }
+    } else {
+      input = input.pull(output);
+    }
+    if (input.isDone()) {
+      return Encoder.done(envelope);
+    } else if (input.isError()) {
+      return Encoder.error(input.trap());
+    } else if (output.isError()) {
+      return Encoder.error(output.trap());
+    }
+    return new BinaryEnvelopeEncoder(codec, envelope, input);
+  }
+
+}
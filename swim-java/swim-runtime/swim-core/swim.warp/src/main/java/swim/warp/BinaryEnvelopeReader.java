@@ -0,0 +1,202 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+final class BinaryEnvelopeReader {
+
+  final BinaryEnvelopeCodec codec;
+  final ByteBuffer buffer;
+  int depth;
+
+  BinaryEnvelopeReader(BinaryEnvelopeCodec codec, ByteBuffer buffer) {
+    this.codec = codec;
+    this.buffer = buffer;
+    this.depth = 0;
+  }
+
+  Envelope readEnvelope() {
+    final byte magic = this.buffer.get();
+    if (magic != BinaryEnvelopeCodec.MAGIC) {
+      throw new WarpException("invalid binary envelope magic: " + (magic & 0xFF));
+    }
+    final int type = this.buffer.get() & 0xFF;
+    switch (type) {
+      case BinaryEnvelopeCodec.EVENT:
+        return new EventMessage(this.readUri(), this.readUri(), this.readBody());
+      case BinaryEnvelopeCodec.COMMAND:
+        return new CommandMessage(this.readUri(), this.readUri(), this.readBody());
+      case BinaryEnvelopeCodec.LINK:
+        return new LinkRequest(this.readUri(), this.readUri(), this.readFloat(), this.readFloat(), this.readBody());
+      case BinaryEnvelopeCodec.LINKED:
+        return new LinkedResponse(this.readUri(), this.readUri(), this.readFloat(), this.readFloat(), this.readBody());
+      case BinaryEnvelopeCodec.SYNC:
+        return new SyncRequest(this.readUri(), this.readUri(), this.readFloat(), this.readFloat(), this.readBody());
+      case BinaryEnvelopeCodec.SYNCED:
+        return new SyncedResponse(this.readUri(), this.readUri(), this.readBody());
+      case BinaryEnvelopeCodec.UNLINK:
+        return new UnlinkRequest(this.readUri(), this.readUri(), this.readBody());
+      case BinaryEnvelopeCodec.UNLINKED:
+        return new UnlinkedResponse(this.readUri(), this.readUri(), this.readBody());
+      case BinaryEnvelopeCodec.AUTH:
+        return new AuthRequest(this.readBody());
+      case BinaryEnvelopeCodec.AUTHED:
+        return new AuthedResponse(this.readBody());
+      case BinaryEnvelopeCodec.DEAUTH:
+        return new DeauthRequest(this.readBody());
+      case BinaryEnvelopeCodec.DEAUTHED:
+        return new DeauthedResponse(this.readBody());
+      default:
+        throw new WarpException("unknown binary envelope type: " + type);
+    }
+  }
+
+  Uri readUri() {
+    final long header = this.readVarUint();
+    if (header >= BinaryEnvelopeCodec.URI_REF_BASE) {
+      final long id = header - BinaryEnvelopeCodec.URI_REF_BASE;
+      if (id >= this.codec.inputUris.size()) {
+        throw new WarpException("undefined binary envelope uri: " + id);
+      }
+      return this.codec.inputUris.get((int) id);
+    }
+    final byte[] bytes = this.readBytes();
+    final Uri uri = Uri.parse(new String(bytes, StandardCharsets.UTF_8));
+    if (header == BinaryEnvelopeCodec.URI_DEFINE) {
+      if (this.codec.inputUris.size() >= BinaryEnvelopeCodec.MAX_URI_COUNT
+          || bytes.length > BinaryEnvelopeCodec.MAX_URI_SIZE) {
+        throw new WarpException("binary envelope uri dictionary overflow");
+      }
+      this.codec.inputUris.add(uri);
+    }
+    return uri;
+  }
+
+  Value readBody() {
+    return this.readValue(this.buffer.get() & 0xFF);
+  }
+
+  Item readItem() {
+    final int tag = this.buffer.get() & 0xFF;
+    if (tag == BinaryEnvelopeCodec.ATTR) {
+      final String key = new String(this.readBytes(), StandardCharsets.UTF_8);
+      final Value value = this.readValue(this.buffer.get() & 0xFF);
+      return Attr.of(key, value);
+    } else if (tag == BinaryEnvelopeCodec.SLOT) {
+      final Value key = this.readValue(this.buffer.get() & 0xFF);
+      final Value value = this.readValue(this.buffer.get() & 0xFF);
+      return Slot.of(key, value);
+    } else {
+      return this.readValue(tag);
+    }
+  }
+
+  Value readValue(int tag) {
+    switch (tag) {
+      case BinaryEnvelopeCodec.ABSENT:
+        return Value.absent();
+      case BinaryEnvelopeCodec.EXTANT:
+        return Value.extant();
+      case BinaryEnvelopeCodec.FALSE:
+        return Bool.from(false);
+      case BinaryEnvelopeCodec.TRUE:
+        return Bool.from(true);
+      case BinaryEnvelopeCodec.INT32:
+        return Num.from((int) this.readVarInt());
+      case BinaryEnvelopeCodec.INT64:
+        return Num.from(this.readVarInt());
+      case BinaryEnvelopeCodec.FLOAT32:
+        return Num.from(this.readFloat());
+      case BinaryEnvelopeCodec.FLOAT64:
+        return Num.from(Double.longBitsToDouble(this.buffer.getLong()));
+      case BinaryEnvelopeCodec.BIGINT:
+        return Num.from(new BigInteger(this.readBytes()));
+      case BinaryEnvelopeCodec.TEXT:
+        return Text.from(new String(this.readBytes(), StandardCharsets.UTF_8));
+      case BinaryEnvelopeCodec.DATA:
+        return Data.wrap(this.readBytes());
+      case BinaryEnvelopeCodec.RECORD:
+        return this.readRecord();
+      case BinaryEnvelopeCodec.RECON:
+        return Recon.parse(new String(this.readBytes(), StandardCharsets.UTF_8));
+      default:
+        throw new WarpException("unknown binary envelope value tag: " + tag);
+    }
+  }
+
+  Record readRecord() {
+    final int n = (int) this.readVarUint();
+    if (n < 0 || n > this.buffer.remaining()) {
+      throw new WarpException("invalid binary envelope record size: " + n);
+    }
+    if (this.depth >= BinaryEnvelopeCodec.MAX_DEPTH) {
+      // Fail hostile frames before nesting can overflow the stack.
+      throw new WarpException("binary envelope nested too deeply");
+    }
+    this.depth += 1;
+    final Record record = Record.create(n);
+    for (int i = 0; i < n; i += 1) {
+      record.add(this.readItem());
+    }
+    this.depth -= 1;
+    return record;
+  }
+
+  byte[] readBytes() {
+    final long n = this.readVarUint();
+    if (n < 0L || n > this.buffer.remaining()) {
+      throw new WarpException("invalid binary envelope length: " + n);
+    }
+    final byte[] bytes = new byte[(int) n];
+    this.buffer.get(bytes);
+    return bytes;
+  }
+
+  float readFloat() {
+    return Float.intBitsToFloat(this.buffer.getInt());
+  }
+
+  long readVarInt() {
+    final long value = this.readVarUint();
+    return (value >>> 1) ^ -(value & 1L);
+  }
+
+  long readVarUint() {
+    long value = 0L;
+    int shift = 0;
+    int b;
+    do {
+      b = this.buffer.get() & 0xFF;
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0 && shift < 64);
+    return value;
+  }
+
+}
@@ -0,0 +1,224 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Item;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+
+final class BinaryEnvelopeWriter {
+
+  final BinaryEnvelopeCodec codec;
+  byte[] array;
+  int size;
+
+  BinaryEnvelopeWriter(BinaryEnvelopeCodec codec) {
+    this.codec = codec;
+    this.array = new byte[64];
+    this.size = 0;
+  }
+
+  void writeEnvelope(Envelope envelope) {
+    this.writeByte(BinaryEnvelopeCodec.MAGIC);
+    if (envelope instanceof LaneAddressed) {
+      this.writeByte(BinaryEnvelopeWriter.typeOf(envelope));
+      this.writeUri(envelope.nodeUri());
+      this.writeUri(envelope.laneUri());
+      if (envelope instanceof LinkAddressed) {
+        final LinkAddressed link = (LinkAddressed) envelope;
+        this.writeInt(Float.floatToIntBits(link.prio()));
+        this.writeInt(Float.floatToIntBits(link.rate()));
+      }
+    } else {
+      this.writeByte(BinaryEnvelopeWriter.typeOf(envelope));
+    }
+    final EncodedBody encodedBody = envelope instanceof LaneAddressed ? ((LaneAddressed) envelope).encodedBody : null;
+    if (encodedBody != null) {
+      final byte[] body = encodedBody.binary();
+      this.ensureCapacity(body.length);
+      System.arraycopy(body, 0, this.array, this.size, body.length);
+      this.size += body.length;
+    } else {
+      this.writeValue(envelope.body());
+    }
+  }
+
+  void writeUri(Uri uri) {
+    final Integer id = this.codec.outputUris.get(uri);
+    if (id != null) {
+      this.writeVarUint(BinaryEnvelopeCodec.URI_REF_BASE + id.longValue());
+    } else {
+      final byte[] bytes = uri.toString().getBytes(StandardCharsets.UTF_8);
+      final int count = this.codec.outputUris.size();
+      if (count < BinaryEnvelopeCodec.MAX_URI_COUNT && bytes.length <= BinaryEnvelopeCodec.MAX_URI_SIZE) {
+        this.codec.outputUris.put(uri, count);
+        this.writeVarUint(BinaryEnvelopeCodec.URI_DEFINE);
+      } else {
+        this.writeVarUint(BinaryEnvelopeCodec.URI_LITERAL);
+      }
+      this.writeBytes(bytes);
+    }
+  }
+
+  void writeItem(Item item) {
+    if (item instanceof Attr) {
+      final Attr attr = (Attr) item;
+      this.writeByte(BinaryEnvelopeCodec.ATTR);
+      this.writeBytes(attr.key().stringValue().getBytes(StandardCharsets.UTF_8));
+      this.writeValue(attr.value());
+    } else if (item instanceof Slot) {
+      final Slot slot = (Slot) item;
+      this.writeByte(BinaryEnvelopeCodec.SLOT);
+      this.writeValue(slot.key());
+      this.writeValue(slot.value());
+    } else {
+      this.writeValue(item.toValue());
+    }
+  }
+
+  void writeValue(Value value) {
+    if (value instanceof Record) {
+      final Record record = (Record) value;
+      final int n = record.size();
+      this.writeByte(BinaryEnvelopeCodec.RECORD);
+      this.writeVarUint(n);
+      for (int i = 0; i < n; i += 1) {
+        this.writeItem(record.getItem(i));
+      }
+    } else if (value instanceof Text) {
+      this.writeByte(BinaryEnvelopeCodec.TEXT);
+      this.writeBytes(value.stringValue().getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof Num) {
+      this.writeNum((Num) value);
+    } else if (value instanceof Data) {
+      this.writeByte(BinaryEnvelopeCodec.DATA);
+      this.writeBytes(((Data) value).toByteArray());
+    } else if (value instanceof Bool) {
+      this.writeByte(value.booleanValue() ? BinaryEnvelopeCodec.TRUE : BinaryEnvelopeCodec.FALSE);
+    } else if (!value.isDefined()) {
+      this.writeByte(BinaryEnvelopeCodec.ABSENT);
+    } else if (!value.isDistinct()) {
+      this.writeByte(BinaryEnvelopeCodec.EXTANT);
+    } else {
+      this.writeByte(BinaryEnvelopeCodec.RECON);
+      this.writeBytes(Recon.toString(value).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  void writeNum(Num num) {
+    final Number number = num.numberValue();
+    if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+      this.writeByte(BinaryEnvelopeCodec.INT32);
+      this.writeVarInt(number.intValue());
+    } else if (number instanceof Long) {
+      this.writeByte(BinaryEnvelopeCodec.INT64);
+      this.writeVarInt(number.longValue());
+    } else if (number instanceof Float) {
+      this.writeByte(BinaryEnvelopeCodec.FLOAT32);
+      this.writeInt(Float.floatToIntBits(number.floatValue()));
+    } else if (number instanceof Double) {
+      this.writeByte(BinaryEnvelopeCodec.FLOAT64);
+      this.writeLong(Double.doubleToLongBits(number.doubleValue()));
+    } else {
+      this.writeByte(BinaryEnvelopeCodec.BIGINT);
+      this.writeBytes(num.integerValue().toByteArray());
+    }
+  }
+
+  void writeBytes(byte[] bytes) {
+    this.writeVarUint(bytes.length);
+    this.ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, this.array, this.size, bytes.length);
+    this.size += bytes.length;
+  }
+
+  void writeVarInt(long value) {
+    this.writeVarUint((value << 1) ^ (value >> 63));
+  }
+
+  void writeVarUint(long value) {
+    while ((value & ~0x7FL) != 0L) {
+      this.writeByte((int) (value & 0x7FL) | 0x80);
+      value >>>= 7;
+    }
+    this.writeByte((int) value);
+  }
+
+  void writeInt(int value) {
+    this.writeByte(value >>> 24);
+    this.writeByte(value >>> 16);
+    this.writeByte(value >>> 8);
+    this.writeByte(value);
+  }
+
+  void writeLong(long value) {
+    this.writeInt((int) (value >>> 32));
+    this.writeInt((int) value);
+  }
+
+  void writeByte(int b) {
+    this.ensureCapacity(1);
+    this.array[this.size] = (byte) b;
+    this.size += 1;
+  }
+
+  void ensureCapacity(int count) {
+    final int minCapacity = this.size + count;
+    if (minCapacity > this.array.length) {
+      this.array = Arrays.copyOf(this.array, Math.max(minCapacity, this.array.length << 1));
+    }
+  }
+
+  static int typeOf(Envelope envelope) {
+    if (envelope instanceof EventMessage) {
+      return BinaryEnvelopeCodec.EVENT;
+    } else if (envelope instanceof CommandMessage) {
+      return BinaryEnvelopeCodec.COMMAND;
+    } else if (envelope instanceof LinkRequest) {
+      return BinaryEnvelopeCodec.LINK;
+    } else if (envelope instanceof LinkedResponse) {
+      return BinaryEnvelopeCodec.LINKED;
+    } else if (envelope instanceof SyncRequest) {
+      return BinaryEnvelopeCodec.SYNC;
+    } else if (envelope instanceof SyncedResponse) {
+      return BinaryEnvelopeCodec.SYNCED;
+    } else if (envelope instanceof UnlinkRequest) {
+      return BinaryEnvelopeCodec.UNLINK;
+    } else if (envelope instanceof UnlinkedResponse) {
+      return BinaryEnvelopeCodec.UNLINKED;
+    } else if (envelope instanceof AuthRequest) {
+      return BinaryEnvelopeCodec.AUTH;
+    } else if (envelope instanceof AuthedResponse) {
+      return BinaryEnvelopeCodec.AUTHED;
+    } else if (envelope instanceof DeauthRequest) {
+      return BinaryEnvelopeCodec.DEAUTH;
+    } else if (envelope instanceof DeauthedResponse) {
+      return BinaryEnvelopeCodec.DEAUTHED;
+    } else {
+      throw new WarpException("unsupported envelope: " + envelope);
+    }
+  }
+
+}
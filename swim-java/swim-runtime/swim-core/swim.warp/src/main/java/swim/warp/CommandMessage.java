@@ -21,6 +21,10 @@ import swim.uri.Uri;
 
 public final class CommandMessage extends LaneAddressed {
 
+  public CommandMessage(Uri nodeUri, Uri laneUri, EncodedBody body) {
+    super(nodeUri, laneUri, body);
+  }
+
   public CommandMessage(Uri nodeUri, Uri laneUri, Value body) {
     super(nodeUri, laneUri, body);
   }
@@ -49,12 +53,20 @@ public final class CommandMessage extends LaneAddressed {
 
   @Override
   public CommandMessage nodeUri(Uri nodeUri) {
-    return new CommandMessage(nodeUri, this.laneUri, this.body);
+    if (this.encodedBody != null) {
+      return new CommandMessage(nodeUri, this.laneUri, this.encodedBody);
+    } else {
+      return new CommandMessage(nodeUri, this.laneUri, this.body);
+    }
   }
 
   @Override
   public CommandMessage laneUri(Uri laneUri) {
-    return new CommandMessage(this.nodeUri, laneUri, this.body);
+    if (this.encodedBody != null) {
+      return new CommandMessage(this.nodeUri, laneUri, this.encodedBody);
+    } else {
+      return new CommandMessage(this.nodeUri, laneUri, this.body);
+    }
   }
 
   @Override
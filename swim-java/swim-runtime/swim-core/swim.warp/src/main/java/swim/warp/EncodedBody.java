@@ -0,0 +1,165 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import swim.recon.Recon;
+import swim.structure.Attr;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Value;
+
+/**
+ * Immutable envelope body whose wire encodings are computed at most once,
+ * and shared by every {@link EventMessage} constructed with it. Lanes that
+ * broadcast the same event to many uplinks wrap the event body in a single
+ * {@code EncodedBody}, so that each socket only has to encode its own
+ * envelope header, and can copy the pre-encoded body bytes verbatim.
+ * <p>
+ * Encodings are computed lazily, on first use, by whichever thread first
+ * needs them. Concurrent first uses may redundantly compute the same
+ * encoding, but never observe a partially computed one.
+ * <p>
+ * Bodies of inbound envelopes can also be held in {@link #fromRecon(byte[])
+ * raw} form, as the undecoded Recon text that followed the envelope header
+ * on the wire. A raw body gets parsed into a value only when someone reads
+ * its {@link #value()}; envelopes that are merely forwarded re-emit the raw
+ * bytes verbatim, without ever parsing them. Because parsing is deferred,
+ * a malformed raw body is only detected when its value is first read, at
+ * which point {@link #value()} throws a {@link swim.codec.ParserException}.
+ * Raw text that spans multiple lines is parsed eagerly instead, so that
+ * every raw body can be re-emitted on a single line, as required by
+ * newline delimited envelope batches.
+ */
+public final class EncodedBody {
+
+  volatile Value value;
+  volatile byte[] recon;
+  volatile byte[] binary;
+
+  EncodedBody(Value value, byte[] recon) {
+    this.value = value;
+    this.recon = recon;
+    this.binary = null;
+  }
+
+  /**
+   * Returns a body that encodes an immutable snapshot of {@code value}.
+   * Mutable values are branched before being committed, so the caller's
+   * value is never frozen, and remains free to change without affecting
+   * this body.
+   */
+  public EncodedBody(Value value) {
+    this(value.isMutable() ? value.branch().commit() : value.commit(), null);
+  }
+
+  /**
+   * Returns the value of this body, parsing the raw Recon text of this body
+   * on first use, if this body was constructed from raw Recon text.
+   *
+   * @throws swim.codec.ParserException if the raw Recon text of this body
+   *         is malformed.
+   */
+  public Value value() {
+    Value value = this.value;
+    if (value == null) {
+      value = EncodedBody.parseRecon(this.recon);
+      this.value = value;
+    }
+    return value;
+  }
+
+  /**
+   * Returns {@code true} if the value of this body has been constructed or
+   * parsed; returns {@code false} if this body is still held only as raw,
+   * undecoded Recon text.
+   */
+  public boolean isDecoded() {
+    return this.value != null;
+  }
+
+  /**
+   * Returns the UTF-8 encoded Recon text that follows an envelope header
+   * in the Recon encoding of an envelope with this body.
+   */
+  byte[] recon() {
+    byte[] recon = this.recon;
+    if (recon == null) {
+      final String template = Recon.toString(EncodedBody.RECON_HEADER.concat(this.value()));
+      recon = template.substring(EncodedBody.RECON_HEADER_SIZE).getBytes(StandardCharsets.UTF_8);
+      this.recon = recon;
+    }
+    return recon;
+  }
+
+  /**
+   * Returns the tagged binary encoding of this body.
+   */
+  byte[] binary() {
+    byte[] binary = this.binary;
+    if (binary == null) {
+      final BinaryEnvelopeWriter writer = new BinaryEnvelopeWriter(null);
+      writer.writeValue(this.value());
+      binary = Arrays.copyOf(writer.array, writer.size);
+      this.binary = binary;
+    }
+    return binary;
+  }
+
+  /**
+   * Stand-in envelope header that, like real envelope headers, has
+   * parenthesized parameters, and thus affects how the body that follows
+   * it gets written in exactly the same way.
+   */
+  static final Attr RECON_HEADER = Attr.of("t", Record.of(Slot.of("n", "x")));
+
+  static final String RECON_HEADER_TEXT = Recon.toString(RECON_HEADER);
+
+  static final int RECON_HEADER_SIZE = RECON_HEADER_TEXT.length();
+
+  /**
+   * Returns a body whose value will be lazily parsed from the UTF-8 encoded
+   * Recon {@code text} that follows an envelope header, and which writes
+   * {@code text}, less any trailing whitespace, verbatim when encoded as
+   * Recon. If {@code text} contains a line break anywhere else, it gets
+   * parsed immediately, and the body re-encodes its value on one line.
+   *
+   * @throws swim.codec.ParserException if {@code text} contains a line break
+   *         and is malformed.
+   */
+  public static EncodedBody fromRecon(byte[] text) {
+    int size = text.length;
+    while (size > 0 && (text[size - 1] == ' ' || text[size - 1] == '\t'
+        || text[size - 1] == '\r' || text[size - 1] == '\n')) {
+      size -= 1;
+    }
+    if (size < text.length) {
+      text = Arrays.copyOf(text, size);
+    }
+    for (int i = 0; i < size; i += 1) {
+      if (text[i] == '\r' || text[i] == '\n') {
+        return new EncodedBody(EncodedBody.parseRecon(text), null);
+      }
+    }
+    return new EncodedBody(null, text);
+  }
+
+  static Value parseRecon(byte[] text) {
+    final String template = EncodedBody.RECON_HEADER_TEXT + new String(text, StandardCharsets.UTF_8);
+    return Recon.parse(template).body().commit();
+  }
+
+}
@@ -0,0 +1,80 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import swim.codec.Binary;
+import swim.codec.Output;
+import swim.codec.Utf8;
+import swim.codec.Writer;
+import swim.recon.Recon;
+import swim.structure.Value;
+
+final class EncodedBodyWriter extends Writer<Object, Object> {
+
+  final Value header;
+  final byte[] body;
+  final Writer<?, ?> part;
+  final int step;
+
+  EncodedBodyWriter(Value header, byte[] body, Writer<?, ?> part, int step) {
+    this.header = header;
+    this.body = body;
+    this.part = part;
+    this.step = step;
+  }
+
+  @Override
+  public Writer<Object, Object> pull(Output<?> output) {
+    return EncodedBodyWriter.write(output, this.header, this.body, this.part, this.step);
+  }
+
+  static Writer<Object, Object> write(Output<?> output, Value header, byte[] body,
+                                      Writer<?, ?> part, int step) {
+    if (step == 1) {
+      if (part == null) {
+        part = Utf8.writeEncoded(output, Recon.write(Output.full(), header));
+      } else {
+        part = part.pull(output);
+      }
+      if (part.isDone()) {
+        part = null;
+        step = 2;
+      } else if (part.isError()) {
+        return Writer.error(part.trap());
+      }
+    }
+    if (step == 2) {
+      if (part == null) {
+        part = Binary.writeByteArray(output, body);
+      } else {
+        part = part.pull(output);
+      }
+      if (part.isDone()) {
+        return Writer.done();
+      } else if (part.isError()) {
+        return Writer.error(part.trap());
+      }
+    }
+    if (output.isError()) {
+      return Writer.error(output.trap());
+    }
+    return new EncodedBodyWriter(header, body, part, step);
+  }
+
+  static Writer<Object, Object> write(Output<?> output, Value header, byte[] body) {
+    return EncodedBodyWriter.write(output, header, body, null, 1);
+  }
+
+}
@@ -19,6 +19,7 @@ import swim.codec.Decoder;
 import swim.codec.Encoder;
 import swim.codec.Format;
 import swim.codec.Output;
+import swim.codec.Utf8;
 import swim.codec.Writer;
 import swim.recon.Recon;
 import swim.structure.Form;
@@ -64,6 +65,10 @@ public abstract class Envelope implements Debug {
     return Recon.write(output, this.toValue());
   }
 
+  Writer<?, ?> writeReconEncoded(Output<?> output) {
+    return Utf8.writeEncoded(output, this.reconWriter());
+  }
+
   public String toRecon() {
     return Recon.toString(this.toValue());
   }
@@ -85,6 +90,26 @@ public abstract class Envelope implements Debug {
     return Envelope.decoder;
   }
 
+  private static Decoder<Envelope> lazyDecoder;
+
+  /**
+   * Returns a Recon envelope decoder that parses the headers of command and
+   * event messages, but defers parsing their bodies until someone reads
+   * them. Undecoded bodies are re-emitted verbatim when the message gets
+   * re-encoded as Recon, which lets intermediaries that only route messages
+   * avoid ever parsing or re-serializing their bodies. Malformed message
+   * bodies go undetected until their first read, when {@link
+   * LaneAddressed#body()} throws a {@link swim.codec.ParserException}.
+   * Bodies that span multiple lines are parsed eagerly, so that they can be
+   * re-encoded on one line.
+   */
+  public static Decoder<Envelope> lazyDecoder() {
+    if (Envelope.lazyDecoder == null) {
+      Envelope.lazyDecoder = new LazyEnvelopeDecoder();
+    }
+    return Envelope.lazyDecoder;
+  }
+
   private static Encoder<Envelope, Envelope> encoder;
 
   public static Encoder<Envelope, Envelope> encoder() {
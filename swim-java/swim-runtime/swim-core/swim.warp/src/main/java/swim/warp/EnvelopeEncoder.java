@@ -16,7 +16,6 @@ package swim.warp;
 
 import swim.codec.Encoder;
 import swim.codec.OutputBuffer;
-import swim.codec.Utf8;
 
 final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
 
@@ -48,7 +47,7 @@ final class EnvelopeEncoder extends Encoder<Envelope, Envelope> {
 
   static Encoder<Envelope, Envelope> encode(OutputBuffer<?> output, Envelope envelope, Encoder<?, ?> input) {
     if (input == null) {
-      input = Utf8.writeEncoded(output, envelope.reconWriter());
+      input = envelope.writeReconEncoded(output);
     } else {
       input = input.pull(output);
     }
@@ -21,6 +21,10 @@ import swim.uri.Uri;
 
 public final class EventMessage extends LaneAddressed {
 
+  public EventMessage(Uri nodeUri, Uri laneUri, EncodedBody body) {
+    super(nodeUri, laneUri, body);
+  }
+
   public EventMessage(Uri nodeUri, Uri laneUri, Value body) {
     super(nodeUri, laneUri, body);
   }
@@ -49,12 +53,20 @@ public final class EventMessage extends LaneAddressed {
 
   @Override
   public EventMessage nodeUri(Uri nodeUri) {
-    return new EventMessage(nodeUri, this.laneUri, this.body);
+    if (this.encodedBody != null) {
+      return new EventMessage(nodeUri, this.laneUri, this.encodedBody);
+    } else {
+      return new EventMessage(nodeUri, this.laneUri, this.body);
+    }
   }
 
   @Override
   public EventMessage laneUri(Uri laneUri) {
-    return new EventMessage(this.nodeUri, laneUri, this.body);
+    if (this.encodedBody != null) {
+      return new EventMessage(this.nodeUri, laneUri, this.encodedBody);
+    } else {
+      return new EventMessage(this.nodeUri, laneUri, this.body);
+    }
   }
 
   @Override
@@ -15,6 +15,7 @@
 package swim.warp;
 
 import swim.codec.Output;
+import swim.codec.Writer;
 import swim.structure.Value;
 import swim.uri.Uri;
 import swim.util.Murmur3;
@@ -24,11 +25,20 @@ public abstract class LaneAddressed extends Envelope {
   final Uri nodeUri;
   final Uri laneUri;
   final Value body;
+  final EncodedBody encodedBody;
 
   LaneAddressed(Uri nodeUri, Uri laneUri, Value body) {
     this.nodeUri = nodeUri;
     this.laneUri = laneUri;
     this.body = body.commit();
+    this.encodedBody = null;
+  }
+
+  LaneAddressed(Uri nodeUri, Uri laneUri, EncodedBody encodedBody) {
+    this.nodeUri = nodeUri;
+    this.laneUri = laneUri;
+    this.body = null;
+    this.encodedBody = encodedBody;
   }
 
   @Override
@@ -41,9 +51,29 @@ public abstract class LaneAddressed extends Envelope {
     return this.laneUri;
   }
 
+  /**
+   * Returns the body of this message. Bodies of messages read with {@link
+   * Envelope#lazyDecoder()} get parsed on first call.
+   *
+   * @throws swim.codec.ParserException if this message was read with {@link
+   *         Envelope#lazyDecoder()}, and its body is malformed.
+   */
   @Override
   public Value body() {
-    return this.body;
+    final Value body = this.body;
+    if (body != null) {
+      return body;
+    } else {
+      return this.encodedBody.value();
+    }
+  }
+
+  /**
+   * Returns the shared, pre-encoded form of this message's body, or {@code
+   * null} if the body of this message is encoded along with its header.
+   */
+  public EncodedBody encodedBody() {
+    return this.encodedBody;
   }
 
   @Override
@@ -55,6 +85,17 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public abstract LaneAddressed body(Value body);
 
+  @Override
+  Writer<?, ?> writeReconEncoded(Output<?> output) {
+    final EncodedBody encodedBody = this.encodedBody;
+    if (encodedBody != null) {
+      final Value header = this.body(Value.absent()).toValue();
+      return EncodedBodyWriter.write(output, header, encodedBody.recon());
+    } else {
+      return super.writeReconEncoded(output);
+    }
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -62,7 +103,7 @@ public abstract class LaneAddressed extends Envelope {
     } else if (other != null && this.getClass() == other.getClass()) {
       final LaneAddressed that = (LaneAddressed) other;
       return this.nodeUri.equals(that.nodeUri) && this.laneUri.equals(that.laneUri)
-          && this.body.equals(that.body);
+          && this.body().equals(that.body());
     }
     return false;
   }
@@ -70,15 +111,16 @@ public abstract class LaneAddressed extends Envelope {
   @Override
   public int hashCode() {
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.seed(this.getClass()),
-        this.nodeUri.hashCode()), this.laneUri.hashCode()), this.body.hashCode()));
+        this.nodeUri.hashCode()), this.laneUri.hashCode()), this.body().hashCode()));
   }
 
   @Override
   public <T> Output<T> debug(Output<T> output) {
     output = output.write("new").write(' ').write(this.getClass().getSimpleName()).write('(')
                    .debug(this.nodeUri).write(", ").debug(this.laneUri);
-    if (this.body.isDefined()) {
-      output = output.write(", ").debug(this.body);
+    final Value body = this.body();
+    if (body.isDefined()) {
+      output = output.write(", ").debug(body);
     }
     output = output.write(')');
     return output;
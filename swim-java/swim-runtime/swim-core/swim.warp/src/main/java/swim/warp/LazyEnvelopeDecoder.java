@@ -0,0 +1,156 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.InputBuffer;
+import swim.recon.Recon;
+import swim.structure.Data;
+import swim.structure.Value;
+
+/**
+ * Recon envelope decoder that parses only the header of command and event
+ * messages, and retains the remainder of the message as a raw {@link
+ * EncodedBody}. Messages whose headers can't be delimited without a full
+ * parse, and all other envelope types, are parsed eagerly.
+ */
+final class LazyEnvelopeDecoder extends Decoder<Envelope> {
+
+  final Data data;
+
+  LazyEnvelopeDecoder(Data data) {
+    this.data = data;
+  }
+
+  LazyEnvelopeDecoder() {
+    this(null);
+  }
+
+  @Override
+  public Decoder<Envelope> feed(InputBuffer input) {
+    return LazyEnvelopeDecoder.decode(input, this.data);
+  }
+
+  static Decoder<Envelope> decode(InputBuffer input, Data data) {
+    if (data == null) {
+      data = Data.create();
+    }
+    if (input.hasArray()) {
+      final int size = input.remaining();
+      if (size > 0) {
+        data.addByteArray(input.array(), input.arrayOffset() + input.index(), size);
+        input.index(input.index() + size);
+      }
+    } else {
+      while (input.isCont()) {
+        data.addByte((byte) input.head());
+        input = input.step();
+      }
+    }
+    if (input.isDone()) {
+      try {
+        return Decoder.done(LazyEnvelopeDecoder.readEnvelope(data.toByteArray()));
+      } catch (RuntimeException cause) {
+        return Decoder.error(cause);
+      }
+    } else if (input.isError()) {
+      return Decoder.error(input.trap());
+    }
+    return new LazyEnvelopeDecoder(data);
+  }
+
+  static Envelope readEnvelope(byte[] bytes) {
+    final int headerSize = LazyEnvelopeDecoder.headerSize(bytes);
+    if (headerSize > 0) {
+      final Value header = Recon.parse(new String(bytes, 0, headerSize, StandardCharsets.UTF_8));
+      final String tag = header.tag();
+      if ("event".equals(tag) || "command".equals(tag)) {
+        final Envelope envelope = Envelope.fromValue(header);
+        if (envelope != null) {
+          final EncodedBody body = EncodedBody.fromRecon(Arrays.copyOfRange(bytes, headerSize, bytes.length));
+          if (envelope instanceof EventMessage) {
+            return new EventMessage(envelope.nodeUri(), envelope.laneUri(), body);
+          } else {
+            return new CommandMessage(envelope.nodeUri(), envelope.laneUri(), body);
+          }
+        }
+      }
+    }
+    final Value value = Recon.parse(new String(bytes, StandardCharsets.UTF_8));
+    final Envelope envelope = Envelope.fromValue(value);
+    if (envelope == null) {
+      throw new DecoderException(Recon.toString(value));
+    }
+    return envelope;
+  }
+
+  /**
+   * Returns the number of leading bytes occupied by the parenthesized
+   * envelope header attribute at the start of {@code bytes}; returns
+   * {@code -1} if the header can't be delimited by a simple scan, in which
+   * case the whole message must be parsed.
+   */
+  static int headerSize(byte[] bytes) {
+    final int size = bytes.length;
+    int index = 0;
+    while (index < size && (bytes[index] == ' ' || bytes[index] == '\t'
+        || bytes[index] == '\r' || bytes[index] == '\n')) {
+      index += 1;
+    }
+    if (index == size || bytes[index] != '@') {
+      return -1;
+    }
+    index += 1;
+    while (index < size && bytes[index] != '(') {
+      final int c = bytes[index];
+      if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_' || c == '-') {
+        index += 1;
+      } else {
+        return -1;
+      }
+    }
+    int depth = 0;
+    while (index < size) {
+      final int c = bytes[index];
+      index += 1;
+      if (c == '(') {
+        depth += 1;
+      } else if (c == ')') {
+        depth -= 1;
+        if (depth == 0) {
+          return index;
+        }
+      } else if (c == '"' || c == '\'') {
+        while (index < size) {
+          final int d = bytes[index];
+          index += 1;
+          if (d == '\\') {
+            index += 1;
+          } else if (d == c) {
+            break;
+          }
+        }
+      } else if (c == '[' || c == '`') {
+        // Markup and raw strings may contain unbalanced parentheses.
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+}
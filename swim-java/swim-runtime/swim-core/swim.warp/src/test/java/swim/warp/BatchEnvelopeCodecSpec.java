@@ -0,0 +1,129 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+import swim.structure.Attr;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class BatchEnvelopeCodecSpec {
+
+  @Test
+  public void transcodeSingleEnvelopeBatches() {
+    final BatchEnvelopeCodec codec = new BatchEnvelopeCodec();
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Num.from(42));
+    final byte[] bytes = encode(codec, event);
+    assertEquals(new String(bytes, StandardCharsets.UTF_8), event.toRecon());
+    assertEquals(decode(codec, bytes), event);
+    assertNull(codec.poll());
+  }
+
+  @Test
+  public void transcodeMultiEnvelopeBatches() {
+    final BatchEnvelopeCodec codec = new BatchEnvelopeCodec();
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Record.of(Slot.of("a", 1)));
+    final CommandMessage command = new CommandMessage("node/uri", "lane_uri", Text.from("line\nbreak"));
+    final LinkRequest link = new LinkRequest("node/uri", "lane_uri", 0.5f, 2.0f, Record.of(Attr.of("test")));
+    final byte[] bytes = encode(codec, event, command, link);
+    assertEquals(decode(codec, bytes), link);
+    assertEquals(codec.poll(), event);
+    assertEquals(codec.poll(), command);
+    assertNull(codec.poll());
+  }
+
+  @Test
+  public void transcodeFragmentedBatches() {
+    final BatchEnvelopeCodec codec = new BatchEnvelopeCodec();
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Text.from("☃ snowman"));
+    final CommandMessage command = new CommandMessage("node/uri", "lane_uri", Num.from(7));
+
+    final byte[] bytes = new byte[256];
+    int size = 0;
+    Encoder<?, ?> batchEncoder = codec.encoder(event, command);
+    do {
+      final OutputBuffer<?> output = Binary.outputBuffer(bytes, size, 3).isPart(true);
+      batchEncoder = batchEncoder.pull(output);
+      size = output.index();
+    } while (batchEncoder.isCont());
+    assertTrue(batchEncoder.isDone());
+    assertEquals(batchEncoder.bind(), command);
+
+    Decoder<Envelope> batchDecoder = codec.decoder();
+    for (int offset = 0; offset < size; offset += 3) {
+      final InputBuffer input = Binary.inputBuffer(bytes, offset, Math.min(3, size - offset)).isPart(true);
+      batchDecoder = batchDecoder.feed(input);
+    }
+    batchDecoder = batchDecoder.feed(InputBuffer.done());
+    assertEquals(batchDecoder.bind(), command);
+    assertEquals(codec.poll(), event);
+    assertNull(codec.poll());
+  }
+
+  @Test
+  public void decodeBatchesWithBlankLines() {
+    final BatchEnvelopeCodec codec = new BatchEnvelopeCodec();
+    final byte[] batch = "\n@event(node:a,lane:x)1\n\n@event(node:b,lane:y)2\n".getBytes(StandardCharsets.UTF_8);
+    assertEquals(decode(codec, batch), new EventMessage("b", "y", Num.from(2)));
+    assertEquals(codec.poll(), new EventMessage("a", "x", Num.from(1)));
+    assertNull(codec.poll());
+  }
+
+  @Test
+  public void batchMultiLineLazyBodiesOnOneLine() {
+    final BatchEnvelopeCodec codec = new BatchEnvelopeCodec();
+    final Envelope command = EncodedBodySpec.decodeLazy("@command(node:a,lane:x) {\n  k: 1,\n  v: \"two\"\n}\n");
+    final Envelope event = EncodedBodySpec.decodeLazy("@event(node:b,lane:y) {k: 3}\n");
+    final byte[] bytes = encode(codec, command, event);
+    assertEquals(new String(bytes, StandardCharsets.UTF_8),
+                 "@command(node:a,lane:x){k:1,v:two}\n@event(node:b,lane:y) {k: 3}");
+    assertEquals(decode(codec, bytes), new EventMessage("b", "y", Record.of(Slot.of("k", 3))));
+    assertEquals(codec.poll(), new CommandMessage("a", "x", Record.of(Slot.of("k", 1), Slot.of("v", "two"))));
+    assertNull(codec.poll());
+  }
+
+  @Test
+  public void rejectEmptyBatches() {
+    final Decoder<Envelope> decoder = new BatchEnvelopeCodec().decoder().feed(Binary.inputBuffer(new byte[] {'\n'}));
+    assertTrue(decoder.isError());
+  }
+
+  static byte[] encode(BatchEnvelopeCodec codec, Envelope... envelopes) {
+    final byte[] bytes = new byte[4096];
+    final OutputBuffer<?> output = Binary.outputBuffer(bytes);
+    final Encoder<?, ?> encoder = codec.encoder(envelopes).pull(output);
+    assertTrue(encoder.isDone());
+    return Arrays.copyOf(bytes, output.index());
+  }
+
+  static Envelope decode(BatchEnvelopeCodec codec, byte[] bytes) {
+    final Decoder<Envelope> decoder = codec.decoder().feed(Binary.inputBuffer(bytes));
+    assertTrue(decoder.isDone());
+    return decoder.bind();
+  }
+
+}
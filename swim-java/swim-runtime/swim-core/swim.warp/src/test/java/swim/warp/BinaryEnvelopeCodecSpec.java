@@ -0,0 +1,197 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+import swim.structure.Attr;
+import swim.structure.Bool;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BinaryEnvelopeCodecSpec {
+
+  @Test
+  public void transcodeLaneAddressedEnvelopes() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    assertTranscodes(encoder, decoder, new EventMessage("node/uri", "lane_uri", Num.from(42)));
+    assertTranscodes(encoder, decoder, new CommandMessage("node/uri", "lane_uri", Text.from("test")));
+    assertTranscodes(encoder, decoder, new UnlinkRequest("node/uri", "lane_uri", Value.absent()));
+    assertTranscodes(encoder, decoder, new UnlinkedResponse("node/uri", "lane_uri", Record.of(Attr.of("test"))));
+    assertTranscodes(encoder, decoder, new SyncedResponse("node/uri", "lane_uri"));
+  }
+
+  @Test
+  public void transcodeLinkAddressedEnvelopes() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    assertTranscodes(encoder, decoder, new LinkRequest("node/uri", "lane_uri", 0.5f, 2.0f, Value.absent()));
+    assertTranscodes(encoder, decoder, new LinkedResponse("node/uri", "lane_uri", 0.5f, 2.0f, Value.extant()));
+    assertTranscodes(encoder, decoder, new SyncRequest("node/uri", "lane_uri", 0.0f, 0.0f, Bool.from(true)));
+  }
+
+  @Test
+  public void transcodeHostAddressedEnvelopes() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    assertTranscodes(encoder, decoder, new AuthRequest(Record.of(Slot.of("key", "secret"))));
+    assertTranscodes(encoder, decoder, new AuthedResponse(Value.absent()));
+    assertTranscodes(encoder, decoder, new DeauthRequest(Text.from("bye")));
+    assertTranscodes(encoder, decoder, new DeauthedResponse(Value.absent()));
+  }
+
+  @Test
+  public void transcodeBodyValues() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final Record body = Record.create()
+        .attr("test", Record.of(Slot.of("x", 1), Slot.of("y", -2L)))
+        .slot("int", Integer.MIN_VALUE)
+        .slot("long", Long.MAX_VALUE)
+        .slot("float", 1.5f)
+        .slot("double", -2.25)
+        .slot("big", Num.from(BigInteger.ONE.shiftLeft(100).negate()))
+        .slot(Num.from(7), "seven")
+        .slot("data", Data.wrap(new byte[] {0, 1, (byte) 0xFF}))
+        .slot("flag", false)
+        .slot("empty", Record.empty())
+        .item("☃ snowman")
+        .item(Value.extant());
+    assertTranscodes(encoder, decoder, new EventMessage("node/uri", "lane_uri", body));
+  }
+
+  @Test
+  public void internRepeatedUris() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final EventMessage event = new EventMessage("/unit/building/room/sensor", "temperature", Num.from(21));
+    final byte[] first = encode(encoder, event);
+    final byte[] second = encode(encoder, event);
+    assertTrue(second.length < first.length);
+    assertEquals(second.length, 6);
+    assertEquals(decode(decoder, first), event);
+    assertEquals(decode(decoder, second), event);
+  }
+
+  @Test
+  public void transcodeFragmentedEnvelopes() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final EventMessage event = new EventMessage("node/uri", "lane_uri", Text.from("fragmented payload"));
+
+    final byte[] bytes = new byte[256];
+    int size = 0;
+    Encoder<?, ?> envelopeEncoder = encoder.encoder(event);
+    do {
+      final OutputBuffer<?> output = Binary.outputBuffer(bytes, size, 3).isPart(true);
+      envelopeEncoder = envelopeEncoder.pull(output);
+      size = output.index();
+    } while (envelopeEncoder.isCont());
+    assertTrue(envelopeEncoder.isDone());
+
+    Decoder<Envelope> envelopeDecoder = decoder.decoder();
+    for (int offset = 0; offset < size; offset += 3) {
+      final InputBuffer input = Binary.inputBuffer(bytes, offset, Math.min(3, size - offset)).isPart(true);
+      envelopeDecoder = envelopeDecoder.feed(input);
+    }
+    envelopeDecoder = envelopeDecoder.feed(InputBuffer.done());
+    assertEquals(envelopeDecoder.bind(), event);
+  }
+
+  @Test
+  public void decodeReconEnvelopes() {
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    final byte[] recon = "@event(node:\"node/uri\",lane:lane_uri)@test".getBytes(StandardCharsets.UTF_8);
+    assertEquals(decode(decoder, recon), new EventMessage("node/uri", "lane_uri", Record.of(Attr.of("test"))));
+  }
+
+  @Test
+  public void rejectUndefinedUriReferences() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final EventMessage event = new EventMessage("node/uri", "lane_uri");
+    encode(encoder, event);
+    final byte[] bytes = encode(encoder, event);
+    final Decoder<Envelope> decoder = new BinaryEnvelopeCodec().decoder().feed(Binary.inputBuffer(bytes));
+    assertTrue(decoder.isError());
+  }
+
+  @Test
+  public void transcodeNestedRecords() {
+    final BinaryEnvelopeCodec encoder = new BinaryEnvelopeCodec();
+    final BinaryEnvelopeCodec decoder = new BinaryEnvelopeCodec();
+    Value body = Num.from(1);
+    for (int i = 0; i < 100; i += 1) {
+      body = Record.of(body);
+    }
+    assertTranscodes(encoder, decoder, new EventMessage("node/uri", "lane_uri", body));
+  }
+
+  @Test
+  public void rejectHostileNesting() {
+    final int depth = 100000;
+    final byte[] bytes = new byte[4 + 2 * 4 + 2 * depth + 1];
+    int size = 0;
+    bytes[size++] = BinaryEnvelopeCodec.MAGIC;
+    bytes[size++] = (byte) BinaryEnvelopeCodec.EVENT;
+    for (int i = 0; i < 2; i += 1) {
+      bytes[size++] = (byte) BinaryEnvelopeCodec.URI_LITERAL;
+      bytes[size++] = 3;
+      bytes[size++] = 'u';
+      bytes[size++] = 'r';
+      bytes[size++] = 'i';
+    }
+    for (int i = 0; i < depth; i += 1) {
+      bytes[size++] = (byte) BinaryEnvelopeCodec.RECORD;
+      bytes[size++] = 1;
+    }
+    bytes[size++] = (byte) BinaryEnvelopeCodec.ABSENT;
+    final Decoder<Envelope> decoder = new BinaryEnvelopeCodec().decoder().feed(Binary.inputBuffer(bytes, 0, size));
+    assertTrue(decoder.isError());
+    assertTrue(decoder.trap() instanceof WarpException);
+  }
+
+  static void assertTranscodes(BinaryEnvelopeCodec encoder, BinaryEnvelopeCodec decoder, Envelope envelope) {
+    assertEquals(decode(decoder, encode(encoder, envelope)), envelope);
+  }
+
+  static byte[] encode(BinaryEnvelopeCodec codec, Envelope envelope) {
+    final byte[] bytes = new byte[4096];
+    final OutputBuffer<?> output = Binary.outputBuffer(bytes);
+    final Encoder<?, ?> encoder = codec.encoder(envelope).pull(output);
+    assertTrue(encoder.isDone());
+    return Arrays.copyOf(bytes, output.index());
+  }
+
+  static Envelope decode(BinaryEnvelopeCodec codec, byte[] bytes) {
+    final Decoder<Envelope> decoder = codec.decoder().feed(Binary.inputBuffer(bytes));
+    assertTrue(decoder.isDone());
+    return decoder.bind();
+  }
+
+}
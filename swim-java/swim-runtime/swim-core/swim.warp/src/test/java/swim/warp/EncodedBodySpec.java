@@ -0,0 +1,202 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.warp;
+
+import java.nio.charset.StandardCharsets;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+import swim.codec.ParserException;
+import swim.structure.Attr;
+import swim.structure.Data;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class EncodedBodySpec {
+
+  static final Value[] BODIES = {
+    Value.absent(),
+    Value.extant(),
+    Num.from(42),
+    Num.from(-1.5),
+    Text.from("test"),
+    Text.from("hello world"),
+    Data.wrap(new byte[] {1, 2, 3}),
+    Record.empty(),
+    Record.of(1),
+    Record.of(1, 2),
+    Record.of(Attr.of("test")),
+    Record.of(Attr.of("test"), Slot.of("a", 1)),
+    Record.of(Attr.of("x", 1), Attr.of("y")),
+    Record.of(Attr.of("x"), Num.from(3)),
+    Record.of(Attr.of("a"), Record.of(1, 2)),
+    Record.of(Slot.of("a", 1), Slot.of("b", 2)),
+    Record.of(Record.of(1, 2)),
+    Record.of(Text.from("a"), Slot.of("b", 1)),
+  };
+
+  @Test
+  public void writeEncodedBodiesAsRecon() {
+    for (Value body : BODIES) {
+      final EventMessage event = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), body);
+      final EventMessage encodedEvent = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), new EncodedBody(body));
+      assertEquals(encodeRecon(encodedEvent), event.toRecon());
+    }
+  }
+
+  @Test
+  public void writeEncodedBodiesAsBinary() {
+    for (Value body : BODIES) {
+      final EventMessage event = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), body);
+      final EventMessage encodedEvent = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), new EncodedBody(body));
+      assertEquals(new BinaryEnvelopeCodec().writeEnvelope(encodedEvent),
+                   new BinaryEnvelopeCodec().writeEnvelope(event));
+    }
+  }
+
+  @Test
+  public void shareEncodedBodiesAcrossAddresses() {
+    final EncodedBody body = new EncodedBody(Record.of(Attr.of("update", Record.of(Slot.of("key", "k"))), Num.from(1)));
+    final EventMessage a = new EventMessage(Uri.parse("/a"), Uri.parse("lane"), body);
+    final EventMessage b = new EventMessage(Uri.parse("/b"), Uri.parse("lane"), body).nodeUri(Uri.parse("/c"));
+    assertSame(b.encodedBody(), body);
+    assertEquals(encodeRecon(a), "@event(node:\"/a\",lane:lane)@update(key:k) 1");
+    assertEquals(encodeRecon(b), "@event(node:\"/c\",lane:lane)@update(key:k) 1");
+    assertSame(body.recon(), body.recon());
+  }
+
+  @Test
+  public void writeEncodedBodiesIncrementally() {
+    final Record body = Record.create();
+    for (int i = 0; i < 100; i += 1) {
+      body.slot("k" + i, "value " + i);
+    }
+    final EventMessage event = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), new EncodedBody(body));
+    final byte[] bytes = new byte[4096];
+    int size = 0;
+    Encoder<?, ?> encoder = event.reconEncoder();
+    do {
+      final OutputBuffer<?> output = Binary.outputBuffer(bytes, size, 7).isPart(true);
+      encoder = encoder.pull(output);
+      size = output.index();
+    } while (encoder.isCont());
+    assertTrue(encoder.isDone());
+    assertEquals(new String(bytes, 0, size, StandardCharsets.UTF_8), event.toRecon());
+  }
+
+  @Test
+  public void encodeMutableBodiesWithoutFreezingThem() {
+    final Record body = Record.create(1).slot("a", 1);
+    final EncodedBody encodedBody = new EncodedBody(body);
+    assertTrue(body.isMutable());
+    body.slot("b", 2);
+    assertEquals(body, Record.of(Slot.of("a", 1), Slot.of("b", 2)));
+    assertEquals(encodedBody.value(), Record.of(Slot.of("a", 1)));
+    assertEquals(new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), encodedBody).toRecon(),
+                 "@event(node:\"/node/uri\",lane:lane){a:1}");
+  }
+
+  @Test
+  public void decodeLazyBodiesEquivalentlyToEagerBodies() {
+    for (Value body : BODIES) {
+      final EventMessage event = new EventMessage(Uri.parse("/node/uri"), Uri.parse("lane"), body);
+      final CommandMessage command = new CommandMessage(Uri.parse("/node/uri"), Uri.parse("lane"), body);
+      final Envelope lazyEvent = decodeLazy(event.toRecon());
+      final Envelope lazyCommand = decodeLazy(command.toRecon());
+      assertTrue(((LaneAddressed) lazyEvent).encodedBody() != null);
+      assertTrue(((LaneAddressed) lazyCommand).encodedBody() != null);
+      assertEquals(lazyEvent, Envelope.parseRecon(event.toRecon()));
+      assertEquals(lazyCommand, Envelope.parseRecon(command.toRecon()));
+      assertEquals(new BinaryEnvelopeCodec().writeEnvelope(decodeLazy(event.toRecon())),
+                   new BinaryEnvelopeCodec().writeEnvelope(Envelope.parseRecon(event.toRecon())));
+    }
+  }
+
+  @Test
+  public void forwardLazyBodiesVerbatim() {
+    final String recon = "@command(node:\"/a\",lane:\"x(y\") @update(key: k)   {a: 1, b: \"t\\\"wo)\"}";
+    final CommandMessage command = (CommandMessage) decodeLazy(recon);
+    assertEquals(command.laneUri(), Uri.parse("x(y"));
+    final CommandMessage forwarded = command.nodeUri(Uri.parse("/b"));
+    assertSame(forwarded.encodedBody(), command.encodedBody());
+    assertEquals(encodeRecon(forwarded), "@command(node:\"/b\",lane:\"x(y\") @update(key: k)   {a: 1, b: \"t\\\"wo)\"}");
+    assertFalse(command.encodedBody().isDecoded());
+    assertEquals(command.body(), Record.of(Attr.of("update", Record.of(Slot.of("key", "k"))),
+                                           Slot.of("a", 1), Slot.of("b", "t\"wo)")));
+    assertTrue(command.encodedBody().isDecoded());
+  }
+
+  @Test
+  public void decodeUndelimitedHeadersEagerly() {
+    final Envelope link = decodeLazy("@link(node:\"/a\",lane:b) 1");
+    assertEquals(link, new LinkRequest("/a", "b", Num.from(1)));
+    final LaneAddressed event = (LaneAddressed) decodeLazy("@event(node:[/a],lane:b) 1");
+    assertEquals(event, new EventMessage("/a", "b", Num.from(1)));
+    assertNull(event.encodedBody());
+  }
+
+  @Test
+  public void parseMultiLineLazyBodiesEagerly() {
+    final CommandMessage command = (CommandMessage) decodeLazy("@command(node:\"/a\",lane:b) {\n  a: 1\n}\r\n");
+    assertTrue(command.encodedBody().isDecoded());
+    assertEquals(command.body(), Record.of(Slot.of("a", 1)));
+    assertEquals(encodeRecon(command), "@command(node:\"/a\",lane:b){a:1}");
+    final CommandMessage trailing = (CommandMessage) decodeLazy("@command(node:\"/a\",lane:b) {a: 1}\n");
+    assertFalse(trailing.encodedBody().isDecoded());
+    assertEquals(encodeRecon(trailing), "@command(node:\"/a\",lane:b) {a: 1}");
+  }
+
+  @Test
+  public void rejectMalformedLazyBodiesOnFirstRead() {
+    final CommandMessage command = (CommandMessage) decodeLazy("@command(node:\"/a\",lane:b) {a: 1");
+    assertFalse(command.encodedBody().isDecoded());
+    try {
+      command.body();
+      fail();
+    } catch (ParserException error) {
+      assertFalse(command.encodedBody().isDecoded());
+    }
+    final Decoder<Envelope> decoder = Envelope.lazyDecoder().feed(Binary.inputBuffer(
+        "@command(node:\"/a\",lane:b) {\na: 1".getBytes(StandardCharsets.UTF_8)));
+    assertTrue(decoder.isError());
+  }
+
+  static Envelope decodeLazy(String recon) {
+    final Decoder<Envelope> decoder = Envelope.lazyDecoder().feed(Binary.inputBuffer(recon.getBytes(StandardCharsets.UTF_8)));
+    assertTrue(decoder.isDone());
+    return decoder.bind();
+  }
+
+  static String encodeRecon(Envelope envelope) {
+    final byte[] bytes = new byte[4096];
+    final OutputBuffer<?> output = Binary.outputBuffer(bytes);
+    final Encoder<?, ?> encoder = envelope.reconEncoder().pull(output);
+    assertTrue(encoder.isDone());
+    return new String(bytes, 0, output.index(), StandardCharsets.UTF_8);
+  }
+
+}
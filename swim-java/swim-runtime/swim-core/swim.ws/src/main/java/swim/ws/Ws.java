@@ -14,6 +14,7 @@
 
 package swim.ws;
 
+import java.util.zip.Deflater;
 import swim.deflate.Deflate;
 import swim.deflate.Inflate;
 
@@ -74,4 +75,28 @@ public final class Ws {
     return new WsDeflateEncoderUnmasked(new Deflate<Object>(), Deflate.Z_SYNC_FLUSH);
   }
 
+  public static WsZlibDecoder zlibDecoder(boolean noContextTakeover) {
+    return new WsZlibDecoder(noContextTakeover);
+  }
+
+  public static WsZlibDecoder zlibDecoder() {
+    return new WsZlibDecoder(false);
+  }
+
+  public static WsZlibEncoder zlibEncoderMasked(int level, boolean noContextTakeover) {
+    return new WsZlibEncoderMasked(level, noContextTakeover);
+  }
+
+  public static WsZlibEncoder zlibEncoderMasked() {
+    return new WsZlibEncoderMasked(Deflater.DEFAULT_COMPRESSION, false);
+  }
+
+  public static WsZlibEncoder zlibEncoderUnmasked(int level, boolean noContextTakeover) {
+    return new WsZlibEncoderUnmasked(level, noContextTakeover);
+  }
+
+  public static WsZlibEncoder zlibEncoderUnmasked() {
+    return new WsZlibEncoderUnmasked(Deflater.DEFAULT_COMPRESSION, false);
+  }
+
 }
@@ -25,22 +25,34 @@ final class WsDeflateClientEngine extends WsEngine {
   protected final boolean clientNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final boolean serverNoContextTakeover;
+  protected final boolean zlibCompression;
 
   WsDeflateClientEngine(int clientCompressionLevel, boolean clientNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        int serverMaxWindowBits, int clientMaxWindowBits,
+                        boolean serverNoContextTakeover, boolean zlibCompression) {
     this.clientCompressionLevel = clientCompressionLevel;
     this.clientNoContextTakeover = clientNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.serverNoContextTakeover = serverNoContextTakeover;
+    this.zlibCompression = zlibCompression;
   }
 
   @Override
   public WsDecoder decoder() {
+    if (this.zlibCompression) {
+      return Ws.zlibDecoder(this.serverNoContextTakeover);
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.serverMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    if (this.zlibCompression && this.clientMaxWindowBits == 15) {
+      // the JDK Deflater only supports the default window size
+      return Ws.zlibEncoderMasked(this.clientCompressionLevel, this.clientNoContextTakeover);
+    }
     final int flush;
     if (this.clientNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
@@ -58,6 +70,7 @@ final class WsDeflateClientEngine extends WsEngine {
 
   static WsDeflateClientEngine create(WebSocketExtension extension, WsEngineSettings settings) {
     boolean clientNoContextTakeover = false;
+    boolean serverNoContextTakeover = false;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
@@ -65,6 +78,8 @@ final class WsDeflateClientEngine extends WsEngine {
       final String value = param.value();
       if ("client_no_context_takeover".equals(key)) {
         clientNoContextTakeover = true;
+      } else if ("server_no_context_takeover".equals(key)) {
+        serverNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
           serverMaxWindowBits = Integer.parseInt(value);
@@ -82,7 +97,8 @@ final class WsDeflateClientEngine extends WsEngine {
       }
     }
     return new WsDeflateClientEngine(settings.clientCompressionLevel, clientNoContextTakeover,
-                                     serverMaxWindowBits, clientMaxWindowBits);
+                                     serverMaxWindowBits, clientMaxWindowBits,
+                                     serverNoContextTakeover, settings.zlibCompression);
   }
 
 }
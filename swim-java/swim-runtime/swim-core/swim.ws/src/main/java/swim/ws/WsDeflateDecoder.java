@@ -22,6 +22,7 @@ public class WsDeflateDecoder extends WsDecoder implements Cloneable {
 
   protected final Inflate<?> inflate;
   protected boolean decompressing;
+  byte[] stagingBuffer;
 
   public WsDeflateDecoder(Inflate<?> inflate, boolean decompressing) {
     this.inflate = inflate;
@@ -40,6 +41,20 @@ public class WsDeflateDecoder extends WsDecoder implements Cloneable {
     return this.decompressing;
   }
 
+  /**
+   * Returns a scratch array of at least {@code size} bytes used to stage
+   * frame payloads through buffers that aren't backed by accessible arrays,
+   * such as direct socket buffers.
+   */
+  byte[] stagingBuffer(int size) {
+    byte[] stagingBuffer = this.stagingBuffer;
+    if (stagingBuffer == null || stagingBuffer.length < size) {
+      stagingBuffer = new byte[size];
+      this.stagingBuffer = stagingBuffer;
+    }
+    return stagingBuffer;
+  }
+
   @Override
   public <T> Decoder<WsFrame<T>> decodeContinuationFrame(InputBuffer input, int finRsvOp, WsOpcode frameType, Decoder<T> payloadDecoder) {
     if (this.decompressing) { // compressed
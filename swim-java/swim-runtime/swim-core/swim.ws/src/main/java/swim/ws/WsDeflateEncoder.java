@@ -22,6 +22,7 @@ public abstract class WsDeflateEncoder extends WsEncoder {
 
   protected final Deflate<?> deflate;
   protected final int flush;
+  byte[] stagingBuffer;
 
   public WsDeflateEncoder(Deflate<?> deflate, int flush) {
     this.deflate = deflate;
@@ -36,6 +37,20 @@ public abstract class WsDeflateEncoder extends WsEncoder {
     return this.flush;
   }
 
+  /**
+   * Returns a scratch array of at least {@code size} bytes used to stage
+   * frame payloads through buffers that aren't backed by accessible arrays,
+   * such as direct socket buffers.
+   */
+  byte[] stagingBuffer(int size) {
+    byte[] stagingBuffer = this.stagingBuffer;
+    if (stagingBuffer == null || stagingBuffer.length < size) {
+      stagingBuffer = new byte[size];
+      this.stagingBuffer = stagingBuffer;
+    }
+    return stagingBuffer;
+  }
+
   @Override
   public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
     return new WsFrameDeflater<T>(this, frame);
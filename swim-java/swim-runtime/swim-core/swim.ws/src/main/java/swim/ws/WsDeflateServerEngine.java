@@ -25,22 +25,34 @@ final class WsDeflateServerEngine extends WsEngine {
   protected final boolean serverNoContextTakeover;
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
+  protected final boolean clientNoContextTakeover;
+  protected final boolean zlibCompression;
 
   WsDeflateServerEngine(int serverCompressionLevel, boolean serverNoContextTakeover,
-                        int serverMaxWindowBits, int clientMaxWindowBits) {
+                        int serverMaxWindowBits, int clientMaxWindowBits,
+                        boolean clientNoContextTakeover, boolean zlibCompression) {
     this.serverCompressionLevel = serverCompressionLevel;
     this.serverNoContextTakeover = serverNoContextTakeover;
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
+    this.clientNoContextTakeover = clientNoContextTakeover;
+    this.zlibCompression = zlibCompression;
   }
 
   @Override
   public WsDecoder decoder() {
+    if (this.zlibCompression) {
+      return Ws.zlibDecoder(this.clientNoContextTakeover);
+    }
     return Ws.deflateDecoder(new Inflate<Object>(Inflate.Z_NO_WRAP, this.clientMaxWindowBits));
   }
 
   @Override
   public WsEncoder encoder() {
+    if (this.zlibCompression && this.serverMaxWindowBits == 15) {
+      // the JDK Deflater only supports the default window size
+      return Ws.zlibEncoderUnmasked(this.serverCompressionLevel, this.serverNoContextTakeover);
+    }
     final int flush;
     if (this.serverNoContextTakeover) {
       flush = Deflate.Z_FULL_FLUSH;
@@ -58,6 +70,7 @@ final class WsDeflateServerEngine extends WsEngine {
 
   static WsDeflateServerEngine create(WebSocketExtension extension, WsEngineSettings settings) {
     boolean serverNoContextTakeover = false;
+    boolean clientNoContextTakeover = false;
     int serverMaxWindowBits = 15;
     int clientMaxWindowBits = 15;
     for (WebSocketParam param : extension.params()) {
@@ -65,6 +78,8 @@ final class WsDeflateServerEngine extends WsEngine {
       final String value = param.value();
       if ("server_no_context_takeover".equals(key)) {
         serverNoContextTakeover = true;
+      } else if ("client_no_context_takeover".equals(key)) {
+        clientNoContextTakeover = true;
       } else if ("server_max_window_bits".equals(key)) {
         try {
           serverMaxWindowBits = Integer.parseInt(value);
@@ -82,7 +97,8 @@ final class WsDeflateServerEngine extends WsEngine {
       }
     }
     return new WsDeflateServerEngine(settings.serverCompressionLevel, serverNoContextTakeover,
-                                     serverMaxWindowBits, clientMaxWindowBits);
+                                     serverMaxWindowBits, clientMaxWindowBits,
+                                     clientNoContextTakeover, settings.zlibCompression);
   }
 
 }
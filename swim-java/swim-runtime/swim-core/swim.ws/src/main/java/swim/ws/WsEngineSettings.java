@@ -41,11 +41,13 @@ public class WsEngineSettings implements Debug {
   protected final int serverMaxWindowBits;
   protected final int clientMaxWindowBits;
   protected final boolean autoClose;
+  protected final boolean zlibCompression;
 
   public WsEngineSettings(int maxFrameSize, int maxMessageSize,
                           int serverCompressionLevel, int clientCompressionLevel,
                           boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                          int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+                          int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose,
+                          boolean zlibCompression) {
     this.maxFrameSize = maxFrameSize;
     this.maxMessageSize = maxMessageSize;
     this.serverCompressionLevel = serverCompressionLevel;
@@ -55,6 +57,16 @@ public class WsEngineSettings implements Debug {
     this.serverMaxWindowBits = serverMaxWindowBits;
     this.clientMaxWindowBits = clientMaxWindowBits;
     this.autoClose = autoClose;
+    this.zlibCompression = zlibCompression;
+  }
+
+  public WsEngineSettings(int maxFrameSize, int maxMessageSize,
+                          int serverCompressionLevel, int clientCompressionLevel,
+                          boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                          int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+    this(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
+         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose,
+         WsEngineSettings.standard().zlibCompression);
   }
 
   public final int maxFrameSize() {
@@ -65,7 +77,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final int maxMessageSize() {
@@ -76,7 +88,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final int serverCompressionLevel() {
@@ -87,7 +99,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final int clientCompressionLevel() {
@@ -98,14 +110,14 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public WsEngineSettings compressionLevel(int serverCompressionLevel, int clientCompressionLevel) {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      serverCompressionLevel, clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final boolean serverNoContextTakeover() {
@@ -116,7 +128,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final boolean clientNoContextTakeover() {
@@ -127,7 +139,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, clientNoContextTakeover,
-                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final int serverMaxWindowBits() {
@@ -138,7 +150,7 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose);
+                     serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public final int clientMaxWindowBits() {
@@ -149,20 +161,36 @@ public class WsEngineSettings implements Debug {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
                      this.serverCompressionLevel, this.clientCompressionLevel,
                      this.serverNoContextTakeover, this.clientNoContextTakeover,
-                     this.serverMaxWindowBits, clientMaxWindowBits, this.autoClose);
+                     this.serverMaxWindowBits, clientMaxWindowBits, this.autoClose, this.zlibCompression);
   }
 
   public WsEngineSettings autoClose(boolean autoClose) {
     return this.copy(this.maxFrameSize, this.maxMessageSize,
          this.serverCompressionLevel, this.clientCompressionLevel,
          this.serverNoContextTakeover, this.clientNoContextTakeover,
-         this.serverMaxWindowBits, this.clientMaxWindowBits, autoClose);
+         this.serverMaxWindowBits, this.clientMaxWindowBits, autoClose, this.zlibCompression);
   }
 
   public final boolean autoClose() {
     return this.autoClose;
   }
 
+  /**
+   * Returns {@code true} if permessage-deflate compression should be
+   * performed by the JDK's native zlib {@code Deflater} and {@code Inflater},
+   * rather than by the pure Java {@code swim.deflate} implementation.
+   */
+  public final boolean zlibCompression() {
+    return this.zlibCompression;
+  }
+
+  public WsEngineSettings zlibCompression(boolean zlibCompression) {
+    return this.copy(this.maxFrameSize, this.maxMessageSize,
+                     this.serverCompressionLevel, this.clientCompressionLevel,
+                     this.serverNoContextTakeover, this.clientNoContextTakeover,
+                     this.serverMaxWindowBits, this.clientMaxWindowBits, this.autoClose, zlibCompression);
+  }
+
   public FingerTrieSeq<WebSocketExtension> extensions() {
     if (this.serverCompressionLevel != 0 && this.clientCompressionLevel != 0) {
       final WebSocketExtension permessageDeflate = WebSocketExtension.permessageDeflate(this.serverNoContextTakeover,
@@ -269,11 +297,22 @@ public class WsEngineSettings implements Debug {
   protected WsEngineSettings copy(int maxFrameSize, int maxMessageSize,
                                   int serverCompressionLevel, int clientCompressionLevel,
                                   boolean serverNoContextTakeover, boolean clientNoContextTakeover,
-                                  int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+                                  int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose,
+                                  boolean zlibCompression) {
     return new WsEngineSettings(maxFrameSize, maxMessageSize,
                                 serverCompressionLevel, clientCompressionLevel,
                                 serverNoContextTakeover, clientNoContextTakeover,
-                                serverMaxWindowBits, clientMaxWindowBits, autoClose);
+                                serverMaxWindowBits, clientMaxWindowBits, autoClose, zlibCompression);
+  }
+
+  protected WsEngineSettings copy(int maxFrameSize, int maxMessageSize,
+                                  int serverCompressionLevel, int clientCompressionLevel,
+                                  boolean serverNoContextTakeover, boolean clientNoContextTakeover,
+                                  int serverMaxWindowBits, int clientMaxWindowBits, boolean autoClose) {
+    return this.copy(maxFrameSize, maxMessageSize,
+                     serverCompressionLevel, clientCompressionLevel,
+                     serverNoContextTakeover, clientNoContextTakeover,
+                     serverMaxWindowBits, clientMaxWindowBits, autoClose, this.zlibCompression);
   }
 
   public boolean canEqual(Object other) {
@@ -295,7 +334,8 @@ public class WsEngineSettings implements Debug {
           && this.clientNoContextTakeover == that.clientNoContextTakeover
           && this.serverMaxWindowBits == that.serverMaxWindowBits
           && this.clientMaxWindowBits == that.clientMaxWindowBits
-          && this.autoClose == that.autoClose;
+          && this.autoClose == that.autoClose
+          && this.zlibCompression == that.zlibCompression;
     }
     return false;
   }
@@ -307,11 +347,12 @@ public class WsEngineSettings implements Debug {
     if (WsEngineSettings.hashSeed == 0) {
       WsEngineSettings.hashSeed = Murmur3.seed(WsEngineSettings.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         WsEngineSettings.hashSeed, this.maxFrameSize), this.maxMessageSize),
         this.serverCompressionLevel), this.clientCompressionLevel),
         Murmur3.hash(this.serverNoContextTakeover)), Murmur3.hash(this.clientNoContextTakeover)),
-        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.autoClose)));
+        this.serverMaxWindowBits), this.clientMaxWindowBits), Murmur3.hash(this.autoClose)),
+        Murmur3.hash(this.zlibCompression)));
   }
 
   @Override
@@ -325,7 +366,8 @@ public class WsEngineSettings implements Debug {
                    .write('.').write("clientNoContextTakeover").write('(').debug(this.clientNoContextTakeover).write(')')
                    .write('.').write("serverMaxWindowBits").write('(').debug(this.serverMaxWindowBits).write(')')
                    .write('.').write("clientMaxWindowBits").write('(').debug(this.clientMaxWindowBits).write(')')
-                   .write('.').write("autoClose").write('(').debug(this.autoClose).write(')');
+                   .write('.').write("autoClose").write('(').debug(this.autoClose).write(')')
+                   .write('.').write("zlibCompression").write('(').debug(this.zlibCompression).write(')');
     return output;
   }
 
@@ -386,10 +428,13 @@ public class WsEngineSettings implements Debug {
 
       final boolean autoClose = Boolean.parseBoolean(System.getProperty("swim.ws.client.auto.close"));
 
+      final boolean zlibCompression = Boolean.parseBoolean(System.getProperty("swim.ws.zlib.compression"));
+
       WsEngineSettings.standard = new WsEngineSettings(maxFrameSize, maxMessageSize,
                                                        serverCompressionLevel, clientCompressionLevel,
                                                        serverNoContextTakeover, clientNoContextTakeover,
-                                                       serverMaxWindowBits, clientMaxWindowBits, autoClose);
+                                                       serverMaxWindowBits, clientMaxWindowBits, autoClose,
+                                                       zlibCompression);
     }
     return WsEngineSettings.standard;
   }
@@ -438,7 +483,7 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
   public Item mold(WsEngineSettings settings) {
     if (settings != null) {
       final WsEngineSettings standard = WsEngineSettings.standard();
-      final Record record = Record.create(8);
+      final Record record = Record.create(10);
       if (settings.maxFrameSize != standard.maxFrameSize) {
         record.slot("maxFrameSize", settings.maxFrameSize);
       }
@@ -466,6 +511,9 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
       if (settings.autoClose != standard.autoClose) {
         record.slot("autoClose", settings.autoClose);
       }
+      if (settings.zlibCompression != standard.zlibCompression) {
+        record.slot("zlibCompression", settings.zlibCompression);
+      }
       return record;
     } else {
       return Item.extant();
@@ -485,8 +533,10 @@ final class WsEngineSettingsForm extends Form<WsEngineSettings> {
     final int serverMaxWindowBits = value.get("serverMaxWindowBits").intValue(standard.serverMaxWindowBits);
     final int clientMaxWindowBits = value.get("clientMaxWindowBits").intValue(standard.clientMaxWindowBits);
     final boolean autoClose = value.get("autoClose").booleanValue(standard.autoClose);
+    final boolean zlibCompression = value.get("zlibCompression").booleanValue(standard.zlibCompression);
     return new WsEngineSettings(maxFrameSize, maxMessageSize, serverCompressionLevel, clientCompressionLevel,
-         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose);
+         serverNoContextTakeover, clientNoContextTakeover, serverMaxWindowBits, clientMaxWindowBits, autoClose,
+         zlibCompression);
   }
 
 }
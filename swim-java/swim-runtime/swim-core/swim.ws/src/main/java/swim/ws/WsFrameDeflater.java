@@ -60,8 +60,17 @@ final class WsFrameDeflater<O> extends Encoder<Object, WsFrame<O>> {
       } else {
         ((Deflate<Object>) ws.deflate).input = (Encoder<?, Object>) payloadEncoder;
       }
-      ws.deflate.next_out = output.array();
-      ws.deflate.next_out_index = output.arrayOffset() + maxPayloadBase;
+      final boolean staged = !output.hasArray();
+      final int payloadOffset;
+      if (!staged) {
+        ws.deflate.next_out = output.array();
+        payloadOffset = output.arrayOffset() + maxPayloadBase;
+      } else {
+        // stage payload bytes for direct output buffers
+        ws.deflate.next_out = ws.stagingBuffer(outputSize - maxHeaderSize);
+        payloadOffset = 0;
+      }
+      ws.deflate.next_out_index = payloadOffset;
       ws.deflate.avail_out = outputSize - maxHeaderSize;
 
       try {
@@ -69,7 +78,13 @@ final class WsFrameDeflater<O> extends Encoder<Object, WsFrame<O>> {
         final boolean needsMore = ws.deflate.deflate(ws.flush);
         payloadEncoder = ws.deflate.input;
         final boolean eof = payloadEncoder.isDone() && !needsMore;
-        final int payloadSize = ws.deflate.next_out_index - (output.arrayOffset() + maxPayloadBase) - (eof ? 4 : 0);
+        final int payloadSize = ws.deflate.next_out_index - payloadOffset - (eof ? 4 : 0);
+        if (staged) {
+          final byte[] payload = ws.deflate.next_out;
+          for (int i = 0; i < payloadSize; i += 1) {
+            output.set(maxPayloadBase + i, payload[i] & 0xff);
+          }
+        }
         final int headerSize = (payloadSize <= 125 ? 2 : payloadSize <= 65535 ? 4 : 10) + maskSize;
 
         // encode header
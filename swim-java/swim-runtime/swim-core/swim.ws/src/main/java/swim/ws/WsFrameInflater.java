@@ -136,8 +136,21 @@ final class WsFrameInflater<O> extends Decoder<WsFrame<O>> {
       ((Inflate<Object>) ws.inflate).output = (Decoder<Object>) (Decoder<?>) payloadDecoder;
       ws.inflate.is_last = false;
 
-      ws.inflate.next_in = input.array();
-      ws.inflate.next_in_index = input.arrayOffset() + base;
+      final byte[] inputArray;
+      final int inputOffset;
+      if (input.hasArray()) {
+        inputArray = input.array();
+        inputOffset = input.arrayOffset();
+      } else {
+        // stage payload bytes from direct input buffers
+        inputArray = ws.stagingBuffer(size);
+        for (int i = 0; i < size; i += 1) {
+          inputArray[i] = (byte) input.get(base + i);
+        }
+        inputOffset = -base;
+      }
+      ws.inflate.next_in = inputArray;
+      ws.inflate.next_in_index = inputOffset + base;
       ws.inflate.avail_in = Math.min(input.remaining(), size);
 
       try {
@@ -148,7 +161,7 @@ final class WsFrameInflater<O> extends Decoder<WsFrame<O>> {
           needsMore = ws.inflate.inflate(Inflate.Z_SYNC_FLUSH);
           payloadDecoder = (Decoder<O>) ws.inflate.output;
         } while (needsMore && ws.inflate.avail_in > 0 && payloadDecoder.isCont());
-        input = input.index(ws.inflate.next_in_index - input.arrayOffset());
+        input = input.index(ws.inflate.next_in_index - inputOffset);
 
         if (eof) {
           ws.inflate.next_in = EMPTY_BLOCK;
@@ -0,0 +1,174 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Encoder;
+import swim.codec.EncoderException;
+import swim.codec.OutputBuffer;
+
+final class WsFrameZlibDeflater<O> extends Encoder<Object, WsFrame<O>> {
+
+  final WsZlibEncoder ws;
+  final WsFrame<O> frame;
+  final Encoder<?, ?> payloadEncoder;
+  final long offset;
+
+  WsFrameZlibDeflater(WsZlibEncoder ws, WsFrame<O> frame, Encoder<?, ?> payloadEncoder, long offset) {
+    this.ws = ws;
+    this.frame = frame;
+    this.payloadEncoder = payloadEncoder;
+    this.offset = offset;
+  }
+
+  WsFrameZlibDeflater(WsZlibEncoder ws, WsFrame<O> frame) {
+    this(ws, frame, null, 0L);
+  }
+
+  @Override
+  public Encoder<Object, WsFrame<O>> pull(OutputBuffer<?> output) {
+    return WsFrameZlibDeflater.encode(output, this.ws, this.frame, this.payloadEncoder, this.offset);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsZlibEncoder ws,
+                                                WsFrame<O> frame, Encoder<?, ?> payloadEncoder, long offset) {
+    final boolean isMasked = ws.isMasked();
+    final int outputSize = output.remaining();
+    final int maskSize = isMasked ? 4 : 0;
+    final int maxHeaderSize = (outputSize <= 127 ? 2 : outputSize <= 65539 ? 4 : 10) + maskSize;
+
+    if (outputSize >= maxHeaderSize + ws.minDataFrameBufferSize()) {
+      final int outputBase = output.index();
+      if (payloadEncoder == null) {
+        payloadEncoder = frame.payloadEncoder(ws);
+      }
+
+      // Deflate into a staging buffer, carrying over any bytes that don't
+      // fit into the current frame. At least 4 deflated bytes are always
+      // held back until the message ends, at which point they must be the
+      // empty stored block that terminates the final flush, which gets
+      // stripped from the end of the message.
+      final int maxPayloadSize = outputSize - maxHeaderSize;
+      int deflatedSize = ws.stagingSize;
+      final byte[] deflated = ws.stagingBuffer(Math.max(maxPayloadSize + 4, deflatedSize + WsZlibEncoder.MIN_DEFLATE_SIZE));
+      boolean eof = false;
+
+      final Deflater deflater = ws.deflater();
+      while (deflatedSize < maxPayloadSize + 4) {
+        if (deflater.needsInput() && payloadEncoder.isCont()) {
+          // pull more uncompressed payload
+          payloadEncoder = ws.pullInput(payloadEncoder);
+          if (payloadEncoder.isError()) {
+            return payloadEncoder.asError();
+          } else if (deflater.needsInput() && payloadEncoder.isCont()) {
+            break; // payload stalled
+          }
+        }
+        if (deflater.needsInput() && payloadEncoder.isDone()) {
+          // flush the end of the message
+          deflatedSize += deflater.deflate(deflated, deflatedSize, deflated.length - deflatedSize, Deflater.SYNC_FLUSH);
+          eof = deflatedSize < deflated.length && deflatedSize - 4 <= maxPayloadSize;
+          break;
+        }
+        deflatedSize += deflater.deflate(deflated, deflatedSize, deflated.length - deflatedSize, Deflater.NO_FLUSH);
+      }
+
+      final int payloadSize = eof ? deflatedSize - 4 : Math.min(maxPayloadSize, Math.max(0, deflatedSize - 4));
+
+      if (eof || payloadSize > 0) {
+        final int headerSize = (payloadSize <= 125 ? 2 : payloadSize <= 65535 ? 4 : 10) + maskSize;
+
+        // encode header
+        final WsOpcode frameType = frame.frameType();
+        final int finRsvOp;
+        if (eof) {
+          if (offset == 0L) {
+            finRsvOp = 0xc0 | frameType.code;
+          } else {
+            finRsvOp = 0x80;
+          }
+        } else if (offset == 0L) {
+          finRsvOp = 0x40 | frameType.code;
+        } else {
+          finRsvOp = 0x00;
+        }
+        output = output.index(outputBase);
+        output = output.write(finRsvOp);
+        if (payloadSize < 126) {
+          output = output.write(isMasked ? 0x80 | payloadSize : payloadSize);
+        } else if (payloadSize < 1 << 16) {
+          output = output.write(isMasked ? 254 : 126)
+                         .write(payloadSize >>> 8)
+                         .write(payloadSize);
+        } else {
+          output = output.write(isMasked ? 255 : 127)
+                         .write(0)
+                         .write(0)
+                         .write(0)
+                         .write(0)
+                         .write(payloadSize >>> 24)
+                         .write(payloadSize >>> 16)
+                         .write(payloadSize >>> 8)
+                         .write(payloadSize);
+        }
+
+        if (isMasked) {
+          // generate and encode masking key
+          final byte[] maskingKey = new byte[4];
+          ws.maskingKey(maskingKey);
+          output = output.write(maskingKey[0] & 0xff)
+                         .write(maskingKey[1] & 0xff)
+                         .write(maskingKey[2] & 0xff)
+                         .write(maskingKey[3] & 0xff);
+
+          // mask payload
+          for (int i = 0; i < payloadSize; i += 1) {
+            output.set(outputBase + headerSize + i, (deflated[i] ^ maskingKey[i & 0x3]) & 0xff);
+          }
+        } else if (output.hasArray()) {
+          System.arraycopy(deflated, 0, output.array(), output.arrayOffset() + outputBase + headerSize, payloadSize);
+        } else {
+          for (int i = 0; i < payloadSize; i += 1) {
+            output.set(outputBase + headerSize + i, deflated[i] & 0xff);
+          }
+        }
+        offset += payloadSize;
+        output = output.index(outputBase + headerSize + payloadSize);
+
+        // carry over deflated bytes that didn't fit into the frame
+        ws.stagingSize = deflatedSize - payloadSize;
+        System.arraycopy(deflated, payloadSize, deflated, 0, ws.stagingSize);
+
+        if (eof) {
+          ws.didDeflateMessage();
+          return Encoder.done(frame);
+        }
+      } else {
+        ws.stagingSize = deflatedSize;
+      }
+    }
+    if (output.isDone()) {
+      return Encoder.error(new EncoderException("truncated"));
+    } else if (output.isError()) {
+      return Encoder.error(output.trap());
+    }
+    return new WsFrameZlibDeflater<O>(ws, frame, payloadEncoder, offset);
+  }
+
+  static <O> Encoder<Object, WsFrame<O>> encode(OutputBuffer<?> output, WsZlibEncoder ws, WsFrame<O> frame) {
+    return WsFrameZlibDeflater.encode(output, ws, frame, null, 0L);
+  }
+
+}
@@ -0,0 +1,212 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import swim.codec.Decoder;
+import swim.codec.DecoderException;
+import swim.codec.InputBuffer;
+
+final class WsFrameZlibInflater<O> extends Decoder<WsFrame<O>> {
+
+  final WsZlibDecoder ws;
+  final WsOpcode frameType;
+  final Decoder<O> payloadDecoder;
+  final int finRsvOp;
+  final long offset;
+  final long length;
+  final byte[] maskingKey;
+  final int position;
+  final int step;
+
+  WsFrameZlibInflater(WsZlibDecoder ws, WsOpcode frameType, Decoder<O> payloadDecoder, int finRsvOp,
+                  long offset, long length, byte[] maskingKey, int position, int step) {
+    this.ws = ws;
+    this.frameType = frameType;
+    this.payloadDecoder = payloadDecoder;
+    this.finRsvOp = finRsvOp;
+    this.offset = offset;
+    this.length = length;
+    this.maskingKey = maskingKey;
+    this.position = position;
+    this.step = step;
+  }
+
+  WsFrameZlibInflater(WsZlibDecoder ws, WsOpcode frameType, Decoder<O> payloadDecoder) {
+    this(ws, frameType, payloadDecoder, 0, 0L, 0L, null, 0, 1);
+  }
+
+  @Override
+  public Decoder<WsFrame<O>> feed(InputBuffer input) {
+    return WsFrameZlibInflater.decode(input, this.ws, this.frameType, this.payloadDecoder, this.finRsvOp,
+                                  this.offset, this.length, this.maskingKey, this.position, this.step);
+  }
+
+  static <O> Decoder<WsFrame<O>> decode(InputBuffer input, WsZlibDecoder ws, WsOpcode frameType,
+                                        Decoder<O> payloadDecoder, int finRsvOp, long offset,
+                                        long length, byte[] maskingKey, int position, int step) {
+    if (step == 1 && input.isCont()) { // decode finRsvOp
+      finRsvOp = input.head();
+      input = input.step();
+      if (frameType == null) {
+        frameType = WsOpcode.from(finRsvOp & 0xf);
+      }
+      step = 2;
+    }
+    if (step == 2 && input.isCont()) { // decode maskLength
+      final int maskLength = input.head();
+      input = input.step();
+      if ((maskLength & 0x80) != 0) {
+        maskingKey = new byte[4];
+      }
+      final int len = maskLength & 0x7f;
+      if (len == 126) { // short length
+        step = 3;
+      } else if (len == 127) { // long length
+        step = 5;
+      } else {
+        length = (long) len;
+        step = maskingKey != null ? 13 : 17;
+      }
+    }
+    if (step >= 3 && step <= 4) { // decode short length
+      while (input.isCont()) {
+        length = (length << 8) | (long) input.head();
+        input = input.step();
+        if (step < 4) {
+          step += 1;
+        } else {
+          step = maskingKey != null ? 13 : 17;
+          break;
+        }
+      }
+    }
+    if (step >= 5 && step <= 12) { // decode long length
+      while (input.isCont()) {
+        length = (length << 8) | (long) input.head();
+        input = input.step();
+        if (step < 12) {
+          step += 1;
+        } else {
+          step = maskingKey != null ? 13 : 17;
+          break;
+        }
+      }
+    }
+    if (step >= 13 && step <= 16) { // decode masking key
+      while (input.isCont()) {
+        maskingKey[step - 13] = (byte) input.head();
+        input = input.step();
+        if (step < 16) {
+          step += 1;
+        } else {
+          step = 17;
+          break;
+        }
+      }
+    }
+    if (step == 17) { // decode payload
+      final int base = input.index();
+      final int size = (int) Math.min(length - offset, input.remaining());
+      if (maskingKey != null) {
+        for (int i = 0; i < size; i += 1) {
+          input.set(base + i, (input.get(base + i) ^ maskingKey[position + i & 0x3]) & 0xff);
+        }
+      }
+      offset += size;
+      position += size;
+
+      final boolean eof = offset == length && (finRsvOp & 0x80) != 0;
+      final Inflater inflater = ws.inflater();
+      if (input.hasArray()) {
+        inflater.setInput(input.array(), input.arrayOffset() + base, size);
+      } else {
+        // stage payload bytes from direct input buffers
+        final byte[] inputArray = ws.stagingBuffer(size);
+        for (int i = 0; i < size; i += 1) {
+          inputArray[i] = (byte) input.get(base + i);
+        }
+        inflater.setInput(inputArray, 0, size);
+      }
+
+      try {
+        payloadDecoder = ws.inflate(payloadDecoder);
+        // the inflater must not retain a reference to the shared input buffer
+        final int inflatedSize = size - inflater.getRemaining();
+        inflater.setInput(EMPTY_INPUT);
+        input = input.index(base + inflatedSize);
+
+        if (eof && inflatedSize == size) {
+          inflater.setInput(EMPTY_BLOCK);
+          payloadDecoder = ws.inflate(payloadDecoder);
+          if (payloadDecoder.isCont()) {
+            payloadDecoder = payloadDecoder.feed(ws.windowBuffer.index(0).limit(0).isPart(false));
+          }
+          ws.didInflateMessage();
+        }
+      } catch (DataFormatException cause) {
+        return Decoder.error(new DecoderException(cause));
+      }
+
+      if (payloadDecoder.isError()) {
+        return payloadDecoder.asError();
+      } else if (input.index() != base + size) {
+        return Decoder.error(new DecoderException("undecoded websocket data"));
+      } else if (payloadDecoder.isDone()) {
+        if (offset == length) {
+          if ((finRsvOp & 0x80) != 0) {
+            if (frameType.code < 0x8) { // decoded data frame
+              return Decoder.done(ws.dataFrame(frameType, payloadDecoder.bind()));
+            } else { // decoded control frame
+              return Decoder.done(ws.controlFrame(frameType, payloadDecoder.bind()));
+            }
+          } else {
+            return Decoder.error(new DecoderException("decoded unfinished websocket message"));
+          }
+        } else {
+          return Decoder.error(new DecoderException("decoded incomplete websocket frame"));
+        }
+      } else if (offset == length) {
+        if ((finRsvOp & 0x80) == 0) {
+          if ((finRsvOp & 0xf) < 0x8) { // decoded fragment
+            return Decoder.done(ws.fragmentFrame(frameType, payloadDecoder));
+          } else {
+            return Decoder.error(new DecoderException("decoded fragmented control frame"));
+          }
+        } else {
+          return Decoder.error(new DecoderException("undecoded websocket message"));
+        }
+      }
+    }
+    if (input.isDone()) {
+      return Decoder.error(new DecoderException("incomplete"));
+    } else if (input.isError()) {
+      return Decoder.error(input.trap());
+    }
+    return new WsFrameZlibInflater<O>(ws, frameType, payloadDecoder, finRsvOp, offset,
+                                  length, maskingKey, position, step);
+  }
+
+  static <O> Decoder<WsFrame<O>> decode(InputBuffer input, WsZlibDecoder ws,
+                                        WsOpcode frameType, Decoder<O> payloadDecoder) {
+    return WsFrameZlibInflater.decode(input, ws, frameType, payloadDecoder, 0, 0L, 0L, null, 0, 1);
+  }
+
+  private static final byte[] EMPTY_INPUT = new byte[0];
+
+  private static final byte[] EMPTY_BLOCK = {(byte) 0x00, (byte) 0x00, (byte) 0xff, (byte) 0xff};
+
+}
@@ -0,0 +1,173 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+
+/**
+ * WebSocket decoder that decompresses data frames with the JDK's native zlib
+ * {@link Inflater}, as an alternative to {@link WsDeflateDecoder}. The {@code
+ * Inflater} is created lazily when a compressed message begins decoding.
+ * Decoders for peers that don't take over context between messages release
+ * their {@code Inflater}, and all of its native memory, after each compressed
+ * message, so that idle connections hold no decompression state.
+ */
+public class WsZlibDecoder extends WsDecoder {
+
+  protected final boolean noContextTakeover;
+  protected boolean decompressing;
+  Inflater inflater;
+  byte[] window;
+  InputBuffer windowBuffer;
+  byte[] stagingBuffer;
+
+  public WsZlibDecoder(boolean noContextTakeover) {
+    this.noContextTakeover = noContextTakeover;
+    this.decompressing = false;
+    this.inflater = null;
+    this.window = null;
+    this.windowBuffer = null;
+    this.stagingBuffer = null;
+  }
+
+  public final boolean noContextTakeover() {
+    return this.noContextTakeover;
+  }
+
+  public final boolean decompressing() {
+    return this.decompressing;
+  }
+
+  /**
+   * Returns {@code true} if this decoder currently holds an {@code Inflater}.
+   */
+  public final boolean isInflating() {
+    return this.inflater != null;
+  }
+
+  Inflater inflater() {
+    Inflater inflater = this.inflater;
+    if (inflater == null) {
+      inflater = new Inflater(true);
+      this.inflater = inflater;
+    }
+    return inflater;
+  }
+
+  /**
+   * Inflates all buffered input into {@code payloadDecoder}, returning the
+   * continuation of the payload decoder.
+   */
+  <O> Decoder<O> inflate(Decoder<O> payloadDecoder) throws DataFormatException {
+    byte[] window = this.window;
+    InputBuffer windowBuffer = this.windowBuffer;
+    if (window == null) {
+      window = new byte[WINDOW_SIZE];
+      windowBuffer = Binary.inputBuffer(window);
+      this.window = window;
+      this.windowBuffer = windowBuffer;
+    }
+    final Inflater inflater = this.inflater;
+    while (payloadDecoder.isCont()) {
+      final int inflatedSize = inflater.inflate(window, 0, window.length);
+      if (inflatedSize == 0) {
+        break;
+      }
+      windowBuffer = windowBuffer.index(0).limit(inflatedSize).isPart(true);
+      payloadDecoder = payloadDecoder.feed(windowBuffer);
+    }
+    return payloadDecoder;
+  }
+
+  /**
+   * Returns a scratch array of at least {@code size} bytes used to stage
+   * frame payloads through buffers that aren't backed by accessible arrays,
+   * such as direct socket buffers.
+   */
+  byte[] stagingBuffer(int size) {
+    byte[] stagingBuffer = this.stagingBuffer;
+    if (stagingBuffer == null || stagingBuffer.length < size) {
+      stagingBuffer = new byte[size];
+      this.stagingBuffer = stagingBuffer;
+    }
+    return stagingBuffer;
+  }
+
+  /**
+   * Invoked after the last frame of a compressed message has been decoded.
+   */
+  void didInflateMessage() {
+    if (this.noContextTakeover) {
+      this.release();
+    } else if (this.inflater.finished()) {
+      // peer terminated the deflate stream; start a new one
+      this.inflater.reset();
+    }
+  }
+
+  /**
+   * Releases the {@code Inflater} and scratch buffers held by this decoder.
+   * Must only be invoked between messages; discards the decompression context
+   * of peers that take over context between messages.
+   */
+  public void release() {
+    final Inflater inflater = this.inflater;
+    if (inflater != null) {
+      this.inflater = null;
+      inflater.end();
+    }
+    this.window = null;
+    this.windowBuffer = null;
+    this.stagingBuffer = null;
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeContinuationFrame(InputBuffer input, int finRsvOp, WsOpcode frameType, Decoder<T> payloadDecoder) {
+    if (this.decompressing) { // compressed
+      return WsFrameZlibInflater.decode(input, this, frameType, payloadDecoder);
+    } else { // uncompressed
+      return WsFrameDecoder.decode(input, this, frameType, payloadDecoder);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeTextFrame(InputBuffer input, int finRsvOp, Decoder<T> payloadDecoder) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameZlibInflater.decode(input, this, WsOpcode.TEXT, payloadDecoder);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, WsOpcode.TEXT, payloadDecoder);
+    }
+  }
+
+  @Override
+  public <T> Decoder<WsFrame<T>> decodeBinaryFrame(InputBuffer input, int finRsvOp, Decoder<T> payloadDecoder) {
+    if ((finRsvOp & 0x40) != 0) { // compressed
+      this.decompressing = (finRsvOp & 0x80) == 0;
+      return WsFrameZlibInflater.decode(input, this, WsOpcode.BINARY, payloadDecoder);
+    } else { // uncompressed
+      this.decompressing = false;
+      return WsFrameDecoder.decode(input, this, WsOpcode.BINARY, payloadDecoder);
+    }
+  }
+
+  static final int WINDOW_SIZE = 4096;
+
+}
@@ -0,0 +1,172 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.util.zip.Deflater;
+import swim.codec.Binary;
+import swim.codec.Encoder;
+import swim.codec.OutputBuffer;
+
+/**
+ * WebSocket encoder that compresses data frames with the JDK's native zlib
+ * {@link Deflater}, as an alternative to {@link WsDeflateEncoder}. The
+ * {@code Deflater} is created lazily when a message begins compressing.
+ * Encoders negotiated without context takeover release their {@code
+ * Deflater}, and all of its native memory, after each compressed message,
+ * so that idle connections hold no compression state.
+ */
+public abstract class WsZlibEncoder extends WsEncoder {
+
+  protected final int level;
+  protected final boolean noContextTakeover;
+  Deflater deflater;
+  byte[] inputArray;
+  OutputBuffer<?> inputBuffer;
+  byte[] stagingBuffer;
+  int stagingSize;
+
+  public WsZlibEncoder(int level, boolean noContextTakeover) {
+    this.level = level;
+    this.noContextTakeover = noContextTakeover;
+    this.deflater = null;
+    this.inputArray = null;
+    this.inputBuffer = null;
+    this.stagingBuffer = null;
+    this.stagingSize = 0;
+  }
+
+  public final int level() {
+    return this.level;
+  }
+
+  public final boolean noContextTakeover() {
+    return this.noContextTakeover;
+  }
+
+  /**
+   * Returns {@code true} if this encoder currently holds a {@code Deflater}.
+   */
+  public final boolean isDeflating() {
+    return this.deflater != null;
+  }
+
+  Deflater deflater() {
+    Deflater deflater = this.deflater;
+    if (deflater == null) {
+      deflater = new Deflater(this.level, true);
+      this.deflater = deflater;
+    }
+    return deflater;
+  }
+
+  /**
+   * Pulls the next chunk of uncompressed payload from {@code payloadEncoder}
+   * into the {@code Deflater}, returning the continuation of the payload
+   * encoder. Returns {@code payloadEncoder} unchanged, with the {@code
+   * Deflater} still needing input, if the payload encoder made no progress.
+   */
+  Encoder<?, ?> pullInput(Encoder<?, ?> payloadEncoder) {
+    byte[] inputArray = this.inputArray;
+    OutputBuffer<?> inputBuffer = this.inputBuffer;
+    if (inputArray == null) {
+      inputArray = new byte[INPUT_SIZE];
+      inputBuffer = Binary.outputBuffer(inputArray);
+      this.inputArray = inputArray;
+      this.inputBuffer = inputBuffer;
+    }
+    inputBuffer = inputBuffer.index(0).limit(inputArray.length).isPart(true);
+    payloadEncoder = payloadEncoder.pull(inputBuffer);
+    final int inputSize = inputBuffer.index();
+    if (inputSize > 0) {
+      this.deflater.setInput(inputArray, 0, inputSize);
+    }
+    return payloadEncoder;
+  }
+
+  /**
+   * Returns a scratch array of at least {@code size} bytes into which
+   * compressed frame payloads are deflated, preserving the {@code
+   * stagingSize} deflated bytes left over from the previous frame.
+   */
+  byte[] stagingBuffer(int size) {
+    byte[] stagingBuffer = this.stagingBuffer;
+    if (stagingBuffer == null || stagingBuffer.length < size) {
+      final byte[] newStagingBuffer = new byte[size];
+      if (stagingBuffer != null) {
+        System.arraycopy(stagingBuffer, 0, newStagingBuffer, 0, this.stagingSize);
+      }
+      stagingBuffer = newStagingBuffer;
+      this.stagingBuffer = stagingBuffer;
+    }
+    return stagingBuffer;
+  }
+
+  /**
+   * Invoked after the last frame of a compressed message has been encoded.
+   */
+  void didDeflateMessage() {
+    this.stagingSize = 0;
+    if (this.noContextTakeover) {
+      this.release();
+    }
+  }
+
+  /**
+   * Releases the {@code Deflater} and scratch buffers held by this encoder.
+   * Must only be invoked between messages; discards the compression context
+   * of encoders that take over context between messages.
+   */
+  public void release() {
+    final Deflater deflater = this.deflater;
+    if (deflater != null) {
+      this.deflater = null;
+      deflater.end();
+    }
+    this.inputArray = null;
+    this.inputBuffer = null;
+    this.stagingBuffer = null;
+    this.stagingSize = 0;
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> textFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZlibDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeTextFrame(OutputBuffer<?> output, WsFrame<T> frame) {
+    return WsFrameZlibDeflater.encode(output, this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> binaryFrameEncoder(WsFrame<T> frame) {
+    return new WsFrameZlibDeflater<T>(this, frame);
+  }
+
+  @Override
+  public <T> Encoder<?, WsFrame<T>> encodeBinaryFrame(OutputBuffer<?> output, WsFrame<T> frame) {
+    return WsFrameZlibDeflater.encode(output, this, frame);
+  }
+
+  static final int INPUT_SIZE = 4096;
+
+  /**
+   * Minimum number of bytes of free space to give the {@code Deflater} when
+   * flushing. A flush that exactly fills the available space gets restarted
+   * on the next call, so flushing into too little space never completes.
+   */
+  static final int MIN_DEFLATE_SIZE = 256;
+
+}
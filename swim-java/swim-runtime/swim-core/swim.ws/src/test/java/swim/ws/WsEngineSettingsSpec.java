@@ -41,7 +41,8 @@ public class WsEngineSettingsSpec {
                             Slot.of("clientNoContextTakeover", true),
                             Slot.of("serverMaxWindowBits", 11),
                             Slot.of("clientMaxWindowBits", 13),
-                            Slot.of("autoClose", true)),
+                            Slot.of("autoClose", true),
+                            Slot.of("zlibCompression", true)),
                   WsEngineSettings.standard()
                                   .maxFrameSize(2048)
                                   .maxMessageSize(4096)
@@ -51,7 +52,20 @@ public class WsEngineSettingsSpec {
                                   .clientNoContextTakeover(true)
                                   .serverMaxWindowBits(11)
                                   .clientMaxWindowBits(13)
-                                  .autoClose(true));
+                                  .autoClose(true)
+                                  .zlibCompression(true));
+  }
+
+  @Test
+  public void constructEngineSettingsWithoutZlibCompression() {
+    final WsEngineSettings standard = WsEngineSettings.standard();
+    final WsEngineSettings settings = new WsEngineSettings(standard.maxFrameSize(), standard.maxMessageSize(),
+                                                           standard.serverCompressionLevel(), standard.clientCompressionLevel(),
+                                                           standard.serverNoContextTakeover(), standard.clientNoContextTakeover(),
+                                                           standard.serverMaxWindowBits(), standard.clientMaxWindowBits(),
+                                                           standard.autoClose());
+    assertEquals(settings, standard);
+    assertEquals(settings.zlibCompression(true).autoClose(!standard.autoClose()).zlibCompression(), true);
   }
 
   @Test
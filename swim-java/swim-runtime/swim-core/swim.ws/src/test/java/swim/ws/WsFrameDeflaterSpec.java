@@ -14,6 +14,7 @@
 
 package swim.ws;
 
+import java.nio.ByteBuffer;
 import org.testng.TestException;
 import org.testng.annotations.Test;
 import swim.codec.Binary;
@@ -59,6 +60,26 @@ public class WsFrameDeflaterSpec {
     assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
   }
 
+  @Test
+  public void deflateMaskedSharedWindowIntoDirectBuffers() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final WsDeflateEncoder ws = new TestWsDeflateEncoder(maskingKey);
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18537fa213dc5fa303d37"));
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+  }
+
+  static void assertEncodesDirect(WsEncoder ws, WsFrame<?> frame, Data encoded) {
+    final ByteBuffer actual = ByteBuffer.allocateDirect(encoded.size() + 16);
+    final Encoder<?, ?> frameEncoder = ws.frameEncoder(frame).pull(Binary.outputBuffer(actual).isPart(false));
+    if (frameEncoder.isError()) {
+      throw new TestException(frameEncoder.trap());
+    }
+    assertTrue(frameEncoder.isDone());
+    actual.flip();
+    assertEquals(Data.from(actual), encoded);
+  }
+
   static void assertEncodes(WsEncoder ws, WsFrame<?> frame, Data encoded, int... bufferSizes) {
     final byte[] actual = new byte[encoded.size() + 16];
     int bufferSize = encoded.size() + 16;
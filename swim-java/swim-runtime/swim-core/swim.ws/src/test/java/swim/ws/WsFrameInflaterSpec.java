@@ -14,8 +14,10 @@
 
 package swim.ws;
 
+import java.nio.ByteBuffer;
 import org.testng.TestException;
 import org.testng.annotations.Test;
+import swim.codec.Binary;
 import swim.codec.Decoder;
 import swim.codec.InputBuffer;
 import swim.codec.Utf8;
@@ -112,6 +114,24 @@ public class WsFrameInflaterSpec {
     assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
   }
 
+  @Test
+  public void inflateMaskedSharedWindowFromDirectBuffers() {
+    final WsDeflateDecoder ws = Ws.deflateDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18737fa213dc5b2ecf4fefd21")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18537fa213dc5fa303d37")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18437fa213d35e9213d")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+  }
+
+  static InputBuffer directInput(Data data) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.size());
+    buffer.put(data.asByteArray(), 0, data.size());
+    buffer.flip();
+    return Binary.inputBuffer(buffer).isPart(true);
+  }
+
   static <T> void assertDecodes(WsDeflateDecoder ws, Decoder<T> payloadDecoder, Data encoded, WsFrame<T> expected) {
     encoded = encoded.commit();
     for (int i = 0, n = encoded.size(); i <= n; i += 1) {
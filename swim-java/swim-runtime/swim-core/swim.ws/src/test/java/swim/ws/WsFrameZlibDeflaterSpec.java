@@ -0,0 +1,154 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.nio.ByteBuffer;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.Encoder;
+import swim.codec.InputBuffer;
+import swim.codec.OutputBuffer;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WsFrameZlibDeflaterSpec {
+
+  @Test
+  public void deflateUnmaskedTextFrame() {
+    assertEncodes(WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+  }
+
+  @Test
+  public void deflateMaskedTextFrame() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    assertEncodes(maskingKey, WsTextFrame.create("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+  }
+
+  @Test
+  public void deflateUnmaskedSharedWindow() {
+    final WsZlibEncoder ws = new TestWsZlibEncoder(null);
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c105f200110000"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c10402130000"));
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c10402130000"));
+    assertTrue(ws.isDeflating());
+  }
+
+  @Test
+  public void deflateMaskedSharedWindowIntoDirectBuffers() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final WsZlibEncoder ws = new TestWsZlibEncoder(maskingKey);
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18737fa213dc5b2ecf4fefd21"));
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18537fa213dc5fa303d37"));
+    assertEncodesDirect(ws, WsTextFrame.create("Hello"), Data.fromBase16("c18437fa213d35e9213d"));
+  }
+
+  @Test
+  public void deflateWithoutContextTakeover() {
+    final WsZlibEncoder ws = new TestWsZlibEncoder(null, -1, true);
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertFalse(ws.isDeflating());
+    assertEncodes(ws, WsTextFrame.create("Hello"), Data.fromBase16("c107f248cdc9c90700"));
+    assertFalse(ws.isDeflating());
+  }
+
+  @Test
+  public void deflateUnmaskedTextFragments() {
+    final String text = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    for (int bufferSize = 3; bufferSize <= 64; bufferSize += 1) {
+      final Data encoded = encodeFragments(new TestWsZlibEncoder(null), WsTextFrame.create(text), bufferSize);
+      assertEquals(decodeMessage(Ws.deflateDecoder(), encoded), WsTextFrame.create(text));
+    }
+  }
+
+  @Test
+  public void deflateMaskedLargeFragments() {
+    final byte[] maskingKey = {(byte) 0x37, (byte) 0xfa, (byte) 0x21, (byte) 0x3d};
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 4096; i += 1) {
+      text.append(Integer.toString(i * 7919, 36)).append(' ');
+    }
+    final WsZlibEncoder ws = new TestWsZlibEncoder(maskingKey);
+    final WsDeflateDecoder decoder = Ws.deflateDecoder();
+    for (int bufferSize = 64; bufferSize <= 65536; bufferSize *= 4) {
+      final Data encoded = encodeFragments(ws, WsTextFrame.create(text.toString()), bufferSize);
+      assertEquals(decodeMessage(decoder, encoded), WsTextFrame.create(text.toString()));
+    }
+  }
+
+  static Data encodeFragments(WsEncoder ws, WsFrame<?> frame, int bufferSize) {
+    final Data encoded = Data.create();
+    final byte[] buffer = new byte[bufferSize];
+    Encoder<?, ?> frameEncoder = ws.frameEncoder(frame);
+    while (frameEncoder.isCont()) {
+      final OutputBuffer<?> output = Binary.outputBuffer(buffer).isPart(true);
+      frameEncoder = frameEncoder.pull(output);
+      encoded.addByteArray(buffer, 0, output.index());
+    }
+    if (frameEncoder.isError()) {
+      throw new TestException(frameEncoder.trap());
+    }
+    return encoded;
+  }
+
+  @SuppressWarnings("unchecked")
+  static WsFrame<Object> decodeMessage(WsDecoder ws, Data encoded) {
+    final InputBuffer input = encoded.toInputBuffer();
+    Decoder<WsFrame<Object>> frameDecoder = ws.decodeMessage(input, new StringOrDataDecoder());
+    while (frameDecoder.isDone() && frameDecoder.bind() instanceof WsFragmentFrame<?>) {
+      final WsFragmentFrame<Object> fragment = (WsFragmentFrame<Object>) frameDecoder.bind();
+      frameDecoder = ws.decodeContinuation(input, fragment.frameType(), fragment.payloadDecoder());
+    }
+    if (frameDecoder.isError()) {
+      throw new TestException(frameDecoder.trap());
+    }
+    assertTrue(frameDecoder.isDone());
+    return frameDecoder.bind();
+  }
+
+  static void assertEncodesDirect(WsEncoder ws, WsFrame<?> frame, Data encoded) {
+    final ByteBuffer actual = ByteBuffer.allocateDirect(encoded.size() + 16);
+    final Encoder<?, ?> frameEncoder = ws.frameEncoder(frame).pull(Binary.outputBuffer(actual).isPart(false));
+    if (frameEncoder.isError()) {
+      throw new TestException(frameEncoder.trap());
+    }
+    assertTrue(frameEncoder.isDone());
+    actual.flip();
+    assertEquals(Data.from(actual), encoded);
+  }
+
+  static void assertEncodes(WsEncoder ws, WsFrame<?> frame, Data encoded) {
+    final byte[] actual = new byte[encoded.size() + 16];
+    final Encoder<?, ?> frameEncoder = ws.frameEncoder(frame).pull(Binary.outputBuffer(actual).isPart(false));
+    if (frameEncoder.isError()) {
+      throw new TestException(frameEncoder.trap());
+    }
+    assertTrue(frameEncoder.isDone());
+    assertEquals(Data.wrap(actual, 0, encoded.size()), encoded);
+  }
+
+  static void assertEncodes(WsFrame<?> frame, Data encoded) {
+    assertEncodes(new TestWsZlibEncoder(null), frame, encoded);
+  }
+
+  static void assertEncodes(byte[] maskingKey, WsFrame<?> frame, Data encoded) {
+    assertEncodes(new TestWsZlibEncoder(maskingKey), frame, encoded);
+  }
+
+}
@@ -0,0 +1,148 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.ws;
+
+import java.nio.ByteBuffer;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import swim.codec.Binary;
+import swim.codec.Decoder;
+import swim.codec.InputBuffer;
+import swim.codec.Utf8;
+import swim.structure.Data;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class WsFrameZlibInflaterSpec {
+
+  @Test
+  public void decodeUnmaskedTextFrame() {
+    assertDecodes(Data.fromBase16("810548656c6c6f"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void decodeCloseFrame() {
+    assertDecodes(Data.fromBase16("880203e8"), WsCloseFrame.create(1000));
+  }
+
+  @Test
+  public void inflateUnmaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c107f248cdc9c90700"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateUnmaskedTextFragments() {
+    assertDecodes(Data.fromBase16("4103f248cd8004c9c90700"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateMaskedTextFrame() {
+    assertDecodes(Data.fromBase16("c18737fa213dc5b2ecf4fefd21"), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateUnmaskedSharedWindow() {
+    final WsZlibDecoder ws = Ws.zlibDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(Data.fromBase16("c105f200110000").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(Data.fromBase16("c10402130000").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    assertTrue(ws.isInflating());
+  }
+
+  @Test
+  public void inflateMaskedSharedWindowFromDirectBuffers() {
+    final WsZlibDecoder ws = Ws.zlibDecoder();
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18737fa213dc5b2ecf4fefd21")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18537fa213dc5fa303d37")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    frameDecoder = ws.decodeMessage(directInput(Data.fromBase16("c18437fa213d35e9213d")), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+  }
+
+  @Test
+  public void inflateWithoutContextTakeover() {
+    final WsZlibDecoder ws = Ws.zlibDecoder(true);
+    Decoder<WsFrame<String>> frameDecoder = ws.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    assertFalse(ws.isInflating());
+    frameDecoder = ws.decodeMessage(Data.fromBase16("c107f248cdc9c90700").toInputBuffer().isPart(true), Utf8.stringParser());
+    assertEquals(frameDecoder.bind(), WsTextFrame.create("Hello"));
+    assertFalse(ws.isInflating());
+  }
+
+  @Test
+  public void inflateLargeFragments() {
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 4096; i += 1) {
+      text.append(Integer.toString(i * 7919, 36)).append(' ');
+    }
+    final WsDeflateEncoder encoder = Ws.deflateEncoderMasked();
+    final WsZlibDecoder decoder = Ws.zlibDecoder();
+    for (int bufferSize = 256; bufferSize <= 65536; bufferSize *= 4) {
+      final Data encoded = WsFrameZlibDeflaterSpec.encodeFragments(encoder, WsTextFrame.create(text.toString()), bufferSize);
+      assertEquals(WsFrameZlibDeflaterSpec.decodeMessage(decoder, encoded), WsTextFrame.create(text.toString()));
+    }
+  }
+
+  static InputBuffer directInput(Data data) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.size());
+    buffer.put(data.asByteArray(), 0, data.size());
+    buffer.flip();
+    return Binary.inputBuffer(buffer).isPart(true);
+  }
+
+  @SuppressWarnings("unchecked")
+  static void assertDecodes(Data encoded, WsFrame<?> expected) {
+    encoded = encoded.commit();
+    for (int i = 0, n = encoded.size(); i <= n; i += 1) {
+      final WsZlibDecoder wsDecoder = Ws.zlibDecoder();
+      InputBuffer input = encoded.toInputBuffer();
+      Decoder<WsFrame<Object>> frameDecoder = wsDecoder.messageDecoder(new StringOrDataDecoder());
+
+      input = input.index(0).limit(i).isPart(true);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<Object> frame = frameDecoder.bind();
+        if (frame instanceof WsFragmentFrame<?>) {
+          final WsFragmentFrame<Object> fragment = (WsFragmentFrame<Object>) frame;
+          frameDecoder = wsDecoder.continuationDecoder(fragment.frameType(), fragment.payloadDecoder());
+        }
+      }
+
+      input = input.limit(n).isPart(false);
+      frameDecoder = frameDecoder.feed(input);
+      if (frameDecoder.isDone()) {
+        final WsFrame<Object> frame = frameDecoder.bind();
+        if (frame instanceof WsFragmentFrame<?>) {
+          final WsFragmentFrame<Object> fragment = (WsFragmentFrame<Object>) frame;
+          frameDecoder = wsDecoder.continuationDecoder(fragment.frameType(), fragment.payloadDecoder());
+          frameDecoder = frameDecoder.feed(input);
+        }
+      }
+
+      if (frameDecoder.isError()) {
+        throw new TestException(frameDecoder.trap());
+      }
+      assertTrue(frameDecoder.isDone());
+      assertEquals(frameDecoder.bind(), expected);
+    }
+  }
+
+}
@@ -44,6 +44,7 @@ import swim.system.NodeDef;
 import swim.system.PartBinding;
 import swim.system.PolicyDef;
 import swim.system.agent.AgentModel;
+import swim.system.router.HostTable;
 import swim.uri.Uri;
 import swim.uri.UriMapper;
 import swim.util.Log;
@@ -91,6 +92,13 @@ public class ActorHost extends ActorTier implements HostBinding, HostContext {
   public void setHostContext(HostContext hostContext) {
     this.hostContext = hostContext;
     this.hostBinding.setHostContext(this);
+    final HostDef hostDef = this.hostDef;
+    if (hostDef != null && hostDef.idleTimeout() >= 0L) {
+      final HostTable hostTable = this.hostBinding.unwrapHost(HostTable.class);
+      if (hostTable != null) {
+        hostTable.setIdleTimeout(hostDef.idleTimeout());
+      }
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -198,6 +206,11 @@ public class ActorHost extends ActorTier implements HostBinding, HostContext {
     return this.hostBinding.nodes();
   }
 
+  @Override
+  public int nodeCount() {
+    return this.hostBinding.nodeCount();
+  }
+
   @Override
   public NodeBinding getNode(Uri nodeUri) {
     return this.hostBinding.getNode(nodeUri);
@@ -41,11 +41,12 @@ public class ActorHostDef implements HostDef, Debug {
   final PolicyDef policyDef;
   final StageDef stageDef;
   final StoreDef storeDef;
+  final long idleTimeout;
 
   public ActorHostDef(UriPattern hostPattern, boolean isPrimary, boolean isReplica,
                       UriMapper<NodeDef> nodeDefs, UriMapper<LaneDef> laneDefs,
                       LogDef logDef, PolicyDef policyDef, StageDef stageDef,
-                      StoreDef storeDef) {
+                      StoreDef storeDef, long idleTimeout) {
     this.hostPattern = hostPattern;
     this.isPrimary = isPrimary;
     this.isReplica = isReplica;
@@ -55,6 +56,15 @@ public class ActorHostDef implements HostDef, Debug {
     this.policyDef = policyDef;
     this.stageDef = stageDef;
     this.storeDef = storeDef;
+    this.idleTimeout = idleTimeout;
+  }
+
+  public ActorHostDef(UriPattern hostPattern, boolean isPrimary, boolean isReplica,
+                      UriMapper<NodeDef> nodeDefs, UriMapper<LaneDef> laneDefs,
+                      LogDef logDef, PolicyDef policyDef, StageDef stageDef,
+                      StoreDef storeDef) {
+    this(hostPattern, isPrimary, isReplica, nodeDefs, laneDefs,
+         logDef, policyDef, stageDef, storeDef, -1L);
   }
 
   @Override
@@ -164,12 +174,31 @@ public class ActorHostDef implements HostDef, Debug {
                      this.laneDefs, this.logDef, this.policyDef, this.stageDef, storeDef);
   }
 
+  @Override
+  public final long idleTimeout() {
+    return this.idleTimeout;
+  }
+
+  public ActorHostDef idleTimeout(long idleTimeout) {
+    return this.copy(this.hostPattern, this.isPrimary, this.isReplica, this.nodeDefs,
+                     this.laneDefs, this.logDef, this.policyDef, this.stageDef, this.storeDef,
+                     idleTimeout);
+  }
+
   protected ActorHostDef copy(UriPattern hostPattern, boolean isPrimary, boolean isReplica,
                               UriMapper<NodeDef> nodeDefs, UriMapper<LaneDef> laneDefs,
                               LogDef logDef, PolicyDef policyDef, StageDef stageDef,
-                              StoreDef storeDef) {
+                              StoreDef storeDef, long idleTimeout) {
     return new ActorHostDef(hostPattern, isPrimary, isReplica, nodeDefs, laneDefs,
-                            logDef, policyDef, stageDef, storeDef);
+                            logDef, policyDef, stageDef, storeDef, idleTimeout);
+  }
+
+  protected ActorHostDef copy(UriPattern hostPattern, boolean isPrimary, boolean isReplica,
+                              UriMapper<NodeDef> nodeDefs, UriMapper<LaneDef> laneDefs,
+                              LogDef logDef, PolicyDef policyDef, StageDef stageDef,
+                              StoreDef storeDef) {
+    return this.copy(hostPattern, isPrimary, isReplica, nodeDefs, laneDefs,
+                     logDef, policyDef, stageDef, storeDef, this.idleTimeout);
   }
 
   @Override
@@ -186,7 +215,8 @@ public class ActorHostDef implements HostDef, Debug {
           && (this.logDef == null ? that.logDef == null : this.logDef.equals(that.logDef))
           && (this.policyDef == null ? that.policyDef == null : this.policyDef.equals(that.policyDef))
           && (this.stageDef == null ? that.stageDef == null : this.stageDef.equals(that.stageDef))
-          && (this.storeDef == null ? that.storeDef == null : this.storeDef.equals(that.storeDef));
+          && (this.storeDef == null ? that.storeDef == null : this.storeDef.equals(that.storeDef))
+          && this.idleTimeout == that.idleTimeout;
     }
     return false;
   }
@@ -198,11 +228,11 @@ public class ActorHostDef implements HostDef, Debug {
     if (ActorHostDef.hashSeed == 0) {
       ActorHostDef.hashSeed = Murmur3.seed(ActorHostDef.class);
     }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
         Murmur3.mix(Murmur3.mix(Murmur3.mix(ActorHostDef.hashSeed, this.hostPattern.hashCode()),
         Murmur3.hash(this.isPrimary)), Murmur3.hash(this.isReplica)), this.nodeDefs.hashCode()),
         this.laneDefs.hashCode()), Murmur3.hash(this.logDef)), Murmur3.hash(this.policyDef)),
-        Murmur3.hash(this.stageDef)), Murmur3.hash(this.storeDef)));
+        Murmur3.hash(this.stageDef)), Murmur3.hash(this.storeDef)), Murmur3.hash(this.idleTimeout)));
   }
 
   @Override
@@ -237,6 +267,9 @@ public class ActorHostDef implements HostDef, Debug {
     if (this.storeDef != null) {
       output = output.write('.').write("storeDef").write('(').debug(this.storeDef).write(')');
     }
+    if (this.idleTimeout >= 0L) {
+      output = output.write('.').write("idleTimeout").write('(').debug(this.idleTimeout).write(')');
+    }
     return output;
   }
 
@@ -247,7 +280,7 @@ public class ActorHostDef implements HostDef, Debug {
 
   public static ActorHostDef fromHostUri(Uri hostUri) {
     return new ActorHostDef(UriPattern.from(hostUri), false, false, UriMapper.empty(),
-                            UriMapper.empty(), null, null, null, null);
+                            UriMapper.empty(), null, null, null, null, -1L);
   }
 
   public static ActorHostDef fromHostUri(String hostUri) {
@@ -256,7 +289,7 @@ public class ActorHostDef implements HostDef, Debug {
 
   public static ActorHostDef fromHostPattern(UriPattern hostPattern) {
     return new ActorHostDef(hostPattern, false, false, UriMapper.empty(),
-                            UriMapper.empty(), null, null, null, null);
+                            UriMapper.empty(), null, null, null, null, -1L);
   }
 
   public static ActorHostDef fromHostPattern(String hostPattern) {
@@ -425,12 +425,17 @@ public class ActorKernel extends KernelProxy {
         PolicyDef policyDef = null;
         StageDef stageDef = null;
         StoreDef storeDef = null;
+        long idleTimeout = -1L;
         for (int i = 0, n = value.length(); i < n; i += 1) {
           final Item item = value.getItem(i);
           if (item.keyEquals("uri") || item.keyEquals("pattern")) {
             hostPattern = item.toValue().cast(UriPattern.form(), hostPattern);
             continue;
           }
+          if (item.keyEquals("idleTimeout")) {
+            idleTimeout = item.toValue().longValue(idleTimeout);
+            continue;
+          }
           if (item.keyEquals("primary") || item.keyEquals("isPrimary")) {
             isPrimary = item.toValue().booleanValue(isPrimary);
             continue;
@@ -471,7 +476,7 @@ public class ActorKernel extends KernelProxy {
           }
         }
         return new ActorHostDef(hostPattern, isPrimary, isReplica, nodeDefs,
-                                laneDefs, logDef, policyDef, stageDef, storeDef);
+                                laneDefs, logDef, policyDef, stageDef, storeDef, idleTimeout);
       }
     }
     return null;
@@ -15,6 +15,7 @@
 package swim.api.lane;
 
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -66,4 +67,7 @@ public interface CommandLane<V> extends WarpLane {
   @Override
   CommandLane<V> didLeave(DidLeave didLeave);
 
+  @Override
+  CommandLane<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
 }
@@ -16,6 +16,7 @@ package swim.api.lane;
 
 import swim.api.lane.function.OnCue;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -66,6 +67,9 @@ public interface DemandLane<V> extends WarpLane {
   @Override
   DemandLane<V> didLeave(DidLeave didLeave);
 
+  @Override
+  DemandLane<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   void cue();
 
 }
@@ -17,6 +17,7 @@ package swim.api.lane;
 import swim.api.lane.function.OnCueKey;
 import swim.api.lane.function.OnSyncKeys;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -75,6 +76,9 @@ public interface DemandMapLane<K, V> extends WarpLane {
   @Override
   DemandMapLane<K, V> didLeave(DidLeave didLeave);
 
+  @Override
+  DemandMapLane<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   void cue(K key);
 
   void remove(K key);
@@ -20,6 +20,7 @@ import swim.api.downlink.MapDownlink;
 import swim.api.lane.function.DidDownlinkMap;
 import swim.api.lane.function.WillDownlinkMap;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -117,6 +118,9 @@ public interface JoinMapLane<L, K, V> extends WarpLane, Iterable<Map.Entry<K, V>
   @Override
   JoinMapLane<L, K, V> didLeave(DidLeave didLeave);
 
+  @Override
+  JoinMapLane<L, K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   MapDownlink<K, V> downlink(L key);
 
   MapDownlink<?, ?> getDownlink(Object key);
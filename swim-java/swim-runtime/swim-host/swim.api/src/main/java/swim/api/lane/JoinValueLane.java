@@ -20,6 +20,7 @@ import swim.api.downlink.ValueDownlink;
 import swim.api.lane.function.DidDownlinkValue;
 import swim.api.lane.function.WillDownlinkValue;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -111,6 +112,9 @@ public interface JoinValueLane<K, V> extends WarpLane, Iterable<Map.Entry<K, V>>
   @Override
   JoinValueLane<K, V> didLeave(DidLeave didLeave);
 
+  @Override
+  JoinValueLane<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   ValueDownlink<V> downlink(K key);
 
   ValueDownlink<?> getDownlink(Object key);
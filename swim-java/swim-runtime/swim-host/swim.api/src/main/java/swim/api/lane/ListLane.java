@@ -16,6 +16,7 @@ package swim.api.lane;
 
 import java.util.List;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -122,6 +123,9 @@ public interface ListLane<V> extends WarpLane, KeyedList<V>, ObservableList<V> {
   @Override
   ListLane<V> didLeave(DidLeave didLeave);
 
+  @Override
+  ListLane<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   @Override
   void drop(int lower);
 
@@ -16,6 +16,7 @@ package swim.api.lane;
 
 import java.util.Map;
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -123,6 +124,9 @@ public interface MapLane<K, V> extends WarpLane, ObservableOrderedMap<K, V>, Map
   @Override
   MapLane<K, V> didLeave(DidLeave didLeave);
 
+  @Override
+  MapLane<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   OrderedMap<K, V> snapshot();
 
   @Override
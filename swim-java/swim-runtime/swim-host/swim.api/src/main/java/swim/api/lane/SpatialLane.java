@@ -15,6 +15,7 @@
 package swim.api.lane;
 
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -111,6 +112,9 @@ public interface SpatialLane<K, S, V> extends WarpLane, ObservableSpatialMap<K,
   @Override
   SpatialLane<K, S, V> didLeave(DidLeave didLeave);
 
+  @Override
+  SpatialLane<K, S, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   SpatialMap<K, S, V> snapshot();
 
 }
@@ -15,6 +15,7 @@
 package swim.api.lane;
 
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -63,6 +64,9 @@ public interface SupplyLane<V> extends WarpLane {
   @Override
   SupplyLane<V> didLeave(DidLeave didLeave);
 
+  @Override
+  SupplyLane<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   void push(V value);
 
 }
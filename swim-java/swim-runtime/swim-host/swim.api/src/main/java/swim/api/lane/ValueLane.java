@@ -15,6 +15,7 @@
 package swim.api.lane;
 
 import swim.api.warp.WarpLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -82,6 +83,9 @@ public interface ValueLane<V> extends WarpLane, ObservableValue<V>, Inlet<V>, Ou
   @Override
   ValueLane<V> didLeave(DidLeave didLeave);
 
+  @Override
+  ValueLane<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
   @Override
   V get();
 
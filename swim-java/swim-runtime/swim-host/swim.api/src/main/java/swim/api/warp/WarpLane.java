@@ -48,4 +48,13 @@ public interface WarpLane extends Lane {
 
   WarpLane didLeave(DidLeave didLeave);
 
+  /**
+   * Returns the policy that governs event delivery to uplinks of this lane
+   * that don't request their own policy, or {@code null} if this lane
+   * forwards every event.
+   */
+  WarpUplinkPolicy uplinkPolicy();
+
+  WarpLane uplinkPolicy(WarpUplinkPolicy uplinkPolicy);
+
 }
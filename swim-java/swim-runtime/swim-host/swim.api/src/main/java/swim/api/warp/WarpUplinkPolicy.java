@@ -0,0 +1,295 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.api.warp;
+
+import swim.codec.Debug;
+import swim.codec.Format;
+import swim.codec.Output;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.util.Murmur3;
+
+/**
+ * Policy that governs how a WARP uplink delivers events to a slow link.
+ * A {@code WarpUplinkPolicy} combines a queueing mode, which determines
+ * which pending events an uplink retains when events arrive faster than
+ * they can be sent, with an optional maximum event rate, which paces the
+ * delivery of events to at most {@link #maxRate()} events per second.
+ * <p>
+ * The {@link #forward() forward} mode delivers every event. The {@link
+ * #sample() sample} mode delivers only the most recent pending event.
+ * The {@link #conflate() conflate} mode coalesces pending events by key
+ * on map lanes, and behaves like {@code sample} on other lanes. The
+ * {@link #dropOldest(int) dropOldest} mode retains at most {@link
+ * #queueSize()} pending events, discarding the oldest events first.
+ * Value lanes always deliver their latest state, and map lanes always
+ * conflate updates by key, regardless of mode.
+ * <p>
+ * Lanes can declare a default policy for their uplinks with {@link
+ * WarpLane#uplinkPolicy(WarpUplinkPolicy)}. Clients can request a policy
+ * by linking with an {@code @uplink} body, such as {@code
+ * @uplink(mode:sample,maxRate:10)}, and can limit the event rate of any
+ * link by specifying a positive link {@code rate}.
+ */
+public final class WarpUplinkPolicy implements Debug {
+
+  final int mode;
+  final int queueSize;
+  final float maxRate;
+
+  WarpUplinkPolicy(int mode, int queueSize, float maxRate) {
+    this.mode = mode;
+    this.queueSize = queueSize;
+    this.maxRate = maxRate;
+  }
+
+  public boolean isForward() {
+    return this.mode == WarpUplinkPolicy.FORWARD;
+  }
+
+  public boolean isSample() {
+    return this.mode == WarpUplinkPolicy.SAMPLE;
+  }
+
+  public boolean isConflate() {
+    return this.mode == WarpUplinkPolicy.CONFLATE;
+  }
+
+  public boolean isDropOldest() {
+    return this.mode == WarpUplinkPolicy.DROP_OLDEST;
+  }
+
+  /**
+   * Returns the maximum number of pending events retained by a {@code
+   * dropOldest} policy; returns {@code 0} for other modes.
+   */
+  public int queueSize() {
+    return this.queueSize;
+  }
+
+  /**
+   * Returns the maximum number of events per second delivered by uplinks
+   * with this policy; returns {@code 0} if the event rate is unlimited.
+   */
+  public float maxRate() {
+    return this.maxRate;
+  }
+
+  public WarpUplinkPolicy maxRate(float maxRate) {
+    if (maxRate < 0.0f || Float.isNaN(maxRate)) {
+      throw new IllegalArgumentException(Float.toString(maxRate));
+    }
+    return new WarpUplinkPolicy(this.mode, this.queueSize, maxRate);
+  }
+
+  /**
+   * Returns a copy of this policy whose maximum event rate is no greater
+   * than {@code rate}, if {@code rate} is positive.
+   */
+  public WarpUplinkPolicy limitRate(float rate) {
+    if (rate > 0.0f && (this.maxRate == 0.0f || rate < this.maxRate)) {
+      return new WarpUplinkPolicy(this.mode, this.queueSize, rate);
+    } else {
+      return this;
+    }
+  }
+
+  public String modeName() {
+    if (this.mode == WarpUplinkPolicy.SAMPLE) {
+      return "sample";
+    } else if (this.mode == WarpUplinkPolicy.CONFLATE) {
+      return "conflate";
+    } else if (this.mode == WarpUplinkPolicy.DROP_OLDEST) {
+      return "dropOldest";
+    } else {
+      return "forward";
+    }
+  }
+
+  public Value toValue() {
+    return WarpUplinkPolicy.form().mold(this).toValue();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof WarpUplinkPolicy) {
+      final WarpUplinkPolicy that = (WarpUplinkPolicy) other;
+      return this.mode == that.mode && this.queueSize == that.queueSize
+          && this.maxRate == that.maxRate;
+    }
+    return false;
+  }
+
+  private static int hashSeed;
+
+  @Override
+  public int hashCode() {
+    if (WarpUplinkPolicy.hashSeed == 0) {
+      WarpUplinkPolicy.hashSeed = Murmur3.seed(WarpUplinkPolicy.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(WarpUplinkPolicy.hashSeed,
+        this.mode), this.queueSize), Murmur3.hash(this.maxRate)));
+  }
+
+  @Override
+  public <T> Output<T> debug(Output<T> output) {
+    output = output.write("WarpUplinkPolicy").write('.').write(this.modeName()).write('(');
+    if (this.mode == WarpUplinkPolicy.DROP_OLDEST) {
+      output = output.debug(this.queueSize);
+    }
+    output = output.write(')');
+    if (this.maxRate != 0.0f) {
+      output = output.write('.').write("maxRate").write('(').debug(this.maxRate).write(')');
+    }
+    return output;
+  }
+
+  @Override
+  public String toString() {
+    return Format.debug(this);
+  }
+
+  static final int FORWARD = 0;
+  static final int SAMPLE = 1;
+  static final int CONFLATE = 2;
+  static final int DROP_OLDEST = 3;
+
+  private static WarpUplinkPolicy forward;
+
+  public static WarpUplinkPolicy forward() {
+    if (WarpUplinkPolicy.forward == null) {
+      WarpUplinkPolicy.forward = new WarpUplinkPolicy(WarpUplinkPolicy.FORWARD, 0, 0.0f);
+    }
+    return WarpUplinkPolicy.forward;
+  }
+
+  private static WarpUplinkPolicy sample;
+
+  public static WarpUplinkPolicy sample() {
+    if (WarpUplinkPolicy.sample == null) {
+      WarpUplinkPolicy.sample = new WarpUplinkPolicy(WarpUplinkPolicy.SAMPLE, 0, 0.0f);
+    }
+    return WarpUplinkPolicy.sample;
+  }
+
+  private static WarpUplinkPolicy conflate;
+
+  public static WarpUplinkPolicy conflate() {
+    if (WarpUplinkPolicy.conflate == null) {
+      WarpUplinkPolicy.conflate = new WarpUplinkPolicy(WarpUplinkPolicy.CONFLATE, 0, 0.0f);
+    }
+    return WarpUplinkPolicy.conflate;
+  }
+
+  public static WarpUplinkPolicy dropOldest(int queueSize) {
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException(Integer.toString(queueSize));
+    }
+    return new WarpUplinkPolicy(WarpUplinkPolicy.DROP_OLDEST, queueSize, 0.0f);
+  }
+
+  public static WarpUplinkPolicy standard() {
+    return WarpUplinkPolicy.forward();
+  }
+
+  /**
+   * Returns the policy described by the {@code @uplink} attribute of
+   * {@code value}, or {@code null} if {@code value} has no {@code @uplink}
+   * attribute.
+   */
+  public static WarpUplinkPolicy fromValue(Value value) {
+    if (value.getAttr("uplink").isDefined()) {
+      return WarpUplinkPolicy.form().cast(value);
+    } else {
+      return null;
+    }
+  }
+
+  private static Form<WarpUplinkPolicy> form;
+
+  @Kind
+  public static Form<WarpUplinkPolicy> form() {
+    if (WarpUplinkPolicy.form == null) {
+      WarpUplinkPolicy.form = new WarpUplinkPolicyForm();
+    }
+    return WarpUplinkPolicy.form;
+  }
+
+}
+
+final class WarpUplinkPolicyForm extends Form<WarpUplinkPolicy> {
+
+  @Override
+  public String tag() {
+    return "uplink";
+  }
+
+  @Override
+  public WarpUplinkPolicy unit() {
+    return WarpUplinkPolicy.standard();
+  }
+
+  @Override
+  public Class<?> type() {
+    return WarpUplinkPolicy.class;
+  }
+
+  @Override
+  public Item mold(WarpUplinkPolicy policy) {
+    if (policy != null) {
+      final Record header = Record.create(3).slot("mode", policy.modeName());
+      if (policy.queueSize != 0) {
+        header.slot("queueSize", policy.queueSize);
+      }
+      if (policy.maxRate != 0.0f) {
+        header.slot("maxRate", policy.maxRate);
+      }
+      return Record.create(1).attr(this.tag(), header);
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public WarpUplinkPolicy cast(Item item) {
+    final Value header = item.toValue().header(this.tag());
+    if (header.isDefined()) {
+      final String mode = header.get("mode").stringValue("forward");
+      final int queueSize = header.get("queueSize").intValue(0);
+      final float maxRate = header.get("maxRate").floatValue(0.0f);
+      WarpUplinkPolicy policy;
+      if ("sample".equals(mode)) {
+        policy = WarpUplinkPolicy.sample();
+      } else if ("conflate".equals(mode)) {
+        policy = WarpUplinkPolicy.conflate();
+      } else if ("dropOldest".equals(mode) && queueSize > 0) {
+        policy = WarpUplinkPolicy.dropOldest(queueSize);
+      } else {
+        policy = WarpUplinkPolicy.forward();
+      }
+      if (maxRate > 0.0f) {
+        policy = policy.maxRate(maxRate);
+      }
+      return policy;
+    }
+    return null;
+  }
+
+}
@@ -245,6 +245,10 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     return -1; // default timeout
   }
 
+  public final HostPulse pulse() {
+    return this.pulse;
+  }
+
   @Override
   public HostAddress cellAddress() {
     return this.hostContext.cellAddress();
@@ -481,6 +485,11 @@ public class RemoteHost extends AbstractTierBinding implements HostBinding, Warp
     return UriMapper.empty();
   }
 
+  @Override
+  public int nodeCount() {
+    return 0;
+  }
+
   @Override
   public NodeBinding getNode(Uri nodeUri) {
     return null;
@@ -37,6 +37,8 @@ import swim.system.HostContext;
 import swim.uri.Uri;
 import swim.uri.UriAuthority;
 import swim.uri.UriScheme;
+import swim.warp.BatchEnvelopeCodec;
+import swim.warp.BinaryEnvelopeCodec;
 import swim.ws.WsCloseFrame;
 import swim.ws.WsRequest;
 
@@ -79,7 +81,12 @@ public class RemoteHostClient extends RemoteHost {
       final Uri requestUri = Uri.create(UriScheme.create("http"), remoteAuthority, this.baseUri.path(), this.baseUri.query());
       final WarpSettings warpSettings = this.warpSettings;
       final WsSettings wsSettings = warpSettings.wsSettings();
-      final WsRequest wsRequest = wsSettings.handshakeRequest(requestUri, RemoteHostClient.PROTOCOL_LIST);
+      FingerTrieSeq<String> protocols = RemoteHostClient.PROTOCOL_LIST;
+      if (warpSettings.batchSize() > 0) {
+        // Offer newline delimited envelope batches when a batch size is configured.
+        protocols = protocols.prepended(BatchEnvelopeCodec.PROTOCOL);
+      }
+      final WsRequest wsRequest = wsSettings.handshakeRequest(requestUri, protocols);
       final WarpWebSocket webSocket = new WarpWebSocket(this, warpSettings);
       this.client = new RemoteHostClientBinding(this, webSocket, wsRequest, warpSettings);
       this.setWarpSocketContext(webSocket); // eagerly set
@@ -196,7 +203,16 @@ public class RemoteHostClient extends RemoteHost {
 
   static final double MAX_RECONNECT_TIMEOUT = 15000.0;
 
-  static final FingerTrieSeq<String> PROTOCOL_LIST = FingerTrieSeq.of("warp0");
+  static final FingerTrieSeq<String> PROTOCOL_LIST;
+
+  static {
+    // Offer binary envelopes ahead of Recon text when opted in.
+    if (Boolean.parseBoolean(System.getProperty("swim.remote.warp.binary"))) {
+      PROTOCOL_LIST = FingerTrieSeq.of(BinaryEnvelopeCodec.PROTOCOL, "warp0");
+    } else {
+      PROTOCOL_LIST = FingerTrieSeq.of("warp0");
+    }
+  }
 
 }
 
@@ -0,0 +1,204 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentContext;
+import swim.api.agent.AgentFactory;
+import swim.concurrent.Cont;
+import swim.concurrent.Stage;
+import swim.concurrent.TaskContext;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.system.Push;
+import swim.system.agent.AgentModel;
+import swim.system.agent.AgentNode;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class AgentMailboxSpec {
+
+  @Test
+  public void mailboxCapacityBoundsTryExecute() {
+    final AgentNode node = new AgentNode();
+    node.setTaskContext(new TestMailboxTaskContext());
+    node.setMailboxCapacity(4);
+    final AtomicInteger runCount = new AtomicInteger();
+    int admitCount = 0;
+    for (int i = 0; i < 10; i += 1) {
+      if (node.tryExecute(new TestMailboxCommand(runCount))) {
+        admitCount += 1;
+      }
+    }
+    assertEquals(admitCount, 4);
+    assertEquals(node.mailboxSize(), 4);
+    assertEquals(node.mailboxDropCount(), 6L);
+
+    // Lifecycle and timer commands are admitted regardless of capacity.
+    node.execute(new TestMailboxCommand(runCount));
+    assertEquals(node.mailboxSize(), 5);
+
+    node.runTask();
+    assertEquals(runCount.get(), 5);
+    assertEquals(node.mailboxSize(), 0);
+    assertTrue(node.tryExecute(new TestMailboxCommand(runCount)));
+  }
+
+  @Test
+  public void concurrentSubmittersNeverOvershootMailboxCapacity() throws InterruptedException {
+    final AgentNode node = new AgentNode();
+    node.setTaskContext(new TestMailboxTaskContext());
+    node.setMailboxCapacity(100);
+    final int threadCount = 8;
+    final int commandCount = 1000;
+    final AtomicInteger admitCount = new AtomicInteger();
+    final AtomicInteger runCount = new AtomicInteger();
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    final Thread[] threads = new Thread[threadCount];
+    for (int i = 0; i < threadCount; i += 1) {
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            startLatch.await();
+          } catch (InterruptedException cause) {
+            return;
+          }
+          for (int j = 0; j < commandCount; j += 1) {
+            if (node.tryExecute(new TestMailboxCommand(runCount))) {
+              admitCount.incrementAndGet();
+            }
+          }
+        }
+      };
+      threads[i].start();
+    }
+    startLatch.countDown();
+    for (int i = 0; i < threadCount; i += 1) {
+      threads[i].join();
+    }
+    assertEquals(admitCount.get(), 100);
+    assertEquals(node.mailboxSize(), 100);
+    assertEquals(node.mailboxDropCount(), (long) (threadCount * commandCount - 100));
+  }
+
+  @Test
+  public void pushesToFullMailboxesAreTrapped() {
+    final AgentModel node = new AgentModel(Value.absent());
+    node.setTaskContext(new TestMailboxTaskContext());
+    node.setMailboxCapacity(1);
+    final AtomicInteger trapCount = new AtomicInteger();
+    final Cont<Object> cont = new Cont<Object>() {
+      @Override
+      public void bind(Object value) {
+        // nop
+      }
+      @Override
+      public void trap(Throwable error) {
+        trapCount.incrementAndGet();
+      }
+    };
+    final Uri laneUri = Uri.parse("lane");
+    node.pushUp(new Push<Object>(Uri.empty(), Uri.empty(), Uri.parse("/node"), laneUri, 0.0f, null, Num.from(1), cont));
+    assertEquals(trapCount.get(), 0);
+    node.pushUp(new Push<Object>(Uri.empty(), Uri.empty(), Uri.parse("/node"), laneUri, 0.0f, null, Num.from(2), cont));
+    assertEquals(trapCount.get(), 1);
+    assertEquals(node.mailboxSize(), 1);
+    assertEquals(node.mailboxDropCount(), 1L);
+  }
+
+  @Test
+  public void agentPropsConfigureMailboxCapacity() {
+    final AgentModel node = new AgentModel(Value.absent());
+    node.setTaskContext(new TestMailboxTaskContext());
+    assertEquals(node.mailboxCapacity(), 0);
+    assertNotNull(node.createAgent(new TestMailboxAgentFactory(), Value.absent(),
+                                   Record.create(1).slot("mailboxCapacity", 64)));
+    assertEquals(node.mailboxCapacity(), 64);
+    node.createAgent(new TestMailboxAgentFactory(), Value.absent(),
+                     Record.create(1).slot("mailboxCapacity", 128));
+    assertEquals(node.mailboxCapacity(), 64);
+    node.createAgent(new TestMailboxAgentFactory(), Value.absent(),
+                     Record.create(1).slot("mailboxCapacity", 16));
+    assertEquals(node.mailboxCapacity(), 16);
+    assertFalse(node.isBlocking());
+  }
+
+  private static final class TestMailboxCommand implements Runnable {
+
+    final AtomicInteger runCount;
+
+    TestMailboxCommand(AtomicInteger runCount) {
+      this.runCount = runCount;
+    }
+
+    @Override
+    public void run() {
+      this.runCount.incrementAndGet();
+    }
+
+  }
+
+  private static final class TestMailboxTaskContext implements TaskContext {
+
+    @Override
+    public Stage stage() {
+      return null;
+    }
+
+    @Override
+    public boolean isCued() {
+      return false;
+    }
+
+    @Override
+    public boolean cue() {
+      return true;
+    }
+
+    @Override
+    public boolean cancel() {
+      return false;
+    }
+
+  }
+
+  private static final class TestMailboxAgentFactory implements AgentFactory<AbstractAgent> {
+
+    @Override
+    public AbstractAgent createAgent(AgentContext context) {
+      return new AbstractAgent(context);
+    }
+
+    @Override
+    public Value id(Uri nodeUri) {
+      return Value.absent();
+    }
+
+    @Override
+    public Value props(Uri nodeUri) {
+      return Value.absent();
+    }
+
+  }
+
+}
@@ -0,0 +1,261 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import swim.actor.ActorHostDef;
+import swim.actor.ActorKernel;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.lane.CommandLane;
+import swim.api.plane.AbstractPlane;
+import swim.api.warp.function.OnCommand;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
+import swim.kernel.Kernel;
+import swim.structure.Attr;
+import swim.structure.Num;
+import swim.structure.Record;
+import swim.structure.Slot;
+import swim.system.agent.AgentNode;
+import swim.system.reflect.AgentPulse;
+import swim.system.router.HostTable;
+import swim.uri.Uri;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AgentPassivationSpec {
+
+  static final AtomicInteger START_COUNT = new AtomicInteger();
+  static final AtomicInteger STOP_COUNT = new AtomicInteger();
+  static volatile CountDownLatch commandLatch;
+  static volatile HostTable host;
+
+  @BeforeMethod
+  public void resetCounts() {
+    START_COUNT.set(0);
+    STOP_COUNT.set(0);
+    host = null;
+  }
+
+  @Test
+  public void passivateAndReactivateIdleAgents() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestPassivationPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                             .openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/passivate/a");
+    try {
+      kernel.start();
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/a", "touch", Num.from(1));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      assertEquals(START_COUNT.get(), 1);
+      assertNotNull(host.getNode(nodeUri));
+      // Queue nodes for passivation, but sweep them explicitly.
+      host.setIdleTimeout(3600000L);
+
+      // Active agents don't get passivated.
+      host.passivateIdleNodes(60000000000L);
+      assertNotNull(host.getNode(nodeUri));
+
+      final long deadline = System.currentTimeMillis() + 2000L;
+      while (host.getNode(nodeUri) != null && System.currentTimeMillis() < deadline) {
+        host.passivateIdleNodes(0L);
+        Thread.sleep(10L);
+      }
+      assertNull(host.getNode(nodeUri));
+      assertEquals(STOP_COUNT.get(), 1);
+
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/a", "touch", Num.from(2));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      assertEquals(START_COUNT.get(), 2);
+      assertNotNull(host.getNode(nodeUri));
+
+      final AgentPulse agents = host.pulse().agents();
+      assertEquals(agents.passivateCount(), 1L);
+      assertTrue(agents.activateCount() >= 2L, "activateCount: " + agents.activateCount());
+      assertEquals(agents.passivateLatency().count(), 1L);
+      assertEquals(AgentPulse.form().cast(agents.toValue()).passivateCount(), 1L);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void keepAgentsWithScheduledTimers() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestPassivationPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                             .openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/passivate/b");
+    try {
+      kernel.start();
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/b", "arm", Num.from(60000));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      final AgentNode node = host.getNode(nodeUri).bottomNode(AgentNode.class);
+      assertEquals(node.timerCount(), 1);
+      host.setIdleTimeout(3600000L);
+      host.passivateIdleNodes(0L);
+      assertNotNull(host.getNode(nodeUri));
+
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/b", "arm", Num.from(0));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      assertEquals(node.timerCount(), 0);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void passivateIdleAgentsAfterHostIdleTimeout() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestPassivationPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                             .openPlane("test", TestPassivationPlane.class);
+    final Uri nodeUri = Uri.parse("/passivate/c");
+    try {
+      kernel.start();
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/c", "touch", Num.from(1));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      host.setIdleTimeout(50L);
+      assertEquals(host.idleTimeout(), 50L);
+
+      final long deadline = System.currentTimeMillis() + 2000L;
+      while (host.getNode(nodeUri) != null && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10L);
+      }
+      assertNull(host.getNode(nodeUri));
+      assertEquals(STOP_COUNT.get(), 1);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void deliverCommandsRacingPassivation() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestPassivationPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                             .openPlane("test", TestPassivationPlane.class);
+    try {
+      kernel.start();
+      commandLatch = new CountDownLatch(1);
+      plane.command("/passivate/d", "touch", Num.from(0));
+      assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+      final HostTable hostTable = host;
+      hostTable.setIdleTimeout(3600000L);
+
+      final int commandCount = 500;
+      commandLatch = new CountDownLatch(commandCount);
+      final Thread passivator = new Thread() {
+        @Override
+        public void run() {
+          while (commandLatch.getCount() != 0L) {
+            hostTable.passivateIdleNodes(0L);
+          }
+        }
+      };
+      passivator.start();
+      for (int i = 1; i <= commandCount; i += 1) {
+        plane.command("/passivate/d", "touch", Num.from(i));
+      }
+      // Commands that lose a race with passivation get routed to a fresh node.
+      assertTrue(commandLatch.await(5, TimeUnit.SECONDS), "undelivered commands: " + commandLatch.getCount());
+      passivator.join(1000L);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void defineHostIdleTimeout() {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final ActorKernel actorKernel = kernel.unwrapKernel(ActorKernel.class);
+    final ActorHostDef hostDef = actorKernel.defineActorHost(Record.of(Attr.of("host"),
+                                                                       Slot.of("uri", "warp://test"),
+                                                                       Slot.of("idleTimeout", 30000)));
+    assertEquals(hostDef.idleTimeout(), 30000L);
+    assertEquals(hostDef, ActorHostDef.fromHostUri("warp://test").idleTimeout(30000L));
+    assertEquals(ActorHostDef.fromHostUri("warp://test").idleTimeout(), -1L);
+  }
+
+  static class TestPassivationAgent extends AbstractAgent {
+
+    TimerRef timer;
+
+    @SwimLane("touch")
+    CommandLane<Integer> touch = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(new OnCommand<Integer>() {
+          @Override
+          public void onCommand(Integer value) {
+            // Agents execute on the stage of their node.
+            final AgentNode node = (AgentNode) stage();
+            host = node.host().unwrapHost(HostTable.class);
+            commandLatch.countDown();
+          }
+        });
+
+    @SwimLane("arm")
+    CommandLane<Integer> arm = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(new OnCommand<Integer>() {
+          @Override
+          public void onCommand(Integer millis) {
+            host = ((AgentNode) stage()).host().unwrapHost(HostTable.class);
+            if (millis.intValue() > 0) {
+              timer = setTimer(millis.longValue(), new TimerFunction() {
+                @Override
+                public void runTimer() {
+                  // nop
+                }
+              });
+            } else if (timer != null) {
+              timer.cancel();
+            }
+            commandLatch.countDown();
+          }
+        });
+
+    @Override
+    public void didStart() {
+      START_COUNT.incrementAndGet();
+    }
+
+    @Override
+    public void didStop() {
+      STOP_COUNT.incrementAndGet();
+    }
+
+  }
+
+  static class TestPassivationPlane extends AbstractPlane {
+
+    @SwimRoute("/passivate/:name")
+    AgentRoute<TestPassivationAgent> passivationAgent;
+
+  }
+
+}
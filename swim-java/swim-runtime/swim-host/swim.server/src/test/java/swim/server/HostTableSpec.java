@@ -0,0 +1,192 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.lane.CommandLane;
+import swim.api.plane.AbstractPlane;
+import swim.api.warp.function.OnCommand;
+import swim.kernel.Kernel;
+import swim.structure.Num;
+import swim.system.NodeBinding;
+import swim.system.agent.AgentNode;
+import swim.system.reflect.HostInfo;
+import swim.system.router.HostTable;
+import swim.uri.Uri;
+import swim.uri.UriMapper;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class HostTableSpec {
+
+  static volatile CountDownLatch commandLatch;
+  static volatile HostTable host;
+
+  @Test
+  public void openAndCloseIndexedNodes() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestHostPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                      .openPlane("test", TestHostPlane.class);
+    try {
+      kernel.start();
+      final HostTable host = HostTableSpec.awaitHost(plane);
+      final int baseCount = host.nodeCount();
+      final Uri nodeUri = Uri.parse("/index/a");
+      assertNull(host.getNode(nodeUri));
+      final NodeBinding node = host.openNode(nodeUri);
+      assertNotNull(node);
+      assertSame(host.openNode(nodeUri), node);
+      assertSame(host.getNode(nodeUri), node);
+      assertEquals(host.nodeCount(), baseCount + 1);
+      assertEquals(HostInfo.create(host).nodeCount(), (long) host.nodeCount());
+
+      host.closeNode(nodeUri);
+      assertNull(host.getNode(nodeUri));
+      assertEquals(host.nodeCount(), baseCount);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void cacheNodeDirectoriesUntilNodesChange() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestHostPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                      .openPlane("test", TestHostPlane.class);
+    try {
+      kernel.start();
+      final HostTable host = HostTableSpec.awaitHost(plane);
+      final UriMapper<NodeBinding> directory = host.nodes();
+      assertSame(host.nodes(), directory);
+      assertEquals(directory.size(), host.nodeCount());
+
+      final Uri nodeUri = Uri.parse("/index/b");
+      final NodeBinding node = host.openNode(nodeUri);
+      final UriMapper<NodeBinding> openedDirectory = host.nodes();
+      assertTrue(openedDirectory != directory);
+      assertSame(openedDirectory.get(nodeUri), node);
+      assertEquals(openedDirectory.size(), directory.size() + 1);
+      assertSame(host.nodes(), openedDirectory);
+
+      host.closeNode(nodeUri);
+      final UriMapper<NodeBinding> closedDirectory = host.nodes();
+      assertTrue(closedDirectory != openedDirectory);
+      assertNull(closedDirectory.get(nodeUri));
+      assertEquals(closedDirectory.size(), directory.size());
+      // Snapshots handed out earlier don't change.
+      assertSame(openedDirectory.get(nodeUri), node);
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  @Test
+  public void invalidateNodeDirectoriesBuiltDuringConcurrentOpens() throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestHostPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                      .openPlane("test", TestHostPlane.class);
+    try {
+      kernel.start();
+      final HostTable host = HostTableSpec.awaitHost(plane);
+      final int baseCount = host.nodeCount();
+      final int threadCount = 4;
+      final int nodesPerThread = 250;
+      final AtomicBoolean opening = new AtomicBoolean(true);
+      final Thread reader = new Thread() {
+        @Override
+        public void run() {
+          while (opening.get()) {
+            host.nodes();
+          }
+        }
+      };
+      reader.start();
+      final Thread[] openers = new Thread[threadCount];
+      for (int t = 0; t < threadCount; t += 1) {
+        final int offset = t * nodesPerThread;
+        openers[t] = new Thread() {
+          @Override
+          public void run() {
+            for (int i = 0; i < nodesPerThread; i += 1) {
+              host.openNode(Uri.parse("/index/" + (offset + i)));
+              // Every thread races to open the same shared node.
+              host.openNode(Uri.parse("/index/shared"));
+            }
+          }
+        };
+        openers[t].start();
+      }
+      for (int t = 0; t < threadCount; t += 1) {
+        openers[t].join();
+      }
+      opening.set(false);
+      reader.join();
+
+      final int expectedCount = baseCount + threadCount * nodesPerThread + 1;
+      assertEquals(host.nodeCount(), expectedCount);
+      // A directory built while nodes were opening must not have been cached.
+      final UriMapper<NodeBinding> directory = host.nodes();
+      assertEquals(directory.size(), expectedCount);
+      for (int i = 0; i < threadCount * nodesPerThread; i += 1) {
+        final Uri nodeUri = Uri.parse("/index/" + i);
+        assertSame(directory.get(nodeUri), host.getNode(nodeUri));
+      }
+      assertSame(directory.get(Uri.parse("/index/shared")), host.getNode(Uri.parse("/index/shared")));
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static HostTable awaitHost(TestHostPlane plane) throws InterruptedException {
+    commandLatch = new CountDownLatch(1);
+    plane.command("/index/host", "touch", Num.from(0));
+    assertTrue(commandLatch.await(2, TimeUnit.SECONDS));
+    return host;
+  }
+
+  static class TestHostAgent extends AbstractAgent {
+
+    @SwimLane("touch")
+    CommandLane<Integer> touch = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(new OnCommand<Integer>() {
+          @Override
+          public void onCommand(Integer value) {
+            host = ((AgentNode) stage()).host().unwrapHost(HostTable.class);
+            commandLatch.countDown();
+          }
+        });
+
+  }
+
+  static class TestHostPlane extends AbstractPlane {
+
+    @SwimRoute("/index/:name")
+    AgentRoute<TestHostAgent> hostAgent;
+
+  }
+
+}
@@ -0,0 +1,170 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import org.testng.annotations.Test;
+import swim.collections.FingerTrieSeq;
+import swim.recon.Recon;
+import swim.structure.Text;
+import swim.structure.Value;
+import swim.system.PartBinding;
+import swim.system.PartIndex;
+import swim.system.PartPredicate;
+import swim.uri.Uri;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class PartIndexSpec {
+
+  @Test
+  public void emptyIndexMatchesNothing() {
+    final PartIndex index = PartIndex.empty();
+    assertNull(index.get(Uri.parse("/a")));
+    assertNull(index.get(Text.from("a")));
+  }
+
+  @Test
+  public void resolveHashRanges() {
+    final FingerTrieSeq<PartBinding> parts = FingerTrieSeq.of(
+        PartIndexSpec.part("lo", PartPredicate.hash(0x00000000, 0x40000000)),
+        PartIndexSpec.part("mid", PartPredicate.hash(0x40000000, 0x80000000)),
+        PartIndexSpec.part("hi", PartPredicate.hash(0x80000000, 0x00000000)));
+    PartIndexSpec.assertMatchesLinearScan(parts, 1000);
+  }
+
+  @Test
+  public void resolveModSlots() {
+    final FingerTrieSeq<PartBinding> parts = FingerTrieSeq.of(
+        PartIndexSpec.part("m0", PartPredicate.fromValue(Recon.parse("@mod(0, 3)"))),
+        PartIndexSpec.part("m1", PartPredicate.fromValue(Recon.parse("@mod(1, 3)"))),
+        PartIndexSpec.part("m2", PartPredicate.fromValue(Recon.parse("@mod(2, 3)"))),
+        PartIndexSpec.part("rest", PartPredicate.any()));
+    PartIndexSpec.assertMatchesLinearScan(parts, 1000);
+  }
+
+  @Test
+  public void resolveNodePatternsByLeadingSegment() {
+    final FingerTrieSeq<PartBinding> parts = FingerTrieSeq.of(
+        PartIndexSpec.part("users", PartPredicate.node("/users/:id")),
+        PartIndexSpec.part("rooms", PartPredicate.node("/rooms/:id")),
+        PartIndexSpec.part("nested", PartPredicate.node("/users/:id/:sub")),
+        PartIndexSpec.part("vars", PartPredicate.node("/:kind/:id")));
+    final PartIndex index = PartIndex.from(parts);
+    assertSame(index.get(Uri.parse("/users/1")), parts.get(0));
+    assertSame(index.get(Uri.parse("/rooms/1")), parts.get(1));
+    assertSame(index.get(Uri.parse("/users/1/2")), parts.get(2));
+    assertSame(index.get(Uri.parse("/things/1")), parts.get(3));
+    assertNull(index.get(Uri.parse("/things")));
+  }
+
+  @Test
+  public void preserveFirstMatchOrder() {
+    final FingerTrieSeq<PartBinding> parts = FingerTrieSeq.of(
+        PartIndexSpec.part("users", PartPredicate.node("/users/:id")),
+        PartIndexSpec.part("lo", PartPredicate.hash(0x00000000, 0x80000000)),
+        PartIndexSpec.part("both", PartPredicate.and(PartPredicate.node("/rooms/:id"),
+                                                     PartPredicate.hash(0x80000000, 0xc0000000))),
+        PartIndexSpec.part("either", PartPredicate.or(PartPredicate.node("/rooms/:id"),
+                                                      PartPredicate.node("/users/:id/:sub"))),
+        PartIndexSpec.part("m0", PartPredicate.fromValue(Recon.parse("@mod(0, 2)"))),
+        PartIndexSpec.part("any", PartPredicate.any()),
+        PartIndexSpec.part("shadowed", PartPredicate.node("/shadowed/:id")));
+    PartIndexSpec.assertMatchesLinearScan(parts, 2000);
+    final PartIndex index = PartIndex.from(parts);
+    for (int i = 0; i < 100; i += 1) {
+      assertFalse(Text.from("shadowed").equals(PartIndexSpec.partKey(index.get(Uri.parse("/shadowed/" + i)))));
+    }
+  }
+
+  @Test
+  public void resolvePartKeys() {
+    final FingerTrieSeq<PartBinding> parts = FingerTrieSeq.of(
+        PartIndexSpec.part("a", PartPredicate.hash(0x00000000, 0x80000000)),
+        PartIndexSpec.part("b", PartPredicate.any()),
+        PartIndexSpec.part("a", PartPredicate.any()));
+    final PartIndex index = PartIndex.from(parts);
+    assertSame(index.get(Text.from("a")), parts.get(0));
+    assertSame(index.get(Text.from("b")), parts.get(1));
+    assertNull(index.get(Text.from("c")));
+  }
+
+  static void assertMatchesLinearScan(FingerTrieSeq<PartBinding> parts, int sampleCount) {
+    final PartIndex index = PartIndex.from(parts);
+    final String[] kinds = {"users", "rooms", "things", "shadowed"};
+    final Random random = new Random(42L);
+    for (int i = 0; i < sampleCount; i += 1) {
+      final String kind = kinds[random.nextInt(kinds.length)];
+      final Uri nodeUri = random.nextBoolean()
+                        ? Uri.parse("/" + kind + "/" + random.nextInt())
+                        : Uri.parse("/" + kind + "/" + random.nextInt() + "/" + random.nextInt(10));
+      assertSame(index.get(nodeUri), PartIndexSpec.linearScan(parts, nodeUri));
+    }
+  }
+
+  static PartBinding linearScan(FingerTrieSeq<PartBinding> parts, Uri nodeUri) {
+    final int nodeHash = nodeUri.hashCode();
+    for (PartBinding part : parts) {
+      if (part.predicate().test(nodeUri, nodeHash)) {
+        return part;
+      }
+    }
+    return null;
+  }
+
+  static Value partKey(PartBinding part) {
+    return part != null ? part.partKey() : Value.absent();
+  }
+
+  static PartBinding part(String partKey, PartPredicate predicate) {
+    return (PartBinding) Proxy.newProxyInstance(PartBinding.class.getClassLoader(), new Class<?>[] {PartBinding.class},
+                                                new TestPartHandler(Text.from(partKey), predicate));
+  }
+
+  private static final class TestPartHandler implements InvocationHandler {
+
+    final Value partKey;
+    final PartPredicate predicate;
+
+    TestPartHandler(Value partKey, PartPredicate predicate) {
+      this.partKey = partKey;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      final String name = method.getName();
+      if ("partKey".equals(name)) {
+        return this.partKey;
+      } else if ("predicate".equals(name)) {
+        return this.predicate;
+      } else if ("hashCode".equals(name)) {
+        return System.identityHashCode(proxy);
+      } else if ("equals".equals(name)) {
+        return proxy == args[0];
+      } else if ("toString".equals(name)) {
+        return "PartBinding(" + this.partKey + ")";
+      } else {
+        throw new UnsupportedOperationException(name);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,152 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import swim.actor.ActorSpaceDef;
+import swim.api.SwimLane;
+import swim.api.SwimRoute;
+import swim.api.agent.AbstractAgent;
+import swim.api.agent.AgentRoute;
+import swim.api.lane.CommandLane;
+import swim.api.lane.SupplyLane;
+import swim.api.plane.AbstractPlane;
+import swim.api.warp.WarpUplinkPolicy;
+import swim.api.warp.function.DidLink;
+import swim.api.warp.function.OnCommand;
+import swim.api.warp.function.OnEvent;
+import swim.kernel.Kernel;
+import swim.service.web.WebServiceDef;
+import swim.structure.Num;
+import swim.structure.Value;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class UplinkPolicySpec {
+
+  static final int EVENT_COUNT = 1000;
+
+  @Test
+  public void testLinkRequestedUplinkPolicy() throws InterruptedException {
+    final WarpUplinkPolicy policy = WarpUplinkPolicy.sample().maxRate(20.0f);
+    final int eventCount = this.publishEvents("unlimited", policy.toValue());
+    assertTrue(eventCount < EVENT_COUNT, "eventCount: " + eventCount);
+  }
+
+  @Test
+  public void testLaneDefaultUplinkPolicy() throws InterruptedException {
+    final int eventCount = this.publishEvents("limited", Value.absent());
+    assertTrue(eventCount < EVENT_COUNT, "eventCount: " + eventCount);
+  }
+
+  @Test
+  public void testUnlimitedUplinkPolicy() throws InterruptedException {
+    final int eventCount = this.publishEvents("unlimited", Value.absent());
+    assertEquals(eventCount, EVENT_COUNT);
+  }
+
+  @Test
+  public void testUplinkPolicyForm() {
+    final WarpUplinkPolicy policy = WarpUplinkPolicy.dropOldest(16).maxRate(5.0f);
+    assertEquals(WarpUplinkPolicy.fromValue(policy.toValue()), policy);
+    assertEquals(WarpUplinkPolicy.fromValue(Value.absent()), null);
+    assertEquals(WarpUplinkPolicy.sample().maxRate(5.0f).limitRate(2.0f).maxRate(), 2.0f);
+    assertEquals(WarpUplinkPolicy.sample().maxRate(5.0f).limitRate(0.0f).maxRate(), 5.0f);
+  }
+
+  int publishEvents(String laneUri, Value body) throws InterruptedException {
+    final Kernel kernel = ServerLoader.loadServerStack();
+    final TestPolicyPlane plane = kernel.openSpace(ActorSpaceDef.fromName("test"))
+                                        .openPlane("test", TestPolicyPlane.class);
+
+    final CountDownLatch linkDidLink = new CountDownLatch(1);
+    final CountDownLatch linkDidReceiveLast = new CountDownLatch(1);
+    final AtomicInteger eventCount = new AtomicInteger();
+    class PolicyLinkController implements OnEvent<Integer>, DidLink {
+
+      @Override
+      public void onEvent(Integer value) {
+        eventCount.incrementAndGet();
+        if (value != null && value.intValue() == EVENT_COUNT - 1) {
+          linkDidReceiveLast.countDown();
+        }
+      }
+
+      @Override
+      public void didLink() {
+        linkDidLink.countDown();
+      }
+
+    }
+
+    try {
+      kernel.openService(WebServiceDef.standard().port(53556).spaceName("test"));
+      kernel.start();
+      plane.downlink()
+          .valueClass(Integer.class)
+          .hostUri("warp://localhost:53556")
+          .nodeUri("/policy/test")
+          .laneUri(laneUri)
+          .body(body)
+          .observe(new PolicyLinkController())
+          .open();
+      linkDidLink.await(2, TimeUnit.SECONDS);
+      assertEquals(linkDidLink.getCount(), 0);
+      plane.command("warp://localhost:53556", "/policy/test", "publish", Num.from(laneUri.equals("limited") ? 1 : 0));
+      linkDidReceiveLast.await(5, TimeUnit.SECONDS);
+      assertEquals(linkDidReceiveLast.getCount(), 0);
+      return eventCount.get();
+    } finally {
+      kernel.stop();
+    }
+  }
+
+  static class TestPolicyAgent extends AbstractAgent {
+
+    @SwimLane("unlimited")
+    SupplyLane<Integer> unlimited = this.<Integer>supplyLane()
+        .valueClass(Integer.class);
+
+    @SwimLane("limited")
+    SupplyLane<Integer> limited = this.<Integer>supplyLane()
+        .valueClass(Integer.class)
+        .uplinkPolicy(WarpUplinkPolicy.sample().maxRate(20.0f));
+
+    @SwimLane("publish")
+    CommandLane<Integer> publish = this.<Integer>commandLane()
+        .valueClass(Integer.class)
+        .onCommand(new OnCommand<Integer>() {
+          @Override
+          public void onCommand(Integer lane) {
+            final SupplyLane<Integer> supplyLane = lane.intValue() != 0 ? limited : unlimited;
+            for (int i = 0; i < EVENT_COUNT; i += 1) {
+              supplyLane.push(i);
+            }
+          }
+        });
+
+  }
+
+  static class TestPolicyPlane extends AbstractPlane {
+
+    @SwimRoute("/policy/:name")
+    AgentRoute<TestPolicyAgent> policyAgent;
+
+  }
+
+}
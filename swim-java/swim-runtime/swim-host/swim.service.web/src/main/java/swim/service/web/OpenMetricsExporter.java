@@ -0,0 +1,500 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.service.web;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import swim.api.space.Space;
+import swim.concurrent.Stage;
+import swim.concurrent.Theater;
+import swim.concurrent.TheaterStats;
+import swim.concurrent.TheaterWorkerStats;
+import swim.http.HttpBody;
+import swim.http.HttpResponse;
+import swim.http.HttpStatus;
+import swim.http.MediaType;
+import swim.io.Station;
+import swim.kernel.KernelContext;
+import swim.system.EdgeBinding;
+import swim.system.EdgeContext;
+import swim.system.HostBinding;
+import swim.system.MeshBinding;
+import swim.system.Metric;
+import swim.system.PartBinding;
+import swim.system.reflect.AgentPulse;
+import swim.system.reflect.EdgePulse;
+import swim.system.reflect.HostPulse;
+import swim.system.reflect.LatencyPulse;
+import swim.system.reflect.MeshPulse;
+import swim.system.reflect.PartPulse;
+import swim.system.reflect.StorePulse;
+import swim.system.reflect.SystemPulse;
+import swim.system.reflect.WarpDownlinkPulse;
+import swim.system.reflect.WarpPulse;
+import swim.system.reflect.WarpUplinkPulse;
+import swim.system.router.EdgeTable;
+import swim.system.router.HostTable;
+import swim.system.router.MeshTable;
+import swim.system.router.PartTable;
+
+/**
+ * Renders the runtime statistics of a web service's space in the OpenMetrics
+ * text exposition format.
+ * <p>
+ * Metrics are rendered from the pulses that each edge, mesh, partition, and
+ * local host table already aggregates once per {@link Metric#REPORT_INTERVAL
+ * report interval}; no agents are visited while rendering. The rendered
+ * exposition is cached for one report interval, so concurrent and repeated
+ * scrapes share a single encoding.
+ */
+public class OpenMetricsExporter {
+
+  final KernelContext kernel;
+  final String spaceName;
+  volatile long renderTime;
+  volatile ByteBuffer exposition;
+
+  public OpenMetricsExporter(KernelContext kernel, String spaceName) {
+    this.kernel = kernel;
+    this.spaceName = spaceName;
+    this.renderTime = 0L;
+    this.exposition = null;
+  }
+
+  public final KernelContext kernel() {
+    return this.kernel;
+  }
+
+  public final String spaceName() {
+    return this.spaceName;
+  }
+
+  /**
+   * Returns an HTTP response whose body contains the current OpenMetrics
+   * exposition.
+   */
+  public HttpResponse<Object> metricsResponse() {
+    return HttpResponse.create(HttpStatus.OK).content(HttpBody.create(this.exposition(), OpenMetricsExporter.mediaType()));
+  }
+
+  /**
+   * Returns the UTF-8 encoded OpenMetrics exposition, re-rendering it if the
+   * cached exposition is older than one report interval.
+   */
+  public ByteBuffer exposition() {
+    do {
+      final long newRenderTime = System.currentTimeMillis();
+      final long oldRenderTime = this.renderTime;
+      ByteBuffer exposition = this.exposition;
+      if (exposition == null || newRenderTime - oldRenderTime >= Metric.REPORT_INTERVAL) {
+        if (OpenMetricsExporter.RENDER_TIME.compareAndSet(this, oldRenderTime, newRenderTime)) {
+          exposition = ByteBuffer.wrap(this.render().getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+          this.exposition = exposition;
+          return exposition.duplicate();
+        }
+      } else {
+        return exposition.duplicate();
+      }
+    } while (true);
+  }
+
+  /**
+   * Renders the current OpenMetrics exposition as a string.
+   */
+  public String render() {
+    final StringBuilder output = new StringBuilder(16384);
+    final List<OpenMetricsScope> scopes = new ArrayList<OpenMetricsScope>();
+    EdgePulse edgePulse = null;
+
+    final Space space = this.kernel.getSpace(this.spaceName);
+    if (space instanceof EdgeContext) {
+      final EdgeBinding edge = ((EdgeContext) space).edgeWrapper();
+      final EdgeTable edgeTable = edge.unwrapEdge(EdgeTable.class);
+      if (edgeTable != null) {
+        edgePulse = edgeTable.pulse();
+      }
+      if (edgePulse != null) {
+        scopes.add(new OpenMetricsScope("{scope=\"edge\"}", edgePulse.nodeCount(), edgePulse.agents(),
+                                        edgePulse.downlinks(), edgePulse.uplinks()));
+      }
+      this.collectMeshScopes(edge, scopes);
+    }
+
+    this.renderSystemMetrics(output, SystemPulse.latest());
+    this.renderJvmMetrics(output);
+    this.renderStageMetrics(output, this.kernel.stage());
+    this.renderStationMetrics(output, this.kernel.station());
+    if (edgePulse != null) {
+      this.renderEdgeMetrics(output, edgePulse);
+      this.renderStoreMetrics(output, edgePulse.store());
+    }
+    this.renderScopeMetrics(output, scopes);
+    output.append("# EOF\n");
+    return output.toString();
+  }
+
+  void collectMeshScopes(EdgeBinding edge, List<OpenMetricsScope> scopes) {
+    for (MeshBinding mesh : edge.meshes().values()) {
+      final String meshUri = mesh.meshUri().toString();
+      final MeshTable meshTable = mesh.unwrapMesh(MeshTable.class);
+      final MeshPulse meshPulse = meshTable != null ? meshTable.pulse() : null;
+      if (meshPulse != null) {
+        final String labels = "{scope=\"mesh\",mesh=\"" + OpenMetricsExporter.escape(meshUri) + "\"}";
+        scopes.add(new OpenMetricsScope(labels, meshPulse.nodeCount(), meshPulse.agents(),
+                                        meshPulse.downlinks(), meshPulse.uplinks()));
+      }
+      for (PartBinding part : mesh.parts()) {
+        final String partKey = part.partKey().stringValue("");
+        final PartTable partTable = part.unwrapPart(PartTable.class);
+        final PartPulse partPulse = partTable != null ? partTable.pulse() : null;
+        if (partPulse != null) {
+          final String labels = "{scope=\"part\",mesh=\"" + OpenMetricsExporter.escape(meshUri)
+                              + "\",part=\"" + OpenMetricsExporter.escape(partKey) + "\"}";
+          scopes.add(new OpenMetricsScope(labels, partPulse.nodeCount(), partPulse.agents(),
+                                          partPulse.downlinks(), partPulse.uplinks()));
+        }
+        // Remote hosts are aggregated into their partition's pulse; only
+        // local hosts are reported individually, which bounds the number of
+        // exported series independently of the number of connected clients.
+        for (HostBinding host : part.hosts().values()) {
+          if (!host.isRemote()) {
+            final HostTable hostTable = host.unwrapHost(HostTable.class);
+            final HostPulse hostPulse = hostTable != null ? hostTable.pulse() : null;
+            if (hostPulse != null) {
+              final String labels = "{scope=\"host\",mesh=\"" + OpenMetricsExporter.escape(meshUri)
+                                  + "\",part=\"" + OpenMetricsExporter.escape(partKey)
+                                  + "\",host=\"" + OpenMetricsExporter.escape(host.hostUri().toString()) + "\"}";
+              scopes.add(new OpenMetricsScope(labels, hostPulse.nodeCount(), hostPulse.agents(),
+                                              hostPulse.downlinks(), hostPulse.uplinks()));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  void renderSystemMetrics(StringBuilder output, SystemPulse system) {
+    if (system == null) {
+      return;
+    }
+    OpenMetricsExporter.gauge(output, "swim_system_cpu_usage_percent", "Process CPU usage, in percent of one core.", system.cpuUsage());
+    OpenMetricsExporter.gauge(output, "swim_system_cpu_total_percent", "Total available CPU, in percent of one core.", system.cpuTotal());
+    OpenMetricsExporter.gauge(output, "swim_system_memory_usage_bytes", "Physical memory in use.", system.memUsage());
+    OpenMetricsExporter.gauge(output, "swim_system_memory_total_bytes", "Total physical memory.", system.memTotal());
+    OpenMetricsExporter.gauge(output, "swim_system_disk_usage_bytes", "Disk space in use.", system.diskUsage());
+    OpenMetricsExporter.gauge(output, "swim_system_disk_total_bytes", "Total disk space.", system.diskTotal());
+    OpenMetricsExporter.gauge(output, "swim_system_start_time_seconds", "Process start time, in seconds since the epoch.",
+                              (double) system.startTime() / 1000.0);
+  }
+
+  void renderJvmMetrics(StringBuilder output) {
+    final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    final MemoryUsage heap = memory.getHeapMemoryUsage();
+    final MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+    OpenMetricsExporter.gauge(output, "jvm_memory_heap_used_bytes", "Used heap memory.", heap.getUsed());
+    OpenMetricsExporter.gauge(output, "jvm_memory_heap_committed_bytes", "Committed heap memory.", heap.getCommitted());
+    OpenMetricsExporter.gauge(output, "jvm_memory_heap_max_bytes", "Maximum heap memory.", heap.getMax());
+    OpenMetricsExporter.gauge(output, "jvm_memory_nonheap_used_bytes", "Used non-heap memory.", nonHeap.getUsed());
+
+    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    OpenMetricsExporter.gauge(output, "jvm_threads_live", "Live threads.", threads.getThreadCount());
+    OpenMetricsExporter.gauge(output, "jvm_threads_daemon", "Live daemon threads.", threads.getDaemonThreadCount());
+
+    final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    OpenMetricsExporter.family(output, "jvm_gc_collections", "counter", "Garbage collections.");
+    for (int i = 0, n = collectors.size(); i < n; i += 1) {
+      final GarbageCollectorMXBean collector = collectors.get(i);
+      OpenMetricsExporter.sample(output, "jvm_gc_collections_total",
+                                 "{gc=\"" + OpenMetricsExporter.escape(collector.getName()) + "\"}",
+                                 Math.max(0L, collector.getCollectionCount()));
+    }
+    OpenMetricsExporter.family(output, "jvm_gc_collection_seconds", "counter", "Time spent in garbage collection.");
+    for (int i = 0, n = collectors.size(); i < n; i += 1) {
+      final GarbageCollectorMXBean collector = collectors.get(i);
+      OpenMetricsExporter.sample(output, "jvm_gc_collection_seconds_total",
+                                 "{gc=\"" + OpenMetricsExporter.escape(collector.getName()) + "\"}",
+                                 (double) Math.max(0L, collector.getCollectionTime()) / 1000.0);
+    }
+
+    OpenMetricsExporter.gauge(output, "jvm_classes_loaded", "Currently loaded classes.",
+                              ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    OpenMetricsExporter.gauge(output, "jvm_uptime_seconds", "JVM uptime.",
+                              (double) ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+  }
+
+  void renderStageMetrics(StringBuilder output, Stage stage) {
+    if (stage instanceof Theater) {
+      final TheaterStats stats = ((Theater) stage).stats();
+      OpenMetricsExporter.gauge(output, "swim_stage_parallelism", "Target parallelism of the stage's worker pool.", stats.parallelism());
+      OpenMetricsExporter.gauge(output, "swim_stage_pool_size", "Started stage worker threads.", stats.poolSize());
+      OpenMetricsExporter.gauge(output, "swim_stage_active_threads", "Stage worker threads executing tasks.", stats.activeThreadCount());
+      OpenMetricsExporter.gauge(output, "swim_stage_running_threads", "Stage worker threads neither idle nor blocked.",
+                                stats.runningThreadCount());
+      OpenMetricsExporter.gauge(output, "swim_stage_blocked_threads", "Stage tasks executing in a managed block.",
+                                stats.blockedThreadCount());
+      OpenMetricsExporter.gauge(output, "swim_stage_queued_tasks", "Tasks waiting in stage worker queues.", stats.queuedTaskCount());
+      OpenMetricsExporter.gauge(output, "swim_stage_queued_submissions", "Externally submitted tasks not yet started.",
+                                stats.queuedSubmissionCount());
+      OpenMetricsExporter.counter(output, "swim_stage_steals", "Tasks stolen between stage workers.", stats.stealCount());
+      OpenMetricsExporter.counter(output, "swim_stage_tasks", "Tasks and continuations run by the stage.", stats.taskCount());
+      OpenMetricsExporter.counter(output, "swim_stage_task_seconds", "Time spent running stage tasks and continuations.",
+                                  (double) stats.taskTime() / 1.0e9);
+      OpenMetricsExporter.counter(output, "swim_stage_stalls", "Stage tasks that exceeded the task timeout.", stats.stallCount());
+      OpenMetricsExporter.counter(output, "swim_stage_starvations", "Stage starvation episodes.", stats.starvationCount());
+
+      final TheaterWorkerStats[] workers = stats.workers();
+      OpenMetricsExporter.family(output, "swim_stage_worker_tasks", "counter", "Tasks and continuations run by each stage worker.");
+      for (int i = 0; i < workers.length; i += 1) {
+        OpenMetricsExporter.sample(output, "swim_stage_worker_tasks_total", OpenMetricsExporter.workerLabels(workers[i]),
+                                   workers[i].taskCount());
+      }
+      OpenMetricsExporter.family(output, "swim_stage_worker_task_seconds", "counter", "Time spent running tasks on each stage worker.");
+      for (int i = 0; i < workers.length; i += 1) {
+        OpenMetricsExporter.sample(output, "swim_stage_worker_task_seconds_total", OpenMetricsExporter.workerLabels(workers[i]),
+                                   (double) workers[i].taskTime() / 1.0e9);
+      }
+      OpenMetricsExporter.family(output, "swim_stage_worker_max_task_seconds", "gauge", "Longest task run by each stage worker.");
+      for (int i = 0; i < workers.length; i += 1) {
+        OpenMetricsExporter.sample(output, "swim_stage_worker_max_task_seconds", OpenMetricsExporter.workerLabels(workers[i]),
+                                   (double) workers[i].maxTaskTime() / 1.0e9);
+      }
+      OpenMetricsExporter.family(output, "swim_stage_worker_run_seconds", "gauge", "Run time of each stage worker's current task.");
+      for (int i = 0; i < workers.length; i += 1) {
+        OpenMetricsExporter.sample(output, "swim_stage_worker_run_seconds", OpenMetricsExporter.workerLabels(workers[i]),
+                                   (double) workers[i].runTime() / 1.0e9);
+      }
+    }
+  }
+
+  static String workerLabels(TheaterWorkerStats worker) {
+    return "{worker=\"" + OpenMetricsExporter.escape(worker.name()) + "\"}";
+  }
+
+  void renderStationMetrics(StringBuilder output, Station station) {
+    if (station != null) {
+      OpenMetricsExporter.gauge(output, "swim_station_selectors", "I/O selector threads.", station.selectorCount());
+      OpenMetricsExporter.gauge(output, "swim_station_transports", "Transports registered with I/O selectors.",
+                                station.registeredTransportCount());
+    }
+  }
+
+  void renderEdgeMetrics(StringBuilder output, EdgePulse edge) {
+    OpenMetricsExporter.gauge(output, "swim_mesh_count", "Open meshes.", edge.meshCount());
+    OpenMetricsExporter.gauge(output, "swim_part_count", "Open partitions.", edge.partCount());
+    OpenMetricsExporter.gauge(output, "swim_host_count", "Open hosts.", edge.hostCount());
+  }
+
+  void renderStoreMetrics(StringBuilder output, StorePulse store) {
+    OpenMetricsExporter.gauge(output, "swim_store_size_bytes", "Size of the store on disk.", store.storeSize());
+    OpenMetricsExporter.gauge(output, "swim_store_cache_pages", "Pages held by the store's page cache.", store.pageCount());
+    OpenMetricsExporter.gauge(output, "swim_store_cache_size_bytes", "Size of all pages held by the store's page cache.", store.cacheSize());
+    OpenMetricsExporter.gauge(output, "swim_store_cache_budget_bytes", "Maximum size of the store's page cache.", store.cacheBudget());
+    OpenMetricsExporter.counter(output, "swim_store_cache_hits", "Page cache hits.", store.hitCount());
+    OpenMetricsExporter.counter(output, "swim_store_cache_misses", "Page cache misses.", store.missCount());
+    OpenMetricsExporter.counter(output, "swim_store_cache_evictions", "Page cache evictions.", store.evictCount());
+    OpenMetricsExporter.counter(output, "swim_store_commits", "Committed chunks.", store.commitCount());
+    OpenMetricsExporter.counter(output, "swim_store_commit_seconds", "Time spent committing chunks.", (double) store.commitTime() / 1.0e9);
+    OpenMetricsExporter.counter(output, "swim_store_syncs", "Flushes to stable storage.", store.syncCount());
+    OpenMetricsExporter.counter(output, "swim_store_sync_seconds", "Time spent flushing to stable storage.", (double) store.syncTime() / 1.0e9);
+    final LatencyPulse commitLatency = store.commitLatency();
+    OpenMetricsExporter.gauge(output, "swim_store_commit_latency_p50_seconds", "Median chunk commit latency over the last interval.",
+                              (double) commitLatency.p50() / 1.0e6);
+    OpenMetricsExporter.gauge(output, "swim_store_commit_latency_p99_seconds", "99th percentile chunk commit latency over the last interval.",
+                              (double) commitLatency.p99() / 1.0e6);
+    OpenMetricsExporter.gauge(output, "swim_store_commit_latency_max_seconds", "Maximum chunk commit latency over the last interval.",
+                              (double) commitLatency.max() / 1.0e6);
+  }
+
+  void renderScopeMetrics(StringBuilder output, List<OpenMetricsScope> scopes) {
+    final int scopeCount = scopes.size();
+    if (scopeCount == 0) {
+      return;
+    }
+
+    OpenMetricsExporter.family(output, "swim_node_count", "gauge", "Open nodes.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_node_count", scope.labels, scope.nodeCount);
+    }
+    OpenMetricsExporter.family(output, "swim_agent_count", "gauge", "Open agents.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_agent_count", scope.labels, scope.agents.agentCount());
+    }
+    OpenMetricsExporter.family(output, "swim_agent_exec_rate", "gauge", "Agent execution rate over the last interval.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_agent_exec_rate", scope.labels, scope.agents.execRate());
+    }
+    OpenMetricsExporter.family(output, "swim_agent_exec_seconds", "counter", "Time spent executing agents.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_agent_exec_seconds_total", scope.labels, (double) scope.agents.execTime() / 1.0e9);
+    }
+    OpenMetricsExporter.family(output, "swim_timer_event_rate", "gauge", "Timer events per second over the last interval.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_timer_event_rate", scope.labels, scope.agents.timerEventRate());
+    }
+    OpenMetricsExporter.family(output, "swim_timer_events", "counter", "Timer events.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_timer_events_total", scope.labels, scope.agents.timerEventCount());
+    }
+
+    this.renderWarpMetrics(output, scopes, "downlink", false);
+    this.renderWarpMetrics(output, scopes, "uplink", true);
+
+    OpenMetricsExporter.family(output, "swim_uplink_conflate_rate", "gauge", "Uplink events conflated per second over the last interval.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_uplink_conflate_rate", scope.labels, scope.uplinks.conflateRate());
+    }
+    OpenMetricsExporter.family(output, "swim_uplink_conflations", "counter", "Uplink events conflated.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_uplink_conflations_total", scope.labels, scope.uplinks.conflateCount());
+    }
+  }
+
+  void renderWarpMetrics(StringBuilder output, List<OpenMetricsScope> scopes, String link, boolean uplinks) {
+    final int scopeCount = scopes.size();
+    OpenMetricsExporter.family(output, "swim_" + link + "_count", "gauge", "Open " + link + "s.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_" + link + "_count", scope.labels,
+                                 uplinks ? scope.uplinks.linkCount() : scope.downlinks.linkCount());
+    }
+    OpenMetricsExporter.family(output, "swim_" + link + "_event_rate", "gauge", link + " events per second over the last interval.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_" + link + "_event_rate", scope.labels, scope.warpPulse(uplinks).eventRate());
+    }
+    OpenMetricsExporter.family(output, "swim_" + link + "_events", "counter", link + " events.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_" + link + "_events_total", scope.labels, scope.warpPulse(uplinks).eventCount());
+    }
+    OpenMetricsExporter.family(output, "swim_" + link + "_command_rate", "gauge", link + " commands per second over the last interval.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_" + link + "_command_rate", scope.labels, scope.warpPulse(uplinks).commandRate());
+    }
+    OpenMetricsExporter.family(output, "swim_" + link + "_commands", "counter", link + " commands.");
+    for (int i = 0; i < scopeCount; i += 1) {
+      final OpenMetricsScope scope = scopes.get(i);
+      OpenMetricsExporter.sample(output, "swim_" + link + "_commands_total", scope.labels, scope.warpPulse(uplinks).commandCount());
+    }
+  }
+
+  static void family(StringBuilder output, String name, String type, String help) {
+    output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+  }
+
+  static void sample(StringBuilder output, String name, String labels, long value) {
+    output.append(name).append(labels).append(' ').append(value).append('\n');
+  }
+
+  static void sample(StringBuilder output, String name, String labels, double value) {
+    output.append(name).append(labels).append(' ').append(value).append('\n');
+  }
+
+  static void gauge(StringBuilder output, String name, String help, long value) {
+    OpenMetricsExporter.family(output, name, "gauge", help);
+    OpenMetricsExporter.sample(output, name, "", value);
+  }
+
+  static void gauge(StringBuilder output, String name, String help, double value) {
+    OpenMetricsExporter.family(output, name, "gauge", help);
+    OpenMetricsExporter.sample(output, name, "", value);
+  }
+
+  static void counter(StringBuilder output, String name, String help, long value) {
+    OpenMetricsExporter.family(output, name, "counter", help);
+    OpenMetricsExporter.sample(output, name + "_total", "", value);
+  }
+
+  static void counter(StringBuilder output, String name, String help, double value) {
+    OpenMetricsExporter.family(output, name, "counter", help);
+    OpenMetricsExporter.sample(output, name + "_total", "", value);
+  }
+
+  static String escape(String value) {
+    if (value.indexOf('\\') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    final StringBuilder escaped = new StringBuilder(value.length() + 8);
+    for (int i = 0, n = value.length(); i < n; i += 1) {
+      final char c = value.charAt(i);
+      if (c == '\\') {
+        escaped.append("\\\\");
+      } else if (c == '"') {
+        escaped.append("\\\"");
+      } else if (c == '\n') {
+        escaped.append("\\n");
+      } else {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  private static MediaType mediaType;
+
+  static MediaType mediaType() {
+    if (OpenMetricsExporter.mediaType == null) {
+      OpenMetricsExporter.mediaType = MediaType.create("application", "openmetrics-text")
+                                               .param("version", "1.0.0")
+                                               .param("charset", "utf-8");
+    }
+    return OpenMetricsExporter.mediaType;
+  }
+
+  static final AtomicLongFieldUpdater<OpenMetricsExporter> RENDER_TIME =
+      AtomicLongFieldUpdater.newUpdater(OpenMetricsExporter.class, "renderTime");
+
+}
+
+final class OpenMetricsScope {
+
+  final String labels;
+  final long nodeCount;
+  final AgentPulse agents;
+  final WarpDownlinkPulse downlinks;
+  final WarpUplinkPulse uplinks;
+
+  OpenMetricsScope(String labels, long nodeCount, AgentPulse agents,
+                   WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this.labels = labels;
+    this.nodeCount = nodeCount;
+    this.agents = agents;
+    this.downlinks = downlinks;
+    this.uplinks = uplinks;
+  }
+
+  WarpPulse warpPulse(boolean uplinks) {
+    return uplinks ? this.uplinks : this.downlinks;
+  }
+
+}
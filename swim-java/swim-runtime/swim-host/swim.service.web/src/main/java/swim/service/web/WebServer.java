@@ -22,12 +22,14 @@ import swim.api.space.Space;
 import swim.collections.HashTrieMap;
 import swim.http.Cookie;
 import swim.http.HttpBody;
+import swim.http.HttpMethod;
 import swim.http.HttpRequest;
 import swim.http.HttpResponse;
 import swim.http.HttpStatus;
 import swim.io.http.HttpResponder;
 import swim.io.http.StaticHttpResponder;
 import swim.io.warp.AbstractWarpServer;
+import swim.io.warp.WarpWebSocket;
 import swim.kernel.KernelContext;
 import swim.remote.RemoteHost;
 import swim.system.EdgeBinding;
@@ -50,6 +52,7 @@ public class WebServer extends AbstractWarpServer {
 
   final KernelContext kernel;
   final WebServiceDef serviceDef;
+  final OpenMetricsExporter metricsExporter;
   WebRoute router;
 
   public WebServer(KernelContext kernel, WebServiceDef serviceDef, WebRoute router) {
@@ -73,6 +76,12 @@ public class WebServer extends AbstractWarpServer {
       router = router.orElse(new ResourceDirectoryRoute(classLoader, resourceRoot, "index.html"));
     }
     this.router = router;
+
+    if (serviceDef.metricsPath() != null) {
+      this.metricsExporter = new OpenMetricsExporter(kernel, serviceDef.spaceName);
+    } else {
+      this.metricsExporter = null;
+    }
   }
 
   public final KernelContext kernel() {
@@ -97,11 +106,17 @@ public class WebServer extends AbstractWarpServer {
       }
     }
 
+    // Route metrics scrapes.
+    if (this.metricsExporter != null && HttpMethod.GET.equals(httpRequest.method())
+        && requestUri.path().equals(this.serviceDef.metricsPath())) {
+      return new StaticHttpResponder<Object>(this.metricsExporter.metricsResponse());
+    }
+
     // Route WARP upgrades.
     // TODO: Refactor into WarpSpaceRoute.
     final WsRequest wsRequest = WsRequest.create(httpRequest);
     if (wsRequest != null) {
-      final WsResponse wsResponse = wsRequest.accept(this.wsSettings);
+      final WsResponse wsResponse = wsRequest.accept(this.wsSettings, WarpWebSocket.acceptProtocol(wsRequest));
       if (wsResponse != null) {
         return this.warpWebSocketResponder(wsRequest, wsResponse);
       }
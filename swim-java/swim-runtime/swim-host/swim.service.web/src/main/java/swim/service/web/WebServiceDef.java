@@ -32,11 +32,12 @@ public class WebServiceDef implements ServiceDef, Debug {
   final String routerClass;
   final UriPath documentRoot;
   final UriPath resourceRoot;
+  final UriPath metricsPath;
   final WarpSettings warpSettings;
 
   public WebServiceDef(String serviceName, String address, int port, boolean isSecure,
                        String spaceName, String routerClass, UriPath documentRoot,
-                       UriPath resourceRoot, WarpSettings warpSettings) {
+                       UriPath resourceRoot, UriPath metricsPath, WarpSettings warpSettings) {
     this.serviceName = serviceName;
     this.address = address;
     this.port = port;
@@ -45,9 +46,17 @@ public class WebServiceDef implements ServiceDef, Debug {
     this.routerClass = routerClass;
     this.documentRoot = documentRoot;
     this.resourceRoot = resourceRoot;
+    this.metricsPath = metricsPath;
     this.warpSettings = warpSettings;
   }
 
+  public WebServiceDef(String serviceName, String address, int port, boolean isSecure,
+                       String spaceName, String routerClass, UriPath documentRoot,
+                       UriPath resourceRoot, WarpSettings warpSettings) {
+    this(serviceName, address, port, isSecure, spaceName, routerClass,
+         documentRoot, resourceRoot, null, warpSettings);
+  }
+
   @Override
   public final String serviceName() {
     return this.serviceName;
@@ -55,7 +64,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef serviceName(String serviceName) {
     return this.copy(serviceName, this.address, this.port, this.isSecure,
-                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.warpSettings);
+                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final String address() {
@@ -64,7 +73,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef address(String address) {
     return this.copy(this.serviceName, address, this.port, this.isSecure,
-                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.warpSettings);
+                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final int port() {
@@ -73,7 +82,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef port(int port) {
     return this.copy(this.serviceName, this.address, port, this.isSecure,
-                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.warpSettings);
+                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final String spaceName() {
@@ -82,7 +91,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef spaceName(String spaceName) {
     return this.copy(this.serviceName, this.address, this.port, this.isSecure,
-                     spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.warpSettings);
+                     spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final UriPath documentRoot() {
@@ -91,7 +100,7 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef documentRoot(UriPath documentRoot) {
     return this.copy(this.serviceName, this.address, this.port, this.isSecure,
-                     this.spaceName, this.routerClass, documentRoot, this.resourceRoot, this.warpSettings);
+                     this.spaceName, this.routerClass, documentRoot, this.resourceRoot, this.metricsPath, this.warpSettings);
   }
 
   public final UriPath resourceRoot() {
@@ -100,7 +109,16 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef resourceRoot(UriPath resourceRoot) {
     return this.copy(this.serviceName, this.address, this.port, this.isSecure,
-                     this.spaceName, this.routerClass, this.documentRoot, resourceRoot, this.warpSettings);
+                     this.spaceName, this.routerClass, this.documentRoot, resourceRoot, this.metricsPath, this.warpSettings);
+  }
+
+  public final UriPath metricsPath() {
+    return this.metricsPath;
+  }
+
+  public WebServiceDef metricsPath(UriPath metricsPath) {
+    return this.copy(this.serviceName, this.address, this.port, this.isSecure,
+                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, metricsPath, this.warpSettings);
   }
 
   public final WarpSettings warpSettings() {
@@ -109,14 +127,14 @@ public class WebServiceDef implements ServiceDef, Debug {
 
   public WebServiceDef warpSettings(WarpSettings warpSettings) {
     return this.copy(this.serviceName, this.address, this.port, this.isSecure,
-                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, warpSettings);
+                     this.spaceName, this.routerClass, this.documentRoot, this.resourceRoot, this.metricsPath, warpSettings);
   }
 
   protected WebServiceDef copy(String serviceName, String address, int port, boolean isSecure,
                                String spaceName, String routerClass, UriPath documentRoot, UriPath resourceRoot,
-                               WarpSettings warpSettings) {
+                               UriPath metricsPath, WarpSettings warpSettings) {
     return new WebServiceDef(serviceName, address, port, isSecure, spaceName, routerClass,
-                             documentRoot, resourceRoot, warpSettings);
+                             documentRoot, resourceRoot, metricsPath, warpSettings);
   }
 
   @Override
@@ -131,6 +149,7 @@ public class WebServiceDef implements ServiceDef, Debug {
           && (this.routerClass == null ? that.routerClass == null : this.routerClass.equals(that.routerClass))
           && (this.documentRoot == null ? that.documentRoot == null : this.documentRoot.equals(that.documentRoot))
           && (this.resourceRoot == null ? that.resourceRoot == null : this.resourceRoot.equals(that.resourceRoot))
+          && (this.metricsPath == null ? that.metricsPath == null : this.metricsPath.equals(that.metricsPath))
           && this.warpSettings.equals(that.warpSettings);
     }
     return false;
@@ -144,10 +163,11 @@ public class WebServiceDef implements ServiceDef, Debug {
       WebServiceDef.hashSeed = Murmur3.seed(WebServiceDef.class);
     }
     return Murmur3.mash(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(Murmur3.mix(
-        Murmur3.mix(Murmur3.mix(WebServiceDef.hashSeed, Murmur3.hash(this.serviceName)),
+        Murmur3.mix(Murmur3.mix(Murmur3.mix(WebServiceDef.hashSeed, Murmur3.hash(this.serviceName)),
         this.address.hashCode()), this.port), Murmur3.hash(this.isSecure)),
         Murmur3.hash(this.spaceName)), Murmur3.hash(this.routerClass)),
-        Murmur3.hash(this.documentRoot)), Murmur3.hash(this.resourceRoot)), this.warpSettings.hashCode()));
+        Murmur3.hash(this.documentRoot)), Murmur3.hash(this.resourceRoot)), Murmur3.hash(this.metricsPath)),
+        this.warpSettings.hashCode()));
   }
 
   @Override
@@ -175,6 +195,9 @@ public class WebServiceDef implements ServiceDef, Debug {
     if (this.resourceRoot != null) {
       output = output.write('.').write("resourceRoot").write('(').debug(this.resourceRoot).write(')');
     }
+    if (this.metricsPath != null) {
+      output = output.write('.').write("metricsPath").write('(').debug(this.metricsPath).write(')');
+    }
     if (this.warpSettings != WarpSettings.standard()) {
       output = output.write('.').write("warpSettings").write('(').debug(this.warpSettings).write(')');
     }
@@ -187,11 +210,11 @@ public class WebServiceDef implements ServiceDef, Debug {
   }
 
   public static WebServiceDef standard() {
-    return new WebServiceDef("web", "0.0.0.0", 80, false, null, null, null, null, WarpSettings.standard());
+    return new WebServiceDef("web", "0.0.0.0", 80, false, null, null, null, null, null, WarpSettings.standard());
   }
 
   public static WebServiceDef secure() {
-    return new WebServiceDef("web", "0.0.0.0", 443, true, null, null, null, null, WarpSettings.standard());
+    return new WebServiceDef("web", "0.0.0.0", 443, true, null, null, null, null, null, WarpSettings.standard());
   }
 
 }
@@ -81,9 +81,10 @@ public class WebServiceKernel extends KernelProxy {
 
         final UriPath documentRoot = value.get("documentRoot").cast(UriPath.pathForm());
         final UriPath resourceRoot = value.get("resourceRoot").cast(UriPath.pathForm());
+        final UriPath metricsPath = value.get("metricsPath").cast(UriPath.pathForm());
         final WarpSettings warpSettings = WarpSettings.form().cast(value);
         return new WebServiceDef(serviceName, address, port, isSecure, spaceName, routerClass,
-                                 documentRoot, resourceRoot, warpSettings);
+                                 documentRoot, resourceRoot, metricsPath, warpSettings);
       }
     }
     return null;
@@ -14,6 +14,7 @@
 
 package swim.service.web;
 
+import java.nio.charset.StandardCharsets;
 import org.testng.annotations.Test;
 import swim.collections.HashTrieMap;
 import swim.http.Cookie;
@@ -29,12 +30,15 @@ import swim.http.header.SecWebSocketExtensionsHeader;
 import swim.http.header.SecWebSocketKeyHeader;
 import swim.http.header.SecWebSocketVersionHeader;
 import swim.http.header.UpgradeHeader;
+import swim.io.http.StaticHttpResponder;
 import swim.io.warp.WarpSettings;
 import swim.io.ws.WsSettings;
 import swim.io.ws.WsUpgradeResponder;
 import swim.remote.RemoteHost;
 import swim.uri.Uri;
+import swim.uri.UriPath;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class WebServerSpec {
 
@@ -68,4 +72,26 @@ public class WebServerSpec {
     assertEquals(response, expected);
   }
 
+  @Test
+  public void testMetricsRoute() {
+    final WebServiceDef serviceDef = WebServiceDef.standard().metricsPath(UriPath.parse("/metrics"));
+    final WebServer server = new WebServer(new WebServiceKernel(), serviceDef, request -> request.respond(HttpResponse.create(HttpStatus.NOT_FOUND)));
+
+    final StaticHttpResponder<?> responder = (StaticHttpResponder<?>) server.doRequest(HttpRequest.get(Uri.parse("/metrics")));
+    final HttpResponse<?> response = responder.response();
+    assertEquals(response.status(), HttpStatus.OK);
+    assertEquals(response.payload().mediaType().subtype(), "openmetrics-text");
+
+    final String exposition = StandardCharsets.UTF_8.decode(server.metricsExporter.exposition()).toString();
+    assertTrue(exposition.contains("# TYPE jvm_memory_heap_used_bytes gauge\n"));
+    assertTrue(exposition.contains("\njvm_threads_live "));
+    assertTrue(exposition.endsWith("# EOF\n"));
+  }
+
+  @Test
+  public void testEscapeMetricLabels() {
+    assertEquals(OpenMetricsExporter.escape("/a\\b\"c\nd"), "/a\\\\b\\\"c\\nd");
+    assertEquals(OpenMetricsExporter.escape("plain"), "plain");
+  }
+
 }
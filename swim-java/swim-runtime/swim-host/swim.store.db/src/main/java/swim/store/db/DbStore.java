@@ -23,6 +23,8 @@ import swim.api.data.ValueData;
 import swim.concurrent.MainStage;
 import swim.concurrent.Stage;
 import swim.db.BTreeMap;
+import swim.db.FileStore;
+import swim.db.PageCache;
 import swim.db.QTreeMap;
 import swim.db.STreeList;
 import swim.db.Store;
@@ -39,8 +41,11 @@ import swim.store.StoreContext;
 import swim.store.ValueDataBinding;
 import swim.structure.Text;
 import swim.structure.Value;
+import swim.system.StorePulseSource;
+import swim.system.reflect.LatencyPulse;
+import swim.system.reflect.StorePulse;
 
-public class DbStore implements StoreBinding, StoreContext {
+public class DbStore implements StoreBinding, StoreContext, StorePulseSource {
 
   protected final Store store;
   protected final Value name;
@@ -92,6 +97,22 @@ public class DbStore implements StoreBinding, StoreContext {
     }
   }
 
+  @Override
+  public StorePulse storePulse() {
+    final long storeSize = this.store.size();
+    if (this.store instanceof FileStore) {
+      final FileStore fileStore = (FileStore) this.store;
+      final PageCache pageCache = fileStore.pageCache();
+      return new StorePulse(storeSize, pageCache.size(), pageCache.weight(), pageCache.budget(),
+                            pageCache.hitCount(), pageCache.missCount(), pageCache.evictionCount(),
+                            fileStore.commitCount(), fileStore.commitTime(), fileStore.syncCount(),
+                            fileStore.syncTime(), fileStore.syncedChunkCount(),
+                            LatencyPulse.from(fileStore.commitLatency().drain()));
+    } else {
+      return new StorePulse(storeSize, 0, 0L, 0L, 0L, 0L, 0L);
+    }
+  }
+
   @Override
   public StoreBinding openStore(Value name) {
     final Value storeName = this.storeName(name);
@@ -0,0 +1,42 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system;
+
+import swim.structure.Value;
+import swim.uri.Uri;
+
+final class AnyPartPredicate extends PartPredicate {
+
+  @Override
+  public boolean test(Uri nodeUri, int nodeHash) {
+    return true;
+  }
+
+  @Override
+  public PartPredicate and(PartPredicate that) {
+    return that;
+  }
+
+  @Override
+  public Value toValue() {
+    return Value.absent();
+  }
+
+  @Override
+  public String toString() {
+    return "PartPredicate" + '.' + "ANY";
+  }
+
+}
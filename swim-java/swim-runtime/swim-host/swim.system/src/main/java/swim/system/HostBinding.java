@@ -66,6 +66,14 @@ public interface HostBinding extends TierBinding, CellBinding {
 
   UriMapper<NodeBinding> nodes();
 
+  /**
+   * Returns the number of nodes currently open on this host, without
+   * building a {@link #nodes() directory} of them.
+   */
+  default int nodeCount() {
+    return this.nodes().size();
+  }
+
   NodeBinding getNode(Uri nodeUri);
 
   NodeBinding openNode(Uri nodeUri);
@@ -36,4 +36,13 @@ public interface HostDef extends CellDef {
 
   LaneDef getLaneDef(Uri laneUri);
 
+  /**
+   * Returns the number of milliseconds after which idle agents on this host
+   * get passivated, {@code 0} if they never get passivated, or {@code -1} if
+   * the host should use the {@code swim.agent.idle.timeout} system property.
+   */
+  default long idleTimeout() {
+    return -1L;
+  }
+
 }
@@ -199,6 +199,11 @@ public class HostProxy implements HostBinding, HostContext {
     return this.hostBinding.nodes();
   }
 
+  @Override
+  public int nodeCount() {
+    return this.hostBinding.nodeCount();
+  }
+
   @Override
   public NodeBinding getNode(Uri nodeUri) {
     return this.hostBinding.getNode(nodeUri);
@@ -0,0 +1,78 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system;
+
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.util.Murmur3;
+
+final class ModPartPredicate extends PartPredicate {
+
+  final int slot;
+  final int count;
+
+  ModPartPredicate(int slot, int count) {
+    this.slot = slot;
+    this.count = count;
+  }
+
+  @Override
+  public boolean test(Uri nodeUri, int nodeHash) {
+    return nodeHash % this.count == this.slot;
+  }
+
+  @Override
+  public Value toValue() {
+    return Record.create(1).attr("mod", Record.create(2).item(this.slot)
+        .item(this.count));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof ModPartPredicate) {
+      final ModPartPredicate that = (ModPartPredicate) other;
+      return this.slot == that.slot && this.count == that.count;
+    } else {
+      return false;
+    }
+  }
+
+  private static int hashSeed;
+
+  @Override
+  public int hashCode() {
+    if (ModPartPredicate.hashSeed == 0) {
+      ModPartPredicate.hashSeed = Murmur3.seed(ModPartPredicate.class);
+    }
+    return Murmur3.mash(Murmur3.mix(Murmur3.mix(ModPartPredicate.hashSeed,
+        this.slot), this.count));
+  }
+
+  @Override
+  public String toString() {
+    return "ModPredicate" + '.' + "hash" + '(' + this.slot + ", " + this.count + ')';
+  }
+
+  public static ModPartPredicate fromValue(Value value) {
+    final Value header = value.getAttr("mod");
+    final int slot = header.getItem(0).intValue();
+    final int count = header.getItem(1).intValue();
+    return new ModPartPredicate(slot, count);
+  }
+
+}
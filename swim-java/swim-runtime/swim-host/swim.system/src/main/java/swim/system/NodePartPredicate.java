@@ -0,0 +1,73 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system;
+
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.uri.UriPattern;
+import swim.util.Murmur3;
+
+final class NodePartPredicate extends PartPredicate {
+
+  final UriPattern nodePattern;
+
+  NodePartPredicate(UriPattern nodePattern) {
+    this.nodePattern = nodePattern;
+  }
+
+  public static NodePartPredicate fromValue(Value value) {
+    final UriPattern nodePattern = UriPattern.parse(value.getAttr("node").stringValue());
+    return new NodePartPredicate(nodePattern);
+  }
+
+  @Override
+  public boolean test(Uri nodeUri, int nodeHash) {
+    return this.nodePattern.matches(nodeUri);
+  }
+
+  @Override
+  public Value toValue() {
+    return Record.create(1).attr("node", this.nodePattern.toString());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof NodePartPredicate) {
+      final NodePartPredicate that = (NodePartPredicate) other;
+      return this.nodePattern.equals(that.nodePattern);
+    } else {
+      return false;
+    }
+  }
+
+  private static int hashSeed;
+
+  @Override
+  public int hashCode() {
+    if (NodePartPredicate.hashSeed == 0) {
+      NodePartPredicate.hashSeed = Murmur3.seed(NodePartPredicate.class);
+    }
+    return Murmur3.mash(Murmur3.mix(NodePartPredicate.hashSeed, this.nodePattern.hashCode()));
+  }
+
+  @Override
+  public String toString() {
+    return "PartPredicate" + '.' + "node" + '(' + this.nodePattern + ')';
+  }
+
+}
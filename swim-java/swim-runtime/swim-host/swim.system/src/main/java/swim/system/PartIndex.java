@@ -0,0 +1,312 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import swim.collections.FingerTrieSeq;
+import swim.structure.Value;
+import swim.uri.Uri;
+import swim.uri.UriPath;
+
+/**
+ * Immutable routing index over an ordered sequence of parts. Resolves the
+ * first part whose {@link PartPredicate} matches a node URI without testing
+ * every predicate in turn. Hash range, hash modulus, and catch-all predicates
+ * are compiled into constant-time tables; node pattern predicates are bucketed
+ * by the first literal segment of their path, so only patterns that share the
+ * node's leading segment are tested. Compound and custom predicates are
+ * tested in order, but only while they could still precede the best indexed
+ * match.
+ */
+public final class PartIndex {
+
+  final FingerTrieSeq<PartBinding> parts;
+  final PartBinding[] partArray;
+  final PartPredicate[] predicates;
+  final HashMap<Value, PartBinding> partKeys;
+  final int anyOrdinal;
+  final long[] hashBounds;
+  final int[] hashOwners;
+  final int[] hashBuckets;
+  final int[] modCounts;
+  final int[][] modOwners;
+  final HashMap<String, int[]> nodeCandidates;
+  final int[] fallback;
+
+  PartIndex(FingerTrieSeq<PartBinding> parts, PartBinding[] partArray, PartPredicate[] predicates,
+            HashMap<Value, PartBinding> partKeys, int anyOrdinal, long[] hashBounds,
+            int[] hashOwners, int[] hashBuckets, int[] modCounts, int[][] modOwners,
+            HashMap<String, int[]> nodeCandidates, int[] fallback) {
+    this.parts = parts;
+    this.partArray = partArray;
+    this.predicates = predicates;
+    this.partKeys = partKeys;
+    this.anyOrdinal = anyOrdinal;
+    this.hashBounds = hashBounds;
+    this.hashOwners = hashOwners;
+    this.hashBuckets = hashBuckets;
+    this.modCounts = modCounts;
+    this.modOwners = modOwners;
+    this.nodeCandidates = nodeCandidates;
+    this.fallback = fallback;
+  }
+
+  /**
+   * Returns the sequence of parts from which this index was built.
+   */
+  public FingerTrieSeq<PartBinding> parts() {
+    return this.parts;
+  }
+
+  /**
+   * Returns the first part whose predicate matches {@code nodeUri}, or
+   * {@code null} if no part matches.
+   */
+  public PartBinding get(Uri nodeUri) {
+    final int nodeHash = nodeUri.hashCode();
+    int best = this.anyOrdinal;
+    if (this.hashBounds != null) {
+      best = Math.min(best, this.hashOwner(nodeHash));
+    }
+    if (this.modCounts != null) {
+      for (int i = 0; i < this.modCounts.length; i += 1) {
+        final int slot = nodeHash % this.modCounts[i];
+        if (slot >= 0) {
+          best = Math.min(best, this.modOwners[i][slot]);
+        }
+      }
+    }
+    if (this.nodeCandidates != null) {
+      final int[] candidates = this.nodeCandidates.get(PartIndex.leadingSegment(nodeUri.path()));
+      if (candidates != null) {
+        best = this.testCandidates(candidates, best, nodeUri, nodeHash);
+      }
+    }
+    if (this.fallback != null) {
+      best = this.testCandidates(this.fallback, best, nodeUri, nodeHash);
+    }
+    return best < this.partArray.length ? this.partArray[best] : null;
+  }
+
+  /**
+   * Returns the first part with the given {@code partKey}, or {@code null}
+   * if no such part exists.
+   */
+  public PartBinding get(Value partKey) {
+    return this.partKeys.get(partKey);
+  }
+
+  int hashOwner(int nodeHash) {
+    final long[] hashBounds = this.hashBounds;
+    final long key = (long) nodeHash & 0xffffffffL;
+    int k = this.hashBuckets[(int) (key >>> (32 - PartIndex.HASH_BUCKET_BITS))];
+    while (k + 1 < hashBounds.length && hashBounds[k + 1] <= key) {
+      k += 1;
+    }
+    return this.hashOwners[k];
+  }
+
+  int testCandidates(int[] candidates, int best, Uri nodeUri, int nodeHash) {
+    for (int i = 0; i < candidates.length; i += 1) {
+      final int ordinal = candidates[i];
+      if (ordinal >= best) {
+        break;
+      } else if (this.predicates[ordinal].test(nodeUri, nodeHash)) {
+        return ordinal;
+      }
+    }
+    return best;
+  }
+
+  private static PartIndex empty;
+
+  public static PartIndex empty() {
+    if (PartIndex.empty == null) {
+      PartIndex.empty = PartIndex.from(FingerTrieSeq.<PartBinding>empty());
+    }
+    return PartIndex.empty;
+  }
+
+  public static PartIndex from(FingerTrieSeq<PartBinding> parts) {
+    final int n = parts.size();
+    final PartBinding[] partArray = new PartBinding[n];
+    final PartPredicate[] predicates = new PartPredicate[n];
+    final HashMap<Value, PartBinding> partKeys = new HashMap<Value, PartBinding>();
+    int anyOrdinal = Integer.MAX_VALUE;
+    final ArrayList<Integer> hashRanges = new ArrayList<Integer>();
+    final HashMap<Integer, int[]> modTables = new HashMap<Integer, int[]>();
+    final HashMap<String, ArrayList<Integer>> nodeTables = new HashMap<String, ArrayList<Integer>>();
+    final ArrayList<Integer> fallbackList = new ArrayList<Integer>();
+
+    for (int i = 0; i < n; i += 1) {
+      final PartBinding part = parts.get(i);
+      final PartPredicate predicate = part.predicate();
+      partArray[i] = part;
+      predicates[i] = predicate;
+      final Value partKey = part.partKey();
+      if (partKey != null && !partKeys.containsKey(partKey)) {
+        partKeys.put(partKey, part);
+      }
+      if (i > anyOrdinal) {
+        continue; // shadowed by a catch-all part
+      } else if (predicate instanceof AnyPartPredicate) {
+        anyOrdinal = i;
+      } else if (predicate instanceof HashPartPredicate) {
+        hashRanges.add(i);
+      } else if (predicate instanceof ModPartPredicate && PartIndex.isIndexable((ModPartPredicate) predicate)) {
+        final ModPartPredicate modPredicate = (ModPartPredicate) predicate;
+        int[] owners = modTables.get(modPredicate.count);
+        if (owners == null) {
+          owners = new int[modPredicate.count];
+          Arrays.fill(owners, Integer.MAX_VALUE);
+          modTables.put(modPredicate.count, owners);
+        }
+        if (owners[modPredicate.slot] == Integer.MAX_VALUE) {
+          owners[modPredicate.slot] = i;
+        }
+      } else {
+        final String segment = predicate instanceof NodePartPredicate
+                             ? PartIndex.literalSegment(((NodePartPredicate) predicate).nodePattern.toUri().path())
+                             : null;
+        if (segment != null) {
+          ArrayList<Integer> candidates = nodeTables.get(segment);
+          if (candidates == null) {
+            candidates = new ArrayList<Integer>();
+            nodeTables.put(segment, candidates);
+          }
+          candidates.add(i);
+        } else {
+          fallbackList.add(i);
+        }
+      }
+    }
+
+    long[] hashBounds = null;
+    int[] hashOwners = null;
+    int[] hashBuckets = null;
+    if (!hashRanges.isEmpty()) {
+      hashBounds = PartIndex.hashBounds(predicates, hashRanges);
+      hashOwners = new int[hashBounds.length];
+      for (int k = 0; k < hashBounds.length; k += 1) {
+        int owner = Integer.MAX_VALUE;
+        for (int j = 0, m = hashRanges.size(); j < m; j += 1) {
+          final int ordinal = hashRanges.get(j);
+          if (predicates[ordinal].test(null, (int) hashBounds[k])) {
+            owner = ordinal;
+            break;
+          }
+        }
+        hashOwners[k] = owner;
+      }
+      hashBuckets = new int[1 << PartIndex.HASH_BUCKET_BITS];
+      for (int b = 0, k = 0; b < hashBuckets.length; b += 1) {
+        final long bucketStart = (long) b << (32 - PartIndex.HASH_BUCKET_BITS);
+        while (k + 1 < hashBounds.length && hashBounds[k + 1] <= bucketStart) {
+          k += 1;
+        }
+        hashBuckets[b] = k;
+      }
+    }
+
+    int[] modCounts = null;
+    int[][] modOwners = null;
+    if (!modTables.isEmpty()) {
+      modCounts = new int[modTables.size()];
+      modOwners = new int[modTables.size()][];
+      int k = 0;
+      for (Map.Entry<Integer, int[]> entry : modTables.entrySet()) {
+        modCounts[k] = entry.getKey();
+        modOwners[k] = entry.getValue();
+        k += 1;
+      }
+    }
+
+    HashMap<String, int[]> nodeCandidates = null;
+    if (!nodeTables.isEmpty()) {
+      nodeCandidates = new HashMap<String, int[]>();
+      for (Map.Entry<String, ArrayList<Integer>> entry : nodeTables.entrySet()) {
+        nodeCandidates.put(entry.getKey(), PartIndex.toArray(entry.getValue()));
+      }
+    }
+
+    final int[] fallback = fallbackList.isEmpty() ? null : PartIndex.toArray(fallbackList);
+
+    return new PartIndex(parts, partArray, predicates, partKeys, anyOrdinal, hashBounds,
+                         hashOwners, hashBuckets, modCounts, modOwners, nodeCandidates, fallback);
+  }
+
+  static long[] hashBounds(PartPredicate[] predicates, ArrayList<Integer> hashRanges) {
+    final long[] bounds = new long[2 * hashRanges.size() + 1];
+    int count = 0;
+    bounds[count++] = 0L;
+    for (int j = 0, m = hashRanges.size(); j < m; j += 1) {
+      final HashPartPredicate predicate = (HashPartPredicate) predicates[hashRanges.get(j)];
+      bounds[count++] = (long) predicate.lowerBound & 0xffffffffL;
+      bounds[count++] = (long) predicate.upperBound & 0xffffffffL;
+    }
+    Arrays.sort(bounds, 0, count);
+    int distinct = 1;
+    for (int k = 1; k < count; k += 1) {
+      if (bounds[k] != bounds[distinct - 1]) {
+        bounds[distinct++] = bounds[k];
+      }
+    }
+    return Arrays.copyOf(bounds, distinct);
+  }
+
+  static boolean isIndexable(ModPartPredicate predicate) {
+    return 0 < predicate.count && predicate.count <= PartIndex.MAX_MOD_COUNT
+        && 0 <= predicate.slot && predicate.slot < predicate.count;
+  }
+
+  /**
+   * Returns the first non-slash component of a node pattern path, or
+   * {@code null} if the pattern path begins with a variable.
+   */
+  static String literalSegment(UriPath path) {
+    final String segment = PartIndex.leadingSegment(path);
+    if (!segment.isEmpty() && segment.charAt(0) == ':') {
+      return null;
+    }
+    return segment;
+  }
+
+  static String leadingSegment(UriPath path) {
+    while (!path.isEmpty()) {
+      final String component = path.head();
+      if (!"/".equals(component)) {
+        return component;
+      }
+      path = path.tail();
+    }
+    return "";
+  }
+
+  static int[] toArray(ArrayList<Integer> list) {
+    final int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i += 1) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  static final int HASH_BUCKET_BITS = 10;
+
+  static final int MAX_MOD_COUNT = 1 << 16;
+
+}
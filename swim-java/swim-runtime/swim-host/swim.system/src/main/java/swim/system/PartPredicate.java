@@ -18,7 +18,6 @@ import swim.structure.Extant;
 import swim.structure.Form;
 import swim.structure.Item;
 import swim.structure.Kind;
-import swim.structure.Record;
 import swim.structure.Value;
 import swim.structure.operator.AndOperator;
 import swim.structure.operator.OrOperator;
@@ -139,30 +138,6 @@ final class PartPredicateForm extends Form<PartPredicate> {
 
 }
 
-final class AnyPartPredicate extends PartPredicate {
-
-  @Override
-  public boolean test(Uri nodeUri, int nodeHash) {
-    return true;
-  }
-
-  @Override
-  public PartPredicate and(PartPredicate that) {
-    return that;
-  }
-
-  @Override
-  public Value toValue() {
-    return Value.absent();
-  }
-
-  @Override
-  public String toString() {
-    return "PartPredicate" + '.' + "ANY";
-  }
-
-}
-
 final class OrPartPredicate extends PartPredicate {
 
   final PartPredicate[] predicates;
@@ -352,172 +327,3 @@ final class AndPartPredicate extends PartPredicate {
   }
 
 }
-
-final class NodePartPredicate extends PartPredicate {
-
-  final UriPattern nodePattern;
-
-  NodePartPredicate(UriPattern nodePattern) {
-    this.nodePattern = nodePattern;
-  }
-
-  public static NodePartPredicate fromValue(Value value) {
-    final UriPattern nodePattern = UriPattern.parse(value.getAttr("node").stringValue());
-    return new NodePartPredicate(nodePattern);
-  }
-
-  @Override
-  public boolean test(Uri nodeUri, int nodeHash) {
-    return this.nodePattern.matches(nodeUri);
-  }
-
-  @Override
-  public Value toValue() {
-    return Record.create(1).attr("node", this.nodePattern.toString());
-  }
-
-  @Override
-  public boolean equals(Object other) {
-    if (this == other) {
-      return true;
-    } else if (other instanceof NodePartPredicate) {
-      final NodePartPredicate that = (NodePartPredicate) other;
-      return this.nodePattern.equals(that.nodePattern);
-    } else {
-      return false;
-    }
-  }
-
-  private static int hashSeed;
-
-  @Override
-  public int hashCode() {
-    if (NodePartPredicate.hashSeed == 0) {
-      NodePartPredicate.hashSeed = Murmur3.seed(NodePartPredicate.class);
-    }
-    return Murmur3.mash(Murmur3.mix(NodePartPredicate.hashSeed, this.nodePattern.hashCode()));
-  }
-
-  @Override
-  public String toString() {
-    return "PartPredicate" + '.' + "node" + '(' + this.nodePattern + ')';
-  }
-
-}
-
-final class ModPartPredicate extends PartPredicate {
-
-  final int slot;
-  final int count;
-
-  ModPartPredicate(int slot, int count) {
-    this.slot = slot;
-    this.count = count;
-  }
-
-  @Override
-  public boolean test(Uri nodeUri, int nodeHash) {
-    return nodeHash % this.count == this.slot;
-  }
-
-  @Override
-  public Value toValue() {
-    return Record.create(1).attr("mod", Record.create(2).item(this.slot)
-        .item(this.count));
-  }
-
-  @Override
-  public boolean equals(Object other) {
-    if (this == other) {
-      return true;
-    } else if (other instanceof ModPartPredicate) {
-      final ModPartPredicate that = (ModPartPredicate) other;
-      return this.slot == that.slot && this.count == that.count;
-    } else {
-      return false;
-    }
-  }
-
-  private static int hashSeed;
-
-  @Override
-  public int hashCode() {
-    if (ModPartPredicate.hashSeed == 0) {
-      ModPartPredicate.hashSeed = Murmur3.seed(ModPartPredicate.class);
-    }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(ModPartPredicate.hashSeed,
-        this.slot), this.count));
-  }
-
-  @Override
-  public String toString() {
-    return "ModPredicate" + '.' + "hash" + '(' + this.slot + ", " + this.count + ')';
-  }
-
-  public static ModPartPredicate fromValue(Value value) {
-    final Value header = value.getAttr("mod");
-    final int slot = header.getItem(0).intValue();
-    final int count = header.getItem(1).intValue();
-    return new ModPartPredicate(slot, count);
-  }
-
-}
-
-final class HashPartPredicate extends PartPredicate {
-
-  final int lowerBound;
-  final int upperBound;
-
-  HashPartPredicate(int lowerBound, int upperBound) {
-    this.lowerBound = lowerBound;
-    this.upperBound = upperBound;
-  }
-
-  public static HashPartPredicate fromValue(Value value) {
-    final Value header = value.getAttr("hash");
-    final int lowerBound = header.getItem(0).intValue();
-    final int upperBound = header.getItem(1).intValue();
-    return new HashPartPredicate(lowerBound, upperBound);
-  }
-
-  @Override
-  public boolean test(Uri nodeUri, int nodeHash) {
-    final long dlh = (long) (nodeHash - this.lowerBound) & 0xffffffffL;
-    return 0L <= dlh && dlh < ((long) (this.upperBound - this.lowerBound) & 0xffffffffL);
-  }
-
-  @Override
-  public Value toValue() {
-    return Record.create(1).attr("hash", Record.create(2).item(this.lowerBound)
-                                                         .item(this.upperBound));
-  }
-
-  @Override
-  public boolean equals(Object other) {
-    if (this == other) {
-      return true;
-    } else if (other instanceof HashPartPredicate) {
-      final HashPartPredicate that = (HashPartPredicate) other;
-      return this.lowerBound == that.lowerBound && this.upperBound == that.upperBound;
-    } else {
-      return false;
-    }
-  }
-
-  private static int hashSeed;
-
-  @Override
-  public int hashCode() {
-    if (HashPartPredicate.hashSeed == 0) {
-      HashPartPredicate.hashSeed = Murmur3.seed(HashPartPredicate.class);
-    }
-    return Murmur3.mash(Murmur3.mix(Murmur3.mix(HashPartPredicate.hashSeed,
-        this.lowerBound), this.upperBound));
-  }
-
-  @Override
-  public String toString() {
-    return "PartPredicate" + '.' + "hash" + '(' + this.lowerBound + ", " + this.upperBound + ')';
-  }
-
-}
@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import swim.api.SwimBlocking;
 import swim.api.SwimContext;
 import swim.api.agent.Agent;
 import swim.api.agent.AgentFactory;
@@ -43,12 +44,14 @@ import swim.system.profile.WarpDownlinkProfile;
 import swim.system.profile.WarpLaneProfile;
 import swim.system.reflect.AgentPulse;
 import swim.system.reflect.LaneInfo;
+import swim.system.reflect.LatencyPulse;
 import swim.system.reflect.LogEntry;
 import swim.system.reflect.NodePulse;
 import swim.system.reflect.WarpDownlinkPulse;
 import swim.system.reflect.WarpUplinkPulse;
 import swim.uri.Uri;
 import swim.util.Builder;
+import swim.util.LatencyHistogram;
 
 public class AgentModel extends AgentNode {
 
@@ -84,6 +87,11 @@ public class AgentModel extends AgentNode {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
+  final LatencyHistogram execLatency;
+  final LatencyHistogram uplinkLatency;
   volatile long lastReportTime;
 
   NodePulse pulse;
@@ -130,6 +138,11 @@ public class AgentModel extends AgentNode {
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
+    this.execLatency = new LatencyHistogram();
+    this.uplinkLatency = new LatencyHistogram();
     this.lastReportTime = 0L;
 
     this.pulse = null;
@@ -316,6 +329,19 @@ public class AgentModel extends AgentNode {
       SwimContext.clear();
     }
     view.setAgent(agent);
+    if (props.get("blocking").booleanValue(false) || AgentModel.isBlockingAgent(agent)) {
+      // Run the whole node off the compute workers, since its agents share
+      // a single sequential mailbox.
+      this.setBlocking(true);
+    }
+    final int mailboxCapacity = props.get("mailboxCapacity").intValue(0);
+    if (mailboxCapacity > 0) {
+      // Agents of a node share its mailbox, so the tightest bound wins.
+      final int oldMailboxCapacity = this.mailboxCapacity();
+      if (oldMailboxCapacity == 0 || mailboxCapacity < oldMailboxCapacity) {
+        this.setMailboxCapacity(mailboxCapacity);
+      }
+    }
     return view;
   }
 
@@ -365,6 +391,14 @@ public class AgentModel extends AgentNode {
     } while (true);
   }
 
+  static boolean isBlockingAgent(Agent agent) {
+    if (agent == null) {
+      return false;
+    }
+    final SwimBlocking blockingAnnotation = agent.getClass().getAnnotation(SwimBlocking.class);
+    return blockingAnnotation != null && blockingAnnotation.value();
+  }
+
   public void removeAgentView(AgentView view) {
     do {
       final Object oldViews = AgentModel.VIEWS.get(this);
@@ -434,7 +468,9 @@ public class AgentModel extends AgentNode {
 
   @Override
   public void pushUp(Push<?> push) {
-    this.execute(new AgentModelPushUp(this, push));
+    if (!this.tryExecute(new AgentModelPushUp(this, push))) {
+      push.trap(new NodeException("mailbox full"));
+    }
   }
 
   @Override
@@ -654,6 +690,7 @@ public class AgentModel extends AgentNode {
 
   public void accumulateExecTime(long agentExecDelta) {
     AgentModel.AGENT_EXEC_DELTA.addAndGet(this, agentExecDelta);
+    this.execLatency.record(agentExecDelta);
     this.didUpdateMetrics();
   }
 
@@ -672,6 +709,10 @@ public class AgentModel extends AgentNode {
     AgentModel.UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     AgentModel.UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     AgentModel.UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    AgentModel.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.uplinkConflateDelta());
+    AgentModel.UPLINK_CONFLATE_RATE.addAndGet(this, profile.uplinkConflateRate());
+    this.execLatency.add(profile.execLatency());
+    this.uplinkLatency.add(profile.uplinkLatency());
     this.didUpdateMetrics();
   }
 
@@ -765,6 +806,9 @@ public class AgentModel extends AgentNode {
     final int uplinkCommandDelta = AgentModel.UPLINK_COMMAND_DELTA.getAndSet(this, 0);
     final int uplinkCommandRate = AgentModel.UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = AgentModel.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = AgentModel.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = AgentModel.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = AgentModel.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final long agentCount = agentOpenCount - agentCloseCount;
     final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
@@ -773,8 +817,14 @@ public class AgentModel extends AgentNode {
                                                                   downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-                                                            uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new NodePulse(agentPulse, downlinkPulse, uplinkPulse);
+                                                            uplinkCommandRate, uplinkCommandCount,
+                                                            uplinkConflateRate, uplinkConflateCount);
+    final LatencyPulse execLatency = LatencyPulse.from(this.execLatency.drain());
+    final LatencyPulse mailboxLatency = LatencyPulse.from(this.mailboxLatency().drain());
+    final LatencyPulse uplinkLatency = LatencyPulse.from(this.uplinkLatency.drain());
+    this.pulse = new NodePulse(agentPulse, downlinkPulse, uplinkPulse,
+                               this.mailboxSize(), this.mailboxRunTime(), this.mailboxDropCount(),
+                               execLatency, mailboxLatency, uplinkLatency);
     final DemandLane<NodePulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -788,7 +838,8 @@ public class AgentModel extends AgentNode {
                            downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                            uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                            uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                           uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount);
   }
 
   static final AtomicReferenceFieldUpdater<AgentModel, Object> VIEWS =
@@ -852,6 +903,12 @@ public class AgentModel extends AgentNode {
       AtomicIntegerFieldUpdater.newUpdater(AgentModel.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<AgentModel> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(AgentModel.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<AgentModel> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(AgentModel.class, "uplinkConflateDelta");
+  static final AtomicIntegerFieldUpdater<AgentModel> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater(AgentModel.class, "uplinkConflateRate");
+  static final AtomicLongFieldUpdater<AgentModel> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(AgentModel.class, "uplinkConflateCount");
   static final AtomicLongFieldUpdater<AgentModel> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(AgentModel.class, "lastReportTime");
 
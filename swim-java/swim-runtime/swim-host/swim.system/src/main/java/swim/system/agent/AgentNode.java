@@ -16,6 +16,8 @@ package swim.system.agent;
 
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.Downlink;
 import swim.api.Lane;
@@ -83,6 +85,7 @@ import swim.system.lane.SpatialLaneView;
 import swim.system.lane.SupplyLaneView;
 import swim.system.lane.ValueLaneView;
 import swim.uri.Uri;
+import swim.util.LatencyHistogram;
 
 public class AgentNode extends AbstractTierBinding implements NodeBinding, CellContext, LaneFactory, Schedule, Stage, Task {
 
@@ -91,9 +94,29 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
   protected NodeContext nodeContext;
   protected TaskContext taskContext;
   volatile HashTrieMap<Uri, LaneBinding> lanes;
+  volatile int mailboxSize;
+  volatile int mailboxCapacity;
+  volatile long mailboxRunTime;
+  volatile long mailboxDropCount;
+  volatile Thread mailboxThread;
+  volatile long mailboxCueTime;
+  volatile boolean blocking;
+  volatile long lastActiveTime;
+  volatile int timerCount;
+  final LatencyHistogram mailboxLatency;
 
   public AgentNode() {
     this.mailbox = new ConcurrentLinkedQueue<Runnable>();
+    this.mailboxSize = 0;
+    this.mailboxCapacity = AgentNode.MAILBOX_CAPACITY;
+    this.mailboxRunTime = 0L;
+    this.mailboxDropCount = 0L;
+    this.mailboxThread = null;
+    this.mailboxCueTime = 0L;
+    this.blocking = false;
+    this.lastActiveTime = System.nanoTime();
+    this.timerCount = 0;
+    this.mailboxLatency = new LatencyHistogram();
     this.createdTime = System.currentTimeMillis();
     this.nodeContext = null;
     this.taskContext = null;
@@ -660,35 +683,188 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     return this.nodeContext.stage().call(future);
   }
 
+  /**
+   * Returns the number of commands currently waiting in the mailbox.
+   */
+  public final int mailboxSize() {
+    return AgentNode.MAILBOX_SIZE.get(this);
+  }
+
+  /**
+   * Returns the total number of nanoseconds spent draining the mailbox.
+   */
+  public final long mailboxRunTime() {
+    return AgentNode.MAILBOX_RUN_TIME.get(this);
+  }
+
+  /**
+   * Returns the total number of commands dropped because the mailbox
+   * was at capacity.
+   */
+  public final long mailboxDropCount() {
+    return AgentNode.MAILBOX_DROP_COUNT.get(this);
+  }
+
+  /**
+   * Returns the distribution of times that commands wait in the mailbox,
+   * measured from when the oldest waiting command was submitted until the
+   * mailbox next starts draining.
+   */
+  public final LatencyHistogram mailboxLatency() {
+    return this.mailboxLatency;
+  }
+
+  /**
+   * Returns the {@link System#nanoTime() nanoTime} at which the mailbox
+   * last started draining, or at which this node was created, if the
+   * mailbox has never run.
+   */
+  public final long lastActiveTime() {
+    return this.lastActiveTime;
+  }
+
+  /**
+   * Returns the number of timers set by this node that are currently
+   * scheduled to fire.
+   */
+  public final int timerCount() {
+    return AgentNode.TIMER_COUNT.get(this);
+  }
+
+  /**
+   * Returns {@code true} if this node is started, has no open uplinks, no
+   * scheduled timers, and no waiting or running commands, and if its mailbox
+   * hasn't run in the last {@code idleNanos} nanoseconds.
+   */
+  public boolean isIdle(long idleNanos) {
+    if (!this.isStarted() || AgentNode.MAILBOX_SIZE.get(this) != 0 || this.mailboxThread != null
+        || AgentNode.TIMER_COUNT.get(this) != 0 || System.nanoTime() - this.lastActiveTime < idleNanos) {
+      return false;
+    }
+    final Iterator<LaneBinding> lanesIterator = AgentNode.LANES.get(this).valueIterator();
+    while (lanesIterator.hasNext()) {
+      if (!lanesIterator.next().uplinks().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the maximum number of commands that {@link #tryExecute(Runnable)}
+   * admits to the mailbox, or {@code 0} if the mailbox is unbounded.
+   */
+  public final int mailboxCapacity() {
+    return this.mailboxCapacity;
+  }
+
+  public void setMailboxCapacity(int mailboxCapacity) {
+    this.mailboxCapacity = mailboxCapacity;
+  }
+
+  /**
+   * Enqueues a command in the mailbox, regardless of the mailbox capacity.
+   * Used for lifecycle and timer commands, which must never be dropped.
+   */
   @Override
   public void execute(Runnable command) {
+    AgentNode.MAILBOX_SIZE.incrementAndGet(this);
+    this.enqueueCommand(command);
+  }
+
+  /**
+   * Enqueues a command in the mailbox if the mailbox has room for it;
+   * otherwise drops the command, counts the drop, and returns {@code false}.
+   * The mailbox slot is reserved before the command is enqueued, so that
+   * concurrent submitters can never overshoot the mailbox capacity.
+   * Commands the node submits to itself while draining its mailbox are
+   * always admitted.
+   */
+  public boolean tryExecute(Runnable command) {
+    final int capacity = this.mailboxCapacity;
+    if (capacity > 0 && this.mailboxThread != Thread.currentThread()) {
+      do {
+        final int oldSize = AgentNode.MAILBOX_SIZE.get(this);
+        if (oldSize >= capacity) {
+          AgentNode.MAILBOX_DROP_COUNT.incrementAndGet(this);
+          return false;
+        } else if (AgentNode.MAILBOX_SIZE.compareAndSet(this, oldSize, oldSize + 1)) {
+          break;
+        }
+      } while (true);
+    } else {
+      AgentNode.MAILBOX_SIZE.incrementAndGet(this);
+    }
+    this.enqueueCommand(command);
+    return true;
+  }
+
+  void enqueueCommand(Runnable command) {
     this.mailbox.add(command);
+    if (this.mailboxCueTime == 0L) {
+      AgentNode.MAILBOX_CUE_TIME.compareAndSet(this, 0L, System.nanoTime());
+    }
     this.taskContext.cue();
   }
 
+  /**
+   * Returns {@code true} if this node's commands may make blocking calls,
+   * in which case the node runs on a dedicated thread of its execution
+   * stage, when available, rather than on a compute worker.
+   */
+  public final boolean isBlocking() {
+    return this.blocking;
+  }
+
+  public void setBlocking(boolean blocking) {
+    this.blocking = blocking;
+  }
+
   @Override
   public boolean taskWillBlock() {
-    return false;
+    return this.blocking;
   }
 
   @Override
   public void runTask() {
+    final long t0 = System.nanoTime();
+    this.lastActiveTime = t0;
+    final long mailboxCueTime = AgentNode.MAILBOX_CUE_TIME.getAndSet(this, 0L);
+    if (mailboxCueTime != 0L) {
+      this.mailboxLatency.record(t0 - mailboxCueTime);
+    }
+    this.mailboxThread = Thread.currentThread();
+    int quantum = AgentNode.MAILBOX_QUANTUM;
     do {
       final Runnable command = this.mailbox.poll();
       if (command != null) {
+        AgentNode.MAILBOX_SIZE.decrementAndGet(this);
         try {
           command.run();
         } catch (Throwable error) {
           if (Cont.isNonFatal(error)) {
             this.didFail(error);
           } else {
+            this.mailboxThread = null;
             throw error;
           }
         }
+        quantum -= 1;
+        if (quantum == 0) {
+          if (!this.mailbox.isEmpty()) {
+            // Yield the worker to other tasks; the remaining commands
+            // drain on the next run.
+            AgentNode.MAILBOX_CUE_TIME.compareAndSet(this, 0L, System.nanoTime());
+            this.taskContext.cue();
+          }
+          break;
+        }
       } else {
         break;
       }
     } while (true);
+    this.mailboxThread = null;
+    AgentNode.MAILBOX_RUN_TIME.addAndGet(this, System.nanoTime() - t0);
   }
 
   @Override
@@ -701,12 +877,41 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     // hook
   }
 
+  @Override
+  public String toString() {
+    final NodeContext nodeContext = this.nodeContext;
+    return this.getClass().getSimpleName() + '(' + (nodeContext != null ? nodeContext.nodeUri() : null) + ')';
+  }
+
   @SuppressWarnings("unchecked")
   static final AtomicReferenceFieldUpdater<AgentNode, HashTrieMap<Uri, LaneBinding>> LANES =
       AtomicReferenceFieldUpdater.newUpdater(AgentNode.class, (Class<HashTrieMap<Uri, LaneBinding>>) (Class<?>) HashTrieMap.class, "lanes");
 
+  static final AtomicIntegerFieldUpdater<AgentNode> MAILBOX_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "mailboxSize");
+  static final AtomicLongFieldUpdater<AgentNode> MAILBOX_RUN_TIME =
+      AtomicLongFieldUpdater.newUpdater(AgentNode.class, "mailboxRunTime");
+  static final AtomicLongFieldUpdater<AgentNode> MAILBOX_DROP_COUNT =
+      AtomicLongFieldUpdater.newUpdater(AgentNode.class, "mailboxDropCount");
+  static final AtomicLongFieldUpdater<AgentNode> MAILBOX_CUE_TIME =
+      AtomicLongFieldUpdater.newUpdater(AgentNode.class, "mailboxCueTime");
+  static final AtomicIntegerFieldUpdater<AgentNode> TIMER_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(AgentNode.class, "timerCount");
+
   static final Uri LANES_URI = Uri.parse("lanes");
 
+  /**
+   * Maximum number of mailbox commands to run before yielding the
+   * execution stage to other tasks.
+   */
+  static final int MAILBOX_QUANTUM;
+
+  /**
+   * Default {@link #mailboxCapacity() mailbox capacity} of nodes that don't
+   * configure their own, or {@code 0} if mailboxes are unbounded by default.
+   */
+  static final int MAILBOX_CAPACITY;
+
   protected static Uri normalizedLaneUri(Uri laneUri) {
     if (laneUri.query().isDefined() || laneUri.fragment().isDefined()) {
       laneUri = Uri.create(laneUri.scheme(), laneUri.authority(), laneUri.path());
@@ -714,4 +919,22 @@ public class AgentNode extends AbstractTierBinding implements NodeBinding, CellC
     return laneUri;
   }
 
+  static {
+    int mailboxQuantum;
+    try {
+      mailboxQuantum = Integer.parseInt(System.getProperty("swim.agent.mailbox.quantum"));
+    } catch (NumberFormatException e) {
+      mailboxQuantum = 256;
+    }
+    MAILBOX_QUANTUM = mailboxQuantum > 0 ? mailboxQuantum : Integer.MAX_VALUE;
+
+    int mailboxCapacity;
+    try {
+      mailboxCapacity = Integer.parseInt(System.getProperty("swim.agent.mailbox.capacity"));
+    } catch (NumberFormatException e) {
+      mailboxCapacity = 0;
+    }
+    MAILBOX_CAPACITY = mailboxCapacity;
+  }
+
 }
@@ -14,6 +14,7 @@
 
 package swim.system.agent;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.concurrent.Cont;
 import swim.concurrent.Schedule;
 import swim.concurrent.Timer;
@@ -26,10 +27,12 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
   protected final AgentNode node;
   protected final TimerFunction timer;
   protected TimerContext timerContext;
+  volatile int scheduled;
 
   public AgentTimer(AgentNode node, TimerFunction timer) {
     this.node = node;
     this.timer = timer;
+    this.scheduled = 0;
   }
 
   @Override
@@ -47,11 +50,15 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void runTimer() {
+    this.didUnschedule();
     this.node.execute(this);
   }
 
   @Override
   public void timerWillSchedule(long millis) {
+    if (AgentTimer.SCHEDULED.compareAndSet(this, 0, 1)) {
+      AgentNode.TIMER_COUNT.incrementAndGet(this.node);
+    }
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerWillSchedule(millis);
     }
@@ -59,11 +66,18 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
 
   @Override
   public void timerDidCancel() {
+    this.didUnschedule();
     if (this.timer instanceof Timer) {
       ((Timer) this.timer).timerDidCancel();
     }
   }
 
+  void didUnschedule() {
+    if (AgentTimer.SCHEDULED.compareAndSet(this, 1, 0)) {
+      AgentNode.TIMER_COUNT.decrementAndGet(this.node);
+    }
+  }
+
   @Override
   public Schedule schedule() {
     return this.node;
@@ -103,4 +117,7 @@ public class AgentTimer implements Timer, TimerContext, TimerRef, Runnable {
     }
   }
 
+  static final AtomicIntegerFieldUpdater<AgentTimer> SCHEDULED =
+      AtomicIntegerFieldUpdater.newUpdater(AgentTimer.class, "scheduled");
+
 }
@@ -19,6 +19,7 @@ import swim.api.Link;
 import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.lane.CommandLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -155,6 +156,12 @@ public class CommandLaneView<V> extends WarpLaneView implements CommandLane<V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public CommandLaneView<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   public void laneOnCommand(V value) {
     // hook
   }
@@ -21,6 +21,7 @@ import swim.api.agent.AgentContext;
 import swim.api.lane.DemandLane;
 import swim.api.lane.function.OnCue;
 import swim.api.warp.WarpUplink;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -157,6 +158,12 @@ public class DemandLaneView<V> extends WarpLaneView implements DemandLane<V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public DemandLaneView<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public V dispatchOnCue(WarpUplink uplink) {
     final Lane lane = SwimContext.getLane();
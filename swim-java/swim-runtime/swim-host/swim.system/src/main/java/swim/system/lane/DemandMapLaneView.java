@@ -23,6 +23,7 @@ import swim.api.lane.DemandMapLane;
 import swim.api.lane.function.OnCueKey;
 import swim.api.lane.function.OnSyncKeys;
 import swim.api.warp.WarpUplink;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -186,6 +187,12 @@ public class DemandMapLaneView<K, V> extends WarpLaneView implements DemandMapLa
     return this.observe(didLeave);
   }
 
+  @Override
+  public DemandMapLaneView<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public V dispatchOnCue(K key, WarpUplink uplink) {
     final Lane lane = SwimContext.getLane();
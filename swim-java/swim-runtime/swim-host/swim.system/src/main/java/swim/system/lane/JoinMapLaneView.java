@@ -28,6 +28,7 @@ import swim.api.downlink.MapDownlink;
 import swim.api.lane.JoinMapLane;
 import swim.api.lane.function.DidDownlinkMap;
 import swim.api.lane.function.WillDownlinkMap;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -316,6 +317,12 @@ public class JoinMapLaneView<L, K, V> extends WarpLaneView implements JoinMapLan
     return this.observe(didLeave);
   }
 
+  @Override
+  public JoinMapLaneView<L, K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Map.Entry<Boolean, V> dispatchWillUpdate(Link link, K key, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
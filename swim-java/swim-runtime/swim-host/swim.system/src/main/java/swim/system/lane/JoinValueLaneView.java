@@ -30,6 +30,7 @@ import swim.api.downlink.ValueDownlink;
 import swim.api.lane.JoinValueLane;
 import swim.api.lane.function.DidDownlinkValue;
 import swim.api.lane.function.WillDownlinkValue;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -297,6 +298,12 @@ public class JoinValueLaneView<K, V> extends WarpLaneView implements JoinValueLa
     return this.observe(didLeave);
   }
 
+  @Override
+  public JoinValueLaneView<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Map.Entry<Boolean, V> dispatchWillUpdate(Link link, K key, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
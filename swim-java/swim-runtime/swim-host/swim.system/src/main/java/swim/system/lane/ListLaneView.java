@@ -26,6 +26,7 @@ import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.data.ListData;
 import swim.api.lane.ListLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -293,6 +294,12 @@ public class ListLaneView<V> extends WarpLaneView implements ListLane<V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public ListLaneView<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Map.Entry<Boolean, V> dispatchWillUpdate(Link link, int index, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
@@ -16,12 +16,15 @@ package swim.system.lane;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.Link;
 import swim.api.data.MapData;
 import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
 import swim.concurrent.Stage;
+import swim.structure.Attr;
 import swim.structure.Form;
 import swim.structure.Record;
 import swim.structure.Value;
@@ -37,10 +40,12 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
 
   protected int flags;
   protected MapData<Value, Value> data;
+  volatile AtomicReferenceArray<MapLaneDownUpdate> downUpdates;
 
   MapLaneModel(int flags) {
     this.flags = flags;
     this.data = null;
+    this.downUpdates = null;
   }
 
   public MapLaneModel() {
@@ -94,6 +99,11 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
 
   @SuppressWarnings("unchecked")
   protected void cueDownKey(Value key) {
+    final AtomicReferenceArray<MapLaneDownUpdate> downUpdates = MapLaneModel.DOWN_UPDATES.get(this);
+    if (downUpdates != null) {
+      // Forget any memoized update for the key, in case its value changed in place.
+      downUpdates.set(key.hashCode() & (MapLaneModel.DOWN_UPDATE_CACHE_SIZE - 1), null);
+    }
     FingerTrieSeq<MapLaneUplink> uplinks;
     do {
       uplinks = (FingerTrieSeq<MapLaneUplink>) LaneModel.UPLINKS.get(this);
@@ -103,6 +113,36 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
     } while (uplinks != LaneModel.UPLINKS.get(this));
   }
 
+  /**
+   * Returns the body of an update event for the given {@code key} and
+   * {@code value} to send down to an uplink of this lane. Uplinks that send
+   * down the same entry share the same update body instance, so that the
+   * event gets encoded once for all uplinks by {@link #encodeDown(Value)}.
+   */
+  Value downUpdate(Value key, Value value) {
+    if (LaneModel.UPLINKS.get(this).size() < 2) {
+      return MapLaneModel.updateBody(key, value);
+    }
+    AtomicReferenceArray<MapLaneDownUpdate> downUpdates = MapLaneModel.DOWN_UPDATES.get(this);
+    if (downUpdates == null) {
+      downUpdates = new AtomicReferenceArray<MapLaneDownUpdate>(MapLaneModel.DOWN_UPDATE_CACHE_SIZE);
+      if (!MapLaneModel.DOWN_UPDATES.compareAndSet(this, null, downUpdates)) {
+        downUpdates = MapLaneModel.DOWN_UPDATES.get(this);
+      }
+    }
+    final int index = key.hashCode() & (MapLaneModel.DOWN_UPDATE_CACHE_SIZE - 1);
+    MapLaneDownUpdate downUpdate = downUpdates.get(index);
+    if (downUpdate == null || downUpdate.value != value || !downUpdate.key.equals(key)) {
+      downUpdate = new MapLaneDownUpdate(key, value, MapLaneModel.updateBody(key, value).commit());
+      downUpdates.set(index, downUpdate);
+    }
+    return downUpdate.body;
+  }
+
+  static Value updateBody(Value key, Value value) {
+    return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+  }
+
   public final boolean isResident() {
     return (this.flags & MapLaneModel.RESIDENT) != 0;
   }
@@ -246,6 +286,30 @@ public class MapLaneModel extends WarpLaneModel<MapLaneView<?, ?>, MapLaneUplink
   static final int RESIDENT = 1 << 0;
   static final int TRANSIENT = 1 << 1;
 
+  /**
+   * Number of recently sent entries whose update bodies are memoized by
+   * lanes with multiple uplinks; must be a power of two.
+   */
+  static final int DOWN_UPDATE_CACHE_SIZE = 16;
+
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<MapLaneModel, AtomicReferenceArray<MapLaneDownUpdate>> DOWN_UPDATES =
+      AtomicReferenceFieldUpdater.newUpdater(MapLaneModel.class, (Class<AtomicReferenceArray<MapLaneDownUpdate>>) (Class<?>) AtomicReferenceArray.class, "downUpdates");
+
+}
+
+final class MapLaneDownUpdate {
+
+  final Value key;
+  final Value value;
+  final Value body;
+
+  MapLaneDownUpdate(Value key, Value value, Value body) {
+    this.key = key;
+    this.value = value;
+    this.body = body;
+  }
+
 }
 
 final class MapLaneRelayUpdate extends LaneRelay<MapLaneModel, MapLaneView<?, ?>> {
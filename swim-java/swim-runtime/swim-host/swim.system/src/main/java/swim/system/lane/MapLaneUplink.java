@@ -15,8 +15,6 @@
 package swim.system.lane;
 
 import swim.concurrent.Stage;
-import swim.structure.Attr;
-import swim.structure.Record;
 import swim.structure.Value;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
@@ -47,7 +45,7 @@ public class MapLaneUplink extends MapUplinkModem {
   protected Value nextDownKey(Value key) {
     final Value value = this.laneBinding.get(key);
     if (value != null) {
-      return Attr.of("update", Record.create(1).slot("key", key)).concat(value);
+      return this.laneBinding.downUpdate(key, value);
     } else {
       return null;
     }
@@ -26,6 +26,7 @@ import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.data.MapData;
 import swim.api.lane.MapLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -324,6 +325,12 @@ public class MapLaneView<K, V> extends WarpLaneView implements MapLane<K, V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public MapLaneView<K, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Entry<Boolean, V> dispatchWillUpdate(Link link, K key, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
@@ -23,6 +23,7 @@ import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.data.SpatialData;
 import swim.api.lane.SpatialLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -292,6 +293,12 @@ public class SpatialLaneView<K, S, V> extends WarpLaneView implements SpatialLan
     return this.observe(didLeave);
   }
 
+  @Override
+  public SpatialLaneView<K, S, V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Map.Entry<Boolean, V> dispatchWillUpdate(Link link, K key, S shape, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
@@ -16,6 +16,7 @@ package swim.system.lane;
 
 import swim.api.agent.AgentContext;
 import swim.api.lane.SupplyLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -139,6 +140,12 @@ public class SupplyLaneView<V> extends WarpLaneView implements SupplyLane<V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public SupplyLaneView<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @Override
   public void push(V value) {
     final SupplyLaneModel laneBinding = this.laneBinding;
@@ -22,6 +22,7 @@ import swim.api.Link;
 import swim.api.SwimContext;
 import swim.api.agent.AgentContext;
 import swim.api.lane.ValueLane;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -231,6 +232,12 @@ public class ValueLaneView<V> extends WarpLaneView implements ValueLane<V> {
     return this.observe(didLeave);
   }
 
+  @Override
+  public ValueLaneView<V> uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    super.uplinkPolicy(uplinkPolicy);
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   public Map.Entry<Boolean, V> dispatchWillSet(Link link, V newValue, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
@@ -66,6 +66,9 @@ public final class EdgeProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int uplinkConflateDelta;
+  final int uplinkConflateRate;
+  final long uplinkConflateCount;
 
   public EdgeProfile(EdgeAddress cellAddress,
                      int meshOpenDelta, long meshOpenCount, int meshCloseDelta, long meshCloseCount,
@@ -80,7 +83,8 @@ public final class EdgeProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int uplinkConflateDelta, int uplinkConflateRate, long uplinkConflateCount) {
     this.cellAddress = cellAddress;
     this.meshOpenDelta = meshOpenDelta;
     this.meshOpenCount = meshOpenCount;
@@ -128,6 +132,35 @@ public final class EdgeProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkConflateDelta = uplinkConflateDelta;
+    this.uplinkConflateRate = uplinkConflateRate;
+    this.uplinkConflateCount = uplinkConflateCount;
+  }
+
+  public EdgeProfile(EdgeAddress cellAddress,
+                     int meshOpenDelta, long meshOpenCount, int meshCloseDelta, long meshCloseCount,
+                     int partOpenDelta, long partOpenCount, int partCloseDelta, long partCloseCount,
+                     int hostOpenDelta, long hostOpenCount, int hostCloseDelta, long hostCloseCount,
+                     int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
+                     int agentOpenDelta, long agentOpenCount, int agentCloseDelta, long agentCloseCount,
+                     long agentExecDelta, long agentExecRate, long agentExecTime,
+                     int timerEventDelta, int timerEventRate, long timerEventCount,
+                     int downlinkOpenDelta, long downlinkOpenCount, int downlinkCloseDelta, long downlinkCloseCount,
+                     int downlinkEventDelta, int downlinkEventRate, long downlinkEventCount,
+                     int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
+                     int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
+                     int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+    this(cellAddress, meshOpenDelta, meshOpenCount, meshCloseDelta, meshCloseCount, partOpenDelta,
+         partOpenCount, partCloseDelta, partCloseCount, hostOpenDelta, hostOpenCount, hostCloseDelta,
+         hostCloseCount, nodeOpenDelta, nodeOpenCount, nodeCloseDelta, nodeCloseCount, agentOpenDelta,
+         agentOpenCount, agentCloseDelta, agentCloseCount, agentExecDelta, agentExecRate, agentExecTime,
+         timerEventDelta, timerEventRate, timerEventCount, downlinkOpenDelta, downlinkOpenCount,
+         downlinkCloseDelta, downlinkCloseCount, downlinkEventDelta, downlinkEventRate, downlinkEventCount,
+         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount, uplinkOpenDelta, uplinkOpenCount,
+         uplinkCloseDelta, uplinkCloseCount, uplinkEventDelta, uplinkEventRate, uplinkEventCount,
+         uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+         0, 0, 0L);
   }
 
   @Override
@@ -319,4 +352,16 @@ public final class EdgeProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int uplinkConflateDelta() {
+    return this.uplinkConflateDelta;
+  }
+
+  public int uplinkConflateRate() {
+    return this.uplinkConflateRate;
+  }
+
+  public long uplinkConflateCount() {
+    return this.uplinkConflateCount;
+  }
+
 }
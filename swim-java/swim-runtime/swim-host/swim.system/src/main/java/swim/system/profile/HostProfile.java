@@ -54,6 +54,9 @@ public final class HostProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int uplinkConflateDelta;
+  final int uplinkConflateRate;
+  final long uplinkConflateCount;
 
   public HostProfile(HostAddress cellAddress,
                      int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
@@ -65,7 +68,8 @@ public final class HostProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int uplinkConflateDelta, int uplinkConflateRate, long uplinkConflateCount) {
     this.cellAddress = cellAddress;
     this.nodeOpenDelta = nodeOpenDelta;
     this.nodeOpenCount = nodeOpenCount;
@@ -101,6 +105,30 @@ public final class HostProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkConflateDelta = uplinkConflateDelta;
+    this.uplinkConflateRate = uplinkConflateRate;
+    this.uplinkConflateCount = uplinkConflateCount;
+  }
+
+  public HostProfile(HostAddress cellAddress,
+                     int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
+                     int agentOpenDelta, long agentOpenCount, int agentCloseDelta, long agentCloseCount,
+                     long agentExecDelta, long agentExecRate, long agentExecTime,
+                     int timerEventDelta, int timerEventRate, long timerEventCount,
+                     int downlinkOpenDelta, long downlinkOpenCount, int downlinkCloseDelta, long downlinkCloseCount,
+                     int downlinkEventDelta, int downlinkEventRate, long downlinkEventCount,
+                     int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
+                     int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
+                     int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+    this(cellAddress, nodeOpenDelta, nodeOpenCount, nodeCloseDelta, nodeCloseCount, agentOpenDelta,
+         agentOpenCount, agentCloseDelta, agentCloseCount, agentExecDelta, agentExecRate, agentExecTime,
+         timerEventDelta, timerEventRate, timerEventCount, downlinkOpenDelta, downlinkOpenCount,
+         downlinkCloseDelta, downlinkCloseCount, downlinkEventDelta, downlinkEventRate, downlinkEventCount,
+         downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount, uplinkOpenDelta, uplinkOpenCount,
+         uplinkCloseDelta, uplinkCloseCount, uplinkEventDelta, uplinkEventRate, uplinkEventCount,
+         uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+         0, 0, 0L);
   }
 
   @Override
@@ -244,4 +272,16 @@ public final class HostProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int uplinkConflateDelta() {
+    return this.uplinkConflateDelta;
+  }
+
+  public int uplinkConflateRate() {
+    return this.uplinkConflateRate;
+  }
+
+  public long uplinkConflateCount() {
+    return this.uplinkConflateCount;
+  }
+
 }
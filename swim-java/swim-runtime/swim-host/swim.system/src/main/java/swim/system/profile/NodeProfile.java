@@ -50,6 +50,9 @@ public final class NodeProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int uplinkConflateDelta;
+  final int uplinkConflateRate;
+  final long uplinkConflateCount;
 
   public NodeProfile(NodeAddress cellAddress,
                      int agentOpenDelta, int agentOpenCount, int agentCloseDelta, int agentCloseCount,
@@ -60,7 +63,8 @@ public final class NodeProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int uplinkConflateDelta, int uplinkConflateRate, long uplinkConflateCount) {
     this.cellAddress = cellAddress;
     this.agentOpenDelta = agentOpenDelta;
     this.agentOpenCount = agentOpenCount;
@@ -92,6 +96,28 @@ public final class NodeProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkConflateDelta = uplinkConflateDelta;
+    this.uplinkConflateRate = uplinkConflateRate;
+    this.uplinkConflateCount = uplinkConflateCount;
+  }
+
+  public NodeProfile(NodeAddress cellAddress,
+                     int agentOpenDelta, int agentOpenCount, int agentCloseDelta, int agentCloseCount,
+                     long agentExecDelta, long agentExecRate, long agentExecTime,
+                     int timerEventDelta, int timerEventRate, long timerEventCount,
+                     int downlinkOpenDelta, long downlinkOpenCount, int downlinkCloseDelta, long downlinkCloseCount,
+                     int downlinkEventDelta, int downlinkEventRate, long downlinkEventCount,
+                     int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
+                     int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
+                     int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+    this(cellAddress, agentOpenDelta, agentOpenCount, agentCloseDelta, agentCloseCount, agentExecDelta,
+         agentExecRate, agentExecTime, timerEventDelta, timerEventRate, timerEventCount, downlinkOpenDelta,
+         downlinkOpenCount, downlinkCloseDelta, downlinkCloseCount, downlinkEventDelta, downlinkEventRate,
+         downlinkEventCount, downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
+         uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount, uplinkEventDelta,
+         uplinkEventRate, uplinkEventCount, uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+         0, 0, 0L);
   }
 
   @Override
@@ -219,4 +245,16 @@ public final class NodeProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int uplinkConflateDelta() {
+    return this.uplinkConflateDelta;
+  }
+
+  public int uplinkConflateRate() {
+    return this.uplinkConflateRate;
+  }
+
+  public long uplinkConflateCount() {
+    return this.uplinkConflateCount;
+  }
+
 }
@@ -58,6 +58,9 @@ public final class PartProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int uplinkConflateDelta;
+  final int uplinkConflateRate;
+  final long uplinkConflateCount;
 
   public PartProfile(PartAddress cellAddress,
                      int hostOpenDelta, long hostOpenCount, int hostCloseDelta, long hostCloseCount,
@@ -70,7 +73,8 @@ public final class PartProfile extends Metric {
                      int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                      int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
                      int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                     int uplinkConflateDelta, int uplinkConflateRate, long uplinkConflateCount) {
     this.cellAddress = cellAddress;
     this.hostOpenDelta = hostOpenDelta;
     this.hostOpenCount = hostOpenCount;
@@ -110,6 +114,32 @@ public final class PartProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkConflateDelta = uplinkConflateDelta;
+    this.uplinkConflateRate = uplinkConflateRate;
+    this.uplinkConflateCount = uplinkConflateCount;
+  }
+
+  public PartProfile(PartAddress cellAddress,
+                     int hostOpenDelta, long hostOpenCount, int hostCloseDelta, long hostCloseCount,
+                     int nodeOpenDelta, long nodeOpenCount, int nodeCloseDelta, long nodeCloseCount,
+                     int agentOpenDelta, long agentOpenCount, int agentCloseDelta, long agentCloseCount,
+                     long agentExecDelta, long agentExecRate, long agentExecTime,
+                     int timerEventDelta, int timerEventRate, long timerEventCount,
+                     int downlinkOpenDelta, long downlinkOpenCount, int downlinkCloseDelta, long downlinkCloseCount,
+                     int downlinkEventDelta, int downlinkEventRate, long downlinkEventCount,
+                     int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
+                     int uplinkOpenDelta, long uplinkOpenCount, int uplinkCloseDelta, long uplinkCloseCount,
+                     int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
+                     int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+    this(cellAddress, hostOpenDelta, hostOpenCount, hostCloseDelta, hostCloseCount, nodeOpenDelta,
+         nodeOpenCount, nodeCloseDelta, nodeCloseCount, agentOpenDelta, agentOpenCount, agentCloseDelta,
+         agentCloseCount, agentExecDelta, agentExecRate, agentExecTime, timerEventDelta, timerEventRate,
+         timerEventCount, downlinkOpenDelta, downlinkOpenCount, downlinkCloseDelta, downlinkCloseCount,
+         downlinkEventDelta, downlinkEventRate, downlinkEventCount, downlinkCommandDelta,
+         downlinkCommandRate, downlinkCommandCount, uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta,
+         uplinkCloseCount, uplinkEventDelta, uplinkEventRate, uplinkEventCount, uplinkCommandDelta,
+         uplinkCommandRate, uplinkCommandCount,
+         0, 0, 0L);
   }
 
   @Override
@@ -269,4 +299,16 @@ public final class PartProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int uplinkConflateDelta() {
+    return this.uplinkConflateDelta;
+  }
+
+  public int uplinkConflateRate() {
+    return this.uplinkConflateRate;
+  }
+
+  public long uplinkConflateCount() {
+    return this.uplinkConflateCount;
+  }
+
 }
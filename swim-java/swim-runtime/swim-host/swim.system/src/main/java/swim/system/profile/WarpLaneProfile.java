@@ -16,6 +16,7 @@ package swim.system.profile;
 
 import swim.system.LaneAddress;
 import swim.system.Metric;
+import swim.util.LatencyHistogram;
 
 public final class WarpLaneProfile extends Metric {
 
@@ -43,6 +44,11 @@ public final class WarpLaneProfile extends Metric {
   final int uplinkCommandDelta;
   final int uplinkCommandRate;
   final long uplinkCommandCount;
+  final int uplinkConflateDelta;
+  final int uplinkConflateRate;
+  final long uplinkConflateCount;
+  final LatencyHistogram execLatency;
+  final LatencyHistogram uplinkLatency;
 
   public WarpLaneProfile(LaneAddress cellAddress,
                          long execDelta, long execRate, long execTime,
@@ -51,7 +57,9 @@ public final class WarpLaneProfile extends Metric {
                          int downlinkCommandDelta, int downlinkCommandRate, long downlinkCommandCount,
                          int uplinkOpenDelta, int uplinkOpenCount, int uplinkCloseDelta, int uplinkCloseCount,
                          int uplinkEventDelta, int uplinkEventRate, long uplinkEventCount,
-                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount) {
+                         int uplinkCommandDelta, int uplinkCommandRate, long uplinkCommandCount,
+                         int uplinkConflateDelta, int uplinkConflateRate, long uplinkConflateCount,
+                         LatencyHistogram execLatency, LatencyHistogram uplinkLatency) {
     this.cellAddress = cellAddress;
     this.execDelta = execDelta;
     this.execRate = execRate;
@@ -76,6 +84,11 @@ public final class WarpLaneProfile extends Metric {
     this.uplinkCommandDelta = uplinkCommandDelta;
     this.uplinkCommandRate = uplinkCommandRate;
     this.uplinkCommandCount = uplinkCommandCount;
+    this.uplinkConflateDelta = uplinkConflateDelta;
+    this.uplinkConflateRate = uplinkConflateRate;
+    this.uplinkConflateCount = uplinkConflateCount;
+    this.execLatency = execLatency;
+    this.uplinkLatency = uplinkLatency;
   }
 
   @Override
@@ -175,4 +188,24 @@ public final class WarpLaneProfile extends Metric {
     return this.uplinkCommandCount;
   }
 
+  public int uplinkConflateDelta() {
+    return this.uplinkConflateDelta;
+  }
+
+  public int uplinkConflateRate() {
+    return this.uplinkConflateRate;
+  }
+
+  public long uplinkConflateCount() {
+    return this.uplinkConflateCount;
+  }
+
+  public LatencyHistogram execLatency() {
+    return this.execLatency;
+  }
+
+  public LatencyHistogram uplinkLatency() {
+    return this.uplinkLatency;
+  }
+
 }
@@ -26,10 +26,14 @@ public final class WarpUplinkProfile extends Metric {
   final int commandDelta;
   final int commandRate;
   final long commandCount;
+  final int conflateDelta;
+  final int conflateRate;
+  final long conflateCount;
 
   public WarpUplinkProfile(UplinkAddress cellAddress,
                            int eventDelta, int eventRate, long eventCount,
-                           int commandDelta, int commandRate, long commandCount) {
+                           int commandDelta, int commandRate, long commandCount,
+                           int conflateDelta, int conflateRate, long conflateCount) {
     this.cellAddress = cellAddress;
     this.eventDelta = eventDelta;
     this.eventRate = eventRate;
@@ -37,6 +41,9 @@ public final class WarpUplinkProfile extends Metric {
     this.commandDelta = commandDelta;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.conflateDelta = conflateDelta;
+    this.conflateRate = conflateRate;
+    this.conflateCount = conflateCount;
   }
 
   @Override
@@ -68,4 +75,16 @@ public final class WarpUplinkProfile extends Metric {
     return this.commandCount;
   }
 
+  public int conflateDelta() {
+    return this.conflateDelta;
+  }
+
+  public int conflateRate() {
+    return this.conflateRate;
+  }
+
+  public long conflateCount() {
+    return this.conflateCount;
+  }
+
 }
@@ -27,20 +27,38 @@ public class AgentPulse extends Pulse {
   protected final long execTime;
   protected final int timerEventRate;
   protected final long timerEventCount;
+  protected final long passivateCount;
+  protected final long activateCount;
+  protected final LatencyPulse passivateLatency;
+  protected final LatencyPulse activateLatency;
 
   public AgentPulse(long agentCount, long execRate, long execTime,
-                    int timerEventRate, long timerEventCount) {
+                    int timerEventRate, long timerEventCount,
+                    long passivateCount, long activateCount,
+                    LatencyPulse passivateLatency, LatencyPulse activateLatency) {
     this.agentCount = agentCount;
     this.execRate = execRate;
     this.execTime = execTime;
     this.timerEventRate = timerEventRate;
     this.timerEventCount = timerEventCount;
+    this.passivateCount = passivateCount;
+    this.activateCount = activateCount;
+    this.passivateLatency = passivateLatency;
+    this.activateLatency = activateLatency;
+  }
+
+  public AgentPulse(long agentCount, long execRate, long execTime,
+                    int timerEventRate, long timerEventCount) {
+    this(agentCount, execRate, execTime, timerEventRate, timerEventCount,
+         0L, 0L, LatencyPulse.empty(), LatencyPulse.empty());
   }
 
   @Override
   public boolean isDefined() {
     return this.agentCount != 0L || this.execRate != 0L || this.execTime != 0L
-        || this.timerEventRate != 0 || this.timerEventCount != 0L;
+        || this.timerEventRate != 0 || this.timerEventCount != 0L
+        || this.passivateCount != 0L || this.activateCount != 0L
+        || this.passivateLatency.isDefined() || this.activateLatency.isDefined();
   }
 
   public final long agentCount() {
@@ -63,6 +81,37 @@ public class AgentPulse extends Pulse {
     return this.timerEventCount;
   }
 
+  /**
+   * Returns the total number of idle agents that have been passivated.
+   */
+  public final long passivateCount() {
+    return this.passivateCount;
+  }
+
+  /**
+   * Returns the total number of agents that have been activated on demand,
+   * including agents reactivated after having been passivated.
+   */
+  public final long activateCount() {
+    return this.activateCount;
+  }
+
+  /**
+   * Returns the distribution of times, in microseconds, taken to passivate
+   * idle agents since the previous pulse.
+   */
+  public final LatencyPulse passivateLatency() {
+    return this.passivateLatency;
+  }
+
+  /**
+   * Returns the distribution of times, in microseconds, taken to activate
+   * agents on demand since the previous pulse.
+   */
+  public final LatencyPulse activateLatency() {
+    return this.activateLatency;
+  }
+
   @Override
   public Value toValue() {
     return AgentPulse.form().mold(this).toValue();
@@ -90,7 +139,7 @@ final class AgentPulseForm extends Form<AgentPulse> {
   @Override
   public Item mold(AgentPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(5);
+      final Record record = Record.create(9);
       if (pulse.agentCount > 0L) {
         record.slot("agentCount", pulse.agentCount);
       }
@@ -106,6 +155,18 @@ final class AgentPulseForm extends Form<AgentPulse> {
       if (pulse.timerEventCount > 0L) {
         record.slot("timerEventCount", pulse.timerEventCount);
       }
+      if (pulse.passivateCount > 0L) {
+        record.slot("passivateCount", pulse.passivateCount);
+      }
+      if (pulse.activateCount > 0L) {
+        record.slot("activateCount", pulse.activateCount);
+      }
+      if (pulse.passivateLatency.isDefined()) {
+        record.slot("passivateLatency", pulse.passivateLatency.toValue());
+      }
+      if (pulse.activateLatency.isDefined()) {
+        record.slot("activateLatency", pulse.activateLatency.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -120,7 +181,12 @@ final class AgentPulseForm extends Form<AgentPulse> {
     final long execTime = value.get("execTime").longValue(0L);
     final int timerEventRate = value.get("timerEventRate").intValue(0);
     final long timerEventCount = value.get("timerEventCount").longValue(0L);
-    return new AgentPulse(agentCount, execRate, execTime, timerEventRate, timerEventCount);
+    final long passivateCount = value.get("passivateCount").longValue(0L);
+    final long activateCount = value.get("activateCount").longValue(0L);
+    final LatencyPulse passivateLatency = value.get("passivateLatency").coerce(LatencyPulse.form());
+    final LatencyPulse activateLatency = value.get("activateLatency").coerce(LatencyPulse.form());
+    return new AgentPulse(agentCount, execRate, execTime, timerEventRate, timerEventCount,
+                          passivateCount, activateCount, passivateLatency, activateLatency);
   }
 
 }
@@ -29,9 +29,12 @@ public class EdgePulse extends Pulse {
   protected final AgentPulse agents;
   protected final WarpDownlinkPulse downlinks;
   protected final WarpUplinkPulse uplinks;
+  protected final StorePulse store;
+  protected final StagePulse stage;
 
   public EdgePulse(int meshCount, int partCount, int hostCount, long nodeCount,
-                   AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+                   AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   StorePulse store, StagePulse stage) {
     this.meshCount = meshCount;
     this.partCount = partCount;
     this.hostCount = hostCount;
@@ -39,12 +42,26 @@ public class EdgePulse extends Pulse {
     this.agents = agents;
     this.downlinks = downlinks;
     this.uplinks = uplinks;
+    this.store = store;
+    this.stage = stage;
+  }
+
+  public EdgePulse(int meshCount, int partCount, int hostCount, long nodeCount,
+                   AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   StorePulse store) {
+    this(meshCount, partCount, hostCount, nodeCount, agents, downlinks, uplinks, store, StagePulse.empty());
+  }
+
+  public EdgePulse(int meshCount, int partCount, int hostCount, long nodeCount,
+                   AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this(meshCount, partCount, hostCount, nodeCount, agents, downlinks, uplinks, StorePulse.empty());
   }
 
   @Override
   public boolean isDefined() {
     return this.meshCount != 0 || this.partCount != 0 || this.hostCount != 0 || this.nodeCount != 0L
-        || this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined();
+        || this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined()
+        || this.store.isDefined() || this.stage.isDefined();
   }
 
   public final int meshCount() {
@@ -75,6 +92,14 @@ public class EdgePulse extends Pulse {
     return this.uplinks;
   }
 
+  public final StorePulse store() {
+    return this.store;
+  }
+
+  public final StagePulse stage() {
+    return this.stage;
+  }
+
   @Override
   public Value toValue() {
     return EdgePulse.form().mold(this).toValue();
@@ -102,7 +127,7 @@ final class EdgePulseForm extends Form<EdgePulse> {
   @Override
   public Item mold(EdgePulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(7);
+      final Record record = Record.create(9);
       if (pulse.meshCount > 0) {
         record.slot("meshCount", pulse.meshCount);
       }
@@ -124,6 +149,12 @@ final class EdgePulseForm extends Form<EdgePulse> {
       if (pulse.uplinks.isDefined()) {
         record.slot("uplinks", pulse.uplinks.toValue());
       }
+      if (pulse.store.isDefined()) {
+        record.slot("store", pulse.store.toValue());
+      }
+      if (pulse.stage.isDefined()) {
+        record.slot("stage", pulse.stage.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -140,7 +171,9 @@ final class EdgePulseForm extends Form<EdgePulse> {
     final AgentPulse agents = value.get("agents").coerce(AgentPulse.form());
     final WarpDownlinkPulse downlinks = value.get("downlinks").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinks = value.get("uplinks").coerce(WarpUplinkPulse.form());
-    return new EdgePulse(edgeCount, partCount, hostCount, nodeCount, agents, downlinks, uplinks);
+    final StorePulse store = value.get("store").coerce(StorePulse.form());
+    final StagePulse stage = value.get("stage").coerce(StagePulse.form());
+    return new EdgePulse(edgeCount, partCount, hostCount, nodeCount, agents, downlinks, uplinks, store, stage);
   }
 
 }
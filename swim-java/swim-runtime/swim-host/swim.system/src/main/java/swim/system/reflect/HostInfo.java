@@ -91,7 +91,7 @@ public class HostInfo {
   public static HostInfo create(HostBinding hostBinding) {
     return new HostInfo(hostBinding.hostUri(), hostBinding.isConnected(), hostBinding.isRemote(),
                         hostBinding.isSecure(), hostBinding.isPrimary(), hostBinding.isReplica(),
-                        hostBinding.isMaster(), hostBinding.isSlave(), (long) hostBinding.nodes().size());
+                        hostBinding.isMaster(), hostBinding.isSlave(), (long) hostBinding.nodeCount());
   }
 
   private static Form<HostInfo> form;
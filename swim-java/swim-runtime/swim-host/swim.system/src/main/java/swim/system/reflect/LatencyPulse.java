@@ -0,0 +1,137 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+import swim.util.LatencyHistogram;
+
+public class LatencyPulse extends Pulse {
+
+  protected final long count;
+  protected final long p50;
+  protected final long p99;
+  protected final long p999;
+  protected final long max;
+
+  public LatencyPulse(long count, long p50, long p99, long p999, long max) {
+    this.count = count;
+    this.p50 = p50;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.count != 0L;
+  }
+
+  public final long count() {
+    return this.count;
+  }
+
+  public final long p50() {
+    return this.p50;
+  }
+
+  public final long p99() {
+    return this.p99;
+  }
+
+  public final long p999() {
+    return this.p999;
+  }
+
+  public final long max() {
+    return this.max;
+  }
+
+  @Override
+  public Value toValue() {
+    return LatencyPulse.form().mold(this).toValue();
+  }
+
+  private static LatencyPulse empty;
+
+  public static LatencyPulse empty() {
+    if (LatencyPulse.empty == null) {
+      LatencyPulse.empty = new LatencyPulse(0L, 0L, 0L, 0L, 0L);
+    }
+    return LatencyPulse.empty;
+  }
+
+  public static LatencyPulse from(LatencyHistogram histogram) {
+    if (histogram != null) {
+      final long count = histogram.count();
+      if (count != 0L) {
+        return new LatencyPulse(count, histogram.percentileMicros(50.0), histogram.percentileMicros(99.0),
+                                histogram.percentileMicros(99.9), histogram.maxMicros());
+      }
+    }
+    return LatencyPulse.empty();
+  }
+
+  private static Form<LatencyPulse> form;
+
+  @Kind
+  public static Form<LatencyPulse> form() {
+    if (LatencyPulse.form == null) {
+      LatencyPulse.form = new LatencyPulseForm();
+    }
+    return LatencyPulse.form;
+  }
+
+}
+
+final class LatencyPulseForm extends Form<LatencyPulse> {
+
+  @Override
+  public Class<?> type() {
+    return LatencyPulse.class;
+  }
+
+  @Override
+  public Item mold(LatencyPulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(5);
+      if (pulse.count > 0L) {
+        record.slot("count", pulse.count);
+        record.slot("p50", pulse.p50);
+        record.slot("p99", pulse.p99);
+        record.slot("p999", pulse.p999);
+        record.slot("max", pulse.max);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public LatencyPulse cast(Item item) {
+    final Value value = item.toValue();
+    final long count = value.get("count").longValue(0L);
+    final long p50 = value.get("p50").longValue(0L);
+    final long p99 = value.get("p99").longValue(0L);
+    final long p999 = value.get("p999").longValue(0L);
+    final long max = value.get("max").longValue(0L);
+    return new LatencyPulse(count, p50, p99, p999, max);
+  }
+
+}
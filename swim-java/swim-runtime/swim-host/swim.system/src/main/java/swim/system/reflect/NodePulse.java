@@ -25,16 +25,42 @@ public class NodePulse extends Pulse {
   protected final AgentPulse agents;
   protected final WarpDownlinkPulse downlinks;
   protected final WarpUplinkPulse uplinks;
-
-  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+  protected final int mailboxSize;
+  protected final long mailboxRunTime;
+  protected final long mailboxDropCount;
+  protected final LatencyPulse execLatency;
+  protected final LatencyPulse mailboxLatency;
+  protected final LatencyPulse uplinkLatency;
+
+  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   int mailboxSize, long mailboxRunTime, long mailboxDropCount,
+                   LatencyPulse execLatency, LatencyPulse mailboxLatency, LatencyPulse uplinkLatency) {
     this.agents = agents;
     this.downlinks = downlinks;
     this.uplinks = uplinks;
+    this.mailboxSize = mailboxSize;
+    this.mailboxRunTime = mailboxRunTime;
+    this.mailboxDropCount = mailboxDropCount;
+    this.execLatency = execLatency;
+    this.mailboxLatency = mailboxLatency;
+    this.uplinkLatency = uplinkLatency;
+  }
+
+  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks,
+                   int mailboxSize, long mailboxRunTime, long mailboxDropCount) {
+    this(agents, downlinks, uplinks, mailboxSize, mailboxRunTime, mailboxDropCount,
+         LatencyPulse.empty(), LatencyPulse.empty(), LatencyPulse.empty());
+  }
+
+  public NodePulse(AgentPulse agents, WarpDownlinkPulse downlinks, WarpUplinkPulse uplinks) {
+    this(agents, downlinks, uplinks, 0, 0L, 0L);
   }
 
   @Override
   public boolean isDefined() {
-    return this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined();
+    return this.agents.isDefined() || this.downlinks.isDefined() || this.uplinks.isDefined()
+        || this.mailboxSize != 0 || this.mailboxRunTime != 0L || this.mailboxDropCount != 0L
+        || this.execLatency.isDefined() || this.mailboxLatency.isDefined() || this.uplinkLatency.isDefined();
   }
 
   public final AgentPulse agents() {
@@ -49,6 +75,30 @@ public class NodePulse extends Pulse {
     return this.uplinks;
   }
 
+  public final int mailboxSize() {
+    return this.mailboxSize;
+  }
+
+  public final long mailboxRunTime() {
+    return this.mailboxRunTime;
+  }
+
+  public final long mailboxDropCount() {
+    return this.mailboxDropCount;
+  }
+
+  public final LatencyPulse execLatency() {
+    return this.execLatency;
+  }
+
+  public final LatencyPulse mailboxLatency() {
+    return this.mailboxLatency;
+  }
+
+  public final LatencyPulse uplinkLatency() {
+    return this.uplinkLatency;
+  }
+
   @Override
   public Value toValue() {
     return NodePulse.form().mold(this).toValue();
@@ -76,7 +126,7 @@ final class NodePulseForm extends Form<NodePulse> {
   @Override
   public Item mold(NodePulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(3);
+      final Record record = Record.create(9);
       if (pulse.agents.isDefined()) {
         record.slot("agents", pulse.agents.toValue());
       }
@@ -86,6 +136,24 @@ final class NodePulseForm extends Form<NodePulse> {
       if (pulse.uplinks.isDefined()) {
         record.slot("uplinks", pulse.uplinks.toValue());
       }
+      if (pulse.mailboxSize > 0) {
+        record.slot("mailboxSize", pulse.mailboxSize);
+      }
+      if (pulse.mailboxRunTime > 0L) {
+        record.slot("mailboxRunTime", pulse.mailboxRunTime);
+      }
+      if (pulse.mailboxDropCount > 0L) {
+        record.slot("mailboxDropCount", pulse.mailboxDropCount);
+      }
+      if (pulse.execLatency.isDefined()) {
+        record.slot("execLatency", pulse.execLatency.toValue());
+      }
+      if (pulse.mailboxLatency.isDefined()) {
+        record.slot("mailboxLatency", pulse.mailboxLatency.toValue());
+      }
+      if (pulse.uplinkLatency.isDefined()) {
+        record.slot("uplinkLatency", pulse.uplinkLatency.toValue());
+      }
       return record;
     } else {
       return Item.extant();
@@ -98,7 +166,14 @@ final class NodePulseForm extends Form<NodePulse> {
     final AgentPulse agents = value.get("agents").coerce(AgentPulse.form());
     final WarpDownlinkPulse downlinks = value.get("downlinks").coerce(WarpDownlinkPulse.form());
     final WarpUplinkPulse uplinks = value.get("uplinks").coerce(WarpUplinkPulse.form());
-    return new NodePulse(agents, downlinks, uplinks);
+    final int mailboxSize = value.get("mailboxSize").intValue(0);
+    final long mailboxRunTime = value.get("mailboxRunTime").longValue(0L);
+    final long mailboxDropCount = value.get("mailboxDropCount").longValue(0L);
+    final LatencyPulse execLatency = value.get("execLatency").coerce(LatencyPulse.form());
+    final LatencyPulse mailboxLatency = value.get("mailboxLatency").coerce(LatencyPulse.form());
+    final LatencyPulse uplinkLatency = value.get("uplinkLatency").coerce(LatencyPulse.form());
+    return new NodePulse(agents, downlinks, uplinks, mailboxSize, mailboxRunTime, mailboxDropCount,
+                         execLatency, mailboxLatency, uplinkLatency);
   }
 
 }
@@ -0,0 +1,247 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.collections.FingerTrieSeq;
+import swim.concurrent.TheaterStats;
+import swim.concurrent.TheaterWorkerStats;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+public class StagePulse extends Pulse {
+
+  protected final int parallelism;
+  protected final int poolSize;
+  protected final int activeCount;
+  protected final int runningCount;
+  protected final int blockedCount;
+  protected final long queuedTaskCount;
+  protected final int queuedSubmissionCount;
+  protected final long stealCount;
+  protected final long taskCount;
+  protected final long taskTime;
+  protected final long stallCount;
+  protected final long starvationCount;
+  protected final FingerTrieSeq<StageWorkerPulse> workers;
+
+  public StagePulse(int parallelism, int poolSize, int activeCount, int runningCount,
+                    int blockedCount, long queuedTaskCount, int queuedSubmissionCount,
+                    long stealCount, long taskCount, long taskTime, long stallCount,
+                    long starvationCount, FingerTrieSeq<StageWorkerPulse> workers) {
+    this.parallelism = parallelism;
+    this.poolSize = poolSize;
+    this.activeCount = activeCount;
+    this.runningCount = runningCount;
+    this.blockedCount = blockedCount;
+    this.queuedTaskCount = queuedTaskCount;
+    this.queuedSubmissionCount = queuedSubmissionCount;
+    this.stealCount = stealCount;
+    this.taskCount = taskCount;
+    this.taskTime = taskTime;
+    this.stallCount = stallCount;
+    this.starvationCount = starvationCount;
+    this.workers = workers;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.parallelism != 0 || this.poolSize != 0 || this.activeCount != 0 || this.runningCount != 0
+        || this.blockedCount != 0 || this.queuedTaskCount != 0L || this.queuedSubmissionCount != 0
+        || this.stealCount != 0L || this.taskCount != 0L || this.taskTime != 0L
+        || this.stallCount != 0L || this.starvationCount != 0L || !this.workers.isEmpty();
+  }
+
+  public final int parallelism() {
+    return this.parallelism;
+  }
+
+  public final int poolSize() {
+    return this.poolSize;
+  }
+
+  public final int activeCount() {
+    return this.activeCount;
+  }
+
+  public final int runningCount() {
+    return this.runningCount;
+  }
+
+  public final int blockedCount() {
+    return this.blockedCount;
+  }
+
+  public final long queuedTaskCount() {
+    return this.queuedTaskCount;
+  }
+
+  public final int queuedSubmissionCount() {
+    return this.queuedSubmissionCount;
+  }
+
+  public final long stealCount() {
+    return this.stealCount;
+  }
+
+  public final long taskCount() {
+    return this.taskCount;
+  }
+
+  public final long taskTime() {
+    return this.taskTime;
+  }
+
+  public final long stallCount() {
+    return this.stallCount;
+  }
+
+  public final long starvationCount() {
+    return this.starvationCount;
+  }
+
+  public final FingerTrieSeq<StageWorkerPulse> workers() {
+    return this.workers;
+  }
+
+  @Override
+  public Value toValue() {
+    return StagePulse.form().mold(this).toValue();
+  }
+
+  public static StagePulse from(TheaterStats stats) {
+    FingerTrieSeq<StageWorkerPulse> workers = FingerTrieSeq.empty();
+    final TheaterWorkerStats[] workerStats = stats.workers();
+    for (int i = 0; i < workerStats.length; i += 1) {
+      workers = workers.appended(StageWorkerPulse.from(workerStats[i]));
+    }
+    return new StagePulse(stats.parallelism(), stats.poolSize(), stats.activeThreadCount(),
+                          stats.runningThreadCount(), stats.blockedThreadCount(), stats.queuedTaskCount(),
+                          stats.queuedSubmissionCount(), stats.stealCount(), stats.taskCount(),
+                          stats.taskTime(), stats.stallCount(), stats.starvationCount(), workers);
+  }
+
+  private static StagePulse empty;
+
+  public static StagePulse empty() {
+    if (StagePulse.empty == null) {
+      StagePulse.empty = new StagePulse(0, 0, 0, 0, 0, 0L, 0, 0L, 0L, 0L, 0L, 0L, FingerTrieSeq.<StageWorkerPulse>empty());
+    }
+    return StagePulse.empty;
+  }
+
+  private static Form<StagePulse> form;
+
+  @Kind
+  public static Form<StagePulse> form() {
+    if (StagePulse.form == null) {
+      StagePulse.form = new StagePulseForm();
+    }
+    return StagePulse.form;
+  }
+
+}
+
+final class StagePulseForm extends Form<StagePulse> {
+
+  @Override
+  public Class<?> type() {
+    return StagePulse.class;
+  }
+
+  @Override
+  public Item mold(StagePulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(13);
+      if (pulse.parallelism > 0) {
+        record.slot("parallelism", pulse.parallelism);
+      }
+      if (pulse.poolSize > 0) {
+        record.slot("poolSize", pulse.poolSize);
+      }
+      if (pulse.activeCount > 0) {
+        record.slot("activeCount", pulse.activeCount);
+      }
+      if (pulse.runningCount > 0) {
+        record.slot("runningCount", pulse.runningCount);
+      }
+      if (pulse.blockedCount > 0) {
+        record.slot("blockedCount", pulse.blockedCount);
+      }
+      if (pulse.queuedTaskCount > 0L) {
+        record.slot("queuedTaskCount", pulse.queuedTaskCount);
+      }
+      if (pulse.queuedSubmissionCount > 0) {
+        record.slot("queuedSubmissionCount", pulse.queuedSubmissionCount);
+      }
+      if (pulse.stealCount > 0L) {
+        record.slot("stealCount", pulse.stealCount);
+      }
+      if (pulse.taskCount > 0L) {
+        record.slot("taskCount", pulse.taskCount);
+      }
+      if (pulse.taskTime > 0L) {
+        record.slot("taskTime", pulse.taskTime);
+      }
+      if (pulse.stallCount > 0L) {
+        record.slot("stallCount", pulse.stallCount);
+      }
+      if (pulse.starvationCount > 0L) {
+        record.slot("starvationCount", pulse.starvationCount);
+      }
+      if (!pulse.workers.isEmpty()) {
+        final Record workers = Record.create(pulse.workers.size());
+        for (StageWorkerPulse worker : pulse.workers) {
+          workers.add(worker.toValue());
+        }
+        record.slot("workers", workers);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public StagePulse cast(Item item) {
+    final Value value = item.toValue();
+    final int parallelism = value.get("parallelism").intValue(0);
+    final int poolSize = value.get("poolSize").intValue(0);
+    final int activeCount = value.get("activeCount").intValue(0);
+    final int runningCount = value.get("runningCount").intValue(0);
+    final int blockedCount = value.get("blockedCount").intValue(0);
+    final long queuedTaskCount = value.get("queuedTaskCount").longValue(0L);
+    final int queuedSubmissionCount = value.get("queuedSubmissionCount").intValue(0);
+    final long stealCount = value.get("stealCount").longValue(0L);
+    final long taskCount = value.get("taskCount").longValue(0L);
+    final long taskTime = value.get("taskTime").longValue(0L);
+    final long stallCount = value.get("stallCount").longValue(0L);
+    final long starvationCount = value.get("starvationCount").longValue(0L);
+    FingerTrieSeq<StageWorkerPulse> workers = FingerTrieSeq.empty();
+    final Value workerValues = value.get("workers");
+    for (int i = 0, n = workerValues.length(); i < n; i += 1) {
+      final StageWorkerPulse worker = StageWorkerPulse.form().cast(workerValues.getItem(i));
+      if (worker != null) {
+        workers = workers.appended(worker);
+      }
+    }
+    return new StagePulse(parallelism, poolSize, activeCount, runningCount, blockedCount,
+                          queuedTaskCount, queuedSubmissionCount, stealCount, taskCount,
+                          taskTime, stallCount, starvationCount, workers);
+  }
+
+}
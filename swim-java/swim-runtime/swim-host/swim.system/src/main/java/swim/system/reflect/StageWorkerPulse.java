@@ -0,0 +1,142 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.concurrent.TheaterWorkerStats;
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+public class StageWorkerPulse extends Pulse {
+
+  protected final String name;
+  protected final long taskCount;
+  protected final long taskTime;
+  protected final long maxTaskTime;
+  protected final long blockCount;
+  protected final long runTime;
+
+  public StageWorkerPulse(String name, long taskCount, long taskTime,
+                          long maxTaskTime, long blockCount, long runTime) {
+    this.name = name;
+    this.taskCount = taskCount;
+    this.taskTime = taskTime;
+    this.maxTaskTime = maxTaskTime;
+    this.blockCount = blockCount;
+    this.runTime = runTime;
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.name != null || this.taskCount != 0L || this.taskTime != 0L
+        || this.maxTaskTime != 0L || this.blockCount != 0L || this.runTime != 0L;
+  }
+
+  public final String name() {
+    return this.name;
+  }
+
+  public final long taskCount() {
+    return this.taskCount;
+  }
+
+  public final long taskTime() {
+    return this.taskTime;
+  }
+
+  public final long maxTaskTime() {
+    return this.maxTaskTime;
+  }
+
+  public final long blockCount() {
+    return this.blockCount;
+  }
+
+  public final long runTime() {
+    return this.runTime;
+  }
+
+  @Override
+  public Value toValue() {
+    return StageWorkerPulse.form().mold(this).toValue();
+  }
+
+  public static StageWorkerPulse from(TheaterWorkerStats stats) {
+    return new StageWorkerPulse(stats.name(), stats.taskCount(), stats.taskTime(),
+                                stats.maxTaskTime(), stats.blockCount(), stats.runTime());
+  }
+
+  private static Form<StageWorkerPulse> form;
+
+  @Kind
+  public static Form<StageWorkerPulse> form() {
+    if (StageWorkerPulse.form == null) {
+      StageWorkerPulse.form = new StageWorkerPulseForm();
+    }
+    return StageWorkerPulse.form;
+  }
+
+}
+
+final class StageWorkerPulseForm extends Form<StageWorkerPulse> {
+
+  @Override
+  public Class<?> type() {
+    return StageWorkerPulse.class;
+  }
+
+  @Override
+  public Item mold(StageWorkerPulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(6);
+      if (pulse.name != null) {
+        record.slot("name", pulse.name);
+      }
+      if (pulse.taskCount > 0L) {
+        record.slot("taskCount", pulse.taskCount);
+      }
+      if (pulse.taskTime > 0L) {
+        record.slot("taskTime", pulse.taskTime);
+      }
+      if (pulse.maxTaskTime > 0L) {
+        record.slot("maxTaskTime", pulse.maxTaskTime);
+      }
+      if (pulse.blockCount > 0L) {
+        record.slot("blockCount", pulse.blockCount);
+      }
+      if (pulse.runTime > 0L) {
+        record.slot("runTime", pulse.runTime);
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public StageWorkerPulse cast(Item item) {
+    final Value value = item.toValue();
+    final String name = value.get("name").stringValue(null);
+    final long taskCount = value.get("taskCount").longValue(0L);
+    final long taskTime = value.get("taskTime").longValue(0L);
+    final long maxTaskTime = value.get("maxTaskTime").longValue(0L);
+    final long blockCount = value.get("blockCount").longValue(0L);
+    final long runTime = value.get("runTime").longValue(0L);
+    return new StageWorkerPulse(name, taskCount, taskTime, maxTaskTime, blockCount, runTime);
+  }
+
+}
@@ -0,0 +1,266 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.reflect;
+
+import swim.structure.Form;
+import swim.structure.Item;
+import swim.structure.Kind;
+import swim.structure.Record;
+import swim.structure.Value;
+
+public class StorePulse extends Pulse {
+
+  protected final long storeSize;
+  protected final int pageCount;
+  protected final long cacheSize;
+  protected final long cacheBudget;
+  protected final long hitCount;
+  protected final long missCount;
+  protected final long evictCount;
+  protected final long commitCount;
+  protected final long commitTime;
+  protected final long syncCount;
+  protected final long syncTime;
+  protected final long syncedChunkCount;
+  protected final LatencyPulse commitLatency;
+
+  public StorePulse(long storeSize, int pageCount, long cacheSize, long cacheBudget,
+                    long hitCount, long missCount, long evictCount,
+                    long commitCount, long commitTime, long syncCount,
+                    long syncTime, long syncedChunkCount, LatencyPulse commitLatency) {
+    this.storeSize = storeSize;
+    this.pageCount = pageCount;
+    this.cacheSize = cacheSize;
+    this.cacheBudget = cacheBudget;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictCount = evictCount;
+    this.commitCount = commitCount;
+    this.commitTime = commitTime;
+    this.syncCount = syncCount;
+    this.syncTime = syncTime;
+    this.syncedChunkCount = syncedChunkCount;
+    this.commitLatency = commitLatency;
+  }
+
+  public StorePulse(long storeSize, int pageCount, long cacheSize, long cacheBudget,
+                    long hitCount, long missCount, long evictCount,
+                    long commitCount, long commitTime, long syncCount,
+                    long syncTime, long syncedChunkCount) {
+    this(storeSize, pageCount, cacheSize, cacheBudget, hitCount, missCount, evictCount,
+         commitCount, commitTime, syncCount, syncTime, syncedChunkCount, LatencyPulse.empty());
+  }
+
+  public StorePulse(long storeSize, int pageCount, long cacheSize, long cacheBudget,
+                    long hitCount, long missCount, long evictCount) {
+    this(storeSize, pageCount, cacheSize, cacheBudget, hitCount, missCount, evictCount, 0L, 0L, 0L, 0L, 0L);
+  }
+
+  @Override
+  public boolean isDefined() {
+    return this.storeSize != 0L || this.pageCount != 0 || this.cacheSize != 0L || this.cacheBudget != 0L
+        || this.hitCount != 0L || this.missCount != 0L || this.evictCount != 0L
+        || this.commitCount != 0L || this.commitTime != 0L || this.syncCount != 0L
+        || this.syncTime != 0L || this.syncedChunkCount != 0L || this.commitLatency.isDefined();
+  }
+
+  /**
+   * Returns the total size, in bytes, of the store on disk.
+   */
+  public final long storeSize() {
+    return this.storeSize;
+  }
+
+  /**
+   * Returns the number of pages held by the store's page cache.
+   */
+  public final int pageCount() {
+    return this.pageCount;
+  }
+
+  /**
+   * Returns the total size, in bytes, of all pages held by the store's
+   * page cache.
+   */
+  public final long cacheSize() {
+    return this.cacheSize;
+  }
+
+  /**
+   * Returns the maximum size, in bytes, of the store's page cache.
+   */
+  public final long cacheBudget() {
+    return this.cacheBudget;
+  }
+
+  public final long hitCount() {
+    return this.hitCount;
+  }
+
+  public final long missCount() {
+    return this.missCount;
+  }
+
+  public final long evictCount() {
+    return this.evictCount;
+  }
+
+  /**
+   * Returns the number of chunks committed by the store.
+   */
+  public final long commitCount() {
+    return this.commitCount;
+  }
+
+  /**
+   * Returns the cumulative time, in nanoseconds, spent committing chunks.
+   */
+  public final long commitTime() {
+    return this.commitTime;
+  }
+
+  /**
+   * Returns the number of times the store has flushed to stable storage.
+   */
+  public final long syncCount() {
+    return this.syncCount;
+  }
+
+  /**
+   * Returns the cumulative time, in nanoseconds, spent flushing the store
+   * to stable storage.
+   */
+  public final long syncTime() {
+    return this.syncTime;
+  }
+
+  /**
+   * Returns the number of chunks made durable by flushes.
+   */
+  public final long syncedChunkCount() {
+    return this.syncedChunkCount;
+  }
+
+  /**
+   * Returns the distribution of chunk commit times, in microseconds,
+   * since the previous pulse.
+   */
+  public final LatencyPulse commitLatency() {
+    return this.commitLatency;
+  }
+
+  @Override
+  public Value toValue() {
+    return StorePulse.form().mold(this).toValue();
+  }
+
+  private static Form<StorePulse> form;
+
+  @Kind
+  public static Form<StorePulse> form() {
+    if (StorePulse.form == null) {
+      StorePulse.form = new StorePulseForm();
+    }
+    return StorePulse.form;
+  }
+
+  private static StorePulse empty;
+
+  public static StorePulse empty() {
+    if (StorePulse.empty == null) {
+      StorePulse.empty = new StorePulse(0L, 0, 0L, 0L, 0L, 0L, 0L);
+    }
+    return StorePulse.empty;
+  }
+
+}
+
+final class StorePulseForm extends Form<StorePulse> {
+
+  @Override
+  public Class<?> type() {
+    return StorePulse.class;
+  }
+
+  @Override
+  public Item mold(StorePulse pulse) {
+    if (pulse != null) {
+      final Record record = Record.create(13);
+      if (pulse.storeSize > 0L) {
+        record.slot("storeSize", pulse.storeSize);
+      }
+      if (pulse.pageCount > 0) {
+        record.slot("pageCount", pulse.pageCount);
+      }
+      if (pulse.cacheSize > 0L) {
+        record.slot("cacheSize", pulse.cacheSize);
+      }
+      if (pulse.cacheBudget > 0L) {
+        record.slot("cacheBudget", pulse.cacheBudget);
+      }
+      if (pulse.hitCount > 0L) {
+        record.slot("hitCount", pulse.hitCount);
+      }
+      if (pulse.missCount > 0L) {
+        record.slot("missCount", pulse.missCount);
+      }
+      if (pulse.evictCount > 0L) {
+        record.slot("evictCount", pulse.evictCount);
+      }
+      if (pulse.commitCount > 0L) {
+        record.slot("commitCount", pulse.commitCount);
+      }
+      if (pulse.commitTime > 0L) {
+        record.slot("commitTime", pulse.commitTime);
+      }
+      if (pulse.syncCount > 0L) {
+        record.slot("syncCount", pulse.syncCount);
+      }
+      if (pulse.syncTime > 0L) {
+        record.slot("syncTime", pulse.syncTime);
+      }
+      if (pulse.syncedChunkCount > 0L) {
+        record.slot("syncedChunkCount", pulse.syncedChunkCount);
+      }
+      if (pulse.commitLatency.isDefined()) {
+        record.slot("commitLatency", pulse.commitLatency.toValue());
+      }
+      return record;
+    } else {
+      return Item.extant();
+    }
+  }
+
+  @Override
+  public StorePulse cast(Item item) {
+    final Value value = item.toValue();
+    final long storeSize = value.get("storeSize").longValue(0L);
+    final int pageCount = value.get("pageCount").intValue(0);
+    final long cacheSize = value.get("cacheSize").longValue(0L);
+    final long cacheBudget = value.get("cacheBudget").longValue(0L);
+    final long hitCount = value.get("hitCount").longValue(0L);
+    final long missCount = value.get("missCount").longValue(0L);
+    final long evictCount = value.get("evictCount").longValue(0L);
+    final long commitCount = value.get("commitCount").longValue(0L);
+    final long commitTime = value.get("commitTime").longValue(0L);
+    final long syncCount = value.get("syncCount").longValue(0L);
+    final long syncTime = value.get("syncTime").longValue(0L);
+    final long syncedChunkCount = value.get("syncedChunkCount").longValue(0L);
+    final LatencyPulse commitLatency = value.get("commitLatency").coerce(LatencyPulse.form());
+    return new StorePulse(storeSize, pageCount, cacheSize, cacheBudget, hitCount, missCount, evictCount,
+                          commitCount, commitTime, syncCount, syncTime, syncedChunkCount, commitLatency);
+  }
+
+}
@@ -27,20 +27,31 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
   protected final long eventCount;
   protected final int commandRate;
   protected final long commandCount;
+  protected final int conflateRate;
+  protected final long conflateCount;
 
   public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
-                         int commandRate, long commandCount) {
+                         int commandRate, long commandCount,
+                         int conflateRate, long conflateCount) {
     this.linkCount = linkCount;
     this.eventRate = eventRate;
     this.eventCount = eventCount;
     this.commandRate = commandRate;
     this.commandCount = commandCount;
+    this.conflateRate = conflateRate;
+    this.conflateCount = conflateCount;
+  }
+
+  public WarpUplinkPulse(long linkCount, int eventRate, long eventCount,
+                         int commandRate, long commandCount) {
+    this(linkCount, eventRate, eventCount, commandRate, commandCount, 0, 0L);
   }
 
   @Override
   public boolean isDefined() {
     return this.linkCount != 0L || this.eventRate != 0 || this.eventCount != 0L
-        || this.commandRate != 0 || this.commandCount != 0L;
+        || this.commandRate != 0 || this.commandCount != 0L
+        || this.conflateRate != 0 || this.conflateCount != 0L;
   }
 
   @Override
@@ -68,6 +79,14 @@ public class WarpUplinkPulse extends UplinkPulse implements WarpPulse {
     return this.commandCount;
   }
 
+  public final int conflateRate() {
+    return this.conflateRate;
+  }
+
+  public final long conflateCount() {
+    return this.conflateCount;
+  }
+
   @Override
   public Value toValue() {
     return WarpUplinkPulse.form().mold(this).toValue();
@@ -95,7 +114,7 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
   @Override
   public Item mold(WarpUplinkPulse pulse) {
     if (pulse != null) {
-      final Record record = Record.create(5);
+      final Record record = Record.create(7);
       if (pulse.linkCount > 0L) {
         record.slot("linkCount", pulse.linkCount);
       }
@@ -111,6 +130,12 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
       if (pulse.commandCount > 0L) {
         record.slot("commandCount", pulse.commandCount);
       }
+      if (pulse.conflateRate > 0) {
+        record.slot("conflateRate", pulse.conflateRate);
+      }
+      if (pulse.conflateCount > 0L) {
+        record.slot("conflateCount", pulse.conflateCount);
+      }
       return record;
     } else {
       return Item.extant();
@@ -125,7 +150,10 @@ final class WarpUplinkPulseForm extends Form<WarpUplinkPulse> {
     final long eventCount = value.get("eventCount").longValue(0L);
     final int commandRate = value.get("commandRate").intValue(0);
     final long commandCount = value.get("commandCount").longValue(0L);
-    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount);
+    final int conflateRate = value.get("conflateRate").intValue(0);
+    final long conflateCount = value.get("conflateCount").longValue(0L);
+    return new WarpUplinkPulse(linkCount, eventRate, eventCount, commandRate, commandCount,
+                               conflateRate, conflateCount);
   }
 
 }
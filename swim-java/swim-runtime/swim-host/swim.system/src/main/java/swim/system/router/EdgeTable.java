@@ -31,6 +31,7 @@ import swim.collections.HashTrieMap;
 import swim.concurrent.Cont;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.Theater;
 import swim.store.StoreBinding;
 import swim.system.AbstractTierBinding;
 import swim.system.DownlinkView;
@@ -48,6 +49,7 @@ import swim.system.Metric;
 import swim.system.NodeBinding;
 import swim.system.PartBinding;
 import swim.system.Push;
+import swim.system.StorePulseSource;
 import swim.system.TierContext;
 import swim.system.UplinkError;
 import swim.system.agent.AgentNode;
@@ -58,6 +60,8 @@ import swim.system.reflect.AgentPulse;
 import swim.system.reflect.EdgePulse;
 import swim.system.reflect.LogEntry;
 import swim.system.reflect.MeshInfo;
+import swim.system.reflect.StagePulse;
+import swim.system.reflect.StorePulse;
 import swim.system.reflect.WarpDownlinkPulse;
 import swim.system.reflect.WarpUplinkPulse;
 import swim.uri.Uri;
@@ -114,6 +118,9 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
   volatile long lastReportTime;
 
   EdgePulse pulse;
@@ -178,6 +185,9 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
     this.lastReportTime = 0L;
 
     this.pulse = null;
@@ -236,6 +246,10 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     return new EdgeTableMesh(this, mesh, meshAddress);
   }
 
+  public final EdgePulse pulse() {
+    return this.pulse;
+  }
+
   @Override
   public final EdgeAddress cellAddress() {
     return this.edgeContext.cellAddress();
@@ -702,6 +716,8 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     EdgeTable.UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     EdgeTable.UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     EdgeTable.UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    EdgeTable.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.uplinkConflateDelta());
+    EdgeTable.UPLINK_CONFLATE_RATE.addAndGet(this, profile.uplinkConflateRate());
     this.didUpdateMetrics();
   }
 
@@ -813,6 +829,9 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
     final int uplinkCommandDelta = EdgeTable.UPLINK_COMMAND_DELTA.getAndSet(this, 0);
     final int uplinkCommandRate = EdgeTable.UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = EdgeTable.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = EdgeTable.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = EdgeTable.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = EdgeTable.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final int meshCount = (int) (meshOpenCount - meshCloseCount);
     final int partCount = (int) (partOpenCount - partCloseCount);
@@ -825,8 +844,18 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
                                                                   downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-                                                            uplinkCommandRate, uplinkCommandCount);
-    this.pulse = new EdgePulse(meshCount, partCount, hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse);
+                                                            uplinkCommandRate, uplinkCommandCount,
+                                                            uplinkConflateRate, uplinkConflateCount);
+    final StoreBinding store = this.store();
+    final StorePulse storePulse = store instanceof StorePulseSource
+                                ? ((StorePulseSource) store).storePulse()
+                                : StorePulse.empty();
+    final Stage stage = this.stage();
+    final StagePulse stagePulse = stage instanceof Theater
+                                ? StagePulse.from(((Theater) stage).stats())
+                                : StagePulse.empty();
+    this.pulse = new EdgePulse(meshCount, partCount, hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse,
+                               storePulse, stagePulse);
     final DemandLane<EdgePulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
       metaPulse.cue();
@@ -845,7 +874,8 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
                            downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                            uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                            uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                           uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount);
   }
 
   static final Uri MESHES_URI = Uri.parse("meshes");
@@ -946,6 +976,12 @@ public class EdgeTable extends AbstractTierBinding implements EdgeBinding {
       AtomicIntegerFieldUpdater.newUpdater(EdgeTable.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<EdgeTable> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(EdgeTable.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<EdgeTable> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(EdgeTable.class, "uplinkConflateDelta");
+  static final AtomicIntegerFieldUpdater<EdgeTable> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater(EdgeTable.class, "uplinkConflateRate");
+  static final AtomicLongFieldUpdater<EdgeTable> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(EdgeTable.class, "uplinkConflateCount");
   static final AtomicLongFieldUpdater<EdgeTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(EdgeTable.class, "lastReportTime");
 
@@ -16,6 +16,8 @@ package swim.system.router;
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -32,6 +34,8 @@ import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
 import swim.concurrent.Schedule;
 import swim.concurrent.Stage;
+import swim.concurrent.TimerFunction;
+import swim.concurrent.TimerRef;
 import swim.store.StoreBinding;
 import swim.structure.Value;
 import swim.system.AbstractTierBinding;
@@ -55,6 +59,7 @@ import swim.system.profile.NodeProfile;
 import swim.system.profile.WarpDownlinkProfile;
 import swim.system.reflect.AgentPulse;
 import swim.system.reflect.HostPulse;
+import swim.system.reflect.LatencyPulse;
 import swim.system.reflect.LogEntry;
 import swim.system.reflect.NodeInfo;
 import swim.system.reflect.SystemPulse;
@@ -66,11 +71,15 @@ import swim.uri.UriMapper;
 import swim.uri.UriPart;
 import swim.uri.UriPath;
 import swim.uri.UriPathBuilder;
+import swim.util.LatencyHistogram;
 
 public class HostTable extends AbstractTierBinding implements HostBinding {
 
   protected HostContext hostContext;
-  volatile UriMapper<NodeBinding> nodes;
+  final ConcurrentHashMap<Uri, NodeBinding> nodeIndex;
+  volatile Object nodeDirectory; // UriMapper<NodeBinding> | Object (build token)
+  final ConcurrentLinkedQueue<NodeBinding> passivationQueue;
+  volatile long idleTimeout;
   volatile int flags;
 
   volatile int nodeOpenDelta;
@@ -87,6 +96,12 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   volatile int timerEventDelta;
   volatile int timerEventRate;
   volatile long timerEventCount;
+  volatile int agentPassivateDelta;
+  volatile long agentPassivateCount;
+  volatile int agentActivateDelta;
+  volatile long agentActivateCount;
+  final LatencyHistogram passivateLatency;
+  final LatencyHistogram activateLatency;
   volatile int downlinkOpenDelta;
   volatile long downlinkOpenCount;
   volatile int downlinkCloseDelta;
@@ -107,8 +122,12 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
   volatile long lastReportTime;
 
+  volatile TimerRef passivateTimer;
   HostPulse pulse;
   AgentNode metaNode;
   DemandMapLane<Uri, NodeInfo> metaNodes;
@@ -122,7 +141,10 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   public HostTable() {
     this.hostContext = null;
-    this.nodes = UriMapper.empty();
+    this.nodeIndex = new ConcurrentHashMap<Uri, NodeBinding>();
+    this.nodeDirectory = null;
+    this.passivationQueue = new ConcurrentLinkedQueue<NodeBinding>();
+    this.idleTimeout = HostTable.IDLE_TIMEOUT;
     this.flags = 0;
 
     this.nodeOpenDelta = 0;
@@ -139,6 +161,12 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     this.timerEventDelta = 0;
     this.timerEventRate = 0;
     this.timerEventCount = 0L;
+    this.agentPassivateDelta = 0;
+    this.agentPassivateCount = 0L;
+    this.agentActivateDelta = 0;
+    this.agentActivateCount = 0L;
+    this.passivateLatency = new LatencyHistogram();
+    this.activateLatency = new LatencyHistogram();
     this.downlinkOpenDelta = 0;
     this.downlinkOpenCount = 0L;
     this.downlinkCloseDelta = 0;
@@ -159,8 +187,12 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
     this.lastReportTime = 0L;
 
+    this.passivateTimer = null;
     this.pulse = null;
     this.metaNode = null;
     this.metaNodes = null;
@@ -222,6 +254,10 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     return new HostTableNode(this, node, nodeAddress);
   }
 
+  public final HostPulse pulse() {
+    return this.pulse;
+  }
+
   @Override
   public final HostAddress cellAddress() {
     return this.hostContext.cellAddress();
@@ -395,22 +431,58 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     metaHost.openLane(LogEntry.FAIL_LOG_URI, this.metaFailLog);
   }
 
+  /**
+   * Returns a hierarchical snapshot of all nodes hosted by this table,
+   * for directory queries by path prefix. Nodes are routed through a
+   * concurrent hash index, keyed by node URI; the snapshot gets lazily
+   * rebuilt from the index the first time it's requested after any node
+   * opens or closes, so that opening nodes never contends on a shared
+   * persistent structure.
+   */
+  @SuppressWarnings("unchecked")
   @Override
   public UriMapper<NodeBinding> nodes() {
-    return HostTable.NODES.get(this);
+    final Object directory = HostTable.NODE_DIRECTORY.get(this);
+    if (directory instanceof UriMapper<?>) {
+      return (UriMapper<NodeBinding>) directory;
+    }
+    // Claim the directory slot with a unique build token. Any node that
+    // opens or closes while the snapshot is being built clears the token,
+    // preventing a stale snapshot from getting cached.
+    final Object buildToken = new Object();
+    final boolean cacheable = HostTable.NODE_DIRECTORY.compareAndSet(this, directory, buildToken);
+    UriMapper<NodeBinding> nodes = UriMapper.empty();
+    for (Map.Entry<Uri, NodeBinding> entry : this.nodeIndex.entrySet()) {
+      nodes = nodes.updated(entry.getKey(), entry.getValue());
+    }
+    if (cacheable) {
+      HostTable.NODE_DIRECTORY.compareAndSet(this, buildToken, nodes);
+    }
+    return nodes;
+  }
+
+  @Override
+  public int nodeCount() {
+    return this.nodeIndex.size();
+  }
+
+  void invalidateNodeDirectory() {
+    if (HostTable.NODE_DIRECTORY.get(this) != null) {
+      HostTable.NODE_DIRECTORY.set(this, null);
+    }
   }
 
   @Override
   public NodeBinding getNode(Uri nodeUri) {
-    return HostTable.NODES.get(this).get(nodeUri);
+    return this.nodeIndex.get(nodeUri);
   }
 
   @Override
   public NodeBinding openNode(Uri nodeUri) {
     NodeBinding nodeBinding = null;
+    long activateTime = 0L;
     do {
-      final UriMapper<NodeBinding> oldNodes = HostTable.NODES.get(this);
-      final NodeBinding node = oldNodes.get(nodeUri);
+      final NodeBinding node = this.nodeIndex.get(nodeUri);
       if (node != null) {
         if (nodeBinding != null) {
           // Lost creation race.
@@ -419,18 +491,23 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
         if (node.isStarted()) {
           nodeBinding = node;
           break;
-        } else if (node.isClosed()) {
+        } else if (node.isClosed() && !HostTable.isPassivating(node)) {
           nodeBinding = null;
           break;
         }
         // try again
       } else {
         if (nodeBinding == null) {
+          activateTime = System.nanoTime();
           final NodeAddress nodeAddress = this.cellAddress().nodeUri(nodeUri);
           nodeBinding = this.hostContext.createNode(nodeAddress);
           if (nodeBinding != null) {
             nodeBinding = this.hostContext.injectNode(nodeAddress, nodeBinding);
             final NodeContext nodeContext = this.createNodeContext(nodeAddress, nodeBinding);
+            if (nodeContext instanceof HostTableNode) {
+              // Nodes created on demand can be recreated on demand.
+              ((HostTableNode) nodeContext).passivatable = true;
+            }
             nodeBinding.setNodeContext(nodeContext);
             nodeBinding = nodeBinding.nodeWrapper();
             nodeBinding.openLanes(nodeBinding);
@@ -439,10 +516,14 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
             break;
           }
         }
-        final UriMapper<NodeBinding> newNodes = oldNodes.updated(nodeUri, nodeBinding);
-        if (HostTable.NODES.compareAndSet(this, oldNodes, newNodes)) {
+        if (this.nodeIndex.putIfAbsent(nodeUri, nodeBinding) == null) {
+          this.invalidateNodeDirectory();
           this.activate(nodeBinding);
+          this.didActivateNode(nodeBinding, System.nanoTime() - activateTime);
           this.didOpenNode(nodeBinding);
+          if (this.idleTimeout > 0L) {
+            this.enqueuePassivatableNode(nodeBinding);
+          }
           break;
         }
       }
@@ -454,8 +535,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   public NodeBinding openNode(Uri nodeUri, NodeBinding node) {
     NodeBinding nodeBinding = null;
     do {
-      final UriMapper<NodeBinding> oldNodes = HostTable.NODES.get(this);
-      if (oldNodes.containsKey(nodeUri)) {
+      if (this.nodeIndex.containsKey(nodeUri)) {
         nodeBinding = null;
         break;
       } else {
@@ -468,8 +548,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
           nodeBinding.openLanes(nodeBinding);
           nodeBinding.openAgents(nodeBinding);
         }
-        final UriMapper<NodeBinding> newNodes = oldNodes.updated(nodeUri, nodeBinding);
-        if (HostTable.NODES.compareAndSet(this, oldNodes, newNodes)) {
+        if (this.nodeIndex.putIfAbsent(nodeUri, nodeBinding) == null) {
+          this.invalidateNodeDirectory();
           this.activate(nodeBinding);
           this.didOpenNode(nodeBinding);
           break;
@@ -480,43 +560,165 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   }
 
   public void closeNode(Uri nodeUri) {
-    do {
-      final UriMapper<NodeBinding> oldNodes = HostTable.NODES.get(this);
-      final NodeBinding nodeBinding = oldNodes.get(nodeUri);
-      if (nodeBinding != null) {
-        final UriMapper<NodeBinding> newNodes = oldNodes.removed(nodeUri);
-        if (HostTable.NODES.compareAndSet(this, oldNodes, newNodes)) {
+    final NodeBinding nodeBinding = this.nodeIndex.remove(nodeUri);
+    if (nodeBinding != null) {
+      this.invalidateNodeDirectory();
+      nodeBinding.didClose();
+      this.didCloseNode(nodeBinding);
+    }
+  }
+
+  public void closeNodes() {
+    if (!this.nodeIndex.isEmpty()) {
+      final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
+      final Iterator<Map.Entry<Uri, NodeBinding>> nodesIterator = this.nodeIndex.entrySet().iterator();
+      while (nodesIterator.hasNext()) {
+        final Map.Entry<Uri, NodeBinding> entry = nodesIterator.next();
+        final NodeBinding nodeBinding = entry.getValue();
+        if (this.nodeIndex.remove(entry.getKey(), nodeBinding)) {
+          this.invalidateNodeDirectory();
+          nodeBinding.close();
           nodeBinding.didClose();
-          this.didCloseNode(nodeBinding);
-          break;
+          if (metaNodes != null) {
+            metaNodes.cue(nodeBinding.nodeUri());
+          }
         }
-      } else {
+      }
+      this.flushMetrics();
+    }
+  }
+
+  /**
+   * Returns the number of milliseconds after which started nodes with no
+   * uplinks, no scheduled timers, and no mailbox activity get passivated,
+   * or {@code 0} if idle nodes never get passivated. Defaults to the value
+   * of the {@code swim.agent.idle.timeout} system property.
+   */
+  public long idleTimeout() {
+    return this.idleTimeout;
+  }
+
+  /**
+   * Sets the number of milliseconds after which idle nodes get passivated,
+   * starting or stopping the periodic passivation sweep of a started host.
+   */
+  public void setIdleTimeout(long idleTimeout) {
+    final long oldIdleTimeout = this.idleTimeout;
+    this.idleTimeout = idleTimeout;
+    if (idleTimeout <= 0L) {
+      this.passivationQueue.clear();
+    } else if (oldIdleTimeout <= 0L) {
+      final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
+      while (nodesIterator.hasNext()) {
+        this.enqueuePassivatableNode(nodesIterator.next());
+      }
+    }
+    if (this.isStarted()) {
+      this.startPassivating();
+    }
+  }
+
+  void enqueuePassivatableNode(NodeBinding node) {
+    final HostTableNode nodeContext = node.unwrapNode(HostTableNode.class);
+    if (nodeContext != null && nodeContext.passivatable) {
+      this.passivationQueue.add(node);
+    }
+  }
+
+  void startPassivating() {
+    final long idleTimeout = this.idleTimeout;
+    if (idleTimeout > 0L && this.passivateTimer == null) {
+      final TimerRef passivateTimer = this.schedule().timer(new HostTablePassivator(this));
+      if (HostTable.PASSIVATE_TIMER.compareAndSet(this, null, passivateTimer)) {
+        passivateTimer.reschedule(HostTable.idleSweepInterval(idleTimeout));
+      }
+    }
+  }
+
+  void stopPassivating() {
+    final TimerRef passivateTimer = HostTable.PASSIVATE_TIMER.getAndSet(this, null);
+    if (passivateTimer != null) {
+      passivateTimer.cancel();
+    }
+  }
+
+  /**
+   * Closes started nodes that were created on demand, and that have been
+   * {@link AgentNode#isIdle(long) idle} for at least {@code idleNanos}
+   * nanoseconds, releasing their memory. Passivated nodes get transparently
+   * recreated when next linked or commanded; the state of their persistent
+   * lanes remains in the host's store, from which it's reloaded when the
+   * node reactivates.
+   * <p>
+   * Each sweep examines a bounded number of nodes, set by the {@code
+   * swim.agent.idle.sweep.limit} system property, taken in turn from a
+   * queue of the nodes that were created on demand while the host had a
+   * positive {@link #idleTimeout() idle timeout}. Nodes that are still
+   * active go back to the end of the queue.
+   */
+  public void passivateIdleNodes(long idleNanos) {
+    final int sweepCount = Math.min(this.nodeIndex.size(), HostTable.PASSIVATION_SWEEP_LIMIT);
+    for (int i = 0; i < sweepCount; i += 1) {
+      final NodeBinding nodeBinding = this.passivationQueue.poll();
+      if (nodeBinding == null) {
         break;
+      } else if (this.nodeIndex.get(nodeBinding.nodeUri()) == nodeBinding
+          && !this.passivateNode(nodeBinding, idleNanos)) {
+        this.passivationQueue.add(nodeBinding);
       }
-    } while (true);
+    }
   }
 
-  public void closeNodes() {
-    do {
-      final UriMapper<NodeBinding> oldNodes = HostTable.NODES.get(this);
-      if (!oldNodes.isEmpty()) {
-        final UriMapper<NodeBinding> newNodes = UriMapper.empty();
-        if (HostTable.NODES.compareAndSet(this, oldNodes, newNodes)) {
-          final DemandMapLane<Uri, NodeInfo> metaNodes = this.metaNodes;
-          for (NodeBinding nodeBinding : oldNodes.values()) {
-            nodeBinding.close();
-            nodeBinding.didClose();
-            if (metaNodes != null) {
-              metaNodes.cue(nodeBinding.nodeUri());
-            }
-          }
-          this.flushMetrics();
-          break;
-        }
+  /**
+   * Passivates {@code node} if it has been idle for at least {@code
+   * idleNanos} nanoseconds, and if no links or commands are being routed
+   * to it. Returns {@code true} if the node was passivated.
+   */
+  boolean passivateNode(NodeBinding node, long idleNanos) {
+    final HostTableNode nodeContext = node.unwrapNode(HostTableNode.class);
+    final AgentNode agentNode = node.bottomNode(AgentNode.class);
+    if (nodeContext == null || agentNode == null || !agentNode.isIdle(idleNanos)
+        || !nodeContext.startPassivating()) {
+      return false;
+    }
+    // Links and commands that entered the node before it started passivating
+    // may have made it active again.
+    if (!agentNode.isIdle(idleNanos)) {
+      nodeContext.stopPassivating();
+      return false;
+    }
+    this.passivateNode(node);
+    return true;
+  }
+
+  static boolean isPassivating(NodeBinding node) {
+    final HostTableNode nodeContext = node.unwrapNode(HostTableNode.class);
+    return nodeContext != null && nodeContext.isPassivating();
+  }
+
+  protected void passivateNode(NodeBinding node) {
+    final long t0 = System.nanoTime();
+    try {
+      node.close();
+    } catch (Throwable error) {
+      if (Cont.isNonFatal(error)) {
+        this.didFail(error);
       } else {
-        break;
+        throw error;
       }
-    } while (true);
+    }
+    this.didPassivateNode(node, System.nanoTime() - t0);
+  }
+
+  protected void didPassivateNode(NodeBinding node, long dt) {
+    HostTable.AGENT_PASSIVATE_DELTA.incrementAndGet(this);
+    this.passivateLatency.record(dt);
+    this.didUpdateMetrics();
+  }
+
+  protected void didActivateNode(NodeBinding node, long dt) {
+    HostTable.AGENT_ACTIVATE_DELTA.incrementAndGet(this);
+    this.activateLatency.record(dt);
   }
 
   protected void didOpenNode(NodeBinding node) {
@@ -609,29 +811,53 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   @Override
   public void openUplink(LinkBinding link) {
-    NodeBinding nodeBinding = this.openNode(link.nodeUri());
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.openUplink(link);
-    } else {
-      UplinkError.rejectNodeNotFound(link);
-    }
+    do {
+      final NodeBinding node = this.openNode(link.nodeUri());
+      final NodeBinding nodeBinding = node != null ? node.bottomNode(NodeBinding.class) : null;
+      if (nodeBinding == null) {
+        UplinkError.rejectNodeNotFound(link);
+        break;
+      }
+      final HostTableNode nodeContext = node.unwrapNode(HostTableNode.class);
+      if (nodeContext == null) {
+        nodeBinding.openUplink(link);
+        break;
+      } else if (nodeContext.enter()) {
+        try {
+          nodeBinding.openUplink(link);
+        } finally {
+          nodeContext.exit();
+        }
+        break;
+      }
+      // Lost a race with passivation; route to a fresh node.
+    } while (true);
   }
 
   @Override
   public void pushUp(Push<?> push) {
     final Uri nodeUri = push.nodeUri();
-    NodeBinding nodeBinding = this.openNode(nodeUri);
-    if (nodeBinding != null) {
-      nodeBinding = nodeBinding.bottomNode(NodeBinding.class);
-    }
-    if (nodeBinding != null) {
-      nodeBinding.pushUp(push);
-    } else {
-      push.trap(new HostException("unknown node: " + nodeUri));
-    }
+    do {
+      final NodeBinding node = this.openNode(nodeUri);
+      final NodeBinding nodeBinding = node != null ? node.bottomNode(NodeBinding.class) : null;
+      if (nodeBinding == null) {
+        push.trap(new HostException("unknown node: " + nodeUri));
+        break;
+      }
+      final HostTableNode nodeContext = node.unwrapNode(HostTableNode.class);
+      if (nodeContext == null) {
+        nodeBinding.pushUp(push);
+        break;
+      } else if (nodeContext.enter()) {
+        try {
+          nodeBinding.pushUp(push);
+        } finally {
+          nodeContext.exit();
+        }
+        break;
+      }
+      // Lost a race with passivation; route to a fresh node.
+    } while (true);
   }
 
   @Override
@@ -691,7 +917,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willOpen() {
     super.willOpen();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().open();
     }
@@ -700,7 +926,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willLoad() {
     super.willLoad();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().load();
     }
@@ -709,16 +935,18 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willStart() {
     super.willStart();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().start();
     }
+    this.startPassivating();
   }
 
   @Override
   protected void willStop() {
     super.willStop();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    this.stopPassivating();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().stop();
     }
@@ -727,7 +955,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willUnload() {
     super.willUnload();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().unload();
     }
@@ -736,7 +964,7 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
   @Override
   protected void willClose() {
     super.willClose();
-    final Iterator<NodeBinding> nodesIterator = HostTable.NODES.get(this).valueIterator();
+    final Iterator<NodeBinding> nodesIterator = this.nodeIndex.values().iterator();
     while (nodesIterator.hasNext()) {
       nodesIterator.next().close();
     }
@@ -799,6 +1027,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     HostTable.UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     HostTable.UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     HostTable.UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    HostTable.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.uplinkConflateDelta());
+    HostTable.UPLINK_CONFLATE_RATE.addAndGet(this, profile.uplinkConflateRate());
     this.didUpdateMetrics();
   }
 
@@ -873,6 +1103,12 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     final int timerEventDelta = HostTable.TIMER_EVENT_DELTA.getAndSet(this, 0);
     final int timerEventRate = HostTable.TIMER_EVENT_RATE.getAndSet(this, 0);
     final long timerEventCount = HostTable.TIMER_EVENT_COUNT.addAndGet(this, (long) timerEventDelta);
+    final int agentPassivateDelta = HostTable.AGENT_PASSIVATE_DELTA.getAndSet(this, 0);
+    final long agentPassivateCount = HostTable.AGENT_PASSIVATE_COUNT.addAndGet(this, (long) agentPassivateDelta);
+    final int agentActivateDelta = HostTable.AGENT_ACTIVATE_DELTA.getAndSet(this, 0);
+    final long agentActivateCount = HostTable.AGENT_ACTIVATE_COUNT.addAndGet(this, (long) agentActivateDelta);
+    final LatencyPulse passivateLatency = LatencyPulse.from(this.passivateLatency.drain());
+    final LatencyPulse activateLatency = LatencyPulse.from(this.activateLatency.drain());
 
     final int downlinkOpenDelta = HostTable.DOWNLINK_OPEN_DELTA.getAndSet(this, 0);
     final long downlinkOpenCount = HostTable.DOWNLINK_OPEN_COUNT.addAndGet(this, (long) downlinkOpenDelta);
@@ -895,16 +1131,21 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
     final int uplinkCommandDelta = HostTable.UPLINK_COMMAND_DELTA.getAndSet(this, 0);
     final int uplinkCommandRate = HostTable.UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = HostTable.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = HostTable.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = HostTable.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = HostTable.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final long nodeCount = nodeOpenCount - nodeCloseCount;
     final long agentCount = agentOpenCount - agentCloseCount;
-    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount);
+    final AgentPulse agentPulse = new AgentPulse(agentCount, agentExecRate, agentExecTime, timerEventRate, timerEventCount,
+                                                 agentPassivateCount, agentActivateCount, passivateLatency, activateLatency);
     final long downlinkCount = downlinkOpenCount - downlinkCloseCount;
     final WarpDownlinkPulse downlinkPulse = new WarpDownlinkPulse(downlinkCount, downlinkEventRate, downlinkEventCount,
                                                                   downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-                                                            uplinkCommandRate, uplinkCommandCount);
+                                                            uplinkCommandRate, uplinkCommandCount,
+                                                            uplinkConflateRate, uplinkConflateCount);
     this.pulse = new HostPulse(nodeCount, agentPulse, downlinkPulse, uplinkPulse, SystemPulse.latest());
     final DemandLane<HostPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -921,7 +1162,8 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
                            downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                            uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                            uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                           uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount);
   }
 
   static final int PRIMARY = 1 << 0;
@@ -931,9 +1173,25 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
 
   static final Uri NODES_URI = Uri.parse("nodes");
 
-  @SuppressWarnings("unchecked")
-  static final AtomicReferenceFieldUpdater<HostTable, UriMapper<NodeBinding>> NODES =
-      AtomicReferenceFieldUpdater.newUpdater(HostTable.class, (Class<UriMapper<NodeBinding>>) (Class<?>) UriMapper.class, "nodes");
+  /**
+   * Default {@link #idleTimeout() idle timeout} of hosts, in milliseconds.
+   */
+  static final long IDLE_TIMEOUT;
+
+  /**
+   * Maximum number of nodes examined by a single passivation sweep.
+   */
+  static final int PASSIVATION_SWEEP_LIMIT;
+
+  static long idleSweepInterval(long idleTimeout) {
+    return Math.max(1L, idleTimeout / 2L);
+  }
+
+  static final AtomicReferenceFieldUpdater<HostTable, Object> NODE_DIRECTORY =
+      AtomicReferenceFieldUpdater.newUpdater(HostTable.class, Object.class, "nodeDirectory");
+
+  static final AtomicReferenceFieldUpdater<HostTable, TimerRef> PASSIVATE_TIMER =
+      AtomicReferenceFieldUpdater.newUpdater(HostTable.class, TimerRef.class, "passivateTimer");
 
   static final AtomicIntegerFieldUpdater<HostTable> FLAGS =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "flags");
@@ -966,6 +1224,14 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "timerEventRate");
   static final AtomicLongFieldUpdater<HostTable> TIMER_EVENT_COUNT =
       AtomicLongFieldUpdater.newUpdater(HostTable.class, "timerEventCount");
+  static final AtomicIntegerFieldUpdater<HostTable> AGENT_PASSIVATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "agentPassivateDelta");
+  static final AtomicLongFieldUpdater<HostTable> AGENT_PASSIVATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentPassivateCount");
+  static final AtomicIntegerFieldUpdater<HostTable> AGENT_ACTIVATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "agentActivateDelta");
+  static final AtomicLongFieldUpdater<HostTable> AGENT_ACTIVATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "agentActivateCount");
   static final AtomicIntegerFieldUpdater<HostTable> DOWNLINK_OPEN_DELTA =
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "downlinkOpenDelta");
   static final AtomicLongFieldUpdater<HostTable> DOWNLINK_OPEN_COUNT =
@@ -1006,9 +1272,66 @@ public class HostTable extends AbstractTierBinding implements HostBinding {
       AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<HostTable> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkConflateDelta");
+  static final AtomicIntegerFieldUpdater<HostTable> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater(HostTable.class, "uplinkConflateRate");
+  static final AtomicLongFieldUpdater<HostTable> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(HostTable.class, "uplinkConflateCount");
   static final AtomicLongFieldUpdater<HostTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(HostTable.class, "lastReportTime");
 
+  static {
+    long idleTimeout;
+    try {
+      idleTimeout = Long.parseLong(System.getProperty("swim.agent.idle.timeout"));
+    } catch (NumberFormatException e) {
+      idleTimeout = 0L;
+    }
+    IDLE_TIMEOUT = idleTimeout;
+
+    int passivationSweepLimit;
+    try {
+      passivationSweepLimit = Integer.parseInt(System.getProperty("swim.agent.idle.sweep.limit"));
+    } catch (NumberFormatException e) {
+      passivationSweepLimit = 4096;
+    }
+    PASSIVATION_SWEEP_LIMIT = passivationSweepLimit;
+  }
+
+}
+
+final class HostTablePassivator implements TimerFunction, Runnable {
+
+  final HostTable host;
+
+  HostTablePassivator(HostTable host) {
+    this.host = host;
+  }
+
+  @Override
+  public void runTimer() {
+    // Sweep on the host's stage, rather than on the clock thread.
+    this.host.stage().execute(this);
+  }
+
+  @Override
+  public void run() {
+    final long idleTimeout = this.host.idleTimeout;
+    if (idleTimeout > 0L) {
+      try {
+        this.host.passivateIdleNodes(idleTimeout * 1000000L);
+      } finally {
+        final TimerRef passivateTimer = this.host.passivateTimer;
+        if (passivateTimer != null) {
+          passivateTimer.reschedule(HostTable.idleSweepInterval(idleTimeout));
+        }
+      }
+    } else {
+      this.host.stopPassivating();
+    }
+  }
+
 }
 
 final class HostTableNodesController implements OnCueKey<Uri, NodeInfo>, OnSyncKeys<Uri> {
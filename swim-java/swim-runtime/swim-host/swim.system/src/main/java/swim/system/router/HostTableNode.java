@@ -14,6 +14,7 @@
 
 package swim.system.router;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import swim.api.Downlink;
 import swim.api.agent.Agent;
 import swim.api.agent.AgentDef;
@@ -41,11 +42,53 @@ public class HostTableNode implements NodeContext {
   protected final HostTable host;
   protected final NodeBinding node;
   protected final NodeAddress nodeAddress;
+  volatile boolean passivatable;
+  volatile int status;
 
   public HostTableNode(HostTable host, NodeBinding node, NodeAddress nodeAddress) {
     this.host = host;
     this.node = node;
     this.nodeAddress = nodeAddress;
+    this.passivatable = false;
+    this.status = 0;
+  }
+
+  /**
+   * Registers an inbound link or command that's about to be routed to this
+   * node, preventing the node from being passivated until the matching
+   * call to {@link #exit()}. Returns {@code false} if this node has already
+   * started passivating, in which case the caller must route to a fresh node.
+   */
+  boolean enter() {
+    do {
+      final int oldStatus = HostTableNode.STATUS.get(this);
+      if ((oldStatus & HostTableNode.PASSIVATING) != 0) {
+        return false;
+      } else if (HostTableNode.STATUS.compareAndSet(this, oldStatus, oldStatus + HostTableNode.ENTRY)) {
+        return true;
+      }
+    } while (true);
+  }
+
+  void exit() {
+    HostTableNode.STATUS.addAndGet(this, -HostTableNode.ENTRY);
+  }
+
+  /**
+   * Marks this node as passivating, if no inbound links or commands are
+   * currently being routed to it. Returns {@code false} if traffic is
+   * in flight, or if this node is already passivating.
+   */
+  boolean startPassivating() {
+    return HostTableNode.STATUS.compareAndSet(this, 0, HostTableNode.PASSIVATING);
+  }
+
+  boolean isPassivating() {
+    return (HostTableNode.STATUS.get(this) & HostTableNode.PASSIVATING) != 0;
+  }
+
+  void stopPassivating() {
+    HostTableNode.STATUS.compareAndSet(this, HostTableNode.PASSIVATING, 0);
   }
 
   @Override
@@ -308,4 +351,10 @@ public class HostTableNode implements NodeContext {
     // hook
   }
 
+  static final int PASSIVATING = 1 << 0;
+  static final int ENTRY = 1 << 1;
+
+  static final AtomicIntegerFieldUpdater<HostTableNode> STATUS =
+      AtomicIntegerFieldUpdater.newUpdater(HostTableNode.class, "status");
+
 }
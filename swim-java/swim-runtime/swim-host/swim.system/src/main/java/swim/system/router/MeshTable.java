@@ -50,6 +50,7 @@ import swim.system.NodeBinding;
 import swim.system.PartAddress;
 import swim.system.PartBinding;
 import swim.system.PartContext;
+import swim.system.PartIndex;
 import swim.system.Push;
 import swim.system.TierContext;
 import swim.system.UplinkError;
@@ -70,6 +71,7 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
 
   protected MeshContext meshContext;
   volatile FingerTrieSeq<PartBinding> parts;
+  volatile PartIndex partIndex;
   volatile PartBinding gateway;
   volatile PartBinding ourself;
 
@@ -115,6 +117,9 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
   volatile long lastReportTime;
 
   MeshPulse pulse;
@@ -131,6 +136,7 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
   public MeshTable() {
     this.meshContext = null;
     this.parts = FingerTrieSeq.empty();
+    this.partIndex = PartIndex.empty();
     this.gateway = null;
     this.ourself = null;
 
@@ -176,6 +182,9 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
     this.lastReportTime = 0L;
 
     this.pulse = null;
@@ -239,6 +248,10 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     return new MeshTablePart(this, part, partAddress);
   }
 
+  public final MeshPulse pulse() {
+    return this.pulse;
+  }
+
   @Override
   public final MeshAddress cellAddress() {
     return this.meshContext.cellAddress();
@@ -346,6 +359,20 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     return MeshTable.PARTS.get(this);
   }
 
+  /**
+   * Returns the routing index for the given snapshot of {@code parts},
+   * rebuilding the cached index if the part table has changed since it
+   * was last compiled.
+   */
+  PartIndex partIndex(FingerTrieSeq<PartBinding> parts) {
+    PartIndex partIndex = this.partIndex;
+    if (partIndex.parts() != parts) {
+      partIndex = PartIndex.from(parts);
+      this.partIndex = partIndex;
+    }
+    return partIndex;
+  }
+
   boolean isMetaNode(Uri nodeUri) {
     return !this.meshUri().isDefined() && "swim".equals(nodeUri.schemeName());
   }
@@ -355,26 +382,16 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     if (this.isMetaNode(nodeUri)) {
       return this.ourself;
     }
-    final FingerTrieSeq<PartBinding> parts = MeshTable.PARTS.get(this);
-    for (int i = 0, n = parts.size(); i < n; i += 1) {
-      final PartBinding part = parts.get(i);
-      if (part.predicate().test(nodeUri)) {
-        return part;
-      }
+    final PartBinding part = this.partIndex(MeshTable.PARTS.get(this)).get(nodeUri);
+    if (part != null) {
+      return part;
     }
     return this.gateway;
   }
 
   @Override
   public PartBinding getPart(Value partKey) {
-    final FingerTrieSeq<PartBinding> parts = MeshTable.PARTS.get(this);
-    for (int i = 0, n = parts.size(); i < n; i += 1) {
-      final PartBinding part = parts.get(i);
-      if (partKey.equals(part.partKey())) {
-        return part;
-      }
-    }
-    return null;
+    return this.partIndex(MeshTable.PARTS.get(this)).get(partKey);
   }
 
   @Override
@@ -386,13 +403,7 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
       if (this.isMetaNode(nodeUri)) {
         part = this.ourself;
       } else {
-        for (int i = 0, n = oldParts.size(); i < n; i += 1) {
-          final PartBinding oldPart = oldParts.get(i);
-          if (oldPart.predicate().test(nodeUri)) {
-            part = oldPart;
-            break;
-          }
-        }
+        part = this.partIndex(oldParts).get(nodeUri);
       }
       if (part != null) {
         if (partBinding != null) {
@@ -801,6 +812,8 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     MeshTable.UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     MeshTable.UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     MeshTable.UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    MeshTable.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.uplinkConflateDelta());
+    MeshTable.UPLINK_CONFLATE_RATE.addAndGet(this, profile.uplinkConflateRate());
     this.didUpdateMetrics();
   }
 
@@ -907,6 +920,9 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
     final int uplinkCommandDelta = MeshTable.UPLINK_COMMAND_DELTA.getAndSet(this, 0);
     final int uplinkCommandRate = MeshTable.UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = MeshTable.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = MeshTable.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = MeshTable.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = MeshTable.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final int partCount = (int) (partOpenCount - partCloseCount);
     final int hostCount = (int) (hostOpenCount - hostCloseCount);
@@ -918,7 +934,8 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
                                                                   downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-                                                            uplinkCommandRate, uplinkCommandCount);
+                                                            uplinkCommandRate, uplinkCommandCount,
+                                                            uplinkConflateRate, uplinkConflateCount);
     this.pulse = new MeshPulse(partCount, hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse, SystemPulse.latest());
     final DemandLane<MeshPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -937,7 +954,8 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
                            downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                            uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                            uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                           uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount);
 
   }
 
@@ -1031,6 +1049,12 @@ public class MeshTable extends AbstractTierBinding implements MeshBinding {
       AtomicIntegerFieldUpdater.newUpdater(MeshTable.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<MeshTable> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(MeshTable.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<MeshTable> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(MeshTable.class, "uplinkConflateDelta");
+  static final AtomicIntegerFieldUpdater<MeshTable> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater(MeshTable.class, "uplinkConflateRate");
+  static final AtomicLongFieldUpdater<MeshTable> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(MeshTable.class, "uplinkConflateCount");
   static final AtomicLongFieldUpdater<MeshTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(MeshTable.class, "lastReportTime");
 
@@ -111,6 +111,9 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
   volatile long lastReportTime;
 
   PartPulse pulse;
@@ -169,6 +172,9 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
     this.lastReportTime = 0L;
 
     this.pulse = null;
@@ -236,6 +242,10 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     return new PartTableHost(this, host, hostAddress);
   }
 
+  public final PartPulse pulse() {
+    return this.pulse;
+  }
+
   @Override
   public final PartAddress cellAddress() {
     return this.partContext.cellAddress();
@@ -749,6 +759,8 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     PartTable.UPLINK_EVENT_RATE.addAndGet(this, profile.uplinkEventRate());
     PartTable.UPLINK_COMMAND_DELTA.addAndGet(this, profile.uplinkCommandDelta());
     PartTable.UPLINK_COMMAND_RATE.addAndGet(this, profile.uplinkCommandRate());
+    PartTable.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.uplinkConflateDelta());
+    PartTable.UPLINK_CONFLATE_RATE.addAndGet(this, profile.uplinkConflateRate());
     this.didUpdateMetrics();
   }
 
@@ -850,6 +862,9 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
     final int uplinkCommandDelta = PartTable.UPLINK_COMMAND_DELTA.getAndSet(this, 0);
     final int uplinkCommandRate = PartTable.UPLINK_COMMAND_RATE.getAndSet(this, 0);
     final long uplinkCommandCount = PartTable.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = PartTable.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = PartTable.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = PartTable.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final int hostCount = (int) (hostOpenCount - hostCloseCount);
     final long nodeCount = nodeOpenCount - nodeCloseCount;
@@ -860,7 +875,8 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
                                                                   downlinkCommandRate, downlinkCommandCount);
     final long uplinkCount = uplinkOpenCount - uplinkCloseCount;
     final WarpUplinkPulse uplinkPulse = new WarpUplinkPulse(uplinkCount, uplinkEventRate, uplinkEventCount,
-                                                            uplinkCommandRate, uplinkCommandCount);
+                                                            uplinkCommandRate, uplinkCommandCount,
+                                                            uplinkConflateRate, uplinkConflateCount);
     this.pulse = new PartPulse(hostCount, nodeCount, agentPulse, downlinkPulse, uplinkPulse, SystemPulse.latest());
     final DemandLane<PartPulse> metaPulse = this.metaPulse;
     if (metaPulse != null) {
@@ -878,7 +894,8 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
                            downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                            uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                            uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                           uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                           uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount);
   }
 
   static final Uri HOSTS_URI = Uri.parse("hosts");
@@ -967,6 +984,12 @@ public class PartTable extends AbstractTierBinding implements PartBinding {
       AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkCommandRate");
   static final AtomicLongFieldUpdater<PartTable> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkCommandCount");
+  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkConflateDelta");
+  static final AtomicIntegerFieldUpdater<PartTable> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater(PartTable.class, "uplinkConflateRate");
+  static final AtomicLongFieldUpdater<PartTable> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(PartTable.class, "uplinkConflateCount");
   static final AtomicLongFieldUpdater<PartTable> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(PartTable.class, "lastReportTime");
 
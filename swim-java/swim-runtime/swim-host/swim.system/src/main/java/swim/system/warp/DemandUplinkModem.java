@@ -24,6 +24,14 @@ public abstract class DemandUplinkModem extends WarpUplinkModem {
     super(linkBinding, uplinkAddress);
   }
 
+  @Override
+  public void cueDown() {
+    if ((WarpUplinkModem.STATUS.get(this) & WarpUplinkModem.CUED_DOWN) != 0) {
+      this.didConflateDown(1);
+    }
+    super.cueDown();
+  }
+
   @Override
   protected abstract Value nextDownCue();
 
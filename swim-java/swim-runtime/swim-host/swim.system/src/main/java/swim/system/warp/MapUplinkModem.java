@@ -61,6 +61,7 @@ public abstract class MapUplinkModem extends WarpUplinkModem {
           break;
         }
       } else {
+        this.didConflateDown(1);
         break;
       }
     } while (true);
@@ -15,6 +15,8 @@
 package swim.system.warp;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.structure.Value;
 import swim.system.UplinkAddress;
 import swim.system.WarpBinding;
@@ -22,10 +24,12 @@ import swim.system.WarpBinding;
 public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
   final ConcurrentLinkedQueue<Value> downQueue;
+  volatile int downQueueSize;
 
   public SupplyUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     super(linkBinding, uplinkAddress);
     this.downQueue = new ConcurrentLinkedQueue<Value>();
+    this.downQueueSize = 0;
   }
 
   @Override
@@ -35,12 +39,39 @@ public abstract class SupplyUplinkModem extends WarpUplinkModem {
 
   @Override
   public void queueDown(Value body) {
+    final WarpUplinkPolicy uplinkPolicy = this.uplinkPolicy();
+    final int maxQueueSize;
+    if (uplinkPolicy.isSample() || uplinkPolicy.isConflate()) {
+      maxQueueSize = 1;
+    } else if (uplinkPolicy.isDropOldest()) {
+      maxQueueSize = uplinkPolicy.queueSize();
+    } else {
+      maxQueueSize = 0;
+    }
     this.downQueue.add(body);
+    final int queueSize = SupplyUplinkModem.DOWN_QUEUE_SIZE.incrementAndGet(this);
+    if (maxQueueSize > 0 && queueSize > maxQueueSize) {
+      int dropCount = 0;
+      while (SupplyUplinkModem.DOWN_QUEUE_SIZE.get(this) > maxQueueSize && this.downQueue.poll() != null) {
+        SupplyUplinkModem.DOWN_QUEUE_SIZE.decrementAndGet(this);
+        dropCount += 1;
+      }
+      if (dropCount > 0) {
+        this.didConflateDown(dropCount);
+      }
+    }
   }
 
   @Override
   protected Value nextDownQueue() {
-    return this.downQueue.poll();
+    final Value body = this.downQueue.poll();
+    if (body != null) {
+      SupplyUplinkModem.DOWN_QUEUE_SIZE.decrementAndGet(this);
+    }
+    return body;
   }
 
+  static final AtomicIntegerFieldUpdater<SupplyUplinkModem> DOWN_QUEUE_SIZE =
+      AtomicIntegerFieldUpdater.newUpdater(SupplyUplinkModem.class, "downQueueSize");
+
 }
@@ -0,0 +1,35 @@
+// Copyright 2015-2024 Nstream, inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package swim.system.warp;
+
+import swim.structure.Value;
+import swim.warp.EncodedBody;
+
+/**
+ * Entry of the memo table of {@link WarpLaneModel#encodeDown(Value)} that
+ * pairs a body sent down to uplinks, keyed by identity, with the shared
+ * encoding of its snapshot.
+ */
+final class WarpLaneEncodedBody {
+
+  final Value body;
+  final EncodedBody encodedBody;
+
+  WarpLaneEncodedBody(Value body, EncodedBody encodedBody) {
+    this.body = body;
+    this.encodedBody = encodedBody;
+  }
+
+}
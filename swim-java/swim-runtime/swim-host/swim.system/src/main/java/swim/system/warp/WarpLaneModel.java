@@ -16,14 +16,18 @@ package swim.system.warp;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import swim.api.LaneException;
 import swim.api.auth.Identity;
 import swim.api.warp.WarpUplink;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.collections.FingerTrieSeq;
 import swim.concurrent.Cont;
 import swim.structure.Value;
 import swim.system.LaneModel;
 import swim.system.LaneRelay;
+import swim.system.LaneView;
 import swim.system.LinkBinding;
 import swim.system.Metric;
 import swim.system.Push;
@@ -31,7 +35,9 @@ import swim.system.WarpBinding;
 import swim.system.profile.WarpDownlinkProfile;
 import swim.system.profile.WarpLaneProfile;
 import swim.system.profile.WarpUplinkProfile;
+import swim.util.LatencyHistogram;
 import swim.warp.CommandMessage;
+import swim.warp.EncodedBody;
 
 public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUplinkModem> extends LaneModel<View, U> {
 
@@ -60,7 +66,13 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   volatile int uplinkCommandDelta;
   volatile int uplinkCommandRate;
   volatile long uplinkCommandCount;
+  volatile int uplinkConflateDelta;
+  volatile int uplinkConflateRate;
+  volatile long uplinkConflateCount;
+  final LatencyHistogram execLatency;
+  final LatencyHistogram uplinkLatency;
   volatile long lastReportTime;
+  volatile AtomicReferenceArray<WarpLaneEncodedBody> downBodies;
 
   public WarpLaneModel() {
     this.execDelta = 0L;
@@ -88,7 +100,13 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     this.uplinkCommandDelta = 0;
     this.uplinkCommandRate = 0;
     this.uplinkCommandCount = 0L;
+    this.uplinkConflateDelta = 0;
+    this.uplinkConflateRate = 0;
+    this.uplinkConflateCount = 0L;
+    this.execLatency = new LatencyHistogram();
+    this.uplinkLatency = new LatencyHistogram();
     this.lastReportTime = 0L;
+    this.downBodies = null;
   }
 
   @Override
@@ -143,6 +161,61 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     }
   }
 
+  /**
+   * Returns the default policy for uplinks of this lane, as declared by
+   * the first view of this lane that has an uplink policy.
+   */
+  public WarpUplinkPolicy uplinkPolicy() {
+    final Object views = LaneModel.VIEWS.get(this);
+    if (views instanceof WarpLaneView) {
+      final WarpUplinkPolicy uplinkPolicy = ((WarpLaneView) views).uplinkPolicy();
+      if (uplinkPolicy != null) {
+        return uplinkPolicy;
+      }
+    } else if (views instanceof LaneView[]) {
+      final LaneView[] viewArray = (LaneView[]) views;
+      for (int i = 0, n = viewArray.length; i < n; i += 1) {
+        final WarpUplinkPolicy uplinkPolicy = ((WarpLaneView) viewArray[i]).uplinkPolicy();
+        if (uplinkPolicy != null) {
+          return uplinkPolicy;
+        }
+      }
+    }
+    return WarpUplinkPolicy.standard();
+  }
+
+  /**
+   * Returns a shared {@code EncodedBody} for an event {@code body} being sent
+   * down to an uplink of this lane, or {@code null} if this lane has too few
+   * uplinks to benefit from sharing. Uplinks that send down the same body
+   * instance receive the same {@code EncodedBody}, so that a lane event
+   * broadcast to many uplinks gets serialized once, rather than once per
+   * uplink. Recently sent bodies are memoized by identity in a small,
+   * lazily allocated, direct-mapped table; collisions merely cost a
+   * redundant encoding. Each {@code EncodedBody} encodes a snapshot of the
+   * body, so the caller's body is never frozen; a body mutated after being
+   * sent down should be sent as a new instance.
+   */
+  public EncodedBody encodeDown(Value body) {
+    if (LaneModel.UPLINKS.get(this).size() < 2) {
+      return null;
+    }
+    AtomicReferenceArray<WarpLaneEncodedBody> downBodies = WarpLaneModel.DOWN_BODIES.get(this);
+    if (downBodies == null) {
+      downBodies = new AtomicReferenceArray<WarpLaneEncodedBody>(WarpLaneModel.DOWN_BODY_CACHE_SIZE);
+      if (!WarpLaneModel.DOWN_BODIES.compareAndSet(this, null, downBodies)) {
+        downBodies = WarpLaneModel.DOWN_BODIES.get(this);
+      }
+    }
+    final int index = System.identityHashCode(body) & (WarpLaneModel.DOWN_BODY_CACHE_SIZE - 1);
+    WarpLaneEncodedBody downBody = downBodies.get(index);
+    if (downBody == null || downBody.body != body) {
+      downBody = new WarpLaneEncodedBody(body, new EncodedBody(body));
+      downBodies.set(index, downBody);
+    }
+    return downBody.encodedBody;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public void pushUp(Push<?> push) {
@@ -206,14 +279,21 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   @Override
   public void accumulateExecTime(long execDelta) {
     WarpLaneModel.EXEC_DELTA.addAndGet(this, execDelta);
+    this.execLatency.record(execDelta);
     this.didUpdateMetrics();
   }
 
+  public void accumulateUplinkLatency(long uplinkDelay) {
+    this.uplinkLatency.record(uplinkDelay);
+  }
+
   protected void accumulateWarpUplinkProfile(WarpUplinkProfile profile) {
     WarpLaneModel.UPLINK_EVENT_DELTA.addAndGet(this, profile.eventDelta());
     WarpLaneModel.UPLINK_EVENT_RATE.addAndGet(this, profile.eventRate());
     WarpLaneModel.UPLINK_COMMAND_DELTA.addAndGet(this, profile.commandDelta());
     WarpLaneModel.UPLINK_COMMAND_RATE.addAndGet(this, profile.commandRate());
+    WarpLaneModel.UPLINK_CONFLATE_DELTA.addAndGet(this, profile.conflateDelta());
+    WarpLaneModel.UPLINK_CONFLATE_RATE.addAndGet(this, profile.conflateRate());
     this.didUpdateMetrics();
   }
 
@@ -300,6 +380,9 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
     final int uplinkCommandDelta = WarpLaneModel.UPLINK_COMMAND_DELTA.getAndSet(this, 0) + commandDelta;
     final int uplinkCommandRate = WarpLaneModel.UPLINK_COMMAND_RATE.getAndSet(this, 0) + commandRate;
     final long uplinkCommandCount = WarpLaneModel.UPLINK_COMMAND_COUNT.addAndGet(this, (long) uplinkCommandDelta);
+    final int uplinkConflateDelta = WarpLaneModel.UPLINK_CONFLATE_DELTA.getAndSet(this, 0);
+    final int uplinkConflateRate = WarpLaneModel.UPLINK_CONFLATE_RATE.getAndSet(this, 0);
+    final long uplinkConflateCount = WarpLaneModel.UPLINK_CONFLATE_COUNT.addAndGet(this, (long) uplinkConflateDelta);
 
     final long execDelta = WarpLaneModel.EXEC_DELTA.getAndSet(this, 0L) + downlinkExecDelta;
     final long execRate = (long) Math.ceil((1000.0 * (double) execDelta) / (double) dt) + downlinkExecRate;
@@ -311,7 +394,9 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
                                downlinkCommandDelta, downlinkCommandRate, downlinkCommandCount,
                                uplinkOpenDelta, uplinkOpenCount, uplinkCloseDelta, uplinkCloseCount,
                                uplinkEventDelta, uplinkEventRate, uplinkEventCount,
-                               uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount);
+                               uplinkCommandDelta, uplinkCommandRate, uplinkCommandCount,
+                               uplinkConflateDelta, uplinkConflateRate, uplinkConflateCount,
+                               this.execLatency.drain(), this.uplinkLatency.drain());
   }
 
   @SuppressWarnings("unchecked")
@@ -390,8 +475,26 @@ public abstract class WarpLaneModel<View extends WarpLaneView, U extends WarpUpl
   static final AtomicLongFieldUpdater<WarpLaneModel<?, ?>> UPLINK_COMMAND_COUNT =
       AtomicLongFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "uplinkCommandCount");
   @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<WarpLaneModel<?, ?>> UPLINK_CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "uplinkConflateDelta");
+  @SuppressWarnings("unchecked")
+  static final AtomicIntegerFieldUpdater<WarpLaneModel<?, ?>> UPLINK_CONFLATE_RATE =
+      AtomicIntegerFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "uplinkConflateRate");
+  @SuppressWarnings("unchecked")
+  static final AtomicLongFieldUpdater<WarpLaneModel<?, ?>> UPLINK_CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "uplinkConflateCount");
+  @SuppressWarnings("unchecked")
   static final AtomicLongFieldUpdater<WarpLaneModel<?, ?>> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, "lastReportTime");
+  @SuppressWarnings("unchecked")
+  static final AtomicReferenceFieldUpdater<WarpLaneModel<?, ?>, AtomicReferenceArray<WarpLaneEncodedBody>> DOWN_BODIES =
+      AtomicReferenceFieldUpdater.newUpdater((Class<WarpLaneModel<?, ?>>) (Class<?>) WarpLaneModel.class, (Class<AtomicReferenceArray<WarpLaneEncodedBody>>) (Class<?>) AtomicReferenceArray.class, "downBodies");
+
+  /**
+   * Number of recently sent event bodies whose encodings are memoized by
+   * lanes with multiple uplinks; must be a power of two.
+   */
+  static final int DOWN_BODY_CACHE_SIZE = 16;
 
 }
 
@@ -20,6 +20,7 @@ import swim.api.SwimContext;
 import swim.api.auth.Identity;
 import swim.api.warp.WarpLane;
 import swim.api.warp.WarpUplink;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.DidCommand;
 import swim.api.warp.function.DidEnter;
 import swim.api.warp.function.DidLeave;
@@ -35,8 +36,11 @@ import swim.warp.CommandMessage;
 
 public abstract class WarpLaneView extends LaneView implements WarpLane {
 
+  protected volatile WarpUplinkPolicy uplinkPolicy;
+
   public WarpLaneView(Object observers) {
     super(observers);
+    this.uplinkPolicy = null;
   }
 
   @Override
@@ -75,6 +79,17 @@ public abstract class WarpLaneView extends LaneView implements WarpLane {
   @Override
   public abstract WarpLaneView didLeave(DidLeave didLeave);
 
+  @Override
+  public final WarpUplinkPolicy uplinkPolicy() {
+    return this.uplinkPolicy;
+  }
+
+  @Override
+  public WarpLaneView uplinkPolicy(WarpUplinkPolicy uplinkPolicy) {
+    this.uplinkPolicy = uplinkPolicy;
+    return this;
+  }
+
   public boolean dispatchWillCommand(Value body, boolean preemptive) {
     final Lane oldLane = SwimContext.getLane();
     try {
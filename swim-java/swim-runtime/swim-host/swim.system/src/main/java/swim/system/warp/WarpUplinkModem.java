@@ -20,6 +20,7 @@ import swim.api.Link;
 import swim.api.SwimContext;
 import swim.api.function.DidClose;
 import swim.api.warp.WarpUplink;
+import swim.api.warp.WarpUplinkPolicy;
 import swim.api.warp.function.OnCommandMessage;
 import swim.api.warp.function.OnEventMessage;
 import swim.api.warp.function.OnLinkRequest;
@@ -29,8 +30,10 @@ import swim.api.warp.function.OnSyncedResponse;
 import swim.api.warp.function.OnUnlinkRequest;
 import swim.api.warp.function.OnUnlinkedResponse;
 import swim.concurrent.Cont;
+import swim.concurrent.TimerFunction;
 import swim.structure.Value;
 import swim.system.AbstractUplinkContext;
+import swim.system.LaneBinding;
 import swim.system.LinkBinding;
 import swim.system.Metric;
 import swim.system.NodeBinding;
@@ -41,6 +44,7 @@ import swim.system.WarpContext;
 import swim.system.profile.WarpUplinkProfile;
 import swim.uri.Uri;
 import swim.warp.CommandMessage;
+import swim.warp.EncodedBody;
 import swim.warp.Envelope;
 import swim.warp.EventMessage;
 import swim.warp.LinkRequest;
@@ -55,22 +59,32 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   protected final WarpBinding linkBinding;
   protected final UplinkAddress uplinkAddress;
   protected volatile int status;
+  volatile WarpUplinkPolicy uplinkPolicy;
+  volatile long nextDownTime;
+  volatile long downCueTime;
 
   volatile int eventDelta;
   volatile long eventCount;
   volatile int commandDelta;
   volatile long commandCount;
+  volatile int conflateDelta;
+  volatile long conflateCount;
   volatile long lastReportTime;
 
   protected WarpUplinkModem(WarpBinding linkBinding, UplinkAddress uplinkAddress) {
     this.linkBinding = linkBinding;
     this.uplinkAddress = uplinkAddress;
     this.status = 0;
+    this.uplinkPolicy = null;
+    this.nextDownTime = 0L;
+    this.downCueTime = 0L;
 
     this.eventDelta = 0;
     this.eventCount = 0L;
     this.commandDelta = 0;
     this.commandCount = 0L;
+    this.conflateDelta = 0;
+    this.conflateCount = 0L;
     this.lastReportTime = 0L;
   }
 
@@ -124,6 +138,32 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     return this.linkBinding.body();
   }
 
+  /**
+   * Returns the policy that governs the delivery of events to this uplink.
+   * An {@code @uplink} policy requested in the body of the link replaces
+   * the default policy of the lane, subject to the lane's maximum event
+   * rate; a positive link {@code rate} further limits the event rate.
+   */
+  public WarpUplinkPolicy uplinkPolicy() {
+    WarpUplinkPolicy uplinkPolicy = this.uplinkPolicy;
+    if (uplinkPolicy == null) {
+      final LaneBinding laneBinding = this.laneBinding();
+      if (laneBinding instanceof WarpLaneModel<?, ?>) {
+        uplinkPolicy = ((WarpLaneModel<?, ?>) laneBinding).uplinkPolicy();
+      } else {
+        uplinkPolicy = WarpUplinkPolicy.standard();
+      }
+      final Value body = this.body();
+      final WarpUplinkPolicy linkPolicy = body != null ? WarpUplinkPolicy.fromValue(body) : null;
+      if (linkPolicy != null) {
+        uplinkPolicy = linkPolicy.limitRate(uplinkPolicy.maxRate());
+      }
+      uplinkPolicy = uplinkPolicy.limitRate(this.rate());
+      this.uplinkPolicy = uplinkPolicy;
+    }
+    return uplinkPolicy;
+  }
+
   @Override
   public WarpUplinkModem observe(Object observer) {
     super.observe(observer);
@@ -569,7 +609,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   protected EventMessage nextDownQueueEvent() {
     final Value body = this.nextDownQueue();
     if (body != null) {
-      return new EventMessage(this.nodeUri(), this.laneUri(), body);
+      return this.eventMessage(body);
     } else {
       return null;
     }
@@ -582,14 +622,26 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   protected EventMessage nextDownCueEvent() {
     final Value body = this.nextDownCue();
     if (body != null) {
-      return new EventMessage(this.nodeUri(), this.laneUri(), body);
+      return this.eventMessage(body);
     } else {
       return null;
     }
   }
 
+  protected EventMessage eventMessage(Value body) {
+    final LaneBinding laneBinding = this.laneBinding();
+    if (laneBinding instanceof WarpLaneModel<?, ?>) {
+      final EncodedBody encodedBody = ((WarpLaneModel<?, ?>) laneBinding).encodeDown(body);
+      if (encodedBody != null) {
+        return new EventMessage(this.nodeUri(), this.laneUri(), encodedBody);
+      }
+    }
+    return new EventMessage(this.nodeUri(), this.laneUri(), body);
+  }
+
   public void sendDown(Value body) {
     this.queueDown(body);
+    this.didCueDown();
     do {
       final int oldStatus = WarpUplinkModem.STATUS.get(this);
       final int newStatus = oldStatus | WarpUplinkModem.FEEDING_DOWN;
@@ -605,6 +657,9 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   }
 
   public void cueDown() {
+    if ((WarpUplinkModem.STATUS.get(this) & WarpUplinkModem.LINKED) != 0) {
+      this.didCueDown();
+    }
     do {
       final int oldStatus = WarpUplinkModem.STATUS.get(this);
       final int newStatus;
@@ -682,6 +737,8 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
           }
           break;
         }
+      } else if ((oldStatus & WarpUplinkModem.SYNCING) == 0 && this.throttleDown(oldStatus)) {
+        break;
       } else {
         EventMessage message = this.nextDownQueueEvent();
         if (message == null && (oldStatus & WarpUplinkModem.CUED_DOWN) != 0) {
@@ -697,6 +754,7 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
         if (message != null) {
           this.pullDownEvent(message);
           this.pushDown(message);
+          this.didPushDownEvent();
           do {
             oldStatus = WarpUplinkModem.STATUS.get(this);
             if ((oldStatus & (WarpUplinkModem.SYNCING | WarpUplinkModem.CUED_DOWN)) == 0 && this.downQueueIsEmpty()) {
@@ -753,6 +811,56 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     } while (true);
   }
 
+  /**
+   * Paces event delivery to the maximum event rate of this uplink's policy.
+   * Returns {@code true}, after skipping the current pull and scheduling
+   * a timer to feed down again, if an event is pending but sending it now
+   * would exceed the maximum event rate. The uplink remains marked as
+   * feeding down while throttled, so that new events merely accumulate,
+   * subject to the queueing mode of the policy, until the timer fires.
+   */
+  boolean throttleDown(int status) {
+    final float maxRate = this.uplinkPolicy().maxRate();
+    if (maxRate > 0.0f && ((status & WarpUplinkModem.CUED_DOWN) != 0 || !this.downQueueIsEmpty())) {
+      final long now = System.nanoTime();
+      final long nextDownTime = this.nextDownTime;
+      if (nextDownTime != 0L && now - nextDownTime < 0L) {
+        this.linkBinding.skipDown();
+        final long waitMillis = Math.max(1L, (nextDownTime - now + 999999L) / 1000000L);
+        this.laneBinding().schedule().setTimer(waitMillis, new WarpUplinkModemThrottle(this));
+        return true;
+      }
+      this.nextDownTime = now + Math.max(1L, (long) (1.0e9 / (double) maxRate));
+    }
+    return false;
+  }
+
+  void didCueDown() {
+    if (this.downCueTime == 0L) {
+      WarpUplinkModem.DOWN_CUE_TIME.compareAndSet(this, 0L, System.nanoTime());
+    }
+  }
+
+  void didPushDownEvent() {
+    final long downCueTime = WarpUplinkModem.DOWN_CUE_TIME.getAndSet(this, 0L);
+    if (downCueTime != 0L) {
+      final long now = System.nanoTime();
+      final LaneBinding laneBinding = this.laneBinding();
+      if (laneBinding instanceof WarpLaneModel<?, ?>) {
+        ((WarpLaneModel<?, ?>) laneBinding).accumulateUplinkLatency(now - downCueTime);
+      }
+      if ((WarpUplinkModem.STATUS.get(this) & WarpUplinkModem.CUED_DOWN) != 0 || !this.downQueueIsEmpty()) {
+        // Events still pending have waited at least since this push.
+        WarpUplinkModem.DOWN_CUE_TIME.compareAndSet(this, 0L, now);
+      }
+    }
+  }
+
+  protected void didConflateDown(int conflateDelta) {
+    WarpUplinkModem.CONFLATE_DELTA.addAndGet(this, conflateDelta);
+    this.didUpdateMetrics();
+  }
+
   protected void pullDownEvent(EventMessage message) {
     this.onEvent(message);
     this.dispatchOnEvent(message);
@@ -1135,10 +1243,14 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
     final int commandDelta = WarpUplinkModem.COMMAND_DELTA.getAndSet(this, 0);
     final int commandRate = (int) Math.ceil((1000.0 * (double) commandDelta) / (double) dt);
     final long commandCount = WarpUplinkModem.COMMAND_TOTAL.addAndGet(this, (long) commandDelta);
+    final int conflateDelta = WarpUplinkModem.CONFLATE_DELTA.getAndSet(this, 0);
+    final int conflateRate = (int) Math.ceil((1000.0 * (double) conflateDelta) / (double) dt);
+    final long conflateCount = WarpUplinkModem.CONFLATE_COUNT.addAndGet(this, (long) conflateDelta);
 
     return new WarpUplinkProfile(this.uplinkAddress,
                                  eventDelta, eventRate, eventCount,
-                                 commandDelta, commandRate, commandCount);
+                                 commandDelta, commandRate, commandCount,
+                                 conflateDelta, conflateRate, conflateCount);
   }
 
   static final int LINKED = 1 << 0;
@@ -1153,6 +1265,9 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
   static final AtomicIntegerFieldUpdater<WarpUplinkModem> STATUS =
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "status");
 
+  static final AtomicLongFieldUpdater<WarpUplinkModem> DOWN_CUE_TIME =
+      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "downCueTime");
+
   static final AtomicIntegerFieldUpdater<WarpUplinkModem> EVENT_DELTA =
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "eventDelta");
   static final AtomicLongFieldUpdater<WarpUplinkModem> EVENT_COUNT =
@@ -1161,6 +1276,10 @@ public abstract class WarpUplinkModem extends AbstractUplinkContext implements W
       AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "commandDelta");
   static final AtomicLongFieldUpdater<WarpUplinkModem> COMMAND_TOTAL =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "commandCount");
+  static final AtomicIntegerFieldUpdater<WarpUplinkModem> CONFLATE_DELTA =
+      AtomicIntegerFieldUpdater.newUpdater(WarpUplinkModem.class, "conflateDelta");
+  static final AtomicLongFieldUpdater<WarpUplinkModem> CONFLATE_COUNT =
+      AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "conflateCount");
   static final AtomicLongFieldUpdater<WarpUplinkModem> LAST_REPORT_TIME =
       AtomicLongFieldUpdater.newUpdater(WarpUplinkModem.class, "lastReportTime");
 
@@ -1181,6 +1300,21 @@ final class WarpUplinkModemPullDown implements Runnable {
 
 }
 
+final class WarpUplinkModemThrottle implements TimerFunction {
+
+  final WarpUplinkModem uplink;
+
+  WarpUplinkModemThrottle(WarpUplinkModem uplink) {
+    this.uplink = uplink;
+  }
+
+  @Override
+  public void runTimer() {
+    this.uplink.linkBinding.feedDown();
+  }
+
+}
+
 final class WarpUplinkModemOnCommand implements Runnable {
 
   final WarpUplinkModem uplink;